@@ -0,0 +1,558 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
+
+/**
+ * Abstract ReplicatedLog implementation which keeps the entries' payloads serialized in a direct (off-heap) ring
+ * buffer. Only the index, term and size of each entry, along with the position of its payload in the buffer, are
+ * kept on the heap. Entries returned by {@link #get(long)}, {@link #last()} and {@link #getFrom(long)} deserialize
+ * their payload the first time it is accessed.
+ *
+ * <p>
+ * Trimming the log on snapshot only moves the start of the live entries - the trimmed entries stay in the buffer
+ * until the snapshot is committed so a rollback needs no copy of them. {@link #dataSize()} reports the number of
+ * serialized bytes held in the buffer so the snapshot memory threshold applies to the actual off-heap footprint.
+ *
+ * <p>
+ * Payloads must be Serializable.
+ */
+public abstract class AbstractOffHeapReplicatedLogImpl implements ReplicatedLog {
+    private static final int INITIAL_BUFFER_CAPACITY = 64 * 1024;
+    private static final int INITIAL_ENTRY_CAPACITY = 64;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_CAPACITY);
+
+    // Per-entry metadata, indexed by slot. Slots [retainedStart, end) are held in the buffer, slots [start, end)
+    // form the live log. Slots [retainedStart, start) are only kept between snapshotPreCommit and snapshotCommit.
+    private long[] indexes = new long[INITIAL_ENTRY_CAPACITY];
+    private long[] terms = new long[INITIAL_ENTRY_CAPACITY];
+    private int[] offsets = new int[INITIAL_ENTRY_CAPACITY];
+    private int[] lengths = new int[INITIAL_ENTRY_CAPACITY];
+    private int[] sizes = new int[INITIAL_ENTRY_CAPACITY];
+    private int retainedStart;
+    private int start;
+    private int end;
+
+    // Position in the buffer at which the next payload is written.
+    private int writePosition;
+    private int retainedBytes;
+    private int dataSize;
+
+    private long snapshotIndex = -1;
+    private long snapshotTerm = -1;
+
+    // to be used for rollback during save snapshot failure
+    private long previousSnapshotIndex = -1;
+    private long previousSnapshotTerm = -1;
+
+    // Class loaders of the payload types seen so far, used to resolve them on deserialization.
+    private final Set<ClassLoader> payloadClassLoaders = new LinkedHashSet<>();
+
+    public AbstractOffHeapReplicatedLogImpl(long snapshotIndex, long snapshotTerm,
+            List<ReplicatedLogEntry> unAppliedEntries) {
+        this.snapshotIndex = snapshotIndex;
+        this.snapshotTerm = snapshotTerm;
+
+        increaseJournalLogCapacity(unAppliedEntries.size());
+        for(ReplicatedLogEntry entry: unAppliedEntries) {
+            append(entry);
+        }
+    }
+
+    public AbstractOffHeapReplicatedLogImpl() {
+        this(-1L, -1L, Collections.<ReplicatedLogEntry>emptyList());
+    }
+
+    protected int adjustedIndex(long logEntryIndex) {
+        if (snapshotIndex < 0) {
+            return (int) logEntryIndex;
+        }
+        return (int) (logEntryIndex - (snapshotIndex + 1));
+    }
+
+    @Override
+    public ReplicatedLogEntry get(long logEntryIndex) {
+        int adjustedIndex = adjustedIndex(logEntryIndex);
+
+        if (adjustedIndex < 0 || adjustedIndex >= entryCount()) {
+            // physical index should be less than list size and >= 0
+            return null;
+        }
+
+        return entryAt(start + adjustedIndex);
+    }
+
+    @Override
+    public ReplicatedLogEntry last() {
+        if (start == end) {
+            return null;
+        }
+        return entryAt(end - 1);
+    }
+
+    @Override
+    public long lastIndex() {
+        if (start == end) {
+            // it can happen that after snapshot, all the entries of the
+            // journal are trimmed till lastApplied, so lastIndex = snapshotIndex
+            return snapshotIndex;
+        }
+        return indexes[end - 1];
+    }
+
+    @Override
+    public long lastTerm() {
+        if (start == end) {
+            // it can happen that after snapshot, all the entries of the
+            // journal are trimmed till lastApplied, so lastTerm = snapshotTerm
+            return snapshotTerm;
+        }
+        return terms[end - 1];
+    }
+
+    @Override
+    public long removeFrom(long logEntryIndex) {
+        int adjustedIndex = adjustedIndex(logEntryIndex);
+        if (adjustedIndex < 0 || adjustedIndex >= entryCount()) {
+            // physical index should be less than list size and >= 0
+            return -1;
+        }
+
+        int fromSlot = start + adjustedIndex;
+        for(int i = fromSlot; i < end; i++) {
+            dataSize -= lengths[i];
+            retainedBytes -= lengths[i];
+        }
+
+        // The space of the removed payloads is reused by the next append.
+        writePosition = offsets[fromSlot];
+        end = fromSlot;
+
+        return adjustedIndex;
+    }
+
+    @Override
+    public void append(ReplicatedLogEntry replicatedLogEntry) {
+        byte[] payload = serialize(replicatedLogEntry.getData());
+
+        if(end == indexes.length) {
+            makeRoomForEntries(1);
+        }
+
+        int offset = allocate(payload.length);
+        ByteBuffer dup = buffer.duplicate();
+        dup.position(offset);
+        dup.put(payload);
+
+        indexes[end] = replicatedLogEntry.getIndex();
+        terms[end] = replicatedLogEntry.getTerm();
+        offsets[end] = offset;
+        lengths[end] = payload.length;
+        sizes[end] = replicatedLogEntry.size();
+        end++;
+
+        retainedBytes += payload.length;
+        dataSize += payload.length;
+    }
+
+    private byte[] serialize(Payload payload) {
+        payloadClassLoaders.add(payload.getClass().getClassLoader());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try(ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            out.writeObject(payload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to serialize payload " + payload.getClass(), e);
+        }
+
+        return bos.toByteArray();
+    }
+
+    /**
+     * Finds room for a payload of the given length in the ring buffer, growing it if necessary, and returns
+     * the offset at which to write it.
+     */
+    private int allocate(int length) {
+        if(retainedStart == end) {
+            writePosition = 0;
+        }
+
+        int offset = -1;
+        if(retainedStart == end) {
+            offset = length <= buffer.capacity() ? 0 : -1;
+        } else {
+            int head = offsets[retainedStart];
+            if(writePosition > head) {
+                // The retained payloads do not wrap - there's room after them and before the first one.
+                if(buffer.capacity() - writePosition >= length) {
+                    offset = writePosition;
+                } else if(head >= length) {
+                    offset = 0;
+                }
+            } else if(head - writePosition >= length) {
+                offset = writePosition;
+            }
+        }
+
+        if(offset < 0) {
+            grow(length);
+            offset = writePosition;
+        }
+
+        writePosition = offset + length;
+        return offset;
+    }
+
+    private void grow(int length) {
+        long required = (long) retainedBytes + length;
+        long capacity = Math.max((long) buffer.capacity() * 2, required);
+        Preconditions.checkState(capacity <= Integer.MAX_VALUE, "Replicated log exceeds %s bytes",
+                Integer.MAX_VALUE);
+
+        // Copy the retained payloads to the start of the new buffer, which also unwraps them.
+        ByteBuffer newBuffer = ByteBuffer.allocateDirect((int) capacity);
+        for(int i = retainedStart; i < end; i++) {
+            ByteBuffer payload = buffer.duplicate();
+            payload.limit(offsets[i] + lengths[i]).position(offsets[i]);
+            offsets[i] = newBuffer.position();
+            newBuffer.put(payload);
+        }
+
+        writePosition = newBuffer.position();
+        buffer = newBuffer;
+    }
+
+    private void makeRoomForEntries(int amount) {
+        if(retainedStart > 0 && end - retainedStart + amount <= indexes.length) {
+            // Shift the retained slots down to reuse the slots of the trimmed entries.
+            int count = end - retainedStart;
+            System.arraycopy(indexes, retainedStart, indexes, 0, count);
+            System.arraycopy(terms, retainedStart, terms, 0, count);
+            System.arraycopy(offsets, retainedStart, offsets, 0, count);
+            System.arraycopy(lengths, retainedStart, lengths, 0, count);
+            System.arraycopy(sizes, retainedStart, sizes, 0, count);
+            start -= retainedStart;
+            end = count;
+            retainedStart = 0;
+            return;
+        }
+
+        int capacity = Math.max(indexes.length * 2, end + amount);
+        indexes = Arrays.copyOf(indexes, capacity);
+        terms = Arrays.copyOf(terms, capacity);
+        offsets = Arrays.copyOf(offsets, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+    }
+
+    @Override
+    public void increaseJournalLogCapacity(int amount) {
+        if(end + amount > indexes.length) {
+            makeRoomForEntries(amount);
+        }
+    }
+
+    @Override
+    public List<ReplicatedLogEntry> getFrom(long logEntryIndex) {
+        return getFrom(logEntryIndex, entryCount(), NO_MAX_SIZE);
+    }
+
+    @Override
+    public List<ReplicatedLogEntry> getFrom(long logEntryIndex, int maxEntries, long maxDataSize) {
+        int adjustedIndex = adjustedIndex(logEntryIndex);
+        int size = entryCount();
+        if (adjustedIndex >= 0 && adjustedIndex < size) {
+            // physical index should be less than list size and >= 0
+            int maxIndex = adjustedIndex + maxEntries;
+            if(maxIndex > size){
+                maxIndex = size;
+            }
+
+            List<ReplicatedLogEntry> retList = new ArrayList<>(maxIndex - adjustedIndex);
+            long totalSize = 0;
+            for(int i = adjustedIndex; i < maxIndex; i++) {
+                int slot = start + i;
+                totalSize += sizes[slot];
+                if(maxDataSize == NO_MAX_SIZE || totalSize <= maxDataSize) {
+                    retList.add(entryAt(slot));
+                } else {
+                    if(retList.isEmpty()) {
+                        // Edge case - the first entry's size exceeds the threshold. We need to return
+                        // at least the first entry so add it here.
+                        retList.add(entryAt(slot));
+                    }
+
+                    break;
+                }
+            }
+
+            return retList;
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    private ReplicatedLogEntry entryAt(int slot) {
+        // Copy the serialized payload out so the entry stays valid after its space in the buffer is reused.
+        byte[] payload = new byte[lengths[slot]];
+        ByteBuffer dup = buffer.duplicate();
+        dup.position(offsets[slot]);
+        dup.get(payload);
+
+        return new OffHeapReplicatedLogEntry(indexes[slot], terms[slot], sizes[slot], payload, payloadClassLoaders);
+    }
+
+    @Override
+    public long size() {
+       return end - start;
+    }
+
+    private int entryCount() {
+        return end - start;
+    }
+
+    @Override
+    public int dataSize() {
+        return dataSize;
+    }
+
+    @Override
+    public boolean isPresent(long logEntryIndex) {
+        if (logEntryIndex > lastIndex()) {
+            // if the request logical index is less than the last present in the list
+            return false;
+        }
+        int adjustedIndex = adjustedIndex(logEntryIndex);
+        return (adjustedIndex >= 0);
+    }
+
+    @Override
+    public boolean isInSnapshot(long logEntryIndex) {
+        return logEntryIndex <= snapshotIndex && snapshotIndex != -1;
+    }
+
+    @Override
+    public long getSnapshotIndex() {
+        return snapshotIndex;
+    }
+
+    @Override
+    public long getSnapshotTerm() {
+        return snapshotTerm;
+    }
+
+    @Override
+    public abstract void appendAndPersist(ReplicatedLogEntry replicatedLogEntry);
+
+    @Override
+    public abstract void removeFromAndPersist(long index);
+
+    @Override
+    public void setSnapshotIndex(long snapshotIndex) {
+        this.snapshotIndex = snapshotIndex;
+    }
+
+    @Override
+    public void setSnapshotTerm(long snapshotTerm) {
+        this.snapshotTerm = snapshotTerm;
+    }
+
+    @Override
+    public void clear(int startIndex, int endIndex) {
+        Preconditions.checkArgument(startIndex == 0 || endIndex == entryCount(),
+                "Only a prefix or suffix of the log can be cleared");
+        Preconditions.checkElementIndex(startIndex, entryCount() + 1);
+        Preconditions.checkElementIndex(endIndex, entryCount() + 1);
+
+        if(startIndex > 0) {
+            removeFrom(indexes[start + startIndex]);
+        } else {
+            start += endIndex;
+            if(retainedStart == start - endIndex) {
+                releaseTrimmedEntries();
+            }
+        }
+    }
+
+    private void releaseTrimmedEntries() {
+        for(int i = retainedStart; i < start; i++) {
+            retainedBytes -= lengths[i];
+        }
+
+        retainedStart = start;
+    }
+
+    @Override
+    public void snapshotPreCommit(long snapshotCapturedIndex, long snapshotCapturedTerm) {
+        Preconditions.checkArgument(snapshotCapturedIndex >= snapshotIndex,
+                "snapshotCapturedIndex must be greater than or equal to snapshotIndex");
+
+        int count = (int) (snapshotCapturedIndex - snapshotIndex);
+        Preconditions.checkElementIndex(count, entryCount() + 1);
+
+        // The trimmed entries stay in the buffer until the snapshot is committed.
+        start += count;
+
+        previousSnapshotIndex = snapshotIndex;
+        setSnapshotIndex(snapshotCapturedIndex);
+
+        previousSnapshotTerm = snapshotTerm;
+        setSnapshotTerm(snapshotCapturedTerm);
+    }
+
+    @Override
+    public void snapshotCommit() {
+        releaseTrimmedEntries();
+
+        previousSnapshotIndex = -1;
+        previousSnapshotTerm = -1;
+
+        // need to recalc the datasize based on the entries left after precommit.
+        dataSize = 0;
+        for(int i = start; i < end; i++) {
+            dataSize += lengths[i];
+        }
+    }
+
+    @Override
+    public void snapshotRollback() {
+        start = retainedStart;
+
+        snapshotIndex = previousSnapshotIndex;
+        previousSnapshotIndex = -1;
+
+        snapshotTerm = previousSnapshotTerm;
+        previousSnapshotTerm = -1;
+    }
+
+    @VisibleForTesting
+    ReplicatedLogEntry getAtPhysicalIndex(int index) {
+        return entryAt(start + index);
+    }
+
+    @VisibleForTesting
+    int bufferCapacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * A ReplicatedLogEntry whose payload is deserialized on first access. It serializes as a plain
+     * ReplicatedLogImplEntry.
+     */
+    private static final class OffHeapReplicatedLogEntry implements ReplicatedLogEntry, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long index;
+        private final long term;
+        private final int size;
+        private transient byte[] serializedPayload;
+        private transient Set<ClassLoader> classLoaders;
+        private transient Payload payload;
+
+        OffHeapReplicatedLogEntry(long index, long term, int size, byte[] serializedPayload,
+                Set<ClassLoader> classLoaders) {
+            this.index = index;
+            this.term = term;
+            this.size = size;
+            this.serializedPayload = serializedPayload;
+            this.classLoaders = classLoaders;
+        }
+
+        @Override
+        public Payload getData() {
+            if(payload == null) {
+                payload = deserialize();
+                serializedPayload = null;
+                classLoaders = null;
+            }
+
+            return payload;
+        }
+
+        private Payload deserialize() {
+            try(ObjectInputStream in = new PayloadInputStream(new ByteArrayInputStream(serializedPayload),
+                    classLoaders)) {
+                return (Payload) in.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new IllegalStateException("Failed to deserialize the payload of log entry " + index, e);
+            }
+        }
+
+        @Override
+        public long getTerm() {
+            return term;
+        }
+
+        @Override
+        public long getIndex() {
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private Object writeReplace() {
+            return new ReplicatedLogImplEntry(index, term, getData());
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                "index=" + index +
+                ", term=" + term +
+                '}';
+        }
+    }
+
+    /**
+     * ObjectInputStream that also looks up classes via the class loaders of the appended payload types, which may
+     * not be visible from this bundle.
+     */
+    private static final class PayloadInputStream extends ObjectInputStream {
+        private final Set<ClassLoader> classLoaders;
+
+        PayloadInputStream(InputStream in, Set<ClassLoader> classLoaders) throws IOException {
+            super(in);
+            this.classLoaders = classLoaders;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            for(ClassLoader classLoader: classLoaders) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // try the next one
+                }
+            }
+
+            return super.resolveClass(desc);
+        }
+    }
+}
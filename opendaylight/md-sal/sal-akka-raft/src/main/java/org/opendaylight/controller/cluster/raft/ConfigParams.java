@@ -68,6 +68,51 @@ public interface ConfigParams {
      */
     int getSnapshotChunkSize();
 
+    /**
+     * The maximum number of AppendEntries messages carrying log entries that the leader may have outstanding
+     * to a single follower. A value of 1 disables pipelining, ie the next batch is only sent once the previous
+     * one has been acknowledged.
+     */
+    int getMaxInFlightAppendEntries();
+
+    /**
+     * The maximum number of log entries the leader collects into a single journal write. A value of 1
+     * disables group commit, ie each entry is persisted as soon as it is appended.
+     */
+    int getJournalGroupCommitMaxBatchSize();
+
+    /**
+     * The time the leader waits for more log entries before writing a group commit batch to the journal.
+     * A zero duration writes the batch as soon as the messages already queued in the actor's mailbox have
+     * been processed.
+     *
+     * @return FiniteDuration
+     */
+    FiniteDuration getJournalGroupCommitWindow();
+
+    /**
+     * Whether the in-memory replicated log keeps its entries serialized in an off-heap buffer instead of as
+     * deserialized objects on the heap.
+     */
+    boolean isReplicatedLogOffHeap();
+
+    /**
+     * Whether journal entries and snapshots are written to memory-mapped segment files instead of through the
+     * akka persistence plugins. The election term is still persisted through akka persistence.
+     */
+    boolean isSegmentedJournalEnabled();
+
+    /**
+     * The directory under which each raft actor keeps its segmented journal, in a sub-directory named after its
+     * persistence id.
+     */
+    String getSegmentedJournalDirectory();
+
+    /**
+     * The size in bytes of each segment file of the segmented journal.
+     */
+    int getSegmentedJournalMaxSegmentSize();
+
     /**
      * The number of journal log entries to batch on recovery before applying.
      */
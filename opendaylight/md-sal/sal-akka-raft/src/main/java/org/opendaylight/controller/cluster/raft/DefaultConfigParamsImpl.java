@@ -13,6 +13,7 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.journal.SegmentedJournal;
 import org.opendaylight.controller.cluster.raft.policy.DefaultRaftPolicy;
 import org.opendaylight.controller.cluster.raft.policy.RaftPolicy;
 import org.slf4j.Logger;
@@ -39,6 +40,12 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private static final int SNAPSHOT_CHUNK_SIZE = 2048 * 1000; //2MB
 
+    private static final int MAX_IN_FLIGHT_APPEND_ENTRIES = 1;
+
+    private static final int JOURNAL_GROUP_COMMIT_MAX_BATCH_SIZE = 1;
+
+    private static final String SEGMENTED_JOURNAL_DIRECTORY = "segmented-journal";
+
 
     /**
      * The interval at which a heart beat message will be sent to the remote
@@ -62,6 +69,15 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private int snapshotChunkSize = SNAPSHOT_CHUNK_SIZE;
 
+    private int maxInFlightAppendEntries = MAX_IN_FLIGHT_APPEND_ENTRIES;
+
+    private int journalGroupCommitMaxBatchSize = JOURNAL_GROUP_COMMIT_MAX_BATCH_SIZE;
+    private FiniteDuration journalGroupCommitWindow = new FiniteDuration(0, TimeUnit.MILLISECONDS);
+    private boolean replicatedLogOffHeap = false;
+    private boolean segmentedJournalEnabled = false;
+    private String segmentedJournalDirectory = SEGMENTED_JOURNAL_DIRECTORY;
+    private int segmentedJournalMaxSegmentSize = SegmentedJournal.DEFAULT_MAX_SEGMENT_SIZE;
+
     private long electionTimeoutFactor = 2;
     private String customRaftPolicyImplementationClass;
 
@@ -86,6 +102,39 @@ public class DefaultConfigParamsImpl implements ConfigParams {
         this.snapshotChunkSize = snapshotChunkSize;
     }
 
+    public void setMaxInFlightAppendEntries(int maxInFlightAppendEntries) {
+        Preconditions.checkArgument(maxInFlightAppendEntries > 0, "maxInFlightAppendEntries must be positive");
+        this.maxInFlightAppendEntries = maxInFlightAppendEntries;
+    }
+
+    public void setJournalGroupCommitMaxBatchSize(int journalGroupCommitMaxBatchSize) {
+        Preconditions.checkArgument(journalGroupCommitMaxBatchSize > 0,
+                "journalGroupCommitMaxBatchSize must be positive");
+        this.journalGroupCommitMaxBatchSize = journalGroupCommitMaxBatchSize;
+    }
+
+    public void setJournalGroupCommitWindowInMillis(long journalGroupCommitWindowInMillis) {
+        this.journalGroupCommitWindow = new FiniteDuration(journalGroupCommitWindowInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void setReplicatedLogOffHeap(boolean replicatedLogOffHeap) {
+        this.replicatedLogOffHeap = replicatedLogOffHeap;
+    }
+
+    public void setSegmentedJournalEnabled(boolean segmentedJournalEnabled) {
+        this.segmentedJournalEnabled = segmentedJournalEnabled;
+    }
+
+    public void setSegmentedJournalDirectory(String segmentedJournalDirectory) {
+        this.segmentedJournalDirectory = Preconditions.checkNotNull(segmentedJournalDirectory);
+    }
+
+    public void setSegmentedJournalMaxSegmentSize(int segmentedJournalMaxSegmentSize) {
+        Preconditions.checkArgument(segmentedJournalMaxSegmentSize > 0,
+                "segmentedJournalMaxSegmentSize must be positive");
+        this.segmentedJournalMaxSegmentSize = segmentedJournalMaxSegmentSize;
+    }
+
     public void setJournalRecoveryLogBatchSize(int journalRecoveryLogBatchSize) {
         this.journalRecoveryLogBatchSize = journalRecoveryLogBatchSize;
     }
@@ -143,6 +192,41 @@ public class DefaultConfigParamsImpl implements ConfigParams {
         return snapshotChunkSize;
     }
 
+    @Override
+    public int getMaxInFlightAppendEntries() {
+        return maxInFlightAppendEntries;
+    }
+
+    @Override
+    public int getJournalGroupCommitMaxBatchSize() {
+        return journalGroupCommitMaxBatchSize;
+    }
+
+    @Override
+    public FiniteDuration getJournalGroupCommitWindow() {
+        return journalGroupCommitWindow;
+    }
+
+    @Override
+    public boolean isReplicatedLogOffHeap() {
+        return replicatedLogOffHeap;
+    }
+
+    @Override
+    public boolean isSegmentedJournalEnabled() {
+        return segmentedJournalEnabled;
+    }
+
+    @Override
+    public String getSegmentedJournalDirectory() {
+        return segmentedJournalDirectory;
+    }
+
+    @Override
+    public int getSegmentedJournalMaxSegmentSize() {
+        return segmentedJournalMaxSegmentSize;
+    }
+
     @Override
     public int getJournalRecoveryLogBatchSize() {
         return journalRecoveryLogBatchSize;
@@ -99,6 +99,52 @@ public interface FollowerLogInformation {
      */
     boolean okToReplicate();
 
+    /**
+     * Records that an AppendEntries message, carrying log entries or not, was sent to the follower.
+     */
+    void appendEntriesMessageSent();
+
+    /**
+     * Records that an AppendEntries message carrying log entries up to and including the given index was sent
+     * to the follower while replication is pipelined. The nextIndex is advanced past the sent entries so the
+     * next batch can be sent before this one is acknowledged.
+     *
+     * @param lastSentIndex the index of the last log entry sent
+     */
+    void appendEntriesSent(long lastSentIndex);
+
+    /**
+     * Records that an AppendEntriesReply was received from the follower. A successful reply releases the
+     * in-flight batches covered by the follower's log, whether it answers a batch or a heartbeat.
+     *
+     * @param success true if the follower accepted the entries, false otherwise
+     * @param followerLastLogIndex the index of the last entry in the follower's log
+     * @return false if the reply answers a message sent before the outstanding messages were last discarded,
+     *         true otherwise
+     */
+    boolean appendEntriesReplyReceived(boolean success, long followerLastLogIndex);
+
+    /**
+     * Discards all outstanding AppendEntries messages, eg when the follower rejected one of them. Replication
+     * restarts with a single outstanding message until the follower acknowledges a batch again.
+     */
+    void resetInFlightAppendEntries();
+
+    /**
+     * @return the number of AppendEntries messages carrying log entries that have not been acknowledged yet.
+     */
+    int getInFlightAppendEntriesCount();
+
+    /**
+     * @return the current maximum number of unacknowledged AppendEntries messages for this follower.
+     */
+    int getInFlightAppendEntriesWindow();
+
+    /**
+     * @return true if AppendEntries messages are pipelined to this follower, false otherwise.
+     */
+    boolean isPipelined();
+
     /**
      * @return the payload data version of the follower.
      */
@@ -10,6 +10,8 @@ package org.opendaylight.controller.cluster.raft;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.TimeUnit;
 
 public class FollowerLogInformationImpl implements FollowerLogInformation {
@@ -27,6 +29,21 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
 
     private short payloadVersion = -1;
 
+    // The index of the last entry of each AppendEntries batch that has not been acknowledged yet.
+    private final Deque<Long> inFlightBatches = new ArrayDeque<>();
+
+    // The follower replies to every AppendEntries message in the order they were sent so counting both
+    // tells which message a reply answers.
+    private long appendEntriesMessagesSent;
+
+    private long appendEntriesRepliesReceived;
+
+    private long messagesSentBeforeLastReset;
+
+    // Until the follower acknowledges a batch we don't know where its log ends so only one
+    // AppendEntries is kept outstanding.
+    private boolean probing = true;
+
     private final PeerInfo peerInfo;
 
     public FollowerLogInformationImpl(PeerInfo peerInfo, long matchIndex, RaftActorContext context) {
@@ -123,6 +140,10 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
             return false;
         }
 
+        if(isPipelined()) {
+            return okToPipeline();
+        }
+
         // Return false if we are trying to send duplicate data before the heartbeat interval
         if(getNextIndex() == lastReplicatedIndex){
             if(lastReplicatedStopwatch.elapsed(TimeUnit.MILLISECONDS) < context.getConfigParams()
@@ -135,6 +156,85 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
         return true;
     }
 
+    private boolean okToPipeline() {
+        long heartBeatMillis = context.getConfigParams().getHeartBeatInterval().toMillis();
+        if(!inFlightBatches.isEmpty() && timeSinceLastActivity() > heartBeatMillis &&
+                lastReplicatedStopwatch.elapsed(TimeUnit.MILLISECONDS) > heartBeatMillis) {
+            // Nothing was heard back for the outstanding messages within a heartbeat interval so
+            // assume they were lost and start over from the follower's last known position.
+            appendEntriesRepliesReceived = appendEntriesMessagesSent;
+            resetInFlightAppendEntries();
+        }
+
+        // While probing, don't resend the batch we just sent - the follower may still reject the ones that
+        // were in flight before it and each rejection rewinds to the same nextIndex.
+        if(probing && getNextIndex() == lastReplicatedIndex && lastReplicatedStopwatch.elapsed(
+                TimeUnit.MILLISECONDS) < heartBeatMillis) {
+            return false;
+        }
+
+        return inFlightBatches.size() < getInFlightAppendEntriesWindow();
+    }
+
+    @Override
+    public void appendEntriesMessageSent() {
+        appendEntriesMessagesSent++;
+    }
+
+    @Override
+    public void appendEntriesSent(long lastSentIndex) {
+        resetLastReplicated();
+        inFlightBatches.add(lastSentIndex);
+        nextIndex = lastSentIndex + 1;
+    }
+
+    @Override
+    public boolean appendEntriesReplyReceived(boolean success, long followerLastLogIndex) {
+        if(!isPipelined()) {
+            return true;
+        }
+
+        if(appendEntriesRepliesReceived >= appendEntriesMessagesSent) {
+            // A late reply to a message that was presumed lost.
+            return false;
+        }
+
+        boolean current = ++appendEntriesRepliesReceived > messagesSentBeforeLastReset;
+        if(success && current) {
+            // Heartbeats aren't counted in the window so rather than releasing a slot per reply, release
+            // the batches the follower's log now covers.
+            while(!inFlightBatches.isEmpty() && inFlightBatches.peek() <= followerLastLogIndex) {
+                inFlightBatches.remove();
+            }
+
+            probing = false;
+        }
+
+        return current;
+    }
+
+    @Override
+    public void resetInFlightAppendEntries() {
+        inFlightBatches.clear();
+        probing = true;
+        messagesSentBeforeLastReset = appendEntriesMessagesSent;
+    }
+
+    @Override
+    public int getInFlightAppendEntriesCount() {
+        return inFlightBatches.size();
+    }
+
+    @Override
+    public int getInFlightAppendEntriesWindow() {
+        return probing ? 1 : context.getConfigParams().getMaxInFlightAppendEntries();
+    }
+
+    @Override
+    public boolean isPipelined() {
+        return context.getConfigParams().getMaxInFlightAppendEntries() > 1;
+    }
+
     private void resetLastReplicated(){
         lastReplicatedIndex = getNextIndex();
         if(lastReplicatedStopwatch.isRunning()){
@@ -156,7 +256,8 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
     @Override
     public String toString() {
         return "FollowerLogInformationImpl [id=" + getId() + ", nextIndex=" + nextIndex + ", matchIndex=" + matchIndex
-                + ", lastReplicatedIndex=" + lastReplicatedIndex + ", votingState=" + peerInfo.getVotingState()
+                + ", lastReplicatedIndex=" + lastReplicatedIndex + ", inFlightAppendEntries=" + inFlightBatches.size()
+                + ", votingState=" + peerInfo.getVotingState()
                 + ", stopwatch=" + stopwatch.elapsed(TimeUnit.MILLISECONDS) + ", followerTimeoutMillis="
                 + context.getConfigParams().getElectionTimeOutInterval().toMillis() + "]";
     }
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import akka.japi.Procedure;
+import java.util.List;
+import org.opendaylight.controller.cluster.raft.behaviors.RaftActorBehavior;
+
+/**
+ * Implementation of ReplicatedLog used by the RaftActor when the log is configured to be kept off-heap.
+ */
+class OffHeapReplicatedLogImpl extends AbstractOffHeapReplicatedLogImpl {
+    private final ReplicatedLogPersistenceSupport persistenceSupport;
+
+    OffHeapReplicatedLogImpl(long snapshotIndex, long snapshotTerm, List<ReplicatedLogEntry> unAppliedEntries,
+            RaftActorContext context, RaftActorBehavior currentBehavior) {
+        super(snapshotIndex, snapshotTerm, unAppliedEntries);
+        this.persistenceSupport = new ReplicatedLogPersistenceSupport(context, currentBehavior);
+    }
+
+    @Override
+    public void removeFromAndPersist(long logEntryIndex) {
+        persistenceSupport.removeFromAndPersist(this, logEntryIndex);
+    }
+
+    @Override
+    public void appendAndPersist(final ReplicatedLogEntry replicatedLogEntry) {
+        appendAndPersist(replicatedLogEntry, null);
+    }
+
+    @Override
+    public void captureSnapshotIfReady(ReplicatedLogEntry replicatedLogEntry) {
+        persistenceSupport.captureSnapshotIfReady(this, replicatedLogEntry);
+    }
+
+    @Override
+    public void appendAndPersist(final ReplicatedLogEntry replicatedLogEntry,
+            final Procedure<ReplicatedLogEntry> callback)  {
+        persistenceSupport.appendAndPersist(this, replicatedLogEntry, callback);
+    }
+}
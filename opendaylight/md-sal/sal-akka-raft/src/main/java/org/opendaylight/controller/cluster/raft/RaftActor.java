@@ -12,11 +12,14 @@ package org.opendaylight.controller.cluster.raft;
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
 import akka.japi.Procedure;
+import akka.persistence.RecoveryCompleted;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
 import com.google.common.base.Supplier;
 import com.google.common.collect.Lists;
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashMap;
@@ -29,6 +32,7 @@ import org.opendaylight.controller.cluster.DataPersistenceProvider;
 import org.opendaylight.controller.cluster.DelegatingPersistentDataProvider;
 import org.opendaylight.controller.cluster.NonPersistentDataProvider;
 import org.opendaylight.controller.cluster.PersistentDataProvider;
+import org.opendaylight.controller.cluster.SegmentedJournalDataProvider;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedPersistentActor;
 import org.opendaylight.controller.cluster.notifications.LeaderStateChanged;
 import org.opendaylight.controller.cluster.notifications.RoleChanged;
@@ -81,7 +85,8 @@ import org.slf4j.LoggerFactory;
  * it received to update it's state is stale.
  * <p/>
  * <p/>
- * The RaftActor uses akka-persistence to store it's replicated log.
+ * The RaftActor uses akka-persistence to store it's replicated log, or a segmented journal of memory-mapped
+ * files when enabled in the ConfigParams.
  * Furthermore through it's behaviors a Raft Actor determines
  * <p/>
  * <ul>
@@ -122,6 +127,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
     private RaftActorServerConfigurationSupport serverConfigurationSupport;
 
+    private RaftActorGroupCommitSupport groupCommitSupport;
+
     public RaftActor(String id, Map<String, String> peerAddresses,
          Optional<ConfigParams> configParams, short payloadVersion) {
 
@@ -147,6 +154,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
         snapshotSupport = newRaftActorSnapshotMessageSupport();
         serverConfigurationSupport = new RaftActorServerConfigurationSupport(getRaftActorContext());
+        groupCommitSupport = new RaftActorGroupCommitSupport(getRaftActorContext());
     }
 
     @Override
@@ -159,6 +167,12 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             }
         }
 
+        if(groupCommitSupport != null) {
+            groupCommitSupport.close();
+        }
+
+        closePersistence(persistence());
+
         super.postStop();
     }
 
@@ -168,6 +182,11 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             raftRecovery = newRaftActorRecoverySupport();
         }
 
+        if(message instanceof RecoveryCompleted && persistence() instanceof SegmentedJournalDataProvider) {
+            // The akka journal only holds the election term - the log entries follow from the segmented journal.
+            recoverFromSegmentedJournal((SegmentedJournalDataProvider) persistence());
+        }
+
         boolean recoveryComplete = raftRecovery.handleRecoveryMessage(message, persistentProvider);
         if(recoveryComplete) {
             onRecoveryComplete();
@@ -185,6 +204,25 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
         }
     }
 
+    private void recoverFromSegmentedJournal(SegmentedJournalDataProvider provider) {
+        LOG.info("{}: Recovering from the segmented journal", persistenceId());
+
+        try {
+            provider.recover(new Procedure<Object>() {
+                @Override
+                public void apply(Object message) {
+                    if(!(message instanceof RecoveryCompleted)) {
+                        handleRecover(message);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            // Same as with akka persistence - a recovery failure is fatal for the actor.
+            throw new IllegalStateException("Failed to recover " + persistenceId() + " from the segmented journal",
+                    e);
+        }
+    }
+
     protected RaftActorRecoverySupport newRaftActorRecoverySupport() {
         return new RaftActorRecoverySupport(context, currentBehavior, getRaftActorRecoveryCohort());
     }
@@ -203,6 +241,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
     public void handleCommand(final Object message) {
         if(serverConfigurationSupport.handleMessage(message, this, getSender())) {
             return;
+        } else if(groupCommitSupport.handleMessage(this, message)) {
+            return;
         } else if (message instanceof ApplyState){
             ApplyState applyState = (ApplyState) message;
 
@@ -318,7 +358,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             for(String id: followerIds) {
                 final FollowerLogInformation info = leader.getFollower(id);
                 followerInfoList.add(new FollowerInfo(id, info.getNextIndex(), info.getMatchIndex(),
-                        info.isFollowerActive(), DurationFormatUtils.formatDurationHMS(info.timeSinceLastActivity())));
+                        info.isFollowerActive(), DurationFormatUtils.formatDurationHMS(info.timeSinceLastActivity()),
+                        info.getInFlightAppendEntriesCount(), info.getInFlightAppendEntriesWindow()));
             }
 
             builder.followerInfoList(followerInfoList);
@@ -382,6 +423,18 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
     protected void persistData(final ActorRef clientActor, final String identifier,
         final Payload data) {
 
+        if(groupCommitSupport.isEnabled() && !(data instanceof ServerConfigurationPayload)) {
+            groupCommitSupport.persistData(this, clientActor, identifier, data);
+            return;
+        }
+
+        // Keep the journal order - anything pending group commit has to be appended first.
+        groupCommitSupport.flush(this);
+
+        appendAndPersist(clientActor, identifier, data);
+    }
+
+    void appendAndPersist(final ActorRef clientActor, final String identifier, final Payload data) {
         ReplicatedLogEntry replicatedLogEntry = new ReplicatedLogImplEntry(
             context.getReplicatedLog().lastIndex() + 1,
             context.getTermInformation().getCurrentTerm(), data);
@@ -527,12 +580,16 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
     }
 
     public void setPersistence(DataPersistenceProvider provider) {
+        DataPersistenceProvider previous = delegatingPersistenceProvider.getDelegate();
         delegatingPersistenceProvider.setDelegate(provider);
+        if(previous != provider) {
+            closePersistence(previous);
+        }
     }
 
     protected void setPersistence(boolean persistent) {
         if(persistent) {
-            setPersistence(new PersistentDataProvider(this));
+            setPersistence(newPersistentDataProvider());
         } else {
             setPersistence(new NonPersistentDataProvider() {
                 /**
@@ -606,6 +663,31 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
      */
     protected abstract void onRecoveryComplete();
 
+    private DataPersistenceProvider newPersistentDataProvider() {
+        ConfigParams config = context.getConfigParams();
+        if(!config.isSegmentedJournalEnabled()) {
+            return new PersistentDataProvider(this);
+        }
+
+        File directory = new File(config.getSegmentedJournalDirectory(), persistenceId());
+        try {
+            return new SegmentedJournalDataProvider(persistenceId(), directory,
+                    config.getSegmentedJournalMaxSegmentSize(), self());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open the segmented journal in " + directory, e);
+        }
+    }
+
+    private void closePersistence(DataPersistenceProvider provider) {
+        if(provider instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) provider).close();
+            } catch (Exception e) {
+                LOG.warn("{}: Error closing persistence provider {}", persistenceId(), provider, e);
+            }
+        }
+    }
+
     /**
      * Returns the RaftActorSnapshotCohort to participate in persistence recovery.
      */
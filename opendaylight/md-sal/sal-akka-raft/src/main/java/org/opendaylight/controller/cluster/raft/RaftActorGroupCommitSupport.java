@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import akka.actor.ActorRef;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
+import org.slf4j.Logger;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Collects the data passed to RaftActor#persistData so that the resulting log entries are written to the
+ * journal in a single batch rather than one journal write per entry.
+ * <p/>
+ * A batch is written when it reaches the configured maximum size or when the flush message, sent to self
+ * when the first entry of a batch arrives, is processed. Without a group commit window the flush message is
+ * queued directly behind the messages already in the mailbox, so a batch contains whatever arrived during one
+ * mailbox drain. Akka persistence writes all events persisted while processing one message in a single
+ * journal write.
+ */
+class RaftActorGroupCommitSupport {
+    static final String FLUSH_GROUP_COMMIT = "flush_group_commit";
+
+    static final String METRICS_DOMAIN = "org.opendaylight.controller.cluster.raft";
+
+    static final String BATCH_SIZE = "journal-group-commit-batch-size";
+
+    private final RaftActorContext context;
+    private final Logger log;
+    private final List<PendingData> pending = new ArrayList<>();
+    private final MetricRegistry registry;
+    private final String batchSizeMetricName;
+    private final Histogram batchSizeHistogram;
+    private boolean flushScheduled;
+
+    RaftActorGroupCommitSupport(RaftActorContext context) {
+        this.context = context;
+        this.log = context.getLogger();
+
+        registry = MetricsReporter.getInstance(METRICS_DOMAIN).getMetricsRegistry();
+        batchSizeMetricName = MetricRegistry.name(context.getId(), BATCH_SIZE);
+        batchSizeHistogram = registry.histogram(batchSizeMetricName);
+    }
+
+    /**
+     * Unregisters the metrics of the actor. Called when the actor is stopped.
+     */
+    void close() {
+        registry.remove(batchSizeMetricName);
+    }
+
+    boolean isEnabled() {
+        return context.getConfigParams().getJournalGroupCommitMaxBatchSize() > 1;
+    }
+
+    void persistData(RaftActor raftActor, ActorRef clientActor, String identifier, Payload data) {
+        pending.add(new PendingData(clientActor, identifier, data));
+
+        if(pending.size() >= context.getConfigParams().getJournalGroupCommitMaxBatchSize()) {
+            flush(raftActor);
+        } else if(!flushScheduled) {
+            scheduleFlush();
+        }
+    }
+
+    boolean handleMessage(RaftActor raftActor, Object message) {
+        if(FLUSH_GROUP_COMMIT.equals(message)) {
+            flushScheduled = false;
+            flush(raftActor);
+            return true;
+        }
+
+        return false;
+    }
+
+    boolean hasPendingData() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Appends and persists all the pending data. Called with the batch being complete and also before
+     * anything else that needs the replicated log to be up to date, eg a server configuration change.
+     */
+    void flush(RaftActor raftActor) {
+        if(pending.isEmpty()) {
+            return;
+        }
+
+        if(!raftActor.isLeader()) {
+            // Leadership was lost before the batch was written - the entries must not be appended to a
+            // follower's log. The clients' transactions will time out as they would if leadership had been
+            // lost before the entries were replicated.
+            log.warn("{}: No longer the leader - dropping {} entries pending group commit", context.getId(),
+                    pending.size());
+            pending.clear();
+            return;
+        }
+
+        log.debug("{}: Group committing {} entries", context.getId(), pending.size());
+
+        batchSizeHistogram.update(pending.size());
+
+        for(PendingData data: pending) {
+            raftActor.appendAndPersist(data.clientActor, data.identifier, data.data);
+        }
+
+        pending.clear();
+    }
+
+    private void scheduleFlush() {
+        flushScheduled = true;
+
+        FiniteDuration window = context.getConfigParams().getJournalGroupCommitWindow();
+        if(window.toNanos() > 0) {
+            context.getActorSystem().scheduler().scheduleOnce(window, context.getActor(), FLUSH_GROUP_COMMIT,
+                    context.getActorSystem().dispatcher(), context.getActor());
+        } else {
+            context.getActor().tell(FLUSH_GROUP_COMMIT, context.getActor());
+        }
+    }
+
+    private static class PendingData {
+        final ActorRef clientActor;
+        final String identifier;
+        final Payload data;
+
+        PendingData(ActorRef clientActor, String identifier, Payload data) {
+            this.clientActor = clientActor;
+            this.identifier = identifier;
+            this.data = data;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.protobuf.ByteString;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -128,6 +129,21 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         return followerToLog.keySet();
     }
 
+    /**
+     * Returns the lowest payload version among the followers, or this member's payload version if there are no
+     * followers. A follower which has not replied yet counts as version -1.
+     *
+     * @return the lowest payload version which all members can read
+     */
+    public short getMinimumFollowerPayloadVersion() {
+        short minVersion = context.getPayloadVersion();
+        for (FollowerLogInformation info : followerToLog.values()) {
+            minVersion = (short) Math.min(minVersion, info.getPayloadVersion());
+        }
+
+        return minVersion;
+    }
+
     public void addFollower(String followerId) {
         FollowerLogInformation followerLogInformation = new FollowerLogInformationImpl(
                 context.getPeerInfo(followerId), -1, context);
@@ -167,7 +183,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     @VisibleForTesting
     void setSnapshot(@Nullable Snapshot snapshot) {
         if(snapshot != null) {
-            this.snapshot = Optional.of(new SnapshotHolder(snapshot));
+            this.snapshot = Optional.of(new SnapshotHolder(snapshot, context.getConfigParams().getSnapshotChunkSize()));
         } else {
             this.snapshot = Optional.absent();
         }
@@ -211,12 +227,26 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         followerLogInformation.markFollowerActive();
         followerLogInformation.setPayloadVersion(appendEntriesReply.getPayloadVersion());
 
+        boolean current = followerLogInformation.appendEntriesReplyReceived(appendEntriesReply.isSuccess(),
+                appendEntriesReply.getLogLastIndex());
+
         boolean updated = false;
         if (appendEntriesReply.isSuccess()) {
-            updated = updateFollowerLogInformation(followerLogInformation, appendEntriesReply);
+            if(followerLogInformation.isPipelined()) {
+                updated = updatePipelinedFollowerLogInformation(followerLogInformation, appendEntriesReply);
+            } else {
+                updated = updateFollowerLogInformation(followerLogInformation, appendEntriesReply);
+            }
+        } else if(!current && !appendEntriesReply.isForceInstallSnapshot()) {
+            // The rejected message was sent before the nextIndex was last rewound so it was already accounted for.
+            LOG.debug("{}: handleAppendEntriesReply: ignoring stale unsuccessful reply: {}", logName(),
+                    appendEntriesReply);
         } else {
             LOG.debug("{}: handleAppendEntriesReply: received unsuccessful reply: {}", logName(), appendEntriesReply);
 
+            // Any batches still in flight were sent past the point the follower rejected so they're void.
+            followerLogInformation.resetInFlightAppendEntries();
+
             long followerLastLogIndex = appendEntriesReply.getLogLastIndex();
             ReplicatedLogEntry followersLastLogEntry = context.getReplicatedLog().get(followerLastLogIndex);
             if(appendEntriesReply.isForceInstallSnapshot()) {
@@ -242,6 +272,13 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
                 // does not explicitly deal with it but may be something for us to
                 // think about.
 
+                if(followerLogInformation.isPipelined() &&
+                        followerLogInformation.getNextIndex() > followerLastLogIndex + 1) {
+                    // The nextIndex was advanced optimistically past entries the follower never accepted
+                    // so first rewind it to just past the follower's last entry.
+                    followerLogInformation.setNextIndex(followerLastLogIndex + 1);
+                }
+
                 followerLogInformation.decrNextIndex();
             }
         }
@@ -303,6 +340,28 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         return updated;
     }
 
+    private boolean updatePipelinedFollowerLogInformation(FollowerLogInformation followerLogInformation,
+            AppendEntriesReply appendEntriesReply) {
+        // With several batches in flight a reply may be older than the latest state we know of for the
+        // follower so neither the matchIndex nor the optimistically advanced nextIndex is moved backwards.
+        long followerLastLogIndex = appendEntriesReply.getLogLastIndex();
+        boolean updated = false;
+        if(followerLastLogIndex > followerLogInformation.getMatchIndex()) {
+            updated = followerLogInformation.setMatchIndex(followerLastLogIndex);
+        }
+
+        if(followerLastLogIndex >= followerLogInformation.getNextIndex()) {
+            updated = followerLogInformation.setNextIndex(followerLastLogIndex + 1) || updated;
+        }
+
+        if(updated && LOG.isDebugEnabled()) {
+            LOG.debug("{}: handleAppendEntriesReply - FollowerLogInformation for {} updated: matchIndex: {}, nextIndex: {}, inFlight: {}",
+                    logName(), followerLogInformation.getId(), followerLogInformation.getMatchIndex(),
+                    followerLogInformation.getNextIndex(), followerLogInformation.getInFlightAppendEntriesCount());
+        }
+        return updated;
+    }
+
     private void purgeInMemoryLog() {
         //find the lowest index across followers which has been replicated to all.
         // lastApplied if there are no followers, so that we keep clearing the log for single-node
@@ -562,12 +621,16 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
                             followerNextIndex, followerId);
 
                     if(followerLogInformation.okToReplicate()) {
-                        // Try to send all the entries in the journal but not exceeding the max data size
-                        // for a single AppendEntries message.
-                        int maxEntries = (int) context.getReplicatedLog().size();
-                        entries = context.getReplicatedLog().getFrom(followerNextIndex, maxEntries,
-                                context.getConfigParams().getSnapshotChunkSize());
-                        sendAppendEntries = true;
+                        if(followerLogInformation.isPipelined()) {
+                            pipelineAppendEntriesToFollower(followerActor, followerLogInformation);
+                        } else {
+                            // Try to send all the entries in the journal but not exceeding the max data size
+                            // for a single AppendEntries message.
+                            int maxEntries = (int) context.getReplicatedLog().size();
+                            entries = context.getReplicatedLog().getFrom(followerNextIndex, maxEntries,
+                                    context.getConfigParams().getSnapshotChunkSize());
+                            sendAppendEntries = true;
+                        }
                     }
                 } else if (isFollowerActive && followerNextIndex >= 0 &&
                     leaderLastIndex > followerNextIndex && !context.getSnapshotManager().isCapturing()) {
@@ -598,24 +661,46 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
             if(sendAppendEntries) {
                 sendAppendEntriesToFollower(followerActor, followerNextIndex,
-                        entries, followerId);
+                        entries, followerLogInformation);
             }
         }
     }
 
+    /**
+     * Sends consecutive batches of log entries to the follower, without waiting for each to be acknowledged,
+     * until either the journal is exhausted or the follower's in-flight window is full.
+     */
+    private void pipelineAppendEntriesToFollower(ActorSelection followerActor,
+            FollowerLogInformation followerLogInformation) {
+        int maxEntries = (int) context.getReplicatedLog().size();
+        do {
+            long followerNextIndex = followerLogInformation.getNextIndex();
+            List<ReplicatedLogEntry> entries = context.getReplicatedLog().getFrom(followerNextIndex, maxEntries,
+                    context.getConfigParams().getSnapshotChunkSize());
+            if(entries.isEmpty()) {
+                break;
+            }
+
+            sendAppendEntriesToFollower(followerActor, followerNextIndex, entries, followerLogInformation);
+            followerLogInformation.appendEntriesSent(entries.get(entries.size() - 1).getIndex());
+        } while(context.getReplicatedLog().isPresent(followerLogInformation.getNextIndex()) &&
+                followerLogInformation.okToReplicate());
+    }
+
     private void sendAppendEntriesToFollower(ActorSelection followerActor, long followerNextIndex,
-        List<ReplicatedLogEntry> entries, String followerId) {
+        List<ReplicatedLogEntry> entries, FollowerLogInformation followerLogInformation) {
         AppendEntries appendEntries = new AppendEntries(currentTerm(), context.getId(),
             prevLogIndex(followerNextIndex),
             prevLogTerm(followerNextIndex), entries,
             context.getCommitIndex(), super.getReplicatedToAllIndex(), context.getPayloadVersion());
 
         if(!entries.isEmpty() || LOG.isTraceEnabled()) {
-            LOG.debug("{}: Sending AppendEntries to follower {}: {}", logName(), followerId,
+            LOG.debug("{}: Sending AppendEntries to follower {}: {}", logName(), followerLogInformation.getId(),
                     appendEntries);
         }
 
         followerActor.tell(appendEntries.toSerializable(), actor());
+        followerLogInformation.appendEntriesMessageSent();
     }
 
     /**
@@ -710,10 +795,10 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     }
 
     /**
-     * Acccepts snaphot as ByteString, enters into map for future chunks
+     * Acccepts snaphot as a ByteBuffer, enters into map for future chunks
      * creates and return a ByteString chunk
      */
-    private ByteString getNextSnapshotChunk(String followerId, ByteString snapshotBytes) throws IOException {
+    private ByteString getNextSnapshotChunk(String followerId, ByteBuffer snapshotBytes) throws IOException {
         FollowerToSnapshot followerToSnapshot = mapFollowerToSnapshot.get(followerId);
         if (followerToSnapshot == null) {
             followerToSnapshot = new FollowerToSnapshot(snapshotBytes);
@@ -782,11 +867,12 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     }
 
     /**
-     * Encapsulates the snapshot bytestring and handles the logic of sending
-     * snapshot chunks
+     * Encapsulates the snapshot bytes and handles the logic of sending
+     * snapshot chunks. Chunks are copied out of the snapshot bytes as they are
+     * sent, so the bytes may be an off-heap or memory-mapped buffer.
      */
     protected class FollowerToSnapshot {
-        private final ByteString snapshotBytes;
+        private final ByteBuffer snapshotBytes;
         private int offset = 0;
         // the next snapshot chunk is sent only if the replyReceivedForOffset matches offset
         private int replyReceivedForOffset;
@@ -798,8 +884,12 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         private int nextChunkHashCode = AbstractLeader.INITIAL_LAST_CHUNK_HASH_CODE;
 
         public FollowerToSnapshot(ByteString snapshotBytes) {
-            this.snapshotBytes = snapshotBytes;
-            int size = snapshotBytes.size();
+            this(snapshotBytes.asReadOnlyByteBuffer());
+        }
+
+        public FollowerToSnapshot(ByteBuffer snapshotBytes) {
+            this.snapshotBytes = snapshotBytes.asReadOnlyBuffer();
+            int size = this.snapshotBytes.remaining();
             totalChunks = ( size / context.getConfigParams().getSnapshotChunkSize()) +
                 ((size % context.getConfigParams().getSnapshotChunkSize()) > 0 ? 1 : 0);
             if(LOG.isDebugEnabled()) {
@@ -810,8 +900,8 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             chunkIndex = AbstractLeader.FIRST_CHUNK_INDEX;
         }
 
-        public ByteString getSnapshotBytes() {
-            return snapshotBytes;
+        public int getSnapshotSize() {
+            return snapshotBytes.remaining();
         }
 
         public int incrementOffset() {
@@ -861,7 +951,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         }
 
         public ByteString getNextChunk() {
-            int snapshotLength = getSnapshotBytes().size();
+            int snapshotLength = getSnapshotSize();
             int start = incrementOffset();
             int size = context.getConfigParams().getSnapshotChunkSize();
             if (context.getConfigParams().getSnapshotChunkSize() > snapshotLength) {
@@ -876,7 +966,11 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             LOG.debug("{}: Next chunk: length={}, offset={},size={}", logName(),
                     snapshotLength, start, size);
 
-            ByteString substring = getSnapshotBytes().substring(start, start + size);
+            ByteBuffer chunkBytes = snapshotBytes.duplicate();
+            chunkBytes.position(snapshotBytes.position() + start);
+            chunkBytes.limit(snapshotBytes.position() + start + size);
+
+            ByteString substring = ByteString.copyFrom(chunkBytes);
             nextChunkHashCode = substring.hashCode();
             return substring;
         }
@@ -934,15 +1028,33 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         return followerToLog.size();
     }
 
-    private static class SnapshotHolder {
+    private class SnapshotHolder {
         private final long lastIncludedTerm;
         private final long lastIncludedIndex;
-        private final ByteString snapshotBytes;
+        private final ByteBuffer snapshotBytes;
 
-        SnapshotHolder(Snapshot snapshot) {
+        SnapshotHolder(Snapshot snapshot, int chunkSize) {
             this.lastIncludedTerm = snapshot.getLastAppliedTerm();
             this.lastIncludedIndex = snapshot.getLastAppliedIndex();
-            this.snapshotBytes = ByteString.copyFrom(snapshot.getState());
+            this.snapshotBytes = spillIfLarge(snapshot.getState(), chunkSize);
+        }
+
+        /**
+         * A snapshot that needs more than one chunk is written out to a memory-mapped temporary file so the leader
+         * does not retain the serialized state on the heap for the duration of the install. Smaller snapshots are
+         * served directly from the snapshot's byte array.
+         */
+        private ByteBuffer spillIfLarge(byte[] state, int chunkSize) {
+            if(state.length > chunkSize) {
+                try {
+                    return SnapshotSpillFile.spill(state);
+                } catch (IOException e) {
+                    LOG.warn("{}: Failed to spill snapshot of {} bytes to a file - keeping it in memory", logName(),
+                            state.length, e);
+                }
+            }
+
+            return ByteBuffer.wrap(state).asReadOnlyBuffer();
         }
 
         long getLastIncludedTerm() {
@@ -953,7 +1065,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             return lastIncludedIndex;
         }
 
-        ByteString getSnapshotBytes() {
+        ByteBuffer getSnapshotBytes() {
             return snapshotBytes;
         }
     }
@@ -44,6 +44,9 @@ public class Follower extends AbstractRaftActorBehavior {
 
     private static final int SYNC_THRESHOLD = 10;
 
+    private long lastLeaderCommit = -1;
+    private long lastLeaderMessageNanos;
+
     public Follower(RaftActorContext context) {
         this(context, null);
     }
@@ -124,6 +127,8 @@ public class Follower extends AbstractRaftActorBehavior {
 
         // If we got here then we do appear to be talking to the leader
         leaderId = appendEntries.getLeaderId();
+        lastLeaderCommit = appendEntries.getLeaderCommit();
+        lastLeaderMessageNanos = System.nanoTime();
 
         setLeaderPayloadVersion(appendEntries.getPayloadVersion());
 
@@ -391,7 +396,7 @@ public class Follower extends AbstractRaftActorBehavior {
 
                 actor().tell(new ApplySnapshot(snapshot, applySnapshotCallback), actor());
 
-                snapshotTracker = null;
+                closeSnapshotTracker();
             } else {
                 LOG.debug("{}: handleInstallSnapshot returning: {}", logName(), reply);
 
@@ -402,7 +407,7 @@ public class Follower extends AbstractRaftActorBehavior {
 
             sender.tell(new InstallSnapshotReply(currentTerm(), context.getId(),
                     -1, false), actor());
-            snapshotTracker = null;
+            closeSnapshotTracker();
 
         } catch (Exception e){
             LOG.error("{}: Exception in InstallSnapshot of follower", logName(), e);
@@ -414,9 +419,38 @@ public class Follower extends AbstractRaftActorBehavior {
         }
     }
 
+    /**
+     * Determines whether this follower's applied state is recent enough to serve reads in place of the leader.
+     * This is the case if the follower heard from the leader within the election timeout and has applied all
+     * but at most maxLag of the entries the leader last reported as committed.
+     *
+     * @param maxLag the maximum number of committed entries the applied state may lag behind
+     * @return true if the applied state is within the lag bound
+     */
+    public boolean isAppliedStateWithinLag(final long maxLag) {
+        if (leaderId == null || lastLeaderCommit < 0 || snapshotTracker != null) {
+            return false;
+        }
+
+        final long sinceLastLeaderMessage = System.nanoTime() - lastLeaderMessageNanos;
+        if (sinceLastLeaderMessage > context.getConfigParams().getElectionTimeOutInterval().toNanos()) {
+            return false;
+        }
+
+        return lastLeaderCommit - context.getLastApplied() <= maxLag;
+    }
+
+    private void closeSnapshotTracker() {
+        if(snapshotTracker != null) {
+            snapshotTracker.close();
+            snapshotTracker = null;
+        }
+    }
+
     @Override
     public void close() throws Exception {
         stopElection();
+        closeSnapshotTracker();
     }
 
     @VisibleForTesting
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.behaviors;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Temporary file used to keep serialized snapshot bytes off the heap while a snapshot is being installed on a
+ * follower, either to serve the leader's chunks or to assemble the chunks received by the follower.
+ */
+final class SnapshotSpillFile implements AutoCloseable {
+    private static final String PREFIX = "raft-snapshot-";
+    private static final String SUFFIX = ".tmp";
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    private long size;
+
+    SnapshotSpillFile() throws IOException {
+        file = File.createTempFile(PREFIX, SUFFIX);
+        try {
+            raf = new RandomAccessFile(file, "rw");
+        } catch(IOException e) {
+            file.delete();
+            throw e;
+        }
+
+        channel = raf.getChannel();
+    }
+
+    /**
+     * Writes the given bytes to a temporary file and returns a read-only mapping of it. The file itself is removed
+     * straight away - the mapping stays valid until the returned buffer is garbage collected.
+     */
+    static ByteBuffer spill(byte[] bytes) throws IOException {
+        try(SnapshotSpillFile spillFile = new SnapshotSpillFile()) {
+            spillFile.append(ByteBuffer.wrap(bytes));
+            return spillFile.channel.map(MapMode.READ_ONLY, 0, spillFile.size).asReadOnlyBuffer();
+        }
+    }
+
+    void append(ByteString chunk) throws IOException {
+        append(chunk.asReadOnlyByteBuffer());
+    }
+
+    private void append(ByteBuffer buffer) throws IOException {
+        // Positional writes so a failed append can simply be retried.
+        long position = size;
+        while(buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+
+        size = position;
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte[] readAll() throws IOException {
+        if(size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + size + " bytes is too large");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer, buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file " + file);
+            }
+        }
+
+        return buffer.array();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            raf.close();
+        } finally {
+            file.delete();
+        }
+    }
+}
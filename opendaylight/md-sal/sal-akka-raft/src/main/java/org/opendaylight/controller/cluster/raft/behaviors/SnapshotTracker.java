@@ -8,17 +8,22 @@
 
 package org.opendaylight.controller.cluster.raft.behaviors;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.protobuf.ByteString;
+import java.io.IOException;
 import org.slf4j.Logger;
 
 /**
- * SnapshotTracker does house keeping for a snapshot that is being installed in chunks on the Follower
+ * SnapshotTracker does house keeping for a snapshot that is being installed in chunks on the Follower.
+ * When the snapshot consists of more than one chunk, the chunks are assembled in a temporary file rather
+ * than on the heap so the follower does not retain every InstallSnapshot message until the last one arrives.
  */
-public class SnapshotTracker {
+public class SnapshotTracker implements AutoCloseable {
     private final Logger LOG;
     private final int totalChunks;
     private ByteString collectedChunks = ByteString.EMPTY;
+    private SnapshotSpillFile spillFile;
     private int lastChunkIndex = AbstractLeader.FIRST_CHUNK_INDEX - 1;
     private boolean sealed = false;
     private int lastChunkHashCode = AbstractLeader.INITIAL_LAST_CHUNK_HASH_CODE;
@@ -35,6 +40,7 @@ public class SnapshotTracker {
      * @param chunk
      * @return true when the lastChunk is received
      * @throws InvalidChunkException
+     * @throws IllegalStateException if the chunk could not be written to the temporary file, the chunk may be retried
      */
     boolean addChunk(int chunkIndex, ByteString chunk, Optional<Integer> lastChunkHashCode) throws InvalidChunkException{
         if(sealed){
@@ -54,12 +60,25 @@ public class SnapshotTracker {
 
         if(LOG.isDebugEnabled()) {
             LOG.debug("Chunk={},collectedChunks.size:{}",
-                    chunkIndex, collectedChunks.size());
+                    chunkIndex, collectedSize());
+        }
+
+        if(totalChunks > 1) {
+            try {
+                if(spillFile == null) {
+                    spillFile = new SnapshotSpillFile();
+                }
+
+                spillFile.append(chunk);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to write snapshot chunk " + chunkIndex, e);
+            }
+        } else {
+            collectedChunks = collectedChunks.concat(chunk);
         }
 
         sealed = (chunkIndex == totalChunks);
         lastChunkIndex = chunkIndex;
-        collectedChunks = collectedChunks.concat(chunk);
         this.lastChunkHashCode = chunk.hashCode();
         return sealed;
     }
@@ -69,11 +88,48 @@ public class SnapshotTracker {
             throw new IllegalStateException("lastChunk not received yet");
         }
 
-        return collectedChunks.toByteArray();
+        if(spillFile == null) {
+            return collectedChunks.toByteArray();
+        }
+
+        try {
+            return spillFile.readAll();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the collected snapshot chunks", e);
+        }
     }
 
+    private long collectedSize() {
+        return spillFile != null ? spillFile.size() : collectedChunks.size();
+    }
+
+    @VisibleForTesting
     ByteString getCollectedChunks(){
-        return collectedChunks;
+        if(spillFile == null) {
+            return collectedChunks;
+        }
+
+        try {
+            return ByteString.copyFrom(spillFile.readAll());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the collected snapshot chunks", e);
+        }
+    }
+
+    /**
+     * Releases the temporary file, if any, holding the collected chunks.
+     */
+    @Override
+    public void close() {
+        if(spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                LOG.debug("Failed to close snapshot spill file", e);
+            }
+
+            spillFile = null;
+        }
     }
 
     public static class InvalidChunkException extends Exception {
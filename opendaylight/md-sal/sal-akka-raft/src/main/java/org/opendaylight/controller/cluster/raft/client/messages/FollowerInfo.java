@@ -20,14 +20,24 @@ public class FollowerInfo {
     private final long matchIndex;
     private final boolean isActive;
     private final String timeSinceLastActivity;
+    private final int inFlightAppendEntries;
+    private final int inFlightAppendEntriesWindow;
 
-    @ConstructorProperties({"id","nextIndex", "matchIndex", "isActive", "timeSinceLastActivity"})
     public FollowerInfo(String id, long nextIndex, long matchIndex, boolean isActive, String timeSinceLastActivity) {
+        this(id, nextIndex, matchIndex, isActive, timeSinceLastActivity, 0, 1);
+    }
+
+    @ConstructorProperties({"id","nextIndex", "matchIndex", "isActive", "timeSinceLastActivity",
+        "inFlightAppendEntries", "inFlightAppendEntriesWindow"})
+    public FollowerInfo(String id, long nextIndex, long matchIndex, boolean isActive, String timeSinceLastActivity,
+            int inFlightAppendEntries, int inFlightAppendEntriesWindow) {
         this.id = id;
         this.nextIndex = nextIndex;
         this.matchIndex = matchIndex;
         this.isActive = isActive;
         this.timeSinceLastActivity = timeSinceLastActivity;
+        this.inFlightAppendEntries = inFlightAppendEntries;
+        this.inFlightAppendEntriesWindow = inFlightAppendEntriesWindow;
     }
 
     public String getId() {
@@ -49,4 +59,12 @@ public class FollowerInfo {
     public String getTimeSinceLastActivity() {
         return timeSinceLastActivity;
     }
+
+    public int getInFlightAppendEntries() {
+        return inFlightAppendEntries;
+    }
+
+    public int getInFlightAppendEntriesWindow() {
+        return inFlightAppendEntriesWindow;
+    }
 }
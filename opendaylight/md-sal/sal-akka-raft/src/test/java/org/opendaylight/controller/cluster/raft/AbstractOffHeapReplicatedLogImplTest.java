@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import akka.japi.Procedure;
+import java.util.List;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.raft.MockRaftActorContext.MockPayload;
+import org.opendaylight.controller.cluster.raft.MockRaftActorContext.MockReplicatedLogEntry;
+
+/**
+ * Unit tests for AbstractOffHeapReplicatedLogImpl.
+ */
+public class AbstractOffHeapReplicatedLogImplTest {
+
+    private MockOffHeapReplicatedLogImpl replicatedLogImpl;
+
+    @Before
+    public void setUp() {
+        replicatedLogImpl = new MockOffHeapReplicatedLogImpl();
+        // create a set of initial entries in the in-memory log
+        replicatedLogImpl.append(new MockReplicatedLogEntry(1, 0, new MockPayload("A")));
+        replicatedLogImpl.append(new MockReplicatedLogEntry(1, 1, new MockPayload("B")));
+        replicatedLogImpl.append(new MockReplicatedLogEntry(1, 2, new MockPayload("C")));
+        replicatedLogImpl.append(new MockReplicatedLogEntry(2, 3, new MockPayload("D")));
+    }
+
+    @Test
+    public void testEmptyLog() {
+        replicatedLogImpl = new MockOffHeapReplicatedLogImpl();
+
+        assertEquals("size", 0, replicatedLogImpl.size());
+        assertEquals("dataSize", 0, replicatedLogImpl.dataSize());
+        assertEquals("lastIndex", -1, replicatedLogImpl.lastIndex());
+        assertEquals("lastTerm", -1, replicatedLogImpl.lastTerm());
+        assertNull("get(0)", replicatedLogImpl.get(0));
+        assertNull("last", replicatedLogImpl.last());
+        assertEquals("getFrom size", 0, replicatedLogImpl.getFrom(0).size());
+        assertEquals("removeFrom", -1, replicatedLogImpl.removeFrom(1));
+    }
+
+    @Test
+    public void testIndexOperations() {
+        assertEquals("B", replicatedLogImpl.get(1).getData().toString());
+        assertEquals("D", replicatedLogImpl.last().getData().toString());
+        assertEquals(1, replicatedLogImpl.get(1).size());
+        assertEquals(3, replicatedLogImpl.lastIndex());
+        assertEquals(2, replicatedLogImpl.lastTerm());
+        assertEquals(2, replicatedLogImpl.getFrom(2).size());
+        assertEquals(4, replicatedLogImpl.size());
+        assertTrue(replicatedLogImpl.isPresent(2));
+
+        List<ReplicatedLogEntry> entries = replicatedLogImpl.getFrom(1, 2, ReplicatedLog.NO_MAX_SIZE);
+        assertEquals("getFrom size", 2, entries.size());
+        assertEquals("B", entries.get(0).getData().toString());
+        assertEquals("C", entries.get(1).getData().toString());
+
+        entries = replicatedLogImpl.getFrom(0, 4, 2);
+        assertEquals("getFrom with max data size", 2, entries.size());
+    }
+
+    @Test
+    public void testSnapshotCommit() {
+        int fullDataSize = replicatedLogImpl.dataSize();
+
+        replicatedLogImpl.snapshotPreCommit(1, 1);
+
+        // The trimmed entries are only released on commit
+        assertEquals("dataSize", fullDataSize, replicatedLogImpl.dataSize());
+
+        replicatedLogImpl.snapshotCommit();
+
+        assertEquals("size", 2, replicatedLogImpl.size());
+        assertTrue("dataSize", replicatedLogImpl.dataSize() < fullDataSize);
+        assertEquals("getSnapshotIndex", 1, replicatedLogImpl.getSnapshotIndex());
+        assertEquals("lastIndex", 3, replicatedLogImpl.lastIndex());
+        assertNull("get(1)", replicatedLogImpl.get(1));
+        assertEquals("C", replicatedLogImpl.get(2).getData().toString());
+        assertEquals("D", replicatedLogImpl.get(3).getData().toString());
+    }
+
+    @Test
+    public void testSnapshotRollback() {
+        replicatedLogImpl.snapshotPreCommit(1, 1);
+        replicatedLogImpl.append(new MockReplicatedLogEntry(2, 4, new MockPayload("E")));
+
+        assertEquals("size", 3, replicatedLogImpl.size());
+
+        replicatedLogImpl.snapshotRollback();
+
+        assertEquals("size", 5, replicatedLogImpl.size());
+        assertEquals("getSnapshotIndex", -1, replicatedLogImpl.getSnapshotIndex());
+        assertEquals("getSnapshotTerm", -1, replicatedLogImpl.getSnapshotTerm());
+        assertEquals("A", replicatedLogImpl.get(0).getData().toString());
+        assertEquals("E", replicatedLogImpl.get(4).getData().toString());
+    }
+
+    @Test
+    public void testRemoveFrom() {
+        int dataSize = replicatedLogImpl.dataSize();
+
+        replicatedLogImpl.append(new MockReplicatedLogEntry(2, 4, new MockPayload("E")));
+        replicatedLogImpl.append(new MockReplicatedLogEntry(2, 5, new MockPayload("F")));
+
+        assertEquals("removeFrom - adjusted", 4, replicatedLogImpl.removeFrom(4));
+        assertEquals("size", 4, replicatedLogImpl.size());
+        assertEquals("dataSize", dataSize, replicatedLogImpl.dataSize());
+
+        replicatedLogImpl.append(new MockReplicatedLogEntry(3, 4, new MockPayload("G")));
+        assertEquals("G", replicatedLogImpl.last().getData().toString());
+        assertEquals("removeFrom - adjusted", -1, replicatedLogImpl.removeFrom(100));
+    }
+
+    @Test
+    public void testBufferGrowsAndWraps() {
+        int capacity = replicatedLogImpl.bufferCapacity();
+        StringBuilder value = new StringBuilder();
+        for(int i = 0; i < capacity / 16; i++) {
+            value.append('x');
+        }
+
+        // Keep trimming the log so the buffer wraps around before it needs to grow.
+        long index = replicatedLogImpl.lastIndex();
+        for(int i = 0; i < 100; i++) {
+            index++;
+            replicatedLogImpl.append(new MockReplicatedLogEntry(3, index, new MockPayload(value.toString() + index)));
+            if(replicatedLogImpl.size() > 4) {
+                replicatedLogImpl.snapshotPreCommit(index - 4, 3);
+                replicatedLogImpl.snapshotCommit();
+            }
+        }
+
+        assertEquals("bufferCapacity", capacity, replicatedLogImpl.bufferCapacity());
+        assertEquals(value.toString() + index, replicatedLogImpl.last().getData().toString());
+
+        // Now let the log grow past the buffer capacity.
+        for(int i = 0; i < 32; i++) {
+            index++;
+            replicatedLogImpl.append(new MockReplicatedLogEntry(3, index, new MockPayload(value.toString() + index)));
+        }
+
+        assertTrue("bufferCapacity", replicatedLogImpl.bufferCapacity() > capacity);
+        for(long i = index - 35; i <= index; i++) {
+            assertEquals(value.toString() + i, replicatedLogImpl.get(i).getData().toString());
+        }
+    }
+
+    @Test
+    public void testEntrySerialization() {
+        ReplicatedLogEntry entry = replicatedLogImpl.get(2);
+        assertNotNull(entry);
+
+        ReplicatedLogEntry clone = (ReplicatedLogEntry) SerializationUtils.clone(entry);
+        assertEquals("getIndex", 2, clone.getIndex());
+        assertEquals("getTerm", 1, clone.getTerm());
+        assertEquals("getData", "C", clone.getData().toString());
+    }
+
+    static class MockOffHeapReplicatedLogImpl extends AbstractOffHeapReplicatedLogImpl {
+        @Override
+        public void appendAndPersist(final ReplicatedLogEntry replicatedLogEntry) {
+        }
+
+        @Override
+        public void removeFromAndPersist(final long index) {
+        }
+
+        @Override
+        public void appendAndPersist(ReplicatedLogEntry replicatedLogEntry, Procedure<ReplicatedLogEntry> callback) {
+        }
+
+        @Override
+        public void captureSnapshotIfReady(ReplicatedLogEntry replicatedLogEntry) {
+        }
+    }
+}
@@ -18,11 +18,13 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isA;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import akka.actor.ActorRef;
@@ -38,11 +40,13 @@ import akka.persistence.SnapshotMetadata;
 import akka.persistence.SnapshotOffer;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.protobuf.ByteString;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -55,11 +59,14 @@ import java.util.concurrent.TimeoutException;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
 import org.opendaylight.controller.cluster.DataPersistenceProvider;
 import org.opendaylight.controller.cluster.NonPersistentDataProvider;
 import org.opendaylight.controller.cluster.PersistentDataProvider;
+import org.opendaylight.controller.cluster.SegmentedJournalDataProvider;
 import org.opendaylight.controller.cluster.notifications.LeaderStateChanged;
 import org.opendaylight.controller.cluster.notifications.RoleChanged;
 import org.opendaylight.controller.cluster.raft.MockRaftActorContext.MockPayload;
@@ -84,6 +91,7 @@ import org.opendaylight.controller.cluster.raft.policy.DisableElectionsRaftPolic
 import org.opendaylight.controller.cluster.raft.utils.InMemoryJournal;
 import org.opendaylight.controller.cluster.raft.utils.InMemorySnapshotStore;
 import org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.duration.Duration;
@@ -95,6 +103,9 @@ public class RaftActorTest extends AbstractActorTest {
 
     private TestActorFactory factory;
 
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
     @Before
     public void setUp(){
         factory = new TestActorFactory(getSystem());
@@ -211,6 +222,55 @@ public class RaftActorTest extends AbstractActorTest {
         TEST_LOG.info("testRaftActorRecoveryWithPersistenceEnabled ending");
     }
 
+    @Test
+    public void testRaftActorRecoveryWithSegmentedJournal() throws Exception {
+        TEST_LOG.info("testRaftActorRecoveryWithSegmentedJournal starting");
+
+        String persistenceId = factory.generateActorId("follower-");
+
+        DefaultConfigParamsImpl config = new DefaultConfigParamsImpl();
+        config.setHeartBeatInterval(new FiniteDuration(1, TimeUnit.DAYS));
+        config.setSegmentedJournalEnabled(true);
+        config.setSegmentedJournalDirectory(temp.getRoot().getPath());
+
+        Procedure<Object> noop = new Procedure<Object>() {
+            @Override
+            public void apply(Object o) {
+            }
+        };
+
+        try(SegmentedJournalDataProvider journal = new SegmentedJournalDataProvider(persistenceId,
+                new File(temp.getRoot(), persistenceId), config.getSegmentedJournalMaxSegmentSize(),
+                getSystem().deadLetters())) {
+            journal.persist(new MockRaftActorContext.MockReplicatedLogEntry(1, 0,
+                    new MockRaftActorContext.MockPayload("A")), noop);
+            journal.persist(new MockRaftActorContext.MockReplicatedLogEntry(1, 1,
+                    new MockRaftActorContext.MockPayload("B")), noop);
+            journal.persist(new ApplyJournalEntries(1), noop);
+            journal.persist(new MockRaftActorContext.MockReplicatedLogEntry(1, 2,
+                    new MockRaftActorContext.MockPayload("C")), noop);
+        }
+
+        TestActorRef<MockRaftActor> ref = factory.createTestActor(MockRaftActor.props(persistenceId,
+                ImmutableMap.of("member1", "address"), config), persistenceId);
+
+        MockRaftActor mockRaftActor = ref.underlyingActor();
+        mockRaftActor.waitForRecoveryComplete();
+
+        assertTrue("Persistence provider", mockRaftActor.persistence() instanceof SegmentedJournalDataProvider);
+
+        RaftActorContext context = mockRaftActor.getRaftActorContext();
+        assertEquals("Journal log size", 3, context.getReplicatedLog().size());
+        assertEquals("Last index", 2, context.getReplicatedLog().lastIndex());
+        assertEquals("Last applied", 1, context.getLastApplied());
+        assertEquals("Recovered state size", 2, mockRaftActor.getState().size());
+
+        // Nothing but the election term goes to the akka journal.
+        assertEquals("Akka journal entries", 0, InMemoryJournal.get(persistenceId, ReplicatedLogEntry.class).size());
+
+        TEST_LOG.info("testRaftActorRecoveryWithSegmentedJournal ending");
+    }
+
     @Test
     public void testRaftActorRecoveryWithPersistenceDisabled() throws Exception {
         new JavaTestKit(getSystem()) {{
@@ -418,6 +478,67 @@ public class RaftActorTest extends AbstractActorTest {
         };
     }
 
+    @Test
+    public void testPersistDataWithGroupCommit() throws Exception {
+        new JavaTestKit(getSystem()) {
+            {
+                String persistenceId = factory.generateActorId("leader-");
+
+                DefaultConfigParamsImpl config = new DefaultConfigParamsImpl();
+                config.setHeartBeatInterval(new FiniteDuration(1, TimeUnit.DAYS));
+                config.setJournalGroupCommitMaxBatchSize(3);
+                config.setJournalGroupCommitWindowInMillis(TimeUnit.DAYS.toMillis(1));
+
+                DataPersistenceProvider dataPersistenceProvider = mock(DataPersistenceProvider.class);
+
+                TestActorRef<MockRaftActor> mockActorRef = factory.createTestActor(MockRaftActor.props(persistenceId,
+                        Collections.<String, String>emptyMap(), config, dataPersistenceProvider), persistenceId);
+
+                MockRaftActor mockRaftActor = mockActorRef.underlyingActor();
+
+                mockRaftActor.waitForInitializeBehaviorComplete();
+
+                mockRaftActor.waitUntilLeader();
+
+                mockRaftActor.persistData(mockActorRef, "1", new MockPayload("1"));
+                mockRaftActor.persistData(mockActorRef, "2", new MockPayload("2"));
+
+                verify(dataPersistenceProvider, never()).persist(isA(ReplicatedLogEntry.class), any(Procedure.class));
+
+                // The batch is written once it's full.
+                mockRaftActor.persistData(mockActorRef, "3", new MockPayload("3"));
+
+                verify(dataPersistenceProvider, times(3)).persist(isA(ReplicatedLogEntry.class), any(Procedure.class));
+
+                // A partial batch is written on flush.
+                mockRaftActor.persistData(mockActorRef, "4", new MockPayload("4"));
+                mockRaftActor.onReceiveCommand(RaftActorGroupCommitSupport.FLUSH_GROUP_COMMIT);
+
+                verify(dataPersistenceProvider, times(4)).persist(isA(ReplicatedLogEntry.class), any(Procedure.class));
+                assertEquals("Last index", 3, mockRaftActor.getReplicatedLog().lastIndex());
+
+                MetricRegistry registry = MetricsReporter.getInstance(
+                        RaftActorGroupCommitSupport.METRICS_DOMAIN).getMetricsRegistry();
+                String metricName = MetricRegistry.name(persistenceId, RaftActorGroupCommitSupport.BATCH_SIZE);
+                assertEquals("Batch count", 2, registry.getHistograms().get(metricName).getCount());
+
+                // A batch dropped on losing leadership isn't recorded.
+                mockRaftActor.persistData(mockActorRef, "5", new MockPayload("5"));
+                mockRaftActor.setCurrentBehavior(new Follower(mockRaftActor.getRaftActorContext()));
+                mockRaftActor.onReceiveCommand(RaftActorGroupCommitSupport.FLUSH_GROUP_COMMIT);
+
+                verify(dataPersistenceProvider, times(4)).persist(isA(ReplicatedLogEntry.class), any(Procedure.class));
+                assertEquals("Batch count", 2, registry.getHistograms().get(metricName).getCount());
+
+                // The metric is removed when the actor is stopped.
+                watch(mockActorRef);
+                mockActorRef.tell(PoisonPill.getInstance(), ActorRef.noSender());
+                expectMsgClass(duration("5 seconds"), Terminated.class);
+                assertNull("Batch size metric", registry.getHistograms().get(metricName));
+            }
+        };
+    }
+
     @Test
     public void testApplyState() throws Exception {
 
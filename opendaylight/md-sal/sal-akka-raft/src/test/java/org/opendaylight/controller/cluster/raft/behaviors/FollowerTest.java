@@ -24,6 +24,7 @@ import com.google.common.base.Stopwatch;
 import com.google.protobuf.ByteString;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -456,6 +457,42 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest {
         assertEquals("getLastApplied", 101L, context.getLastApplied());
     }
 
+    @Test
+    public void testIsAppliedStateWithinLag() throws Exception {
+        logStart("testIsAppliedStateWithinLag");
+
+        MockRaftActorContext context = createActorContext();
+
+        context.setLastApplied(100);
+        setLastLogEntry(context, 1, 100,
+                new MockRaftActorContext.MockPayload(""));
+        context.getReplicatedLog().setSnapshotIndex(99);
+
+        follower = createBehavior(context);
+
+        // No leader yet
+        assertFalse("isAppliedStateWithinLag", ((Follower) follower).isAppliedStateWithinLag(100));
+
+        List<ReplicatedLogEntry> entries = Arrays.<ReplicatedLogEntry>asList(
+                newReplicatedLogEntry(2, 101, "foo"));
+
+        // The new commitIndex is 101
+        AppendEntries appendEntries = new AppendEntries(2, "leader-1", 100, 1, entries, 101, 100, (short)0);
+        follower.handleMessage(leaderActor, appendEntries);
+
+        assertEquals("getLastApplied", 101L, context.getLastApplied());
+        assertTrue("isAppliedStateWithinLag", ((Follower) follower).isAppliedStateWithinLag(0));
+
+        // The leader has committed index 103 but the follower has not applied it yet
+        appendEntries = new AppendEntries(2, "leader-1", 101, 2, Collections.<ReplicatedLogEntry>emptyList(),
+                103, 100, (short)0);
+        follower.handleMessage(leaderActor, appendEntries);
+
+        assertEquals("getLastApplied", 101L, context.getLastApplied());
+        assertFalse("isAppliedStateWithinLag", ((Follower) follower).isAppliedStateWithinLag(1));
+        assertTrue("isAppliedStateWithinLag", ((Follower) follower).isAppliedStateWithinLag(2));
+    }
+
     /**
      * This test verifies that when an AppendEntries is received a specific prevLogTerm
      * which does not match the term that is in RaftActors log entry at prevLogIndex
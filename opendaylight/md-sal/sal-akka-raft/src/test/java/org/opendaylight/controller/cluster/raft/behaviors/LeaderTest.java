@@ -312,6 +312,164 @@ public class LeaderTest extends AbstractLeaderTest {
         }
     }
 
+    @Test
+    public void testMultipleReplicateArePipelinedWithinInFlightWindow() throws Exception {
+        logStart("testMultipleReplicateArePipelinedWithinInFlightWindow");
+
+        MockRaftActorContext actorContext = createActorContextWithFollower();
+        DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+        configParams.setHeartBeatInterval(FiniteDuration.apply(5, TimeUnit.SECONDS));
+        configParams.setMaxInFlightAppendEntries(3);
+        actorContext.setConfigParams(configParams);
+
+        long term = 1;
+        actorContext.getTermInformation().update(term, "");
+
+        leader = new Leader(actorContext);
+
+        // Leader will send an immediate heartbeat - ignore it.
+        MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
+
+        long lastIndex = actorContext.getReplicatedLog().lastIndex();
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex, term, (short)0));
+
+        followerActor.underlyingActor().clear();
+
+        for(int i=0;i<5;i++) {
+            sendReplicate(actorContext, lastIndex+i+1);
+        }
+
+        // Only 3 batches may be outstanding - the 4th and 5th entries wait for an acknowledgement.
+        List<AppendEntries> allMessages = MessageCollectorActor.getAllMatching(followerActor, AppendEntries.class);
+        assertEquals("The number of append entries collected should be 3", 3, allMessages.size());
+        for(int i=0;i<3;i++) {
+            assertEquals("Entry index", lastIndex + i + 1, allMessages.get(i).getEntries().get(0).getIndex());
+        }
+
+        FollowerLogInformation followerInfo = leader.getFollower(FOLLOWER_ID);
+        assertEquals("getInFlightAppendEntriesCount", 3, followerInfo.getInFlightAppendEntriesCount());
+        assertEquals("getNextIndex", lastIndex + 4, followerInfo.getNextIndex());
+
+        followerActor.underlyingActor().clear();
+
+        // Acknowledging the first batch frees a slot so the remaining entries go out in one batch.
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex + 1, term, (short)0));
+
+        allMessages = MessageCollectorActor.getAllMatching(followerActor, AppendEntries.class);
+        assertEquals("The number of append entries collected should be 1", 1, allMessages.size());
+        assertEquals("Entries size", 2, allMessages.get(0).getEntries().size());
+        assertEquals("getMatchIndex", lastIndex + 1, followerInfo.getMatchIndex());
+        assertEquals("getNextIndex", lastIndex + 6, followerInfo.getNextIndex());
+
+        // A stale reply must not move the indexes backwards.
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex, term, (short)0));
+        assertEquals("getMatchIndex", lastIndex + 1, followerInfo.getMatchIndex());
+        assertEquals("getNextIndex", lastIndex + 6, followerInfo.getNextIndex());
+
+        followerActor.underlyingActor().clear();
+
+        // A rejection voids the outstanding batches and replication restarts just past the follower's
+        // last entry with a single outstanding batch.
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, false, lastIndex + 1, term, (short)0));
+
+        allMessages = MessageCollectorActor.getAllMatching(followerActor, AppendEntries.class);
+        assertEquals("The number of append entries collected should be 1", 1, allMessages.size());
+        assertEquals("Entry index", lastIndex + 2, allMessages.get(0).getEntries().get(0).getIndex());
+        assertEquals("getInFlightAppendEntriesCount", 1, followerInfo.getInFlightAppendEntriesCount());
+        assertEquals("getInFlightAppendEntriesWindow", 1, followerInfo.getInFlightAppendEntriesWindow());
+    }
+
+    @Test
+    public void testHeartbeatRepliesDoNotReleasePipelinedAppendEntries() throws Exception {
+        logStart("testHeartbeatRepliesDoNotReleasePipelinedAppendEntries");
+
+        MockRaftActorContext actorContext = createActorContextWithFollower();
+        DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+        configParams.setHeartBeatInterval(FiniteDuration.apply(100, TimeUnit.MILLISECONDS));
+        configParams.setElectionTimeoutFactor(20);
+        configParams.setMaxInFlightAppendEntries(3);
+        actorContext.setConfigParams(configParams);
+
+        long term = 1;
+        actorContext.getTermInformation().update(term, "");
+
+        leader = new Leader(actorContext);
+
+        // Leader will send an immediate heartbeat - ignore it.
+        MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
+
+        long lastIndex = actorContext.getReplicatedLog().lastIndex();
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex, term, (short)0));
+
+        // Send a heartbeat whose reply only arrives once the window is full.
+        Uninterruptibles.sleepUninterruptibly(150, TimeUnit.MILLISECONDS);
+        leader.handleMessage(leaderActor, new SendHeartBeat());
+
+        followerActor.underlyingActor().clear();
+
+        for(int i=0;i<3;i++) {
+            sendReplicate(actorContext, lastIndex+i+1);
+        }
+
+        FollowerLogInformation followerInfo = leader.getFollower(FOLLOWER_ID);
+        assertEquals("getInFlightAppendEntriesCount", 3, followerInfo.getInFlightAppendEntriesCount());
+
+        // The heartbeat reply doesn't acknowledge any of the batches so the window stays full.
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex, term, (short)0));
+        assertEquals("getInFlightAppendEntriesCount", 3, followerInfo.getInFlightAppendEntriesCount());
+
+        sendReplicate(actorContext, lastIndex + 4);
+
+        List<AppendEntries> allMessages = MessageCollectorActor.getAllMatching(followerActor, AppendEntries.class);
+        assertEquals("The number of append entries collected should be 3", 3, allMessages.size());
+
+        // Acknowledging the first batch frees a slot for the 4th entry.
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex + 1, term, (short)0));
+
+        allMessages = MessageCollectorActor.getAllMatching(followerActor, AppendEntries.class);
+        assertEquals("The number of append entries collected should be 4", 4, allMessages.size());
+        assertEquals("getInFlightAppendEntriesCount", 3, followerInfo.getInFlightAppendEntriesCount());
+
+        followerActor.underlyingActor().clear();
+
+        // The follower rejects the second batch because its last entry conflicts - the nextIndex is rewound
+        // and a single batch is sent from there.
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, false, lastIndex + 1, term - 1, (short)0));
+
+        allMessages = MessageCollectorActor.getAllMatching(followerActor, AppendEntries.class);
+        assertEquals("The number of append entries collected should be 1", 1, allMessages.size());
+        assertEquals("Entry index", lastIndex + 1, allMessages.get(0).getEntries().get(0).getIndex());
+        assertEquals("getNextIndex", lastIndex + 5, followerInfo.getNextIndex());
+        assertEquals("getInFlightAppendEntriesCount", 1, followerInfo.getInFlightAppendEntriesCount());
+
+        followerActor.underlyingActor().clear();
+
+        // The rejections of the 3rd and 4th batches were sent before the rewind so they're ignored.
+        for(int i=0;i<2;i++) {
+            leader.handleMessage(followerActor, new AppendEntriesReply(
+                    FOLLOWER_ID, term, false, lastIndex + 1, term - 1, (short)0));
+        }
+
+        allMessages = MessageCollectorActor.getAllMatching(followerActor, AppendEntries.class);
+        assertEquals("The number of append entries collected should be 0", 0, allMessages.size());
+        assertEquals("getNextIndex", lastIndex + 5, followerInfo.getNextIndex());
+        assertEquals("getInFlightAppendEntriesCount", 1, followerInfo.getInFlightAppendEntriesCount());
+
+        // The reply to the rewound batch is processed.
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex + 4, term, (short)0));
+        assertEquals("getMatchIndex", lastIndex + 4, followerInfo.getMatchIndex());
+        assertEquals("getInFlightAppendEntriesCount", 0, followerInfo.getInFlightAppendEntriesCount());
+    }
+
     @Test
     public void testDuplicateAppendEntriesWillBeSentOnHeartBeat() throws Exception {
         logStart("testDuplicateAppendEntriesWillBeSentOnHeartBeat");
@@ -149,6 +149,36 @@ public class SnapshotTrackerTest {
         assertEquals(chunks, tracker1.getCollectedChunks());
     }
 
+    @Test
+    public void testGetSnapshotWithSingleChunk() throws SnapshotTracker.InvalidChunkException {
+        SnapshotTracker tracker = new SnapshotTracker(logger, 1);
+
+        tracker.addChunk(1, byteString, Optional.<Integer>absent());
+
+        assertEquals(byteString, ByteString.copyFrom(tracker.getSnapshot()));
+        tracker.close();
+    }
+
+    @Test
+    public void testGetSnapshotAfterChunkRetry() throws SnapshotTracker.InvalidChunkException {
+        SnapshotTracker tracker = new SnapshotTracker(logger, 3);
+
+        tracker.addChunk(1, chunk1, Optional.<Integer>absent());
+        try {
+            // An out of order chunk must not be written to the collected chunks
+            tracker.addChunk(3, chunk3, Optional.<Integer>absent());
+            Assert.fail();
+        } catch(SnapshotTracker.InvalidChunkException e){
+
+        }
+
+        tracker.addChunk(2, chunk2, Optional.of(chunk1.hashCode()));
+        tracker.addChunk(3, chunk3, Optional.of(chunk2.hashCode()));
+
+        assertEquals(byteString, ByteString.copyFrom(tracker.getSnapshot()));
+        tracker.close();
+    }
+
     public ByteString getNextChunk (ByteString bs, int offset, int size){
         int snapshotLength = bs.size();
         int start = offset;
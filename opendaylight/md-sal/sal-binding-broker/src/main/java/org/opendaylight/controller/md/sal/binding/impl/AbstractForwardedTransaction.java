@@ -7,13 +7,23 @@
  */
 package org.opendaylight.controller.md.sal.binding.impl;
 
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBatchReadTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadTransaction;
 import org.opendaylight.yangtools.concepts.Delegator;
 import org.opendaylight.yangtools.concepts.Identifiable;
@@ -65,4 +75,60 @@ abstract class AbstractForwardedTransaction<T extends AsyncTransaction<YangInsta
                                       codec.deserializeFunction(path)),
                     ReadFailedException.MAPPER);
     }
+
+    protected final <D extends DataObject> CheckedFuture<Map<InstanceIdentifier<D>, Optional<D>>, ReadFailedException>
+            doRead(final DOMDataReadTransaction readTx, final LogicalDatastoreType store,
+                    final Collection<InstanceIdentifier<D>> paths) {
+        final Map<YangInstanceIdentifier, InstanceIdentifier<D>> domPaths = new LinkedHashMap<>();
+        for (InstanceIdentifier<D> path : paths) {
+            Preconditions.checkArgument(!path.isWildcarded(), "Invalid read of wildcarded path %s", path);
+            domPaths.put(codec.toYangInstanceIdentifierBlocking(path), path);
+        }
+
+        final ListenableFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>> domFuture;
+        if (readTx instanceof DOMDataBatchReadTransaction) {
+            domFuture = ((DOMDataBatchReadTransaction) readTx).read(store, domPaths.keySet());
+        } else {
+            domFuture = readIndividually(readTx, store, new ArrayList<>(domPaths.keySet()));
+        }
+
+        return MappingCheckedFuture.create(Futures.transform(domFuture,
+                new Function<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>,
+                        Map<InstanceIdentifier<D>, Optional<D>>>() {
+                    @Override
+                    public Map<InstanceIdentifier<D>, Optional<D>> apply(
+                            final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> input) {
+                        final Map<InstanceIdentifier<D>, Optional<D>> ret = new HashMap<>();
+                        for (Entry<YangInstanceIdentifier, InstanceIdentifier<D>> e : domPaths.entrySet()) {
+                            ret.put(e.getValue(), codec.deserializeFunction(e.getValue()).apply(input.get(e.getKey())));
+                        }
+
+                        return ret;
+                    }
+                }), ReadFailedException.MAPPER);
+    }
+
+    private static ListenableFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>> readIndividually(
+            final DOMDataReadTransaction readTx, final LogicalDatastoreType store,
+            final List<YangInstanceIdentifier> paths) {
+        final List<ListenableFuture<Optional<NormalizedNode<?, ?>>>> futures = new ArrayList<>(paths.size());
+        for (YangInstanceIdentifier path : paths) {
+            futures.add(readTx.read(store, path));
+        }
+
+        return Futures.transform(Futures.allAsList(futures),
+                new Function<List<Optional<NormalizedNode<?, ?>>>,
+                        Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>>() {
+                    @Override
+                    public Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> apply(
+                            final List<Optional<NormalizedNode<?, ?>>> input) {
+                        final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> ret = new HashMap<>();
+                        for (int i = 0; i < paths.size(); i++) {
+                            ret.put(paths.get(i), input.get(i));
+                        }
+
+                        return ret;
+                    }
+                });
+    }
 }
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.controller.md.sal.binding.impl;
 
+import org.opendaylight.controller.md.sal.binding.api.BatchReadTransaction;
 import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
@@ -16,9 +17,11 @@ import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
+import java.util.Collection;
+import java.util.Map;
 
 class BindingDOMReadTransactionAdapter extends AbstractForwardedTransaction<DOMDataReadOnlyTransaction> implements
-        ReadOnlyTransaction {
+        ReadOnlyTransaction, BatchReadTransaction {
 
     protected BindingDOMReadTransactionAdapter(final DOMDataReadOnlyTransaction delegate,
             final BindingToNormalizedNodeCodec codec) {
@@ -31,6 +34,12 @@ class BindingDOMReadTransactionAdapter extends AbstractForwardedTransaction<DOMD
         return doRead(getDelegate(),store, path);
     }
 
+    @Override
+    public <T extends DataObject> CheckedFuture<Map<InstanceIdentifier<T>, Optional<T>>, ReadFailedException> read(
+            final LogicalDatastoreType store, final Collection<InstanceIdentifier<T>> paths) {
+        return doRead(getDelegate(), store, paths);
+    }
+
     @Override
     public void close() {
         getDelegate().close();
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster;
+
+import akka.actor.ActorRef;
+import akka.japi.Procedure;
+import akka.persistence.RecoveryCompleted;
+import akka.persistence.SaveSnapshotFailure;
+import akka.persistence.SaveSnapshotSuccess;
+import akka.persistence.SelectedSnapshot;
+import akka.persistence.SnapshotMetadata;
+import akka.persistence.SnapshotOffer;
+import akka.persistence.SnapshotSelectionCriteria;
+import com.google.common.base.Preconditions;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import org.apache.commons.lang.SerializationUtils;
+import org.opendaylight.controller.cluster.journal.SegmentedJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A DataPersistenceProvider implementation that writes journal entries to a {@link SegmentedJournal} of
+ * memory-mapped files and snapshots to plain files in the same directory, bypassing the akka persistence plugins.
+ * Persisting is synchronous - the procedure is invoked once the entry has been written. Snapshot results are
+ * reported to the owning actor as {@link SaveSnapshotSuccess} or {@link SaveSnapshotFailure} messages, as akka
+ * persistence does.
+ *
+ * <p>
+ * Entries and snapshots must be Serializable. Like the journal, this class is not thread-safe.
+ */
+public class SegmentedJournalDataProvider implements DataPersistenceProvider, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedJournalDataProvider.class);
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private final String persistenceId;
+    private final SegmentedJournal journal;
+    private final File snapshotDirectory;
+    private final ActorRef owner;
+
+    public SegmentedJournalDataProvider(String persistenceId, File directory, int maxSegmentSize, ActorRef owner)
+            throws IOException {
+        this.persistenceId = Preconditions.checkNotNull(persistenceId);
+        this.owner = Preconditions.checkNotNull(owner);
+        this.journal = SegmentedJournal.open(new File(directory, "journal"), maxSegmentSize);
+        this.snapshotDirectory = new File(directory, "snapshots");
+        if(!snapshotDirectory.isDirectory() && !snapshotDirectory.mkdirs()) {
+            throw new IOException("Failed to create snapshot directory " + snapshotDirectory);
+        }
+    }
+
+    @Override
+    public boolean isRecoveryApplicable() {
+        return true;
+    }
+
+    @Override
+    public <T> void persist(T o, Procedure<T> procedure) {
+        try {
+            journal.append(SerializationUtils.serialize((Serializable) o));
+        } catch (IOException e) {
+            // Same as with akka persistence - a failed journal write is fatal for the actor.
+            throw new IllegalStateException("Failed to persist " + o.getClass() + " for " + persistenceId, e);
+        }
+
+        try {
+            procedure.apply(o);
+        } catch (Exception e) {
+            LOG.error("An unexpected error occurred", e);
+        }
+    }
+
+    @Override
+    public void saveSnapshot(Object o) {
+        SnapshotMetadata metadata = new SnapshotMetadata(persistenceId, journal.getLastSequenceNr(),
+                System.currentTimeMillis());
+        File file = snapshotFile(metadata);
+        File tmpFile = new File(file.getPath() + ".tmp");
+        try {
+            try(FileOutputStream out = new FileOutputStream(tmpFile)) {
+                SerializationUtils.serialize((Serializable) o, out);
+                out.getFD().sync();
+            }
+
+            if(!tmpFile.renameTo(file)) {
+                throw new IOException("Failed to rename " + tmpFile + " to " + file);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.error("{}: Failed to save snapshot", persistenceId, e);
+            tmpFile.delete();
+            owner.tell(new SaveSnapshotFailure(metadata, e), ActorRef.noSender());
+            return;
+        }
+
+        owner.tell(new SaveSnapshotSuccess(metadata), ActorRef.noSender());
+    }
+
+    @Override
+    public void deleteSnapshots(SnapshotSelectionCriteria criteria) {
+        for(File file: snapshotFiles()) {
+            SnapshotMetadata metadata = metadataOf(file);
+            if(metadata.sequenceNr() <= criteria.maxSequenceNr() && metadata.timestamp() <= criteria.maxTimestamp()) {
+                if(!file.delete()) {
+                    LOG.warn("{}: Failed to delete snapshot file {}", persistenceId, file);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void deleteMessages(long sequenceNumber) {
+        try {
+            journal.deleteTo(sequenceNumber);
+        } catch (IOException e) {
+            LOG.error("{}: Failed to delete journal entries up to {}", persistenceId, sequenceNumber, e);
+        }
+    }
+
+    @Override
+    public long getLastSequenceNumber() {
+        return journal.getLastSequenceNr();
+    }
+
+    /**
+     * Replays the persisted state to the given procedure in the order akka persistence uses during recovery: a
+     * {@link SnapshotOffer} for the latest snapshot, if any, followed by each journal entry persisted after it and
+     * finally {@link RecoveryCompleted}. Journal entries are deserialized straight from the mapped files.
+     */
+    public void recover(final Procedure<Object> procedure) throws Exception {
+        long fromSequenceNr = 1;
+        SelectedSnapshot latest = loadLatestSnapshot();
+        if(latest != null) {
+            procedure.apply(new SnapshotOffer(latest.metadata(), latest.snapshot()));
+            fromSequenceNr = latest.metadata().sequenceNr() + 1;
+        }
+
+        journal.replay(fromSequenceNr, new SegmentedJournal.RecordVisitor() {
+            @Override
+            public void visit(long sequenceNr, ByteBuffer payload) throws Exception {
+                procedure.apply(SerializationUtils.deserialize(new ByteBufferInputStream(payload)));
+            }
+        });
+
+        procedure.apply(RecoveryCompleted.getInstance());
+    }
+
+    private SelectedSnapshot loadLatestSnapshot() {
+        File latestFile = null;
+        SnapshotMetadata latest = null;
+        for(File file: snapshotFiles()) {
+            SnapshotMetadata metadata = metadataOf(file);
+            if(latest == null || metadata.sequenceNr() > latest.sequenceNr() ||
+                    metadata.sequenceNr() == latest.sequenceNr() && metadata.timestamp() > latest.timestamp()) {
+                latest = metadata;
+                latestFile = file;
+            }
+        }
+
+        if(latestFile == null) {
+            return null;
+        }
+
+        try(FileInputStream in = new FileInputStream(latestFile)) {
+            return new SelectedSnapshot(latest, SerializationUtils.deserialize(in));
+        } catch (IOException e) {
+            LOG.error("{}: Failed to read snapshot file {}", persistenceId, latestFile, e);
+            return null;
+        }
+    }
+
+    private File[] snapshotFiles() {
+        File[] files = snapshotDirectory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+            }
+        });
+
+        return files != null ? files : new File[0];
+    }
+
+    private File snapshotFile(SnapshotMetadata metadata) {
+        return new File(snapshotDirectory, String.format("%s%020d-%d%s", SNAPSHOT_PREFIX, metadata.sequenceNr(),
+                metadata.timestamp(), SNAPSHOT_SUFFIX));
+    }
+
+    private SnapshotMetadata metadataOf(File file) {
+        String name = file.getName();
+        String[] parts = name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()).split("-");
+        return new SnapshotMetadata(persistenceId, Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if(!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
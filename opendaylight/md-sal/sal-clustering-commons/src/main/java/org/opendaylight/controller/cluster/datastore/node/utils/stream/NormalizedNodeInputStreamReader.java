@@ -58,6 +58,10 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
 
     private final Map<Integer, String> codedStringMap = new HashMap<>();
 
+    private final List<QName> codedQNames = new ArrayList<>();
+
+    private short version = NormalizedNodeOutputStreamWriter.LITHIUM_VERSION;
+
     private QName lastLeafSetQName;
 
     private NormalizedNodeAttrBuilder<YangInstanceIdentifier.NodeIdentifier,
@@ -95,7 +99,12 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
                         "Invalid signature marker: %d", marker));
             }
 
-            input.readShort(); // read the version - not currently used/needed.
+            version = input.readShort();
+            if(version < NormalizedNodeOutputStreamWriter.LITHIUM_VERSION ||
+                    version > NormalizedNodeOutputStreamWriter.CURRENT_VERSION) {
+                throw new InvalidNormalizedNodeStreamException(String.format(
+                        "Unsupported stream version: %d", version));
+            }
         }
     }
 
@@ -212,6 +221,21 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
     }
 
     private QName readQName() throws IOException {
+        if(version >= NormalizedNodeOutputStreamWriter.BERYLLIUM_VERSION) {
+            byte valueType = input.readByte();
+            if(valueType != NormalizedNodeOutputStreamWriter.IS_STRING_VALUE) {
+                return codedQNames.get(readCode(valueType));
+            }
+
+            QName qName = readQNameStrings();
+            codedQNames.add(qName);
+            return qName;
+        }
+
+        return readQNameStrings();
+    }
+
+    private QName readQNameStrings() throws IOException {
         // Read in the same sequence of writing
         String localName = readCodedString();
         String namespace = readCodedString();
@@ -231,10 +255,22 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
     }
 
 
+    private int readCode(byte valueType) throws IOException {
+        switch(valueType) {
+            case NormalizedNodeOutputStreamWriter.IS_CODE_VALUE:
+                return input.readInt();
+            case NormalizedNodeOutputStreamWriter.IS_BYTE_CODE_VALUE:
+                return input.readUnsignedByte();
+            default:
+                throw new InvalidNormalizedNodeStreamException(String.format("Invalid code type: %d", valueType));
+        }
+    }
+
     private String readCodedString() throws IOException {
         byte valueType = input.readByte();
-        if(valueType == NormalizedNodeOutputStreamWriter.IS_CODE_VALUE) {
-            return codedStringMap.get(input.readInt());
+        if(valueType == NormalizedNodeOutputStreamWriter.IS_CODE_VALUE ||
+                valueType == NormalizedNodeOutputStreamWriter.IS_BYTE_CODE_VALUE) {
+            return codedStringMap.get(readCode(valueType));
         } else if(valueType == NormalizedNodeOutputStreamWriter.IS_STRING_VALUE) {
             String value = input.readUTF().intern();
             codedStringMap.put(Integer.valueOf(codedStringMap.size()), value);
@@ -274,6 +310,18 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
             case ValueTypes.BOOL_TYPE :
                 return Boolean.valueOf(input.readBoolean());
 
+            case ValueTypes.TRUE_TYPE :
+                return Boolean.TRUE;
+
+            case ValueTypes.FALSE_TYPE :
+                return Boolean.FALSE;
+
+            case ValueTypes.BYTE_SIZED_INT_TYPE :
+                return Integer.valueOf(input.readByte());
+
+            case ValueTypes.BYTE_SIZED_LONG_TYPE :
+                return Long.valueOf(input.readByte());
+
             case ValueTypes.BYTE_TYPE :
                 return Byte.valueOf(input.readByte());
 
@@ -331,7 +379,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
         List<PathArgument> pathArguments = new ArrayList<>(size);
 
         for(int i = 0; i < size; i++) {
-            pathArguments.add(readPathArgument());
+            pathArguments.add(readPathArgumentInternal());
         }
         return YangInstanceIdentifier.create(pathArguments);
     }
@@ -346,6 +394,11 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeStreamRead
     }
 
     public PathArgument readPathArgument() throws IOException {
+        readSignatureMarkerAndVersionIfNeeded();
+        return readPathArgumentInternal();
+    }
+
+    private PathArgument readPathArgumentInternal() throws IOException {
         // read Type
         int type = input.readByte();
 
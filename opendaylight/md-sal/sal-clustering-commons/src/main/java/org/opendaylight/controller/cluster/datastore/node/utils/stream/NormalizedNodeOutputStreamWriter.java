@@ -38,7 +38,11 @@ import org.slf4j.LoggerFactory;
  * Based on the each node, the node type is also written to the stream, that helps in reconstructing the object,
  * while reading.
  *
- *
+ * The stream starts with a signature marker and the stream version. Strings making up QNames are written once
+ * per stream and referenced by code afterwards. Since {@link #BERYLLIUM_VERSION} whole QNames are coded as well,
+ * small codes take a single byte and common leaf values (booleans, small integers) have compact encodings.
+ * Writers emit {@link #LITHIUM_VERSION} streams unless created for a specific version, as a peer may not be able
+ * to read a newer version. A writer instance may be reused for several nodes and paths, in which case all of them share the codes.
  */
 
 public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWriter {
@@ -46,16 +50,25 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     private static final Logger LOG = LoggerFactory.getLogger(NormalizedNodeOutputStreamWriter.class);
 
     static final byte SIGNATURE_MARKER = (byte) 0xab;
-    static final short CURRENT_VERSION = (short) 1;
+    public static final short LITHIUM_VERSION = (short) 1;
+    public static final short BERYLLIUM_VERSION = (short) 2;
+    static final short CURRENT_VERSION = BERYLLIUM_VERSION;
+    static final short DEFAULT_VERSION = LITHIUM_VERSION;
 
     static final byte IS_CODE_VALUE = 1;
     static final byte IS_STRING_VALUE = 2;
     static final byte IS_NULL_VALUE = 3;
+    // Since BERYLLIUM_VERSION: a code which fits into an unsigned byte.
+    static final byte IS_BYTE_CODE_VALUE = 4;
 
     private final DataOutput output;
 
+    private final short version;
+
     private final Map<String, Integer> stringCodeMap = new HashMap<>();
 
+    private final Map<QName, Integer> qNameCodeMap = new HashMap<>();
+
     private NormalizedNodeWriter normalizedNodeWriter;
 
     private boolean wroteSignatureMarker;
@@ -63,10 +76,22 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     public NormalizedNodeOutputStreamWriter(OutputStream stream) throws IOException {
         Preconditions.checkNotNull(stream);
         output = new DataOutputStream(stream);
+        version = DEFAULT_VERSION;
     }
 
     public NormalizedNodeOutputStreamWriter(DataOutput output) {
+        this(output, DEFAULT_VERSION);
+    }
+
+    /**
+     * Creates a writer producing a stream of the given version, eg {@link #BERYLLIUM_VERSION} for a peer known
+     * to support it.
+     */
+    public NormalizedNodeOutputStreamWriter(DataOutput output, short version) {
+        Preconditions.checkArgument(version == LITHIUM_VERSION || version == BERYLLIUM_VERSION,
+                "Unsupported stream version %s", version);
         this.output = Preconditions.checkNotNull(output);
+        this.version = version;
     }
 
     private NormalizedNodeWriter normalizedNodeWriter() {
@@ -85,7 +110,7 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     private void writeSignatureMarkerAndVersionIfNeeded() throws IOException {
         if(!wroteSignatureMarker) {
             output.writeByte(SIGNATURE_MARKER);
-            output.writeShort(CURRENT_VERSION);
+            output.writeShort(version);
             wroteSignatureMarker = true;
         }
     }
@@ -93,7 +118,6 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     @Override
     public void leafNode(YangInstanceIdentifier.NodeIdentifier name, Object value) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(name, "Node identifier should not be null");
-        LOG.debug("Writing a new leaf node");
         startNode(name.getNodeType(), NodeTypes.LEAF_NODE);
 
         writeObject(value);
@@ -102,15 +126,12 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     @Override
     public void startLeafSet(YangInstanceIdentifier.NodeIdentifier name, int childSizeHint) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(name, "Node identifier should not be null");
-        LOG.debug("Starting a new leaf set");
 
         startNode(name.getNodeType(), NodeTypes.LEAF_SET);
     }
 
     @Override
     public void leafSetEntryNode(Object value) throws IOException, IllegalArgumentException {
-        LOG.debug("Writing a new leaf set entry node");
-
         output.writeByte(NodeTypes.LEAF_SET_ENTRY_NODE);
         writeObject(value);
     }
@@ -119,15 +140,12 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     public void startContainerNode(YangInstanceIdentifier.NodeIdentifier name, int childSizeHint) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(name, "Node identifier should not be null");
 
-        LOG.debug("Starting a new container node");
-
         startNode(name.getNodeType(), NodeTypes.CONTAINER_NODE);
     }
 
     @Override
     public void startUnkeyedList(YangInstanceIdentifier.NodeIdentifier name, int childSizeHint) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(name, "Node identifier should not be null");
-        LOG.debug("Starting a new unkeyed list");
 
         startNode(name.getNodeType(), NodeTypes.UNKEYED_LIST);
     }
@@ -135,7 +153,6 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     @Override
     public void startUnkeyedListItem(YangInstanceIdentifier.NodeIdentifier name, int childSizeHint) throws IOException, IllegalStateException {
         Preconditions.checkNotNull(name, "Node identifier should not be null");
-        LOG.debug("Starting a new unkeyed list item");
 
         startNode(name.getNodeType(), NodeTypes.UNKEYED_LIST_ITEM);
     }
@@ -143,7 +160,6 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     @Override
     public void startMapNode(YangInstanceIdentifier.NodeIdentifier name, int childSizeHint) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(name, "Node identifier should not be null");
-        LOG.debug("Starting a new map node");
 
         startNode(name.getNodeType(), NodeTypes.MAP_NODE);
     }
@@ -151,7 +167,6 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     @Override
     public void startMapEntryNode(YangInstanceIdentifier.NodeIdentifierWithPredicates identifier, int childSizeHint) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(identifier, "Node identifier should not be null");
-        LOG.debug("Starting a new map entry node");
         startNode(identifier.getNodeType(), NodeTypes.MAP_ENTRY_NODE);
 
         writeKeyValueMap(identifier.getKeyValues());
@@ -161,7 +176,6 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     @Override
     public void startOrderedMapNode(YangInstanceIdentifier.NodeIdentifier name, int childSizeHint) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(name, "Node identifier should not be null");
-        LOG.debug("Starting a new ordered map node");
 
         startNode(name.getNodeType(), NodeTypes.ORDERED_MAP_NODE);
     }
@@ -169,7 +183,6 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     @Override
     public void startChoiceNode(YangInstanceIdentifier.NodeIdentifier name, int childSizeHint) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(name, "Node identifier should not be null");
-        LOG.debug("Starting a new choice node");
 
         startNode(name.getNodeType(), NodeTypes.CHOICE_NODE);
     }
@@ -177,7 +190,6 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     @Override
     public void startAugmentationNode(YangInstanceIdentifier.AugmentationIdentifier identifier) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(identifier, "Node identifier should not be null");
-        LOG.debug("Starting a new augmentation node");
 
         output.writeByte(NodeTypes.AUGMENTATION_NODE);
         writeQNameSet(identifier.getPossibleChildNames());
@@ -186,7 +198,6 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     @Override
     public void anyxmlNode(YangInstanceIdentifier.NodeIdentifier name, Object value) throws IOException, IllegalArgumentException {
         Preconditions.checkNotNull(name, "Node identifier should not be null");
-        LOG.debug("Writing a new xml node");
 
         startNode(name.getNodeType(), NodeTypes.ANY_XML_NODE);
 
@@ -195,8 +206,6 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
 
     @Override
     public void endNode() throws IOException, IllegalStateException {
-        LOG.debug("Ending the node");
-
         output.writeByte(NodeTypes.END_NODE);
     }
 
@@ -225,17 +234,36 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     }
 
     private void writeQName(QName qName) throws IOException {
+        if(version >= BERYLLIUM_VERSION) {
+            Integer code = qNameCodeMap.get(qName);
+            if(code != null) {
+                writeCode(code);
+                return;
+            }
+
+            output.writeByte(IS_STRING_VALUE);
+            qNameCodeMap.put(qName, Integer.valueOf(qNameCodeMap.size()));
+        }
 
         writeCodedString(qName.getLocalName());
         writeCodedString(qName.getNamespace().toString());
         writeCodedString(qName.getFormattedRevision());
     }
 
+    private void writeCode(int code) throws IOException {
+        if(version >= BERYLLIUM_VERSION && code <= 0xff) {
+            output.writeByte(IS_BYTE_CODE_VALUE);
+            output.writeByte(code);
+        } else {
+            output.writeByte(IS_CODE_VALUE);
+            output.writeInt(code);
+        }
+    }
+
     private void writeCodedString(String key) throws IOException {
         Integer value = stringCodeMap.get(key);
         if(value != null) {
-            output.writeByte(IS_CODE_VALUE);
-            output.writeInt(value);
+            writeCode(value);
         } else {
             if(key != null) {
                 output.writeByte(IS_STRING_VALUE);
@@ -273,11 +301,16 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
         output.writeInt(pathArguments.size());
 
         for(YangInstanceIdentifier.PathArgument pathArgument : pathArguments) {
-            writePathArgument(pathArgument);
+            writePathArgumentInternal(pathArgument);
         }
     }
 
     public void writePathArgument(YangInstanceIdentifier.PathArgument pathArgument) throws IOException {
+        writeSignatureMarkerAndVersionIfNeeded();
+        writePathArgumentInternal(pathArgument);
+    }
+
+    private void writePathArgumentInternal(YangInstanceIdentifier.PathArgument pathArgument) throws IOException {
 
         byte type = PathArgumentTypes.getSerializablePathArgumentType(pathArgument);
 
@@ -353,6 +386,10 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
     private void writeObject(Object value) throws IOException {
 
         byte type = ValueTypes.getSerializableType(value);
+        if(version >= BERYLLIUM_VERSION && writeCompactObject(type, value)) {
+            return;
+        }
+
         // Write object type first
         output.writeByte(type);
 
@@ -398,4 +435,35 @@ public class NormalizedNodeOutputStreamWriter implements NormalizedNodeStreamWri
                 break;
         }
     }
+
+    /**
+     * Writes values of the common primitive types, which fit into fewer bytes, in a compact form.
+     *
+     * @return true if the value was written, false if it has no compact form
+     */
+    private boolean writeCompactObject(byte type, Object value) throws IOException {
+        switch(type) {
+            case ValueTypes.BOOL_TYPE:
+                output.writeByte((Boolean) value ? ValueTypes.TRUE_TYPE : ValueTypes.FALSE_TYPE);
+                return true;
+            case ValueTypes.INT_TYPE:
+                final int intValue = (Integer) value;
+                if(intValue == (byte) intValue) {
+                    output.writeByte(ValueTypes.BYTE_SIZED_INT_TYPE);
+                    output.writeByte(intValue);
+                    return true;
+                }
+                return false;
+            case ValueTypes.LONG_TYPE:
+                final long longValue = (Long) value;
+                if(longValue == (byte) longValue) {
+                    output.writeByte(ValueTypes.BYTE_SIZED_LONG_TYPE);
+                    output.writeByte((int) longValue);
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
 }
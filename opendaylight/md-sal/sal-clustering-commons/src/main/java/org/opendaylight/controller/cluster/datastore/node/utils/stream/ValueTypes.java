@@ -36,6 +36,12 @@ final class ValueTypes {
     public static final byte NULL_TYPE = 13;
     public static final byte STRING_BYTES_TYPE = 14;
 
+    // Compact encodings of common values, written since NormalizedNodeOutputStreamWriter.BERYLLIUM_VERSION
+    public static final byte TRUE_TYPE = 15;
+    public static final byte FALSE_TYPE = 16;
+    public static final byte BYTE_SIZED_INT_TYPE = 17;
+    public static final byte BYTE_SIZED_LONG_TYPE = 18;
+
     private static final Map<Class<?>, Byte> TYPES;
 
     static {
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * A single memory-mapped file of a {@link SegmentedJournal}. Records are stored back to back, each one as
+ * <pre>
+ *   int  length of the payload (0 marks the end of the written records)
+ *   long sequence number
+ *   byte[length] payload
+ * </pre>
+ */
+final class JournalSegment implements AutoCloseable {
+    static final int RECORD_HEADER_SIZE = 4 + 8;
+
+    private final File file;
+    private final long firstSequenceNr;
+    private final RandomAccessFile raf;
+    private final MappedByteBuffer buffer;
+    private long lastSequenceNr;
+
+    private JournalSegment(File file, long firstSequenceNr, int maxSize) throws IOException {
+        this.file = file;
+        this.firstSequenceNr = firstSequenceNr;
+        this.lastSequenceNr = firstSequenceNr - 1;
+
+        raf = new RandomAccessFile(file, "rw");
+        try {
+            buffer = raf.getChannel().map(MapMode.READ_WRITE, 0, Math.max(maxSize, raf.length()));
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    static JournalSegment create(File file, long firstSequenceNr, int maxSize) throws IOException {
+        return new JournalSegment(file, firstSequenceNr, maxSize);
+    }
+
+    /**
+     * Opens an existing segment and positions it after its last valid record.
+     */
+    static JournalSegment open(File file, long firstSequenceNr, int maxSize) throws IOException {
+        JournalSegment segment = new JournalSegment(file, firstSequenceNr, maxSize);
+        segment.scan();
+        return segment;
+    }
+
+    private void scan() {
+        ByteBuffer buf = buffer;
+        buf.position(0);
+        while(buf.remaining() >= RECORD_HEADER_SIZE) {
+            int start = buf.position();
+            int length = buf.getInt();
+            if(length <= 0 || length > buf.remaining() - 8) {
+                // End of the written records or a record that was only partially written - the next append
+                // overwrites it.
+                buf.position(start);
+                return;
+            }
+
+            lastSequenceNr = buf.getLong();
+            buf.position(buf.position() + length);
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    long getFirstSequenceNr() {
+        return firstSequenceNr;
+    }
+
+    long getLastSequenceNr() {
+        return lastSequenceNr;
+    }
+
+    boolean isEmpty() {
+        return lastSequenceNr < firstSequenceNr;
+    }
+
+    boolean hasRoomFor(int length) {
+        // Leave room for the end marker so a reader never runs off the end of the written records.
+        return buffer.remaining() >= RECORD_HEADER_SIZE + length + 4;
+    }
+
+    /**
+     * Appends a record. With force, the payload is forced to the storage device before the length that makes the
+     * record visible is written and forced in turn, so recovery never sees a record whose payload wasn't stored.
+     */
+    long append(byte[] payload, boolean force) {
+        long sequenceNr = lastSequenceNr + 1;
+
+        // The header is written last so a crash mid-write leaves either the old end marker or a complete record.
+        int start = buffer.position();
+        buffer.position(start + RECORD_HEADER_SIZE);
+        buffer.put(payload);
+        int end = buffer.position();
+        buffer.putInt(0);
+        buffer.putLong(start + 4, sequenceNr);
+        if(force) {
+            buffer.force();
+        }
+
+        buffer.putInt(start, payload.length);
+        if(force) {
+            buffer.force();
+        }
+
+        buffer.position(end);
+
+        lastSequenceNr = sequenceNr;
+        return sequenceNr;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Passes each record with a sequence number of at least fromSequenceNr to the visitor. The payload is a
+     * read-only view of the mapped file, ie no copy of the record is made.
+     */
+    void replay(long fromSequenceNr, SegmentedJournal.RecordVisitor visitor) throws Exception {
+        ByteBuffer buf = buffer.duplicate();
+        int limit = buffer.position();
+        buf.position(0);
+        while(buf.position() < limit) {
+            int length = buf.getInt();
+            long sequenceNr = buf.getLong();
+            int payloadStart = buf.position();
+            if(sequenceNr >= fromSequenceNr) {
+                ByteBuffer payload = buf.asReadOnlyBuffer();
+                payload.limit(payloadStart + length);
+                visitor.visit(sequenceNr, payload.slice());
+            }
+
+            buf.position(payloadStart + length);
+        }
+    }
+
+    void truncate() {
+        buffer.position(0);
+        buffer.putInt(0);
+        buffer.position(0);
+        lastSequenceNr = firstSequenceNr - 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        raf.close();
+    }
+
+    boolean delete() throws IOException {
+        close();
+        return file.delete();
+    }
+
+    @Override
+    public String toString() {
+        return "JournalSegment [file=" + file + ", firstSequenceNr=" + firstSequenceNr + ", lastSequenceNr="
+                + lastSequenceNr + "]";
+    }
+}
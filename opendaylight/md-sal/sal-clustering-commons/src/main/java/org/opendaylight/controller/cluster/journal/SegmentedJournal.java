@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.journal;
+
+import com.google.common.base.Preconditions;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only journal stored as a sequence of memory-mapped segment files in a directory. Each segment is named
+ * after the sequence number of its first record so the journal can be reopened without reading every record.
+ * Appends go directly into the mapped buffer of the last segment, replay hands out read-only views of the mapped
+ * files and deleting a prefix of the journal removes whole segments.
+ *
+ * <p>
+ * This class is not thread-safe - it is meant to be owned by a single actor.
+ */
+public final class SegmentedJournal implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedJournal.class);
+
+    public static final int DEFAULT_MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * Callback for {@link SegmentedJournal#replay(long, RecordVisitor)}.
+     */
+    public interface RecordVisitor {
+        /**
+         * Called for each replayed record. The payload buffer is only valid for the duration of the call.
+         */
+        void visit(long sequenceNr, ByteBuffer payload) throws Exception;
+    }
+
+    private final File directory;
+    private final int maxSegmentSize;
+    private final List<JournalSegment> segments = new ArrayList<>();
+    private boolean forceOnWrite = true;
+
+    private SegmentedJournal(File directory, int maxSegmentSize) {
+        this.directory = directory;
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    /**
+     * Opens the journal in the given directory, creating the directory if necessary.
+     */
+    public static SegmentedJournal open(File directory, int maxSegmentSize) throws IOException {
+        Preconditions.checkArgument(maxSegmentSize > JournalSegment.RECORD_HEADER_SIZE,
+                "maxSegmentSize %s is too small", maxSegmentSize);
+        if(!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create journal directory " + directory);
+        }
+
+        SegmentedJournal journal = new SegmentedJournal(directory, maxSegmentSize);
+        journal.loadSegments();
+        return journal;
+    }
+
+    private void loadSegments() throws IOException {
+        File[] files = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }
+        });
+
+        List<File> sorted = new ArrayList<>();
+        if(files != null) {
+            Collections.addAll(sorted, files);
+        }
+
+        Collections.sort(sorted, new Comparator<File>() {
+            @Override
+            public int compare(File f1, File f2) {
+                return Long.compare(firstSequenceNrOf(f1), firstSequenceNrOf(f2));
+            }
+        });
+
+        for(File file: sorted) {
+            JournalSegment segment = JournalSegment.open(file, firstSequenceNrOf(file), maxSegmentSize);
+            LOG.debug("Opened journal {}", segment);
+
+            if(!segments.isEmpty() && segment.getFirstSequenceNr() != getLastSequenceNr() + 1) {
+                // A gap can only be left behind by a crash while rolling over - the segments after it are unusable.
+                LOG.warn("Journal segment {} does not follow sequence number {} - discarding it", file,
+                        getLastSequenceNr());
+                segment.delete();
+                continue;
+            }
+
+            segments.add(segment);
+        }
+    }
+
+    private static long firstSequenceNrOf(File file) {
+        String name = file.getName();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private File segmentFile(long firstSequenceNr) {
+        return new File(directory, String.format("%s%020d%s", SEGMENT_PREFIX, firstSequenceNr, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Controls whether each append is forced to the storage device before it returns. Turning this off trades
+     * durability on power loss for latency, the data still survives a process crash since it lives in the page cache.
+     */
+    public void setForceOnWrite(boolean forceOnWrite) {
+        this.forceOnWrite = forceOnWrite;
+    }
+
+    /**
+     * Appends a record, returning its sequence number.
+     */
+    public long append(byte[] payload) throws IOException {
+        JournalSegment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if(segment == null || !segment.hasRoomFor(payload.length)) {
+            segment = nextSegment(payload.length);
+        }
+
+        return segment.append(payload, forceOnWrite);
+    }
+
+    private JournalSegment nextSegment(int recordLength) throws IOException {
+        long firstSequenceNr = getLastSequenceNr() + 1;
+        if(!segments.isEmpty()) {
+            JournalSegment last = segments.get(segments.size() - 1);
+            if(last.isEmpty()) {
+                // Reuse the empty segment's file, it is just too small for this record.
+                last.delete();
+                segments.remove(segments.size() - 1);
+            } else {
+                last.force();
+            }
+        }
+
+        // An oversized record gets a segment of its own.
+        int size = Math.max(maxSegmentSize, JournalSegment.RECORD_HEADER_SIZE + recordLength + 4);
+        JournalSegment segment = JournalSegment.create(segmentFile(firstSequenceNr), firstSequenceNr, size);
+        segments.add(segment);
+
+        LOG.debug("Created journal {}", segment);
+        return segment;
+    }
+
+    /**
+     * Replays all records with a sequence number of at least fromSequenceNr, in order.
+     */
+    public void replay(long fromSequenceNr, RecordVisitor visitor) throws Exception {
+        for(JournalSegment segment: segments) {
+            if(segment.getLastSequenceNr() >= fromSequenceNr) {
+                segment.replay(fromSequenceNr, visitor);
+            }
+        }
+    }
+
+    /**
+     * Removes the segments whose records all have a sequence number less than or equal to toSequenceNr. Records in
+     * the segment containing toSequenceNr are retained and will still be replayed, callers are expected to skip
+     * them based on their sequence number. The last segment is only emptied, not removed, so the sequence numbering
+     * continues.
+     */
+    public void deleteTo(long toSequenceNr) throws IOException {
+        Iterator<JournalSegment> iter = segments.iterator();
+        while(iter.hasNext()) {
+            JournalSegment segment = iter.next();
+            if(segment.getLastSequenceNr() > toSequenceNr) {
+                break;
+            }
+
+            if(!iter.hasNext()) {
+                if(!segment.isEmpty()) {
+                    // Start a fresh segment so the numbering continues, then drop the old one.
+                    long next = segment.getLastSequenceNr() + 1;
+                    JournalSegment fresh = JournalSegment.create(segmentFile(next), next, maxSegmentSize);
+                    segments.add(fresh);
+                    segments.remove(segment);
+                    deleteSegment(segment);
+                }
+                return;
+            }
+
+            iter.remove();
+            deleteSegment(segment);
+        }
+    }
+
+    private static void deleteSegment(JournalSegment segment) throws IOException {
+        LOG.debug("Deleting journal {}", segment);
+        if(!segment.delete()) {
+            LOG.warn("Failed to delete journal file {}", segment.getFile());
+        }
+    }
+
+    /**
+     * Returns the sequence number of the last appended record or 0 if the journal has never been written.
+     */
+    public long getLastSequenceNr() {
+        return segments.isEmpty() ? 0 : segments.get(segments.size() - 1).getLastSequenceNr();
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for(JournalSegment segment: segments) {
+            segment.close();
+        }
+
+        segments.clear();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import akka.actor.ActorSystem;
+import akka.japi.Procedure;
+import akka.persistence.RecoveryCompleted;
+import akka.persistence.SaveSnapshotSuccess;
+import akka.persistence.SnapshotOffer;
+import akka.testkit.JavaTestKit;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for SegmentedJournalDataProvider.
+ */
+public class SegmentedJournalDataProviderTest {
+    private static final String PERSISTENCE_ID = "member-1-shard-test";
+
+    // Small enough for each segment to hold 2 of the test entries.
+    private static final int MAX_SEGMENT_SIZE = 64;
+
+    private static ActorSystem system;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUpClass() {
+        system = ActorSystem.create("test");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        JavaTestKit.shutdownActorSystem(system);
+        system = null;
+    }
+
+    private static List<Object> recover(SegmentedJournalDataProvider provider) throws Exception {
+        final List<Object> messages = new ArrayList<>();
+        provider.recover(new Procedure<Object>() {
+            @Override
+            public void apply(Object message) {
+                messages.add(message);
+            }
+        });
+
+        return messages;
+    }
+
+    private static void persist(SegmentedJournalDataProvider provider, String entry, final List<String> persisted) {
+        provider.persist(entry, new Procedure<String>() {
+            @Override
+            public void apply(String persistedEntry) {
+                persisted.add(persistedEntry);
+            }
+        });
+    }
+
+    @Test
+    public void testPersistAndRecover() throws Exception {
+        JavaTestKit owner = new JavaTestKit(system);
+        File dir = temp.newFolder();
+        List<String> persisted = new ArrayList<>();
+        try(SegmentedJournalDataProvider provider = new SegmentedJournalDataProvider(PERSISTENCE_ID, dir,
+                MAX_SEGMENT_SIZE, owner.getRef())) {
+            for(int i = 1; i <= 5; i++) {
+                persist(provider, "entry-" + i, persisted);
+            }
+
+            assertEquals("Persisted", Arrays.asList("entry-1", "entry-2", "entry-3", "entry-4", "entry-5"),
+                    persisted);
+            assertEquals("getLastSequenceNumber", 5, provider.getLastSequenceNumber());
+        }
+
+        try(SegmentedJournalDataProvider provider = new SegmentedJournalDataProvider(PERSISTENCE_ID, dir,
+                MAX_SEGMENT_SIZE, owner.getRef())) {
+            assertEquals("getLastSequenceNumber", 5, provider.getLastSequenceNumber());
+
+            List<Object> messages = recover(provider);
+            assertEquals("Recovered entries", persisted, messages.subList(0, 5));
+            assertEquals("Recovered messages", 6, messages.size());
+            assertTrue("RecoveryCompleted", messages.get(5) instanceof RecoveryCompleted);
+        }
+    }
+
+    @Test
+    public void testRecoverFromSnapshotAfterJournalTruncation() throws Exception {
+        JavaTestKit owner = new JavaTestKit(system);
+        File dir = temp.newFolder();
+        List<String> persisted = new ArrayList<>();
+        try(SegmentedJournalDataProvider provider = new SegmentedJournalDataProvider(PERSISTENCE_ID, dir,
+                MAX_SEGMENT_SIZE, owner.getRef())) {
+            for(int i = 1; i <= 5; i++) {
+                persist(provider, "entry-" + i, persisted);
+            }
+
+            provider.saveSnapshot("snapshot");
+            SaveSnapshotSuccess success = owner.expectMsgClass(SaveSnapshotSuccess.class);
+            assertEquals("Snapshot sequenceNr", 5, success.metadata().sequenceNr());
+
+            persist(provider, "entry-6", persisted);
+            persist(provider, "entry-7", persisted);
+
+            // The segments holding entries 1 to 4 are removed, entry 5 shares a segment with entry 6.
+            provider.deleteMessages(success.metadata().sequenceNr());
+            assertEquals("Segment files", 2, new File(dir, "journal").list().length);
+            assertEquals("getLastSequenceNumber", 7, provider.getLastSequenceNumber());
+        }
+
+        try(SegmentedJournalDataProvider provider = new SegmentedJournalDataProvider(PERSISTENCE_ID, dir,
+                MAX_SEGMENT_SIZE, owner.getRef())) {
+            List<Object> messages = recover(provider);
+            assertEquals("Recovered messages", 4, messages.size());
+
+            SnapshotOffer offer = (SnapshotOffer) messages.get(0);
+            assertEquals("Snapshot", "snapshot", offer.snapshot());
+            assertEquals("Snapshot sequenceNr", 5, offer.metadata().sequenceNr());
+
+            // Only the entries persisted after the snapshot are replayed.
+            assertEquals("Recovered entries", Arrays.asList("entry-6", "entry-7"), messages.subList(1, 3));
+            assertTrue("RecoveryCompleted", messages.get(3) instanceof RecoveryCompleted);
+
+            // Numbering continues after the truncated journal.
+            persist(provider, "entry-8", persisted);
+            assertEquals("getLastSequenceNumber", 8, provider.getLastSequenceNumber());
+        }
+    }
+}
@@ -10,6 +10,8 @@ package org.opendaylight.controller.cluster.datastore.node.utils.stream;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.Assert;
@@ -142,6 +144,78 @@ public class NormalizedNodeStreamReaderWriterTest {
         writer.close();
     }
 
+    @Test
+    public void testLithiumVersionStreaming() throws IOException {
+        NormalizedNode<?, ?> testContainer = createTestContainer();
+        YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.TEST_PATH).
+                node(TestModel.OUTER_LIST_QNAME).nodeWithKey(
+                        TestModel.INNER_LIST_QNAME, TestModel.ID_QNAME, 10).build();
+
+        ByteArrayOutputStream lithiumBytes = new ByteArrayOutputStream();
+        NormalizedNodeOutputStreamWriter writer = new NormalizedNodeOutputStreamWriter(
+                new DataOutputStream(lithiumBytes), NormalizedNodeOutputStreamWriter.LITHIUM_VERSION);
+        writer.writeNormalizedNode(testContainer);
+        writer.writeYangInstanceIdentifier(path);
+        writer.close();
+
+        NormalizedNodeInputStreamReader reader = new NormalizedNodeInputStreamReader(
+                new ByteArrayInputStream(lithiumBytes.toByteArray()));
+        Assert.assertEquals(testContainer, reader.readNormalizedNode());
+        Assert.assertEquals(path, reader.readYangInstanceIdentifier());
+
+        ByteArrayOutputStream currentBytes = new ByteArrayOutputStream();
+        writer = new NormalizedNodeOutputStreamWriter(new DataOutputStream(currentBytes),
+                NormalizedNodeOutputStreamWriter.BERYLLIUM_VERSION);
+        writer.writeNormalizedNode(testContainer);
+        writer.writeYangInstanceIdentifier(path);
+        writer.close();
+
+        Assert.assertTrue("Current stream size " + currentBytes.size() + " not smaller than " + lithiumBytes.size(),
+                currentBytes.size() < lithiumBytes.size());
+    }
+
+    @Test
+    public void testDefaultVersionStreaming() throws IOException {
+        NormalizedNode<?, ?> testContainer = createTestContainer();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NormalizedNodeOutputStreamWriter writer = new NormalizedNodeOutputStreamWriter(bytes);
+        writer.writeNormalizedNode(testContainer);
+        writer.close();
+
+        // A Lithium reader rejects any stream version other than 1.
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Assert.assertEquals("Signature marker", NormalizedNodeOutputStreamWriter.SIGNATURE_MARKER, header.readByte());
+        Assert.assertEquals("Stream version", NormalizedNodeOutputStreamWriter.LITHIUM_VERSION, header.readShort());
+
+        NormalizedNodeInputStreamReader reader = new NormalizedNodeInputStreamReader(
+                new ByteArrayInputStream(bytes.toByteArray()));
+        Assert.assertEquals(testContainer, reader.readNormalizedNode());
+    }
+
+    @Test
+    public void testCompactValueStreaming() throws IOException {
+        ContainerNode container = Builders.containerBuilder().
+                withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME)).
+                withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "true-leaf"), Boolean.TRUE)).
+                withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "false-leaf"), Boolean.FALSE)).
+                withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "small-int-leaf"), -5)).
+                withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "int-leaf"), 100000)).
+                withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "small-long-leaf"), 127L)).
+                withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "long-leaf"), -129L)).
+                build();
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        NormalizedNodeOutputStreamWriter writer = new NormalizedNodeOutputStreamWriter(
+                new DataOutputStream(byteArrayOutputStream), NormalizedNodeOutputStreamWriter.BERYLLIUM_VERSION);
+        writer.writeNormalizedNode(container);
+        writer.close();
+
+        NormalizedNodeInputStreamReader reader = new NormalizedNodeInputStreamReader(
+                new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
+        Assert.assertEquals(container, reader.readNormalizedNode());
+    }
+
     @Test(expected=InvalidNormalizedNodeStreamException.class, timeout=10000)
     public void testInvalidNormalizedNodeStream() throws IOException {
         byte[] protobufBytes = new NormalizedNodeToNodeCodec(null).encode(
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2015 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.journal;
+
+import static org.junit.Assert.assertEquals;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for SegmentedJournal.
+ */
+public class SegmentedJournalTest {
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private static byte[] payload(int i) {
+        return ("entry-" + i).getBytes();
+    }
+
+    private static List<String> replay(SegmentedJournal journal, long from) throws Exception {
+        final List<String> records = new ArrayList<>();
+        journal.replay(from, new SegmentedJournal.RecordVisitor() {
+            @Override
+            public void visit(long sequenceNr, ByteBuffer payload) {
+                byte[] bytes = new byte[payload.remaining()];
+                payload.get(bytes);
+                records.add(sequenceNr + ":" + new String(bytes));
+            }
+        });
+
+        return records;
+    }
+
+    @Test
+    public void testAppendAndReplayAcrossSegments() throws Exception {
+        File dir = temp.newFolder();
+        try(SegmentedJournal journal = SegmentedJournal.open(dir, 64)) {
+            assertEquals("getLastSequenceNr", 0, journal.getLastSequenceNr());
+            for(int i = 1; i <= 10; i++) {
+                assertEquals("append", i, journal.append(payload(i)));
+            }
+
+            // Each 64 byte segment holds 3 of these records.
+            assertEquals("getSegmentCount", 4, journal.getSegmentCount());
+            assertEquals("replay", 10, replay(journal, 1).size());
+            assertEquals("replay from 8", "[8:entry-8, 9:entry-9, 10:entry-10]", replay(journal, 8).toString());
+        }
+
+        // Reopen and verify the records survive and numbering continues.
+        try(SegmentedJournal journal = SegmentedJournal.open(dir, 64)) {
+            assertEquals("getLastSequenceNr", 10, journal.getLastSequenceNr());
+            assertEquals("replay", 10, replay(journal, 1).size());
+            assertEquals("append", 11, journal.append(payload(11)));
+        }
+    }
+
+    @Test
+    public void testOversizedRecord() throws Exception {
+        try(SegmentedJournal journal = SegmentedJournal.open(temp.newFolder(), 64)) {
+            journal.append(payload(1));
+            journal.append(new byte[200]);
+            journal.append(payload(3));
+
+            List<String> records = replay(journal, 1);
+            assertEquals("replay size", 3, records.size());
+            assertEquals("last record", "3:entry-3", records.get(2));
+        }
+    }
+
+    @Test
+    public void testDeleteTo() throws Exception {
+        File dir = temp.newFolder();
+        try(SegmentedJournal journal = SegmentedJournal.open(dir, 64)) {
+            for(int i = 1; i <= 10; i++) {
+                journal.append(payload(i));
+            }
+
+            // Segments hold 3 records each - deleting to 5 only removes the first segment.
+            journal.deleteTo(5);
+            assertEquals("getSegmentCount", 3, journal.getSegmentCount());
+            assertEquals("replay", "[4:entry-4, 5:entry-5, 6:entry-6, 7:entry-7, 8:entry-8, 9:entry-9,"
+                    + " 10:entry-10]", replay(journal, 1).toString());
+
+            journal.deleteTo(10);
+            assertEquals("getSegmentCount", 1, journal.getSegmentCount());
+            assertEquals("replay", 0, replay(journal, 1).size());
+            assertEquals("getLastSequenceNr", 10, journal.getLastSequenceNr());
+        }
+
+        try(SegmentedJournal journal = SegmentedJournal.open(dir, 64)) {
+            assertEquals("getLastSequenceNr", 10, journal.getLastSequenceNr());
+            assertEquals("append", 11, journal.append(payload(11)));
+            assertEquals("replay", "[11:entry-11]", replay(journal, 1).toString());
+        }
+    }
+
+    @Test
+    public void testRecoveryDiscardsPartiallyWrittenRecord() throws Exception {
+        File dir = temp.newFolder();
+        try(SegmentedJournal journal = SegmentedJournal.open(dir, 64)) {
+            journal.append(payload(1));
+            journal.append(payload(2));
+        }
+
+        // Simulate a crash after the length of the 3rd record was written but not all of its payload.
+        File segmentFile = dir.listFiles()[0];
+        int recordSize = JournalSegment.RECORD_HEADER_SIZE + payload(1).length;
+        try(RandomAccessFile file = new RandomAccessFile(segmentFile, "rw")) {
+            file.seek(2 * recordSize);
+            file.writeInt(1000);
+        }
+
+        try(SegmentedJournal journal = SegmentedJournal.open(dir, 64)) {
+            assertEquals("getLastSequenceNr", 2, journal.getLastSequenceNr());
+            assertEquals("replay", "[1:entry-1, 2:entry-2]", replay(journal, 1).toString());
+
+            // The partial record is overwritten.
+            assertEquals("append", 3, journal.append(payload(3)));
+            assertEquals("replay", "[1:entry-1, 2:entry-2, 3:entry-3]", replay(journal, 1).toString());
+        }
+    }
+}
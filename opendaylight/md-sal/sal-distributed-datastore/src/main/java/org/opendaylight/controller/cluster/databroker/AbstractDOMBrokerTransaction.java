@@ -8,15 +8,27 @@
 
 package org.opendaylight.controller.cluster.databroker;
 
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreBatchReadTransaction;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionFactory;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.util.concurrent.MappingCheckedFuture;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 public abstract class AbstractDOMBrokerTransaction<T extends DOMStoreTransaction> implements
@@ -101,6 +113,38 @@ public abstract class AbstractDOMBrokerTransaction<T extends DOMStoreTransaction
         }
     }
 
+    /**
+     * Reads the supplied paths from a subtransaction. If the subtransaction cannot read them in one operation,
+     * the paths are read individually.
+     */
+    protected static CheckedFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>, ReadFailedException>
+            readBatch(final DOMStoreReadTransaction readTx, final Collection<YangInstanceIdentifier> paths) {
+        if (readTx instanceof DOMStoreBatchReadTransaction) {
+            return ((DOMStoreBatchReadTransaction) readTx).read(paths);
+        }
+
+        final List<YangInstanceIdentifier> pathList = new ArrayList<>(paths);
+        final List<ListenableFuture<Optional<NormalizedNode<?, ?>>>> futures = new ArrayList<>(pathList.size());
+        for (YangInstanceIdentifier path : pathList) {
+            futures.add(readTx.read(path));
+        }
+
+        return MappingCheckedFuture.create(Futures.transform(Futures.allAsList(futures),
+                new Function<List<Optional<NormalizedNode<?, ?>>>,
+                        Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>>() {
+                    @Override
+                    public Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> apply(
+                            final List<Optional<NormalizedNode<?, ?>>> results) {
+                        final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> ret = new HashMap<>();
+                        for (int i = 0; i < pathList.size(); i++) {
+                            ret.put(pathList.get(i), results.get(i));
+                        }
+
+                        return ret;
+                    }
+                }), ReadFailedException.MAPPER);
+    }
+
     protected DOMStoreTransactionFactory getTxFactory(LogicalDatastoreType type){
         return storeTxFactories.get(type);
     }
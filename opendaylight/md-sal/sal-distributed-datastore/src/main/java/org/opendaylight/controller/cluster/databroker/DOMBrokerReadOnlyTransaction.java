@@ -10,9 +10,11 @@ package org.opendaylight.controller.cluster.databroker;
 
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
+import java.util.Collection;
 import java.util.Map;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBatchReadTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionFactory;
@@ -21,7 +23,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 public class DOMBrokerReadOnlyTransaction
     extends AbstractDOMBrokerTransaction<DOMStoreReadTransaction>
-        implements DOMDataReadOnlyTransaction {
+        implements DOMDataReadOnlyTransaction, DOMDataBatchReadTransaction {
     /**
      * Creates new composite Transactions.
      *
@@ -37,6 +39,12 @@ public class DOMBrokerReadOnlyTransaction
         return getSubtransaction(store).read(path);
     }
 
+    @Override
+    public CheckedFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>, ReadFailedException> read(
+            final LogicalDatastoreType store, final Collection<YangInstanceIdentifier> paths) {
+        return readBatch(getSubtransaction(store), paths);
+    }
+
     @Override
     public CheckedFuture<Boolean, ReadFailedException> exists(
             final LogicalDatastoreType store,
@@ -10,9 +10,11 @@ package org.opendaylight.controller.cluster.databroker;
 
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
+import java.util.Collection;
 import java.util.Map;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBatchReadTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionFactory;
@@ -20,7 +22,8 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 public class DOMBrokerReadWriteTransaction
-        extends AbstractDOMBrokerWriteTransaction<DOMStoreReadWriteTransaction> implements DOMDataReadWriteTransaction {
+        extends AbstractDOMBrokerWriteTransaction<DOMStoreReadWriteTransaction>
+        implements DOMDataReadWriteTransaction, DOMDataBatchReadTransaction {
     /**
      * Creates new composite Transactions.
      *
@@ -37,6 +40,12 @@ public class DOMBrokerReadWriteTransaction
         return getSubtransaction(store).read(path);
     }
 
+    @Override
+    public CheckedFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>, ReadFailedException> read(
+            final LogicalDatastoreType store, final Collection<YangInstanceIdentifier> paths) {
+        return readBatch(getSubtransaction(store), paths);
+    }
+
     @Override
     public CheckedFuture<Boolean, ReadFailedException> exists(
             final LogicalDatastoreType store,
@@ -52,4 +52,9 @@ abstract class AbstractTransactionContext implements TransactionContext {
     public boolean usesOperationLimiting() {
         return false;
     }
+
+    @Override
+    public boolean usesBatcher() {
+        return false;
+    }
 }
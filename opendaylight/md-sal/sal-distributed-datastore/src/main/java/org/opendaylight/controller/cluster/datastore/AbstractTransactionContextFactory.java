@@ -23,6 +23,7 @@ import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.Future;
@@ -74,9 +75,26 @@ abstract class AbstractTransactionContextFactory<F extends LocalTransactionFacto
         if(localContext != null) {
             transactionContextWrapper.executePriorTransactionOperations(localContext);
         } else {
+            ActorSelection shardActor = primaryShardInfo.getPrimaryShardActor();
+            if(parent.getType() == TransactionType.READ_ONLY) {
+                // The local replica serves the read if it is sufficiently up-to-date, otherwise it forwards
+                // the request to the leader.
+                final ActorSelection localReplica = findLocalReadReplica(shardName);
+                if(localReplica != null) {
+                    LOG.debug("Tx {}: Creating read-only transaction on local replica {} for shard {}",
+                            parent.getIdentifier(), localReplica, shardName);
+                    shardActor = localReplica;
+                }
+            }
+
+            ChainedTransactionBatcher batcher = null;
+            if(parent.getType() == TransactionType.WRITE_ONLY) {
+                batcher = findTransactionBatcher(shardName, shardActor, primaryShardInfo.getPrimaryShardVersion());
+            }
+
             RemoteTransactionContextSupport remote = new RemoteTransactionContextSupport(transactionContextWrapper,
                     parent, shardName);
-            remote.setPrimaryShard(primaryShardInfo.getPrimaryShardActor(), primaryShardInfo.getPrimaryShardVersion());
+            remote.setPrimaryShard(shardActor, primaryShardInfo.getPrimaryShardVersion(), batcher);
         }
     }
 
@@ -90,9 +108,9 @@ abstract class AbstractTransactionContextFactory<F extends LocalTransactionFacto
 
     final TransactionContextWrapper newTransactionContextWrapper(final TransactionProxy parent, final String shardName) {
         final TransactionContextWrapper transactionContextWrapper =
-                new TransactionContextWrapper(parent.getIdentifier(), actorContext);
+                new TransactionContextWrapper(parent.getIdentifier(), actorContext, shardName);
 
-        Future<PrimaryShardInfo> findPrimaryFuture = findPrimaryShard(shardName);
+        Future<PrimaryShardInfo> findPrimaryFuture = findPrimaryShard(shardName, parent.getIdentifier());
         if(findPrimaryFuture.isCompleted()) {
             Try<PrimaryShardInfo> maybe = findPrimaryFuture.value().get();
             if(maybe.isSuccess()) {
@@ -152,9 +170,10 @@ abstract class AbstractTransactionContextFactory<F extends LocalTransactionFacto
      * Find the primary shard actor.
      *
      * @param shardName Shard name
+     * @param transaction Identifier of the transaction the primary shard is looked up for
      * @return Future containing shard information.
      */
-    protected abstract Future<PrimaryShardInfo> findPrimaryShard(String shardName);
+    protected abstract Future<PrimaryShardInfo> findPrimaryShard(String shardName, TransactionIdentifier transaction);
 
     /**
      * Create local transaction factory for specified shard, backed by specified shard leader
@@ -168,12 +187,45 @@ abstract class AbstractTransactionContextFactory<F extends LocalTransactionFacto
      */
     protected abstract F factoryForShard(String shardName, ActorSelection shardLeader, DataTree dataTree);
 
+    /**
+     * Take a snapshot of the specified shard's data tree, which a read-only transaction can read directly
+     * without going through a transaction context. This is only possible if the shard leader is known to be
+     * co-located.
+     *
+     * @param shardName Shard name
+     * @return Snapshot of the local shard leader's data tree, or null if it is not available.
+     */
+    protected abstract DataTreeSnapshot takeLocalReadSnapshot(String shardName);
+
+    /**
+     * Find the local replica of the specified shard, which a read-only transaction can be created on instead of
+     * the remote primary when follower reads are enabled.
+     *
+     * @param shardName Shard name
+     * @return The local shard replica actor, or null if the transaction should be created on the primary.
+     */
+    protected abstract ActorSelection findLocalReadReplica(String shardName);
+
+    /**
+     * Find the batcher through which a write-only transaction sends its modifications to the specified remote
+     * primary shard.
+     *
+     * @param shardName Shard name
+     * @param primaryShard The primary shard actor
+     * @param primaryVersion The primary shard's version
+     * @return The batcher, or null if the modifications should be sent directly.
+     */
+    protected abstract ChainedTransactionBatcher findTransactionBatcher(String shardName, ActorSelection primaryShard,
+            short primaryVersion);
+
     /**
      * Callback invoked from child transactions to push any futures, which need to
      * be waited for before the next transaction is allocated.
      * @param cohortFutures Collection of futures
+     * @param batched true if the transaction sent its modifications to every shard through a batcher
      */
-    protected abstract <T> void onTransactionReady(@Nonnull TransactionIdentifier transaction, @Nonnull Collection<Future<T>> cohortFutures);
+    protected abstract <T> void onTransactionReady(@Nonnull TransactionIdentifier transaction,
+            @Nonnull Collection<Future<T>> cohortFutures, boolean batched);
 
     private static TransactionContext createLocalTransactionContext(final LocalTransactionFactory factory,
                                                                     final TransactionProxy parent) {
@@ -12,6 +12,7 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +48,12 @@ final class ChainedCommitCohort extends ShardDataTreeCohort {
         return ret;
     }
 
+    @Override
+    void batchCommitted() {
+        chain.clearTransaction(transaction);
+        LOG.debug("Committed transaction {} in a commit batch", transaction);
+    }
+
     @Override
     public ListenableFuture<Boolean> canCommit() {
         return delegate.canCommit();
@@ -66,4 +73,9 @@ final class ChainedCommitCohort extends ShardDataTreeCohort {
     DataTreeCandidateTip getCandidate() {
         return delegate.getCandidate();
     }
-}
\ No newline at end of file
+
+    @Override
+    DataTreeModification getDataTreeModification() {
+        return delegate.getDataTreeModification();
+    }
+}
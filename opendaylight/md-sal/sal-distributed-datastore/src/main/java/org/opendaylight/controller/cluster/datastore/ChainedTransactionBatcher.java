@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import akka.actor.ActorSelection;
+import akka.actor.Status;
+import akka.dispatch.OnComplete;
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedModifications;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedTransactions;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedTransactionsReply;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+/**
+ * Sends the BatchedModifications messages of the write-only transactions of a transaction chain to a shard.
+ * At most one message is outstanding at a time - messages sent in the meantime are queued and, once the
+ * outstanding message completes, sent together in a single BatchedTransactions message. This preserves the
+ * order of the messages, so a transaction does not have to wait for the previous transaction of the chain to
+ * be readied, and coalesces the messages of transactions submitted in quick succession.
+ * <p>
+ * A batcher which replaces another one, because the primary shard has moved, holds back its messages until
+ * the replaced batcher has no outstanding messages, so messages are not reordered across the handover.
+ */
+final class ChainedTransactionBatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(ChainedTransactionBatcher.class);
+
+    private final Queue<PendingMessage> pendingMessages = new ArrayDeque<>();
+    private final ActorContext actorContext;
+    private final ActorSelection actor;
+    private final boolean isActorLocal;
+    private final short version;
+    private boolean messageOutstanding;
+    private Promise<Void> idlePromise;
+
+    ChainedTransactionBatcher(final ActorContext actorContext, final ActorSelection actor, final short version) {
+        this(actorContext, actor, version, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param actorContext the ActorContext
+     * @param actor the primary shard actor
+     * @param version the primary shard's version
+     * @param previous the batcher this one replaces, may be null
+     */
+    ChainedTransactionBatcher(final ActorContext actorContext, final ActorSelection actor, final short version,
+            final ChainedTransactionBatcher previous) {
+        this.actorContext = Preconditions.checkNotNull(actorContext);
+        this.actor = Preconditions.checkNotNull(actor);
+        this.isActorLocal = actorContext.isPathLocal(actor.path().toString());
+        this.version = version;
+
+        final Future<Void> previousIdle = previous != null ? previous.idleFuture() : null;
+        if(previousIdle != null) {
+            LOG.debug("Holding back messages to {} until the previous batcher for {} is idle", actor,
+                    previous.getActor());
+
+            messageOutstanding = true;
+            previousIdle.onComplete(new OnComplete<Void>() {
+                @Override
+                public void onComplete(final Throwable failure, final Void notUsed) {
+                    sendPendingMessages();
+                }
+            }, actorContext.getClientDispatcher());
+        }
+    }
+
+    ActorSelection getActor() {
+        return actor;
+    }
+
+    short getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns a Future which completes once this batcher has no outstanding message.
+     *
+     * @return the Future, or null if no message is outstanding
+     */
+    synchronized Future<Void> idleFuture() {
+        if(!messageOutstanding) {
+            return null;
+        }
+
+        if(idlePromise == null) {
+            idlePromise = akka.dispatch.Futures.promise();
+        }
+
+        return idlePromise.future();
+    }
+
+    /**
+     * Sends a message, or queues it if a previous message is outstanding.
+     *
+     * @param message the message to send
+     * @return Future containing the shard's reply to the message
+     */
+    Future<Object> send(final BatchedModifications message) {
+        final PendingMessage pending = new PendingMessage(message);
+        synchronized(this) {
+            if(messageOutstanding) {
+                pendingMessages.add(pending);
+                return pending.promise.future();
+            }
+
+            messageOutstanding = true;
+        }
+
+        sendMessages(Collections.singletonList(pending));
+        return pending.promise.future();
+    }
+
+    private void sendPendingMessages() {
+        final List<PendingMessage> messages = new ArrayList<>();
+        synchronized(this) {
+            if(pendingMessages.isEmpty()) {
+                messageOutstanding = false;
+
+                // Callbacks run on the dispatcher, hence it is safe to complete the promise here
+                if(idlePromise != null) {
+                    idlePromise.success(null);
+                    idlePromise = null;
+                }
+                return;
+            }
+
+            // Shards older than Beryllium do not understand BatchedTransactions
+            if(version < DataStoreVersions.BERYLLIUM_VERSION) {
+                messages.add(pendingMessages.poll());
+            } else {
+                final int maxModifications = actorContext.getDatastoreContext().getShardBatchedModificationCount();
+                int modifications = 0;
+                while(!pendingMessages.isEmpty() && modifications < maxModifications) {
+                    final PendingMessage pending = pendingMessages.poll();
+                    modifications += pending.message.getModifications().size();
+                    messages.add(pending);
+                }
+            }
+        }
+
+        sendMessages(messages);
+    }
+
+    private void sendMessages(final List<PendingMessage> messages) {
+        final Future<Object> future;
+        if(messages.size() == 1) {
+            final BatchedModifications message = messages.get(0).message;
+            future = actorContext.executeOperationAsync(actor, isActorLocal ? message : message.toSerializable());
+        } else {
+            final List<BatchedModifications> batched = new ArrayList<>(messages.size());
+            for(PendingMessage pending: messages) {
+                batched.add(pending.message);
+            }
+
+            LOG.debug("Sending {} batched transaction messages to {}", batched.size(), actor);
+
+            future = actorContext.executeOperationAsync(actor, new BatchedTransactions(batched, version));
+        }
+
+        future.onComplete(new OnComplete<Object>() {
+            @Override
+            public void onComplete(final Throwable failure, final Object reply) {
+                if(messages.size() == 1) {
+                    messages.get(0).complete(failure, reply);
+                } else {
+                    completeBatch(messages, failure, reply);
+                }
+
+                sendPendingMessages();
+            }
+        }, actorContext.getClientDispatcher());
+    }
+
+    private void completeBatch(final List<PendingMessage> messages, final Throwable failure, final Object reply) {
+        if(failure != null) {
+            LOG.debug("Batched transaction messages to {} failed", actor, failure);
+            for(PendingMessage pending: messages) {
+                pending.complete(failure, null);
+            }
+        } else if(reply instanceof BatchedTransactionsReply &&
+                ((BatchedTransactionsReply) reply).getReplies().size() == messages.size()) {
+            final List<Object> replies = ((BatchedTransactionsReply) reply).getReplies();
+            for(int i = 0; i < messages.size(); i++) {
+                final Object messageReply = replies.get(i);
+                if(messageReply instanceof Status.Failure) {
+                    messages.get(i).complete(((Status.Failure) messageReply).cause(), null);
+                } else {
+                    messages.get(i).complete(null, messageReply);
+                }
+            }
+        } else {
+            final IllegalArgumentException ex = new IllegalArgumentException(String.format(
+                    "Invalid reply type %s for %d batched transaction messages", reply.getClass(), messages.size()));
+            for(PendingMessage pending: messages) {
+                pending.complete(ex, null);
+            }
+        }
+    }
+
+    private static final class PendingMessage {
+        private final Promise<Object> promise = akka.dispatch.Futures.promise();
+        private final BatchedModifications message;
+
+        PendingMessage(final BatchedModifications message) {
+            this.message = message;
+        }
+
+        void complete(final Throwable failure, final Object reply) {
+            if(failure != null) {
+                promise.failure(failure);
+            } else {
+                promise.success(reply);
+            }
+        }
+    }
+}
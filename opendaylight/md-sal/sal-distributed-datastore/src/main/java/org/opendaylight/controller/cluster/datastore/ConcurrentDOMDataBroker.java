@@ -19,6 +19,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.opendaylight.controller.cluster.databroker.AbstractDOMBroker;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.exceptions.ShardLeaderNotRespondingException;
@@ -39,6 +41,12 @@ import org.slf4j.LoggerFactory;
  * commit phases (canCommit, preCommit, and commit) are performed serially and non-blocking
  * (ie async) per transaction but multiple transaction commits can run concurrent.
  *
+ * A transaction with a single cohort takes a fast path, which simply chains the cohort's phases. With
+ * the distributed data store, such a cohort has already committed the transaction directly on the shard
+ * by the time canCommit completes. With multiple cohorts, canCommit is issued to one cohort after another,
+ * so that concurrent transactions cannot deadlock each other, whereas preCommit and commit are issued to
+ * all cohorts at once.
+ *
  * @author Thomas Pantelis
  */
 public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
@@ -48,6 +56,8 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
     private static final String COMMIT = "COMMIT";
 
     private final DurationStatisticsTracker commitStatsTracker = DurationStatisticsTracker.createConcurrent();
+    private final DurationStatisticsTracker singleCohortStatsTracker = DurationStatisticsTracker.createConcurrent();
+    private final DurationStatisticsTracker multiCohortStatsTracker = DurationStatisticsTracker.createConcurrent();
 
     /**
      * This executor is used to execute Future listener callback Runnables async.
@@ -63,6 +73,14 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
         return commitStatsTracker;
     }
 
+    public DurationStatisticsTracker getSingleCohortStatsTracker() {
+        return singleCohortStatsTracker;
+    }
+
+    public DurationStatisticsTracker getMultiCohortStatsTracker() {
+        return multiCohortStatsTracker;
+    }
+
     @Override
     protected CheckedFuture<Void, TransactionCommitFailedException> submit(DOMDataWriteTransaction transaction,
             Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
@@ -78,12 +96,76 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
         final AsyncNotifyingSettableFuture clientSubmitFuture =
                 new AsyncNotifyingSettableFuture(clientFutureCallbackExecutor);
 
-        doCanCommit(clientSubmitFuture, transaction, cohorts);
+        if(cohorts.size() == 1) {
+            doSingleCohortCommit(clientSubmitFuture, transaction, cohorts);
+        } else {
+            doCanCommit(clientSubmitFuture, transaction, cohorts);
+        }
 
         return MappingCheckedFuture.create(clientSubmitFuture,
                 TransactionCommitFailedExceptionMapper.COMMIT_ERROR_MAPPER);
     }
 
+    private void doSingleCohortCommit(final AsyncNotifyingSettableFuture clientSubmitFuture,
+            final DOMDataWriteTransaction transaction,
+            final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
+
+        final long startTime = System.nanoTime();
+        final DOMStoreThreePhaseCommitCohort cohort = cohorts.iterator().next();
+
+        Futures.addCallback(cohort.canCommit(), new FutureCallback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean result) {
+                if (result == null || !result) {
+                    handleException(clientSubmitFuture, transaction, cohorts,
+                            CAN_COMMIT, TransactionCommitFailedExceptionMapper.CAN_COMMIT_ERROR_MAPPER,
+                            new TransactionCommitFailedException(
+                                            "Can Commit failed, no detailed cause available."));
+                    return;
+                }
+
+                Futures.addCallback(cohort.preCommit(), new FutureCallback<Void>() {
+                    @Override
+                    public void onSuccess(Void notUsed) {
+                        Futures.addCallback(cohort.commit(), new FutureCallback<Void>() {
+                            @Override
+                            public void onSuccess(Void notUsed) {
+                                commitComplete(startTime, singleCohortStatsTracker, clientSubmitFuture);
+                            }
+
+                            @Override
+                            public void onFailure(Throwable t) {
+                                handleException(clientSubmitFuture, transaction, cohorts, COMMIT,
+                                        TransactionCommitFailedExceptionMapper.COMMIT_ERROR_MAPPER, t);
+                            }
+                        }, MoreExecutors.directExecutor());
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        handleException(clientSubmitFuture, transaction, cohorts, PRE_COMMIT,
+                                TransactionCommitFailedExceptionMapper.PRE_COMMIT_MAPPER, t);
+                    }
+                }, MoreExecutors.directExecutor());
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                handleException(clientSubmitFuture, transaction, cohorts, CAN_COMMIT,
+                        TransactionCommitFailedExceptionMapper.CAN_COMMIT_ERROR_MAPPER, t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void commitComplete(final long startTime, final DurationStatisticsTracker pathStatsTracker,
+            final AsyncNotifyingSettableFuture clientSubmitFuture) {
+        final long duration = System.nanoTime() - startTime;
+        commitStatsTracker.addDuration(duration);
+        pathStatsTracker.addDuration(duration);
+
+        clientSubmitFuture.set();
+    }
+
     private void doCanCommit(final AsyncNotifyingSettableFuture clientSubmitFuture,
             final DOMDataWriteTransaction transaction,
             final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
@@ -127,62 +209,60 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
             final DOMDataWriteTransaction transaction,
             final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
 
-        final Iterator<DOMStoreThreePhaseCommitCohort> cohortIterator = cohorts.iterator();
-
-        // Not using Futures.allAsList here to avoid its internal overhead.
+        // All cohorts have voted yes, so there is no ordering to preserve - issue preCommit to all of them
+        // at once and move on to the commit phase once the last one completes.
+        final AtomicInteger remaining = new AtomicInteger(cohorts.size());
+        final AtomicBoolean failed = new AtomicBoolean();
         FutureCallback<Void> futureCallback = new FutureCallback<Void>() {
             @Override
             public void onSuccess(Void notUsed) {
-                if(!cohortIterator.hasNext()) {
+                if(remaining.decrementAndGet() == 0) {
                     // All cohorts completed successfully - we can move on to the commit phase
                     doCommit(startTime, clientSubmitFuture, transaction, cohorts);
-                } else {
-                    ListenableFuture<Void> preCommitFuture = cohortIterator.next().preCommit();
-                    Futures.addCallback(preCommitFuture, this, MoreExecutors.directExecutor());
                 }
             }
 
             @Override
             public void onFailure(Throwable t) {
-                handleException(clientSubmitFuture, transaction, cohorts, PRE_COMMIT,
-                        TransactionCommitFailedExceptionMapper.PRE_COMMIT_MAPPER, t);
+                if(failed.compareAndSet(false, true)) {
+                    handleException(clientSubmitFuture, transaction, cohorts, PRE_COMMIT,
+                            TransactionCommitFailedExceptionMapper.PRE_COMMIT_MAPPER, t);
+                }
             }
         };
 
-        ListenableFuture<Void> preCommitFuture = cohortIterator.next().preCommit();
-        Futures.addCallback(preCommitFuture, futureCallback, MoreExecutors.directExecutor());
+        for(DOMStoreThreePhaseCommitCohort cohort: cohorts) {
+            Futures.addCallback(cohort.preCommit(), futureCallback, MoreExecutors.directExecutor());
+        }
     }
 
     private void doCommit(final long startTime, final AsyncNotifyingSettableFuture clientSubmitFuture,
             final DOMDataWriteTransaction transaction,
             final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
 
-        final Iterator<DOMStoreThreePhaseCommitCohort> cohortIterator = cohorts.iterator();
-
-        // Not using Futures.allAsList here to avoid its internal overhead.
+        final AtomicInteger remaining = new AtomicInteger(cohorts.size());
+        final AtomicBoolean failed = new AtomicBoolean();
         FutureCallback<Void> futureCallback = new FutureCallback<Void>() {
             @Override
             public void onSuccess(Void notUsed) {
-                if(!cohortIterator.hasNext()) {
+                if(remaining.decrementAndGet() == 0) {
                     // All cohorts completed successfully - we're done.
-                    commitStatsTracker.addDuration(System.nanoTime() - startTime);
-
-                    clientSubmitFuture.set();
-                } else {
-                    ListenableFuture<Void> commitFuture = cohortIterator.next().commit();
-                    Futures.addCallback(commitFuture, this, MoreExecutors.directExecutor());
+                    commitComplete(startTime, multiCohortStatsTracker, clientSubmitFuture);
                 }
             }
 
             @Override
             public void onFailure(Throwable t) {
-                handleException(clientSubmitFuture, transaction, cohorts, COMMIT,
-                        TransactionCommitFailedExceptionMapper.COMMIT_ERROR_MAPPER, t);
+                if(failed.compareAndSet(false, true)) {
+                    handleException(clientSubmitFuture, transaction, cohorts, COMMIT,
+                            TransactionCommitFailedExceptionMapper.COMMIT_ERROR_MAPPER, t);
+                }
             }
         };
 
-        ListenableFuture<Void> commitFuture = cohortIterator.next().commit();
-        Futures.addCallback(commitFuture, futureCallback, MoreExecutors.directExecutor());
+        for(DOMStoreThreePhaseCommitCohort cohort: cohorts) {
+            Futures.addCallback(cohort.commit(), futureCallback, MoreExecutors.directExecutor());
+        }
     }
 
     private static void handleException(final AsyncNotifyingSettableFuture clientSubmitFuture,
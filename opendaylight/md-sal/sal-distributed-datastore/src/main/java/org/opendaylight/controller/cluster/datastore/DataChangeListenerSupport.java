@@ -9,10 +9,8 @@ package org.opendaylight.controller.cluster.datastore;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
-import com.google.common.base.Optional;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map.Entry;
 import org.opendaylight.controller.cluster.datastore.messages.EnableNotification;
 import org.opendaylight.controller.cluster.datastore.messages.RegisterChangeListener;
 import org.opendaylight.controller.cluster.datastore.messages.RegisterChangeListenerReply;
@@ -21,13 +19,11 @@ import org.opendaylight.controller.md.sal.dom.store.impl.DataChangeListenerRegis
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
-import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 final class DataChangeListenerSupport extends LeaderLocalDelegateFactory<RegisterChangeListener,
-        DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>,
-        Optional<DataTreeCandidate>> {
+        DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>> {
     private static final Logger LOG = LoggerFactory.getLogger(DataChangeListenerSupport.class);
     private final List<DelayedListenerRegistration> delayedListenerRegistrations = new ArrayList<>();
     private final List<ActorSelection> dataChangeListeners =  new ArrayList<>();
@@ -63,10 +59,7 @@ final class DataChangeListenerSupport extends LeaderLocalDelegateFactory<Registe
 
     private void registerDelayedListeners(DelayedListenerRegistration reg) {
         if(!reg.isClosed()) {
-            final Entry<DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>,
-                            Optional<DataTreeCandidate>> res = createDelegate(reg.getRegisterChangeListener());
-            reg.setDelegate(res.getKey());
-            getShard().getDataStore().notifyOfInitialData(res.getKey(), res.getValue());
+            reg.setDelegate(createDelegate(reg.getRegisterChangeListener()));
         }
     }
 
@@ -79,11 +72,7 @@ final class DataChangeListenerSupport extends LeaderLocalDelegateFactory<Registe
         final ListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier,
                                                      NormalizedNode<?, ?>>> registration;
         if ((hasLeader && message.isRegisterOnAllInstances()) || isLeader) {
-            final Entry<DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>,
-                    Optional<DataTreeCandidate>> res = createDelegate(message);
-            registration = res.getKey();
-
-            getShard().getDataStore().notifyOfInitialData(res.getKey(), res.getValue());
+            registration = createDelegate(message);
         } else {
             LOG.debug("{}: Shard is not the leader - delaying registration", persistenceId());
 
@@ -105,8 +94,8 @@ final class DataChangeListenerSupport extends LeaderLocalDelegateFactory<Registe
     }
 
     @Override
-    Entry<DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>,
-            Optional<DataTreeCandidate>> createDelegate(final RegisterChangeListener message) {
+    DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>> createDelegate(
+            final RegisterChangeListener message) {
         ActorSelection dataChangeListenerPath = selectActor(message.getDataChangeListenerPath());
 
         // Notify the listener if notifications should be enabled or not
@@ -125,7 +114,7 @@ final class DataChangeListenerSupport extends LeaderLocalDelegateFactory<Registe
 
         LOG.debug("{}: Registering for path {}", persistenceId(), message.getPath());
 
-        return getShard().getDataStore().registerChangeListener(message.getPath(), listener,
+        return getShard().getDataStore().registerDispatchedChangeListener(message.getPath(), listener,
                 message.getScope());
     }
 }
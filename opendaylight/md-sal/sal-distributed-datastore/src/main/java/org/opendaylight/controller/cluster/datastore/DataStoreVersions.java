@@ -17,5 +17,8 @@ public interface DataStoreVersions {
     short HELIUM_1_VERSION = 1;
     short HELIUM_2_VERSION = 2;
     short LITHIUM_VERSION = 3;
-    short CURRENT_VERSION = LITHIUM_VERSION;
+    short BERYLLIUM_VERSION = 4;
+    // First version to read the BERYLLIUM_VERSION NormalizedNode stream format
+    short BORON_VERSION = 5;
+    short CURRENT_VERSION = BORON_VERSION;
 }
@@ -9,11 +9,12 @@ package org.opendaylight.controller.cluster.datastore;
 
 import com.google.common.base.Preconditions;
 import com.google.common.io.ByteArrayDataInput;
-import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
 import com.google.protobuf.GeneratedMessage.GeneratedExtension;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -46,6 +47,11 @@ final class DataTreeCandidatePayload extends Payload implements Externalizable {
     private static final byte APPEARED = 4;
     private static final byte DISAPPEARED = 5;
 
+    // Candidates are serialized into a per-thread buffer which is reused as long as it does not grow beyond this
+    // size, so the commit path allocates just the exact-size result array instead of a growing series of arrays.
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+    private static final ThreadLocal<PooledOutputStream> POOLED_OUTPUT = new ThreadLocal<>();
+
     private transient byte[] serialized;
 
     public DataTreeCandidatePayload() {
@@ -98,9 +104,44 @@ final class DataTreeCandidatePayload extends Payload implements Externalizable {
         }
     }
 
+    /**
+     * A ByteArrayOutputStream which exposes its buffer size, so buffers that grew too large are not kept.
+     */
+    private static final class PooledOutputStream extends ByteArrayOutputStream {
+        PooledOutputStream() {
+            super(8192);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+
+    private static PooledOutputStream pooledOutput() {
+        PooledOutputStream pooled = POOLED_OUTPUT.get();
+        if (pooled == null) {
+            pooled = new PooledOutputStream();
+            POOLED_OUTPUT.set(pooled);
+        } else {
+            pooled.reset();
+        }
+
+        return pooled;
+    }
+
     static DataTreeCandidatePayload create(DataTreeCandidate candidate) {
-        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        try (final NormalizedNodeOutputStreamWriter writer = new NormalizedNodeOutputStreamWriter(out)) {
+        return create(candidate, NormalizedNodeOutputStreamWriter.LITHIUM_VERSION);
+    }
+
+    /**
+     * Creates a payload for the given candidate, written in the given NormalizedNode stream version. The version
+     * must be readable by every member the payload is replicated to.
+     */
+    static DataTreeCandidatePayload create(DataTreeCandidate candidate, short streamVersion) {
+        final PooledOutputStream pooled = pooledOutput();
+        final DataOutput out = new DataOutputStream(pooled);
+        try (final NormalizedNodeOutputStreamWriter writer = new NormalizedNodeOutputStreamWriter(out,
+                streamVersion)) {
             writer.writeYangInstanceIdentifier(candidate.getRootPath());
 
             final DataTreeCandidateNode node = candidate.getRootNode();
@@ -136,7 +177,12 @@ final class DataTreeCandidatePayload extends Payload implements Externalizable {
             throw new IllegalArgumentException(String.format("Failed to serialize candidate %s", candidate), e);
         }
 
-        return new DataTreeCandidatePayload(out.toByteArray());
+        final byte[] serialized = pooled.toByteArray();
+        if (pooled.capacity() > MAX_POOLED_BUFFER_SIZE) {
+            POOLED_OUTPUT.remove();
+        }
+
+        return new DataTreeCandidatePayload(serialized);
     }
 
     private static Collection<DataTreeCandidateNode> readChildren(final NormalizedNodeInputStreamReader reader,
@@ -213,6 +259,10 @@ final class DataTreeCandidatePayload extends Payload implements Externalizable {
         return DataTreeCandidates.newDataTreeCandidate(rootPath, rootNode);
     }
 
+    /**
+     * Parses the candidate from the serialized form. The result is not retained, as the payload stays in the
+     * replicated log long after the candidate has been applied and would otherwise keep the parsed data reachable.
+     */
     DataTreeCandidate getCandidate() throws IOException {
         return parseCandidate(ByteStreams.newDataInput(serialized));
     }
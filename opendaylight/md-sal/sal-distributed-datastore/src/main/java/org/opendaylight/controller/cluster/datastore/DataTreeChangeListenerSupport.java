@@ -9,21 +9,20 @@ package org.opendaylight.controller.cluster.datastore;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
-import com.google.common.base.Optional;
+import akka.util.Timeout;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.datastore.messages.EnableNotification;
 import org.opendaylight.controller.cluster.datastore.messages.RegisterDataTreeChangeListener;
 import org.opendaylight.controller.cluster.datastore.messages.RegisterDataTreeChangeListenerReply;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
-import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 final class DataTreeChangeListenerSupport extends LeaderLocalDelegateFactory<RegisterDataTreeChangeListener,
-        ListenerRegistration<DOMDataTreeChangeListener>, Optional<DataTreeCandidate>> {
+        ListenerRegistration<DOMDataTreeChangeListener>> {
     private static final Logger LOG = LoggerFactory.getLogger(DataTreeChangeListenerSupport.class);
     private final ArrayList<DelayedDataTreeListenerRegistration> delayedRegistrations = new ArrayList<>();
     private final Collection<ActorSelection> actors = new ArrayList<>();
@@ -61,11 +60,7 @@ final class DataTreeChangeListenerSupport extends LeaderLocalDelegateFactory<Reg
             delayedRegistrations.add(delayedReg);
             registration = delayedReg;
         } else {
-            final Entry<ListenerRegistration<DOMDataTreeChangeListener>, Optional<DataTreeCandidate>> res =
-                    createDelegate(registerTreeChangeListener);
-            registration = res.getKey();
-            getShard().getDataStore().notifyOfInitialData(registerTreeChangeListener.getPath(),
-                    registration.getInstance(), res.getValue());
+            registration = createDelegate(registerTreeChangeListener);
         }
 
         ActorRef listenerRegistration = createActor(DataTreeChangeListenerRegistrationActor.props(registration));
@@ -77,7 +72,7 @@ final class DataTreeChangeListenerSupport extends LeaderLocalDelegateFactory<Reg
     }
 
     @Override
-    Entry<ListenerRegistration<DOMDataTreeChangeListener>, Optional<DataTreeCandidate>> createDelegate(final RegisterDataTreeChangeListener message) {
+    ListenerRegistration<DOMDataTreeChangeListener> createDelegate(final RegisterDataTreeChangeListener message) {
         ActorSelection dataChangeListenerPath = selectActor(message.getDataTreeChangeListenerPath());
 
         // Notify the listener if notifications should be enabled or not
@@ -89,10 +84,13 @@ final class DataTreeChangeListenerSupport extends LeaderLocalDelegateFactory<Reg
         // at a later point if notifications should be enabled or disabled
         actors.add(dataChangeListenerPath);
 
-        DOMDataTreeChangeListener listener = new ForwardingDataTreeChangeListener(dataChangeListenerPath);
+        final DatastoreContext datastoreContext = getShard().getDatastoreContext();
+        DOMDataTreeChangeListener listener = new ForwardingDataTreeChangeListener(dataChangeListenerPath,
+                datastoreContext.getShardMaxInFlightDataTreeChangeNotifications(),
+                new Timeout(datastoreContext.getOperationTimeoutInMillis(), TimeUnit.MILLISECONDS));
 
         LOG.debug("{}: Registering for path {}", persistenceId(), message.getPath());
 
-        return getShard().getDataStore().registerTreeChangeListener(message.getPath(), listener);
+        return getShard().getDataStore().registerDispatchedTreeChangeListener(message.getPath(), listener);
     }
 }
@@ -50,6 +50,17 @@ public class DatastoreContext {
     public static final int DEFAULT_SHARD_BATCHED_MODIFICATION_COUNT = 1000;
     public static final long DEFAULT_SHARD_COMMIT_QUEUE_EXPIRY_TIMEOUT_IN_MS = TimeUnit.MILLISECONDS.convert(2, TimeUnit.MINUTES);
     public static final int DEFAULT_SHARD_SNAPSHOT_CHUNK_SIZE = 2048000;
+    public static final int DEFAULT_SHARD_MAX_IN_FLIGHT_APPEND_ENTRIES = 1;
+    public static final int DEFAULT_SHARD_JOURNAL_GROUP_COMMIT_MAX_BATCH_SIZE = 1;
+    public static final long DEFAULT_SHARD_JOURNAL_GROUP_COMMIT_WINDOW_IN_MILLIS = 0;
+    public static final boolean DEFAULT_SHARD_REPLICATED_LOG_OFF_HEAP = false;
+    public static final boolean DEFAULT_SHARD_SEGMENTED_JOURNAL_ENABLED = false;
+    public static final int DEFAULT_SHARD_MAX_COMMIT_BATCH_SIZE = 1;
+    public static final int DEFAULT_SHARD_MAX_IN_FLIGHT_DATA_TREE_CHANGE_NOTIFICATIONS = 0;
+    public static final boolean DEFAULT_SHARD_FOLLOWER_READS_ENABLED = false;
+    public static final int DEFAULT_SHARD_FOLLOWER_READ_MAX_LAG = 0;
+    public static final int DEFAULT_SHARD_BACKLOG_THROTTLE_THRESHOLD = 0;
+    public static final boolean DEFAULT_TRANSACTION_CHAIN_BATCHING_ENABLED = false;
 
     private static Set<String> globalDatastoreTypes = Sets.newConcurrentHashSet();
 
@@ -71,6 +82,12 @@ public class DatastoreContext {
     private long shardCommitQueueExpiryTimeoutInMillis = DEFAULT_SHARD_COMMIT_QUEUE_EXPIRY_TIMEOUT_IN_MS;
     private boolean transactionDebugContextEnabled = false;
     private String shardManagerPersistenceId;
+    private boolean transactionChainBatchingEnabled = DEFAULT_TRANSACTION_CHAIN_BATCHING_ENABLED;
+    private int shardBacklogThrottleThreshold = DEFAULT_SHARD_BACKLOG_THROTTLE_THRESHOLD;
+    private int shardFollowerReadMaxLag = DEFAULT_SHARD_FOLLOWER_READ_MAX_LAG;
+    private boolean shardFollowerReadsEnabled = DEFAULT_SHARD_FOLLOWER_READS_ENABLED;
+    private int shardMaxInFlightDataTreeChangeNotifications = DEFAULT_SHARD_MAX_IN_FLIGHT_DATA_TREE_CHANGE_NOTIFICATIONS;
+    private int shardMaxCommitBatchSize = DEFAULT_SHARD_MAX_COMMIT_BATCH_SIZE;
 
     public static Set<String> getGlobalDatastoreTypes() {
         return globalDatastoreTypes;
@@ -84,6 +101,11 @@ public class DatastoreContext {
         setSnapshotDataThresholdPercentage(DEFAULT_SHARD_SNAPSHOT_DATA_THRESHOLD_PERCENTAGE);
         setElectionTimeoutFactor(DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR);
         setShardSnapshotChunkSize(DEFAULT_SHARD_SNAPSHOT_CHUNK_SIZE);
+        setShardReplicatedLogOffHeap(DEFAULT_SHARD_REPLICATED_LOG_OFF_HEAP);
+        setShardSegmentedJournalEnabled(DEFAULT_SHARD_SEGMENTED_JOURNAL_ENABLED);
+        setShardJournalGroupCommitWindowInMillis(DEFAULT_SHARD_JOURNAL_GROUP_COMMIT_WINDOW_IN_MILLIS);
+        setShardJournalGroupCommitMaxBatchSize(DEFAULT_SHARD_JOURNAL_GROUP_COMMIT_MAX_BATCH_SIZE);
+        setShardMaxInFlightAppendEntries(DEFAULT_SHARD_MAX_IN_FLIGHT_APPEND_ENTRIES);
     }
 
     private DatastoreContext(DatastoreContext other) {
@@ -104,6 +126,12 @@ public class DatastoreContext {
         this.shardCommitQueueExpiryTimeoutInMillis = other.shardCommitQueueExpiryTimeoutInMillis;
         this.transactionDebugContextEnabled = other.transactionDebugContextEnabled;
         this.shardManagerPersistenceId = other.shardManagerPersistenceId;
+        this.transactionChainBatchingEnabled = other.transactionChainBatchingEnabled;
+        this.shardBacklogThrottleThreshold = other.shardBacklogThrottleThreshold;
+        this.shardFollowerReadMaxLag = other.shardFollowerReadMaxLag;
+        this.shardFollowerReadsEnabled = other.shardFollowerReadsEnabled;
+        this.shardMaxInFlightDataTreeChangeNotifications = other.shardMaxInFlightDataTreeChangeNotifications;
+        this.shardMaxCommitBatchSize = other.shardMaxCommitBatchSize;
 
         setShardJournalRecoveryLogBatchSize(other.raftConfig.getJournalRecoveryLogBatchSize());
         setSnapshotBatchCount(other.raftConfig.getSnapshotBatchCount());
@@ -114,6 +142,11 @@ public class DatastoreContext {
         setCustomRaftPolicyImplementation(other.raftConfig.getCustomRaftPolicyImplementationClass());
         setShardSnapshotChunkSize(other.raftConfig.getSnapshotChunkSize());
         setPeerAddressResolver(other.raftConfig.getPeerAddressResolver());
+        setShardReplicatedLogOffHeap(other.raftConfig.isReplicatedLogOffHeap());
+        setShardSegmentedJournalEnabled(other.raftConfig.isSegmentedJournalEnabled());
+        setShardJournalGroupCommitWindowInMillis(other.raftConfig.getJournalGroupCommitWindow().toMillis());
+        setShardJournalGroupCommitMaxBatchSize(other.raftConfig.getJournalGroupCommitMaxBatchSize());
+        setShardMaxInFlightAppendEntries(other.raftConfig.getMaxInFlightAppendEntries());
     }
 
     public static Builder newBuilder() {
@@ -223,6 +256,26 @@ public class DatastoreContext {
         raftConfig.setSnapshotChunkSize(shardSnapshotChunkSize);
     }
 
+    private void setShardMaxInFlightAppendEntries(int shardMaxInFlightAppendEntries) {
+        raftConfig.setMaxInFlightAppendEntries(shardMaxInFlightAppendEntries);
+    }
+
+    private void setShardJournalGroupCommitMaxBatchSize(int shardJournalGroupCommitMaxBatchSize) {
+        raftConfig.setJournalGroupCommitMaxBatchSize(shardJournalGroupCommitMaxBatchSize);
+    }
+
+    private void setShardJournalGroupCommitWindowInMillis(long shardJournalGroupCommitWindowInMillis) {
+        raftConfig.setJournalGroupCommitWindowInMillis(shardJournalGroupCommitWindowInMillis);
+    }
+
+    private void setShardReplicatedLogOffHeap(boolean shardReplicatedLogOffHeap) {
+        raftConfig.setReplicatedLogOffHeap(shardReplicatedLogOffHeap);
+    }
+
+    private void setShardSegmentedJournalEnabled(boolean shardSegmentedJournalEnabled) {
+        raftConfig.setSegmentedJournalEnabled(shardSegmentedJournalEnabled);
+    }
+
     public int getShardBatchedModificationCount() {
         return shardBatchedModificationCount;
     }
@@ -243,6 +296,50 @@ public class DatastoreContext {
         return raftConfig.getSnapshotChunkSize();
     }
 
+    public int getShardMaxInFlightAppendEntries() {
+        return raftConfig.getMaxInFlightAppendEntries();
+    }
+
+    public int getShardJournalGroupCommitMaxBatchSize() {
+        return raftConfig.getJournalGroupCommitMaxBatchSize();
+    }
+
+    public long getShardJournalGroupCommitWindowInMillis() {
+        return raftConfig.getJournalGroupCommitWindow().toMillis();
+    }
+
+    public boolean isShardReplicatedLogOffHeap() {
+        return raftConfig.isReplicatedLogOffHeap();
+    }
+
+    public boolean isShardSegmentedJournalEnabled() {
+        return raftConfig.isSegmentedJournalEnabled();
+    }
+
+    public int getShardMaxCommitBatchSize() {
+        return shardMaxCommitBatchSize;
+    }
+
+    public int getShardMaxInFlightDataTreeChangeNotifications() {
+        return shardMaxInFlightDataTreeChangeNotifications;
+    }
+
+    public boolean isShardFollowerReadsEnabled() {
+        return shardFollowerReadsEnabled;
+    }
+
+    public int getShardFollowerReadMaxLag() {
+        return shardFollowerReadMaxLag;
+    }
+
+    public int getShardBacklogThrottleThreshold() {
+        return shardBacklogThrottleThreshold;
+    }
+
+    public boolean isTransactionChainBatchingEnabled() {
+        return transactionChainBatchingEnabled;
+    }
+
     public static class Builder {
         private final DatastoreContext datastoreContext;
         private int maxShardDataChangeExecutorPoolSize =
@@ -460,6 +557,61 @@ public class DatastoreContext {
             return this;
         }
 
+        public Builder shardMaxInFlightAppendEntries(int value) {
+            datastoreContext.setShardMaxInFlightAppendEntries(value);
+            return this;
+        }
+
+        public Builder shardJournalGroupCommitMaxBatchSize(int value) {
+            datastoreContext.setShardJournalGroupCommitMaxBatchSize(value);
+            return this;
+        }
+
+        public Builder shardJournalGroupCommitWindowInMillis(long value) {
+            datastoreContext.setShardJournalGroupCommitWindowInMillis(value);
+            return this;
+        }
+
+        public Builder shardReplicatedLogOffHeap(boolean value) {
+            datastoreContext.setShardReplicatedLogOffHeap(value);
+            return this;
+        }
+
+        public Builder shardSegmentedJournalEnabled(boolean value) {
+            datastoreContext.setShardSegmentedJournalEnabled(value);
+            return this;
+        }
+
+        public Builder shardMaxCommitBatchSize(int value) {
+            datastoreContext.shardMaxCommitBatchSize = value;
+            return this;
+        }
+
+        public Builder shardMaxInFlightDataTreeChangeNotifications(int value) {
+            datastoreContext.shardMaxInFlightDataTreeChangeNotifications = value;
+            return this;
+        }
+
+        public Builder shardFollowerReadsEnabled(boolean value) {
+            datastoreContext.shardFollowerReadsEnabled = value;
+            return this;
+        }
+
+        public Builder shardFollowerReadMaxLag(int value) {
+            datastoreContext.shardFollowerReadMaxLag = value;
+            return this;
+        }
+
+        public Builder shardBacklogThrottleThreshold(int value) {
+            datastoreContext.shardBacklogThrottleThreshold = value;
+            return this;
+        }
+
+        public Builder transactionChainBatchingEnabled(boolean value) {
+            datastoreContext.transactionChainBatchingEnabled = value;
+            return this;
+        }
+
         public Builder shardPeerAddressResolver(PeerAddressResolver resolver) {
             datastoreContext.setPeerAddressResolver(resolver);
             return this;
@@ -10,25 +10,111 @@ package org.opendaylight.controller.cluster.datastore;
 import com.google.common.base.Preconditions;
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
+import akka.dispatch.ExecutionContexts;
+import akka.dispatch.OnComplete;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.cluster.datastore.messages.DataTreeChanged;
+import org.opendaylight.controller.cluster.datastore.messages.DataTreeChangedReply;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.ExecutionContext;
 
 /**
  * Internal implementation of a {@link DOMDataTreeChangeListener} which
  * encapsulates received notifications into a {@link DataTreeChanged}
  * message and forwards them towards the client's {@link DataTreeChangeListenerActor}.
+ *
+ * If maxInFlight is positive, at most that many notifications are sent before the
+ * listener actor acknowledges one with a {@link DataTreeChangedReply}. Changes
+ * received in the meantime are accumulated and forwarded as a single notification
+ * once a credit is returned. A notification which is not acknowledged within the
+ * reply timeout returns its credit as well, so a listener actor which went away does
+ * not stall the others.
  */
 final class ForwardingDataTreeChangeListener implements DOMDataTreeChangeListener {
+    private static final Logger LOG = LoggerFactory.getLogger(ForwardingDataTreeChangeListener.class);
+    private static final ExecutionContext SAME_THREAD_EXECUTION_CONTEXT =
+            ExecutionContexts.fromExecutor(MoreExecutors.directExecutor());
+
     private final ActorSelection actor;
+    private final int maxInFlight;
+    private final Timeout replyTimeout;
+
+    private final OnComplete<Object> onReply = new OnComplete<Object>() {
+        @Override
+        public void onComplete(final Throwable failure, final Object reply) {
+            if (failure != null) {
+                LOG.debug("Change notification to {} was not acknowledged", actor, failure);
+            }
+
+            creditReturned();
+        }
+    };
+
+    @GuardedBy("this")
+    private int inFlight;
+    @GuardedBy("this")
+    private List<DataTreeCandidate> pendingChanges;
 
     ForwardingDataTreeChangeListener(final ActorSelection actor) {
+        this(actor, 0, null);
+    }
+
+    ForwardingDataTreeChangeListener(final ActorSelection actor, final int maxInFlight, final Timeout replyTimeout) {
         this.actor = Preconditions.checkNotNull(actor, "actor should not be null");
+        this.maxInFlight = maxInFlight;
+        this.replyTimeout = replyTimeout;
+        Preconditions.checkArgument(maxInFlight <= 0 || replyTimeout != null, "replyTimeout should not be null");
     }
 
     @Override
     public void onDataTreeChanged(Collection<DataTreeCandidate> changes) {
-        actor.tell(new DataTreeChanged(changes), ActorRef.noSender());
+        if (maxInFlight <= 0) {
+            actor.tell(new DataTreeChanged(changes), ActorRef.noSender());
+            return;
+        }
+
+        synchronized (this) {
+            if (inFlight >= maxInFlight) {
+                if (pendingChanges == null) {
+                    pendingChanges = new ArrayList<>(changes);
+                } else {
+                    pendingChanges.addAll(changes);
+                }
+
+                return;
+            }
+
+            inFlight++;
+            send(changes);
+        }
+    }
+
+    private synchronized void creditReturned() {
+        if (pendingChanges == null) {
+            inFlight--;
+            return;
+        }
+
+        LOG.debug("Forwarding {} accumulated changes to {}", pendingChanges.size(), actor);
+
+        final List<DataTreeCandidate> changes = pendingChanges;
+        pendingChanges = null;
+        send(changes);
+    }
+
+    // Called with the lock held so notifications are enqueued in the order they were produced
+    @GuardedBy("this")
+    private void send(final Collection<DataTreeCandidate> changes) {
+        Patterns.ask(actor, new DataTreeChanged(changes), replyTimeout).onComplete(onReply,
+                SAME_THREAD_EXECUTION_CONTEXT);
     }
 }
@@ -12,7 +12,10 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransaction;
@@ -95,6 +98,27 @@ abstract class LocalTransactionContext extends AbstractTransactionContext {
         });
     }
 
+    @Override
+    public void readDataBatch(List<YangInstanceIdentifier> paths,
+            final SettableFuture<List<Optional<NormalizedNode<?, ?>>>> proxyFuture) {
+        final List<ListenableFuture<Optional<NormalizedNode<?, ?>>>> futures = new ArrayList<>(paths.size());
+        for (YangInstanceIdentifier path : paths) {
+            futures.add(getReadDelegate().read(path));
+        }
+
+        Futures.addCallback(Futures.allAsList(futures), new FutureCallback<List<Optional<NormalizedNode<?, ?>>>>() {
+            @Override
+            public void onSuccess(final List<Optional<NormalizedNode<?, ?>>> result) {
+                proxyFuture.set(result);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                proxyFuture.setException(t);
+            }
+        });
+    }
+
     @Override
     public void dataExists(YangInstanceIdentifier path, final SettableFuture<Boolean> proxyFuture) {
         Futures.addCallback(getReadDelegate().exists(path), new FutureCallback<Boolean>() {
@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore;
 import akka.actor.ActorSelection;
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.SettableFuture;
+import java.util.List;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.md.sal.common.api.data.DataStoreUnavailableException;
@@ -70,14 +71,22 @@ final class NoOpTransactionContext extends AbstractTransactionContext {
     @Override
     public void readData(final YangInstanceIdentifier path, SettableFuture<Optional<NormalizedNode<?, ?>>> proxyFuture) {
         LOG.debug("Tx {} readData called path = {}", getIdentifier(), path);
+        proxyFuture.setException(new ReadFailedException("Error reading data for path " + path, readFailure()));
+    }
+
+    @Override
+    public void readDataBatch(List<YangInstanceIdentifier> paths,
+            SettableFuture<List<Optional<NormalizedNode<?, ?>>>> proxyFuture) {
+        LOG.debug("Tx {} readDataBatch called paths = {}", getIdentifier(), paths);
+        proxyFuture.setException(new ReadFailedException("Error reading data for paths " + paths, readFailure()));
+    }
 
-        final Throwable t;
+    private Throwable readFailure() {
         if (failure instanceof NoShardLeaderException) {
-            t = new DataStoreUnavailableException(failure.getMessage(), failure);
+            return new DataStoreUnavailableException(failure.getMessage(), failure);
         } else {
-            t = failure;
+            return failure;
         }
-        proxyFuture.setException(new ReadFailedException("Error reading data for path " + path, t));
     }
 
     @Override
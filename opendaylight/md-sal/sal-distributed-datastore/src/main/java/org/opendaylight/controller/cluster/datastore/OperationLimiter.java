@@ -14,21 +14,31 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModificationsReply;
+import org.opendaylight.controller.cluster.datastore.utils.ShardOperationLimits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Class for limiting operations. It extends {@link OnComplete}, so we can plug it seamlessly
- * into akka to release permits as futures complete.
+ * into akka to release permits as futures complete. If a shard limit is supplied, the number of
+ * permits follows that limit, which is in turn adjusted from the backlog reported in the
+ * {@link BatchedModificationsReply} messages we see.
  */
 public class OperationLimiter extends OnComplete<Object> {
     private static final Logger LOG = LoggerFactory.getLogger(OperationLimiter.class);
     private final TransactionIdentifier identifier;
     private final long acquireTimeout;
-    private final Semaphore semaphore;
+    private final AdjustableSemaphore semaphore;
     private final int maxPermits;
+    private final ShardOperationLimits.Limit shardLimit;
+    private int permits;
 
     OperationLimiter(final TransactionIdentifier identifier, final int maxPermits, final long acquireTimeoutSeconds) {
+        this(identifier, maxPermits, acquireTimeoutSeconds, null);
+    }
+
+    OperationLimiter(final TransactionIdentifier identifier, final int maxPermits, final long acquireTimeoutSeconds,
+            final ShardOperationLimits.Limit shardLimit) {
         this.identifier = Preconditions.checkNotNull(identifier);
 
         Preconditions.checkArgument(acquireTimeoutSeconds >= 0);
@@ -36,7 +46,9 @@ public class OperationLimiter extends OnComplete<Object> {
 
         Preconditions.checkArgument(maxPermits >= 0);
         this.maxPermits = maxPermits;
-        this.semaphore = new Semaphore(maxPermits);
+        this.permits = maxPermits;
+        this.semaphore = new AdjustableSemaphore(maxPermits);
+        this.shardLimit = shardLimit;
     }
 
     void acquire() {
@@ -44,6 +56,8 @@ public class OperationLimiter extends OnComplete<Object> {
     }
 
     void acquire(final int acquirePermits) {
+        adjustPermits();
+
         try {
             if (!semaphore.tryAcquire(acquirePermits, acquireTimeout, TimeUnit.NANOSECONDS)) {
                 LOG.warn("Failed to acquire operation permit for transaction {}", identifier);
@@ -57,10 +71,30 @@ public class OperationLimiter extends OnComplete<Object> {
         }
     }
 
+    private synchronized void adjustPermits() {
+        if (shardLimit == null) {
+            return;
+        }
+
+        final int newPermits = Math.min(maxPermits, shardLimit.get());
+        if (newPermits > permits) {
+            semaphore.release(newPermits - permits);
+        } else if (newPermits < permits) {
+            semaphore.reducePermits(permits - newPermits);
+        }
+
+        permits = newPermits;
+    }
+
     @Override
     public void onComplete(final Throwable throwable, final Object message) {
         if (message instanceof BatchedModificationsReply) {
-            this.semaphore.release(((BatchedModificationsReply)message).getNumBatched());
+            final BatchedModificationsReply reply = (BatchedModificationsReply)message;
+            if (shardLimit != null) {
+                shardLimit.onShardBacklog(reply.getShardBacklog());
+            }
+
+            this.semaphore.release(reply.getNumBatched());
         } else {
             this.semaphore.release();
         }
@@ -78,7 +112,24 @@ public class OperationLimiter extends OnComplete<Object> {
     /**
      * Release all the permits
      */
-    public void releaseAll() {
-        this.semaphore.release(maxPermits-availablePermits());
+    public synchronized void releaseAll() {
+        this.semaphore.release(permits-availablePermits());
+    }
+
+    /**
+     * Semaphore which exposes {@link Semaphore#reducePermits(int)}, so the number of permits can shrink
+     * while some of them are acquired.
+     */
+    private static final class AdjustableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        AdjustableSemaphore(final int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(final int reduction) {
+            super.reducePermits(reduction);
+        }
     }
 }
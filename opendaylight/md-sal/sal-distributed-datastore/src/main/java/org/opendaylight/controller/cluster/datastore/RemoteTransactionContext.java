@@ -12,13 +12,20 @@ import akka.actor.ActorSelection;
 import akka.dispatch.OnComplete;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModifications;
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.DataExists;
 import org.opendaylight.controller.cluster.datastore.messages.DataExistsReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataBatch;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataBatchReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadDataReply;
 import org.opendaylight.controller.cluster.datastore.messages.SerializableMessage;
 import org.opendaylight.controller.cluster.datastore.modification.DeleteModification;
@@ -47,6 +54,7 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
     private final boolean isTxActorLocal;
     private final short remoteTransactionVersion;
     private final OperationLimiter limiter;
+    private final ChainedTransactionBatcher batcher;
 
     private BatchedModifications batchedModifications;
     private int totalBatchedModificationsSent;
@@ -54,12 +62,24 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
     protected RemoteTransactionContext(TransactionIdentifier identifier, ActorSelection actor,
             ActorContext actorContext, boolean isTxActorLocal,
             short remoteTransactionVersion, OperationLimiter limiter) {
+        this(identifier, actor, actorContext, isTxActorLocal, remoteTransactionVersion, limiter, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param batcher the batcher to send BatchedModifications messages through, or null to send them directly
+     */
+    protected RemoteTransactionContext(TransactionIdentifier identifier, ActorSelection actor,
+            ActorContext actorContext, boolean isTxActorLocal, short remoteTransactionVersion,
+            OperationLimiter limiter, ChainedTransactionBatcher batcher) {
         super(identifier);
         this.limiter = Preconditions.checkNotNull(limiter);
         this.actor = actor;
         this.actorContext = actorContext;
         this.isTxActorLocal = isTxActorLocal;
         this.remoteTransactionVersion = remoteTransactionVersion;
+        this.batcher = batcher;
     }
 
     private Future<Object> completeOperation(Future<Object> operationFuture){
@@ -162,7 +182,11 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
             batchedModifications.setReady(ready);
             batchedModifications.setDoCommitOnReady(doCommitOnReady);
             batchedModifications.setTotalMessagesSent(++totalBatchedModificationsSent);
-            sent = executeOperationAsync(batchedModifications);
+            if(batcher != null) {
+                sent = completeOperation(batcher.send(batchedModifications));
+            } else {
+                sent = executeOperationAsync(batchedModifications);
+            }
 
             if(ready) {
                 batchedModifications = null;
@@ -242,6 +266,71 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
         readFuture.onComplete(onComplete, actorContext.getClientDispatcher());
     }
 
+    @Override
+    public void readDataBatch(final List<YangInstanceIdentifier> paths,
+            final SettableFuture<List<Optional<NormalizedNode<?, ?>>>> returnFuture) {
+
+        LOG.debug("Tx {} readDataBatch called paths = {}", getIdentifier(), paths);
+
+        if (remoteTransactionVersion < DataStoreVersions.BERYLLIUM_VERSION) {
+            // The shard does not understand ReadDataBatch - fall back to reading each path individually.
+            readDataIndividually(paths, returnFuture);
+            return;
+        }
+
+        // Send any batched modifications. This is necessary to honor the read uncommitted semantics of the
+        // public API contract.
+
+        acquireOperation();
+        sendBatchedModifications();
+
+        OnComplete<Object> onComplete = new OnComplete<Object>() {
+            @Override
+            public void onComplete(Throwable failure, Object response) throws Throwable {
+                if(failure != null) {
+                    LOG.debug("Tx {} readDataBatch operation failed: {}", getIdentifier(), failure);
+                    returnFuture.setException(new ReadFailedException(
+                            "Error reading data for paths " + paths, failure));
+
+                } else if (response instanceof ReadDataBatchReply &&
+                        ((ReadDataBatchReply) response).getResults().size() == paths.size()) {
+                    LOG.debug("Tx {} readDataBatch operation succeeded", getIdentifier());
+                    returnFuture.set(((ReadDataBatchReply) response).getResults());
+
+                } else {
+                    returnFuture.setException(new ReadFailedException(
+                            "Invalid response reading data for paths " + paths));
+                }
+            }
+        };
+
+        Future<Object> future = executeOperationAsync(new ReadDataBatch(paths, remoteTransactionVersion));
+
+        future.onComplete(onComplete, actorContext.getClientDispatcher());
+    }
+
+    private void readDataIndividually(final List<YangInstanceIdentifier> paths,
+            final SettableFuture<List<Optional<NormalizedNode<?, ?>>>> returnFuture) {
+        final List<ListenableFuture<Optional<NormalizedNode<?, ?>>>> futures = new ArrayList<>(paths.size());
+        for (YangInstanceIdentifier path : paths) {
+            final SettableFuture<Optional<NormalizedNode<?, ?>>> future = SettableFuture.create();
+            readData(path, future);
+            futures.add(future);
+        }
+
+        Futures.addCallback(Futures.allAsList(futures), new FutureCallback<List<Optional<NormalizedNode<?, ?>>>>() {
+            @Override
+            public void onSuccess(final List<Optional<NormalizedNode<?, ?>>> result) {
+                returnFuture.set(result);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                returnFuture.setException(t);
+            }
+        });
+    }
+
     @Override
     public void dataExists(final YangInstanceIdentifier path, final SettableFuture<Boolean> returnFuture) {
 
@@ -296,4 +385,9 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
     public boolean usesOperationLimiting() {
         return true;
     }
+
+    @Override
+    public boolean usesBatcher() {
+        return batcher != null;
+    }
 }
@@ -97,8 +97,10 @@ final class RemoteTransactionContextSupport {
 
     /**
      * Sets the target primary shard and initiates a CreateTransaction try.
+     *
+     * @param batcher the batcher a WRITE_ONLY transaction sends its modifications through, may be null
      */
-    void setPrimaryShard(ActorSelection primaryShard, short primaryVersion) {
+    void setPrimaryShard(ActorSelection primaryShard, short primaryVersion, ChainedTransactionBatcher batcher) {
         this.primaryShard = primaryShard;
 
         if (getTransactionType() == TransactionType.WRITE_ONLY && primaryVersion >= DataStoreVersions.LITHIUM_VERSION &&
@@ -109,7 +111,7 @@ final class RemoteTransactionContextSupport {
             // For write-only Tx's we prepare the transaction modifications directly on the shard actor
             // to avoid the overhead of creating a separate transaction actor.
             transactionContextWrapper.executePriorTransactionOperations(createValidTransactionContext(this.primaryShard,
-                    this.primaryShard.path().toString(), primaryVersion));
+                    this.primaryShard.path().toString(), primaryVersion, batcher));
         } else {
             tryCreateTransaction();
         }
@@ -241,11 +243,11 @@ final class RemoteTransactionContextSupport {
         LOG.debug("Tx {} Received {}", getIdentifier(), reply);
 
         return createValidTransactionContext(getActorContext().actorSelection(reply.getTransactionPath()),
-                reply.getTransactionPath(), reply.getVersion());
+                reply.getTransactionPath(), reply.getVersion(), null);
     }
 
     private TransactionContext createValidTransactionContext(ActorSelection transactionActor, String transactionPath,
-            short remoteTransactionVersion) {
+            short remoteTransactionVersion, ChainedTransactionBatcher batcher) {
         // TxActor is always created where the leader of the shard is.
         // Check if TxActor is created in the same node
         boolean isTxActorLocal = getActorContext().isPathLocal(transactionPath);
@@ -256,7 +258,7 @@ final class RemoteTransactionContextSupport {
                 getActorContext(), isTxActorLocal, remoteTransactionVersion, transactionContextWrapper.getLimiter());
         } else {
             ret = new RemoteTransactionContext(transactionContextWrapper.getIdentifier(), transactionActor, getActorContext(),
-                isTxActorLocal, remoteTransactionVersion, transactionContextWrapper.getLimiter());
+                isTxActorLocal, remoteTransactionVersion, transactionContextWrapper.getLimiter(), batcher);
         }
 
         if(parent.getType() == TransactionType.READ_ONLY) {
@@ -33,6 +33,7 @@ import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats
 import org.opendaylight.controller.cluster.datastore.messages.AbortTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.ActorInitialized;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModifications;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedTransactions;
 import org.opendaylight.controller.cluster.datastore.messages.CanCommitTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransactionChain;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransaction;
@@ -54,6 +55,7 @@ import org.opendaylight.controller.cluster.datastore.modification.ModificationPa
 import org.opendaylight.controller.cluster.datastore.modification.MutableCompositeModification;
 import org.opendaylight.controller.cluster.datastore.utils.Dispatchers;
 import org.opendaylight.controller.cluster.datastore.utils.MessageTracker;
+import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
 import org.opendaylight.controller.cluster.notifications.LeaderStateChanged;
 import org.opendaylight.controller.cluster.notifications.RegisterRoleChangeListener;
 import org.opendaylight.controller.cluster.notifications.RoleChangeNotifier;
@@ -61,7 +63,11 @@ import org.opendaylight.controller.cluster.raft.RaftActor;
 import org.opendaylight.controller.cluster.raft.RaftActorRecoveryCohort;
 import org.opendaylight.controller.cluster.raft.RaftActorSnapshotCohort;
 import org.opendaylight.controller.cluster.raft.RaftState;
+import org.opendaylight.controller.cluster.raft.base.messages.ApplyState;
 import org.opendaylight.controller.cluster.raft.base.messages.FollowerInitialSyncUpStatus;
+import org.opendaylight.controller.cluster.raft.behaviors.AbstractLeader;
+import org.opendaylight.controller.cluster.raft.behaviors.Follower;
+import org.opendaylight.controller.cluster.raft.behaviors.RaftActorBehavior;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
 import org.opendaylight.controller.cluster.raft.messages.ServerRemoved;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.CompositeModificationByteStringPayload;
@@ -132,9 +138,11 @@ public class Shard extends RaftActor {
 
         setPersistence(datastoreContext.isPersistent());
 
-        LOG.info("Shard created : {}, persistent : {}", name, datastoreContext.isPersistent());
+        LOG.info("Shard created : {}, persistent : {}, segmented journal : {}", name, datastoreContext.isPersistent(),
+                datastoreContext.isShardSegmentedJournalEnabled());
 
-        store = new ShardDataTree(builder.getSchemaContext());
+        store = new ShardDataTree(builder.getSchemaContext(), new ShardDataTreeNotificationDispatcher(name,
+                getContext().dispatcher(), datastoreContext.getDataStoreProperties().getMaxDataChangeExecutorQueueSize()));
 
         shardMBean = ShardMBeanFactory.getShardStatsMBean(name.toString(),
                 datastoreContext.getDataStoreMXBeanType());
@@ -147,6 +155,7 @@ public class Shard extends RaftActor {
         commitCoordinator = new ShardCommitCoordinator(store,
                 datastoreContext.getShardCommitQueueExpiryTimeoutInMillis(),
                 datastoreContext.getShardTransactionCommitQueueCapacity(), LOG, this.name);
+        commitCoordinator.setMaxCommitBatchSize(datastoreContext.getShardMaxCommitBatchSize());
 
         setTransactionCommitTimeout();
 
@@ -222,11 +231,19 @@ public class Shard extends RaftActor {
                 context.error());
         }
 
+        if(!(message instanceof ApplyState)) {
+            // Replicated transactions are applied in batches - the batch ends with the run of ApplyState
+            // messages, before anything else may observe the data tree.
+            store.applyPendingForeignCandidates();
+        }
+
         try {
             if (CreateTransaction.SERIALIZABLE_CLASS.isInstance(message)) {
                 handleCreateTransaction(message);
             } else if (BatchedModifications.class.isInstance(message)) {
                 handleBatchedModifications((BatchedModifications)message);
+            } else if (message instanceof BatchedTransactions) {
+                handleBatchedTransactions((BatchedTransactions)message);
             } else if (message instanceof ForwardedReadyTransaction) {
                 commitCoordinator.handleForwardedReadyTransaction((ForwardedReadyTransaction) message,
                         getSender(), this);
@@ -281,6 +298,14 @@ public class Shard extends RaftActor {
         return commitCoordinator.getQueueSize();
     }
 
+    public int getNotificationQueueSize() {
+        return store.getNotificationDispatcher().getQueueSize();
+    }
+
+    public long getNotificationQueueLagInMillis() {
+        return store.getNotificationDispatcher().getQueueLagInMillis();
+    }
+
     @Override
     protected Optional<ActorRef> getRoleChangeNotifier() {
         return roleChangeNotifier;
@@ -297,6 +322,9 @@ public class Shard extends RaftActor {
         datastoreContext = context;
 
         commitCoordinator.setQueueCapacity(datastoreContext.getShardTransactionCommitQueueCapacity());
+        commitCoordinator.setMaxCommitBatchSize(datastoreContext.getShardMaxCommitBatchSize());
+        store.getNotificationDispatcher().setMaxQueueSize(
+                datastoreContext.getDataStoreProperties().getMaxDataChangeExecutorQueueSize());
 
         setTransactionCommitTimeout();
 
@@ -337,10 +365,21 @@ public class Shard extends RaftActor {
             applyModificationToState(cohortEntry.getReplySender(), cohortEntry.getTransactionID(), candidate);
         } else {
             Shard.this.persistData(cohortEntry.getReplySender(), cohortEntry.getTransactionID(),
-                    DataTreeCandidatePayload.create(candidate));
+                    DataTreeCandidatePayload.create(candidate, payloadStreamVersion()));
         }
     }
 
+    /**
+     * Returns the NormalizedNode stream version for a new payload, which is replicated to all followers - the
+     * compact format is used only once every follower has reported a version which reads it.
+     */
+    private short payloadStreamVersion() {
+        final RaftActorBehavior behavior = getCurrentBehavior();
+        final short minVersion = behavior instanceof AbstractLeader ?
+                ((AbstractLeader) behavior).getMinimumFollowerPayloadVersion() : -1;
+        return SerializationUtils.streamVersion(minVersion);
+    }
+
     private void handleCommitTransaction(final CommitTransaction commit) {
         if(!commitCoordinator.handleCommit(commit.getTransactionID(), getSender(), this)) {
             shardMBean.incrementFailedTransactionsCount();
@@ -353,22 +392,35 @@ public class Shard extends RaftActor {
         try {
             cohortEntry.commit();
 
-            sender.tell(CommitTransactionReply.INSTANCE.toSerializable(), getSelf());
+            replyToCommit(sender, cohortEntry, CommitTransactionReply.INSTANCE.toSerializable());
 
-            shardMBean.incrementCommittedTransactionCount();
+            for(int i = 0; i < cohortEntry.getTransactionCount(); i++) {
+                shardMBean.incrementCommittedTransactionCount();
+            }
             shardMBean.setLastCommittedTransactionTime(System.currentTimeMillis());
 
         } catch (Exception e) {
-            sender.tell(new akka.actor.Status.Failure(e), getSelf());
+            replyToCommit(sender, cohortEntry, new akka.actor.Status.Failure(e));
 
             LOG.error("{}, An exception occurred while committing transaction {}", persistenceId(),
                     transactionID, e);
-            shardMBean.incrementFailedTransactionsCount();
+            for(int i = 0; i < cohortEntry.getTransactionCount(); i++) {
+                shardMBean.incrementFailedTransactionsCount();
+            }
         } finally {
             commitCoordinator.currentTransactionComplete(transactionID, true);
         }
     }
 
+    private void replyToCommit(final ActorRef sender, final CohortEntry cohortEntry, final Object reply) {
+        if(cohortEntry.getTransactionCount() > 1) {
+            // A commit batch - each batched transaction has its own reply sender.
+            cohortEntry.tellReplySenders(reply);
+        } else {
+            cohortEntry.reply(reply, sender, this);
+        }
+    }
+
     private void finishCommit(@Nonnull final ActorRef sender, final @Nonnull String transactionID) {
         // With persistence enabled, this method is called via applyState by the leader strategy
         // after the commit has been replicated to a majority of the followers.
@@ -390,7 +442,7 @@ public class Shard extends RaftActor {
                     LOG.error("{}: Failed to re-apply transaction {}", persistenceId(), transactionID, e);
                 }
 
-                sender.tell(CommitTransactionReply.INSTANCE.toSerializable(), getSelf());
+                replyToCommit(sender, cohortEntry, CommitTransactionReply.INSTANCE.toSerializable());
             } else {
                 // This really shouldn't happen - it likely means that persistence or replication
                 // took so long to complete such that the cohort entry was expired from the cache.
@@ -457,6 +509,22 @@ public class Shard extends RaftActor {
         }
     }
 
+    private void handleBatchedTransactions(BatchedTransactions batched) {
+        if(isLeader()) {
+            if(!failIfIsolatedLeader(getSender())) {
+                commitCoordinator.handleBatchedTransactions(batched, getSender(), this);
+            }
+        } else {
+            ActorSelection leader = getLeader();
+            if(leader != null) {
+                LOG.debug("{}: Forwarding BatchedTransactions to leader {}", persistenceId(), leader);
+                leader.forward(batched, getContext());
+            } else {
+                noLeaderError("Could not commit batched transactions", batched);
+            }
+        }
+    }
+
     private boolean failIfIsolatedLeader(ActorRef sender) {
         if(isIsolatedLeader()) {
             sender.tell(new akka.actor.Status.Failure(new NoShardLeaderException(String.format(
@@ -507,6 +575,9 @@ public class Shard extends RaftActor {
     private void handleCreateTransaction(final Object message) {
         if (isLeader()) {
             createTransaction(CreateTransaction.fromSerializable(message));
+        } else if (canServeFollowerRead(message)) {
+            LOG.debug("{}: Serving read-only transaction from follower state", persistenceId());
+            createTransaction(CreateTransaction.fromSerializable(message));
         } else if (getLeader() != null) {
             getLeader().forward(message, getContext());
         } else {
@@ -515,6 +586,25 @@ public class Shard extends RaftActor {
         }
     }
 
+    /**
+     * Checks whether a CreateTransaction received by a follower can be served from its local state, ie. it
+     * is a stand-alone read-only transaction, follower reads are enabled and the applied state is within
+     * the configured lag of the leader. Otherwise the request is forwarded to the leader.
+     */
+    private boolean canServeFollowerRead(final Object message) {
+        if (!datastoreContext.isShardFollowerReadsEnabled() || !(getCurrentBehavior() instanceof Follower)) {
+            return false;
+        }
+
+        final CreateTransaction createTransaction = CreateTransaction.fromSerializable(message);
+        if (TransactionType.fromInt(createTransaction.getTransactionType()) != TransactionType.READ_ONLY ||
+                !createTransaction.getTransactionChainId().isEmpty()) {
+            return false;
+        }
+
+        return ((Follower) getCurrentBehavior()).isAppliedStateWithinLag(datastoreContext.getShardFollowerReadMaxLag());
+    }
+
     private void closeTransactionChain(final CloseTransactionChain closeTransactionChain) {
         store.closeTransactionChain(closeTransactionChain.getTransactionChainId());
     }
@@ -621,18 +711,23 @@ public class Shard extends RaftActor {
 
     @Override
     protected void applyState(final ActorRef clientActor, final String identifier, final Object data) {
-        if (data instanceof DataTreeCandidatePayload) {
-            if (clientActor == null) {
-                // No clientActor indicates a replica coming from the leader
-                try {
-                    store.applyForeignCandidate(identifier, ((DataTreeCandidatePayload)data).getCandidate());
-                } catch (DataValidationFailedException | IOException e) {
-                    LOG.error("{}: Error applying replica {}", persistenceId(), identifier, e);
-                }
-            } else {
-                // Replication consensus reached, proceed to commit
-                finishCommit(clientActor, identifier);
+        if (data instanceof DataTreeCandidatePayload && clientActor == null) {
+            // No clientActor indicates a replica coming from the leader. Consecutive replicas are applied
+            // as one modification once the current run of ApplyState messages has been processed.
+            try {
+                store.enqueueForeignCandidate(identifier, ((DataTreeCandidatePayload)data).getCandidate());
+            } catch (IOException e) {
+                LOG.error("{}: Error applying replica {}", persistenceId(), identifier, e);
             }
+
+            return;
+        }
+
+        store.applyPendingForeignCandidates();
+
+        if (data instanceof DataTreeCandidatePayload) {
+            // Replication consensus reached, proceed to commit
+            finishCommit(clientActor, identifier);
         } else if (data instanceof ModificationPayload) {
             try {
                 applyModificationToState(clientActor, identifier, ((ModificationPayload) data).getModification());
@@ -11,26 +11,42 @@ import akka.actor.ActorRef;
 import akka.actor.Status;
 import akka.serialization.Serialization;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
 import org.opendaylight.controller.cluster.datastore.compat.BackwardsCompatibleThreePhaseCommitCohort;
 import org.opendaylight.controller.cluster.datastore.messages.AbortTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModifications;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModificationsReply;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedTransactions;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedTransactionsReply;
 import org.opendaylight.controller.cluster.datastore.messages.CanCommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.ForwardedReadyTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.ReadyLocalTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.ReadyTransactionReply;
 import org.opendaylight.controller.cluster.datastore.modification.Modification;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
 import org.slf4j.Logger;
 
 /**
@@ -53,10 +69,12 @@ class ShardCommitCoordinator {
 
     // We use a LinkedList here to avoid synchronization overhead with concurrent queue impls
     // since this should only be accessed on the shard's dispatcher.
-    private final Queue<CohortEntry> queuedCohortEntries = new LinkedList<>();
+    private final Deque<CohortEntry> queuedCohortEntries = new LinkedList<>();
 
     private int queueCapacity;
 
+    private int maxCommitBatchSize = 1;
+
     private final Logger log;
 
     private final String name;
@@ -86,6 +104,10 @@ class ShardCommitCoordinator {
         this.queueCapacity = queueCapacity;
     }
 
+    void setMaxCommitBatchSize(int maxCommitBatchSize) {
+        this.maxCommitBatchSize = maxCommitBatchSize;
+    }
+
     private ReadyTransactionReply readyTransactionReply(Shard shard) {
         if(readyTransactionReply == null) {
             readyTransactionReply = new ReadyTransactionReply(Serialization.serializedActorPath(shard.self()));
@@ -110,7 +132,7 @@ class ShardCommitCoordinator {
                                   " capacity %d has been reached.",
                                   name, cohortEntry.getTransactionID(), queueCapacity));
             log.error(ex.getMessage());
-            sender.tell(new Status.Failure(ex), shard.self());
+            cohortEntry.reply(new Status.Failure(ex), sender, shard);
             return false;
         }
     }
@@ -176,6 +198,38 @@ class ShardCommitCoordinator {
      * @param shard the transaction's shard actor
      */
     void handleBatchedModifications(BatchedModifications batched, ActorRef sender, Shard shard) {
+        handleBatchedModifications(batched, sender, shard, null, 0);
+    }
+
+    /**
+     * This method handles a BatchedTransactions message. Each BatchedModifications message it contains is handled
+     * in order as if it had been sent on its own, except that its reply is collected, including the reply of
+     * a transaction committed on ready, and a single BatchedTransactionsReply is sent once all are known.
+     *
+     * @param batched the BatchedTransactions message to process
+     * @param sender the sender of the message
+     * @param shard the transactions' shard actor
+     */
+    void handleBatchedTransactions(BatchedTransactions batched, ActorRef sender, Shard shard) {
+        final List<BatchedModifications> messages = batched.getMessages();
+        final BatchedTransactionsReplyCollector collector = new BatchedTransactionsReplyCollector(messages.size(),
+                batched.getVersion(), sender, shard);
+
+        log.debug("{}: Handling {} batched transaction messages", name, messages.size());
+
+        for(int i = 0; i < messages.size(); i++) {
+            final BatchedModifications message = messages.get(i);
+            try {
+                handleBatchedModifications(message, sender, shard, collector, i);
+            } catch (Exception e) {
+                log.error("{}: Error handling BatchedModifications for Tx {}", name, message.getTransactionID(), e);
+                collector.setReply(i, new Status.Failure(e));
+            }
+        }
+    }
+
+    private void handleBatchedModifications(BatchedModifications batched, ActorRef sender, Shard shard,
+            BatchedTransactionsReplyCollector collector, int replyIndex) {
         CohortEntry cohortEntry = cohortCache.get(batched.getTransactionID());
         if(cohortEntry == null) {
             cohortEntry = new CohortEntry(batched.getTransactionID(),
@@ -184,6 +238,8 @@ class ShardCommitCoordinator {
             cohortCache.put(batched.getTransactionID(), cohortEntry);
         }
 
+        cohortEntry.setReplyCollector(collector, replyIndex);
+
         if(log.isDebugEnabled()) {
             log.debug("{}: Applying {} batched modifications for Tx {}", name,
                     batched.getModifications().size(), batched.getTransactionID());
@@ -220,10 +276,11 @@ class ShardCommitCoordinator {
                 cohortEntry.setShard(shard);
                 handleCanCommit(cohortEntry);
             } else {
-                sender.tell(readyTransactionReply(shard), shard.self());
+                cohortEntry.reply(readyTransactionReply(shard), sender, shard);
             }
         } else {
-            sender.tell(new BatchedModificationsReply(batched.getModifications().size()), shard.self());
+            cohortEntry.reply(new BatchedModificationsReply(batched.getModifications().size(), getQueueSize(),
+                    batched.getVersion()), sender, shard);
         }
     }
 
@@ -236,8 +293,13 @@ class ShardCommitCoordinator {
      * @param shard the transaction's shard actor
      */
     void handleReadyLocalTransaction(ReadyLocalTransaction message, ActorRef sender, Shard shard) {
-        final ShardDataTreeCohort cohort = new SimpleShardDataTreeCohort(dataTree, message.getModification(),
+        ShardDataTreeCohort cohort = new SimpleShardDataTreeCohort(dataTree, message.getModification(),
                 message.getTransactionID());
+        if(cohortDecorator != null) {
+            // Call the hook for unit tests.
+            cohort = cohortDecorator.decorate(message.getTransactionID(), cohort);
+        }
+
         final CohortEntry cohortEntry = new CohortEntry(message.getTransactionID(), cohort);
         cohortCache.put(message.getTransactionID(), cohortEntry);
         cohortEntry.setDoImmediateCommit(message.isDoCommitOnReady());
@@ -278,8 +340,7 @@ class ShardCommitCoordinator {
         // it the current entry and proceed with canCommit.
         // Purposely checking reference equality here.
         if(queuedCohortEntries.peek() == cohortEntry) {
-            currentCohortEntry = queuedCohortEntries.poll();
-            doCanCommit(currentCohortEntry);
+            startCommit(queuedCohortEntries.poll());
         } else {
             if(log.isDebugEnabled()) {
                 log.debug("{}: Tx {} is the next pending canCommit - skipping {} for now",
@@ -326,8 +387,8 @@ class ShardCommitCoordinator {
                 if(canCommit) {
                     doCommit(cohortEntry);
                 } else {
-                    cohortEntry.getReplySender().tell(new Status.Failure(new TransactionCommitFailedException(
-                                "Can Commit failed, no detailed cause available.")), cohortEntry.getShard().self());
+                    cohortEntry.tellReplySenders(new Status.Failure(new TransactionCommitFailedException(
+                                "Can Commit failed, no detailed cause available.")));
                 }
             } else {
                 cohortEntry.getReplySender().tell(
@@ -342,7 +403,7 @@ class ShardCommitCoordinator {
                 failure = e.getCause();
             }
 
-            cohortEntry.getReplySender().tell(new Status.Failure(failure), cohortEntry.getShard().self());
+            cohortEntry.tellReplySenders(new Status.Failure(failure));
         } finally {
             if(!canCommit) {
                 // Remove the entry from the cache now.
@@ -351,6 +412,190 @@ class ShardCommitCoordinator {
         }
     }
 
+    /**
+     * Makes the given entry, just removed from the head of the queue, the current entry and starts its commit.
+     * If commit batching is enabled and further immediate-commit entries are ready behind it, the entries are
+     * committed together as a single batch entry instead.
+     */
+    private void startCommit(CohortEntry next) {
+        if(maxCommitBatchSize > 1 && isBatchable(next) && isBatchable(queuedCohortEntries.peek())) {
+            CohortEntry prepared = prepareBatch(next);
+            if(prepared != null) {
+                currentCohortEntry = prepared;
+                doCommit(prepared);
+            } else {
+                maybeProcessNextCohortEntry();
+            }
+
+            return;
+        }
+
+        currentCohortEntry = next;
+        doCanCommit(next);
+    }
+
+    private static boolean isBatchable(CohortEntry cohortEntry) {
+        return cohortEntry != null && cohortEntry.isDoImmediateCommit() && cohortEntry.isReadyToCommit();
+    }
+
+    /**
+     * Validates and prepares the given entry and the batchable entries queued behind it, up to the maximum batch
+     * size. An entry must not touch data modified by an earlier entry of the batch, so applying the batch as one
+     * modification yields the same state as committing the entries one after another. Overlaps are checked on the
+     * entry's modification before it is validated - the first overlapping entry ends the batch and stays queued
+     * without having run any commit phase. The other entries are checked against the current data tree and
+     * entries failing canCommit/preCommit are failed individually.
+     *
+     * @return the entry to commit - a batch entry, a single prepared entry or null if all entries failed
+     */
+    private CohortEntry prepareBatch(CohortEntry head) {
+        final List<CohortEntry> members = new ArrayList<>(maxCommitBatchSize);
+        final List<DataTreeCandidate> candidates = new ArrayList<>(maxCommitBatchSize);
+        final List<YangInstanceIdentifier> modifiedPaths = new ArrayList<>();
+
+        CohortEntry entry = head;
+        while(true) {
+            if(!members.isEmpty() && overlaps(entry.getDataTreeModification(), modifiedPaths)) {
+                log.debug("{}: Tx {} overlaps with the commit batch - committing it separately", name,
+                        entry.getTransactionID());
+                queuedCohortEntries.addFirst(entry);
+                break;
+            }
+
+            final DataTreeCandidate candidate = prepareBatchMember(entry);
+            if(candidate != null) {
+                members.add(entry);
+                candidates.add(candidate);
+                modifiedPaths.addAll(modifiedPaths(candidate));
+            }
+
+            if(members.size() >= maxCommitBatchSize || !isBatchable(queuedCohortEntries.peek())) {
+                break;
+            }
+
+            entry = queuedCohortEntries.poll();
+        }
+
+        if(members.size() < 2) {
+            // A single member was prepared against the current data tree so doCommit does not repeat it.
+            return members.isEmpty() ? null : members.get(0);
+        }
+
+        final CohortEntry first = members.get(0);
+        final String batchID = first.getTransactionID() + "-batch";
+        final CohortEntry batch = new CohortEntry(batchID, dataTree.createBatchCohort(batchID, candidates), members);
+        batch.setDoImmediateCommit(true);
+        batch.setReplySender(first.getReplySender());
+        batch.setShard(first.getShard());
+
+        boolean canCommit = false;
+        try {
+            canCommit = batch.canCommit();
+        } catch (Exception e) {
+            log.debug("{}: canCommit failed for commit batch {}", name, batchID, e);
+        }
+
+        if(!canCommit) {
+            // Should not happen as the members were validated individually - commit them one by one. The first
+            // member is still prepared, the others are validated again once it has been committed.
+            log.warn("{}: Commit batch {} did not validate - committing its {} transactions separately", name,
+                    batchID, members.size());
+            for(int i = members.size() - 1; i > 0; i--) {
+                queuedCohortEntries.addFirst(members.get(i));
+            }
+
+            return first;
+        }
+
+        log.debug("{}: Committing {} transactions as batch {}", name, members.size(), batchID);
+
+        for(CohortEntry member: members) {
+            cohortCache.remove(member.getTransactionID());
+        }
+
+        cohortCache.put(batchID, batch);
+        return batch;
+    }
+
+    /**
+     * Runs the canCommit and preCommit phases for an entry to be batched, replying with a failure if either fails.
+     *
+     * @return the entry's candidate or null if the entry failed
+     */
+    private DataTreeCandidate prepareBatchMember(CohortEntry cohortEntry) {
+        try {
+            if(cohortEntry.canCommit()) {
+                cohortEntry.preCommit();
+                return cohortEntry.getCandidate();
+            }
+
+            cohortEntry.tellReplySenders(new Status.Failure(new TransactionCommitFailedException(
+                    "Can Commit failed, no detailed cause available.")));
+        } catch (Exception e) {
+            log.debug("{}: An exception occurred preparing {} for a commit batch", name,
+                    cohortEntry.getTransactionID(), e);
+
+            Throwable failure = e;
+            if(e instanceof ExecutionException) {
+                failure = e.getCause();
+            }
+
+            cohortEntry.tellReplySenders(new Status.Failure(failure));
+        }
+
+        cohortCache.remove(cohortEntry.getTransactionID());
+        return null;
+    }
+
+    private static Collection<YangInstanceIdentifier> modifiedPaths(DataTreeCandidate candidate) {
+        final List<YangInstanceIdentifier> paths = new ArrayList<>();
+        addModifiedPaths(candidate.getRootPath(), candidate.getRootNode(), paths);
+        return paths;
+    }
+
+    private static void addModifiedPaths(YangInstanceIdentifier path, DataTreeCandidateNode node,
+            Collection<YangInstanceIdentifier> paths) {
+        switch(node.getModificationType()) {
+            case UNMODIFIED:
+                break;
+            case SUBTREE_MODIFIED:
+                for(DataTreeCandidateNode child: node.getChildNodes()) {
+                    addModifiedPaths(path.node(child.getIdentifier()), child, paths);
+                }
+                break;
+            default:
+                paths.add(path);
+        }
+    }
+
+    /**
+     * Checks whether any path written, merged or deleted by the given modification is an ancestor or descendant of
+     * one of the given paths. An unknown modification is assumed to overlap.
+     */
+    private static boolean overlaps(DataTreeModification modification,
+            Collection<YangInstanceIdentifier> otherPaths) {
+        if(modification == null) {
+            return true;
+        }
+
+        final ModifiedPathsCursor cursor = new ModifiedPathsCursor();
+        modification.applyToCursor(cursor);
+        return overlaps(cursor.paths, otherPaths);
+    }
+
+    private static boolean overlaps(Collection<YangInstanceIdentifier> paths,
+            Collection<YangInstanceIdentifier> otherPaths) {
+        for(YangInstanceIdentifier path: paths) {
+            for(YangInstanceIdentifier other: otherPaths) {
+                if(path.contains(other) || other.contains(path)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     private boolean doCommit(CohortEntry cohortEntry) {
         log.debug("{}: Committing transaction {}", name, cohortEntry.getTransactionID());
 
@@ -362,7 +607,9 @@ class ShardCommitCoordinator {
         // normally fail since we ensure only one concurrent 3-phase commit.
 
         try {
-            cohortEntry.preCommit();
+            if(!cohortEntry.isPreCommitted()) {
+                cohortEntry.preCommit();
+            }
 
             cohortEntry.getShard().continueCommit(cohortEntry);
 
@@ -372,7 +619,7 @@ class ShardCommitCoordinator {
         } catch (Exception e) {
             log.error("{} An exception occurred while preCommitting transaction {}",
                     name, cohortEntry.getTransactionID(), e);
-            cohortEntry.getReplySender().tell(new akka.actor.Status.Failure(e), cohortEntry.getShard().self());
+            cohortEntry.tellReplySenders(new akka.actor.Status.Failure(e));
 
             currentTransactionComplete(cohortEntry.getTransactionID(), true);
         }
@@ -507,9 +754,8 @@ class ShardCommitCoordinator {
                     }
 
                     iter.remove();
-                    currentCohortEntry = next;
-                    currentCohortEntry.updateLastAccessTime();
-                    doCanCommit(currentCohortEntry);
+                    next.updateLastAccessTime();
+                    startCommit(next);
                 }
 
                 break;
@@ -545,16 +791,26 @@ class ShardCommitCoordinator {
         private final Stopwatch lastAccessTimer = Stopwatch.createStarted();
         private int totalBatchedModificationsReceived;
         private boolean aborted;
+        private final List<CohortEntry> batchedEntries;
+        private BatchedTransactionsReplyCollector replyCollector;
+        private int replyIndex;
+        private boolean preCommitted;
 
         CohortEntry(String transactionID, ReadWriteShardDataTreeTransaction transaction) {
             this.transaction = Preconditions.checkNotNull(transaction);
             this.transactionID = transactionID;
+            this.batchedEntries = Collections.emptyList();
         }
 
         CohortEntry(String transactionID, ShardDataTreeCohort cohort) {
+            this(transactionID, cohort, Collections.<CohortEntry>emptyList());
+        }
+
+        CohortEntry(String transactionID, ShardDataTreeCohort cohort, List<CohortEntry> batchedEntries) {
             this.transactionID = transactionID;
             this.cohort = cohort;
             this.transaction = null;
+            this.batchedEntries = batchedEntries;
         }
 
         void updateLastAccessTime() {
@@ -570,6 +826,10 @@ class ShardCommitCoordinator {
             return cohort.getCandidate();
         }
 
+        DataTreeModification getDataTreeModification() {
+            return cohort.getDataTreeModification();
+        }
+
         int getTotalBatchedModificationsReceived() {
             return totalBatchedModificationsReceived;
         }
@@ -598,15 +858,26 @@ class ShardCommitCoordinator {
             // TODO: the ShardDataTreeCohort returns immediate Futures anyway which begs the question - why
             // bother even returning Futures from ShardDataTreeCohort if we have to treat them synchronously
             // anyway?. The Futures are really a remnant from when we were using the InMemoryDataBroker.
+            // A new validation means the data tree may have changed since any earlier preCommit.
+            preCommitted = false;
             return cohort.canCommit().get();
         }
 
         void preCommit() throws InterruptedException, ExecutionException {
             cohort.preCommit().get();
+            preCommitted = true;
+        }
+
+        boolean isPreCommitted() {
+            return preCommitted;
         }
 
         void commit() throws InterruptedException, ExecutionException {
             cohort.commit().get();
+
+            for(CohortEntry batchedEntry: batchedEntries) {
+                batchedEntry.cohort.batchCommitted();
+            }
         }
 
         void abort() throws InterruptedException, ExecutionException {
@@ -655,6 +926,49 @@ class ShardCommitCoordinator {
             return shard;
         }
 
+        /**
+         * Returns the number of transactions committed by this entry, ie the number of batched entries for an
+         * entry committing a batch.
+         */
+        int getTransactionCount() {
+            return batchedEntries.isEmpty() ? 1 : batchedEntries.size();
+        }
+
+        void setReplyCollector(BatchedTransactionsReplyCollector replyCollector, int replyIndex) {
+            this.replyCollector = replyCollector;
+            this.replyIndex = replyIndex;
+        }
+
+        /**
+         * Sends a reply to the given sender or, if the message being replied to was part of a BatchedTransactions
+         * message, hands the reply to the collector of that message instead.
+         */
+        void reply(Object message, ActorRef sender, Shard shard) {
+            if(replyCollector != null) {
+                // Each collected message gets exactly one reply - any later reply, eg to a subsequent
+                // CanCommitTransaction, goes to its sender.
+                final BatchedTransactionsReplyCollector collector = replyCollector;
+                replyCollector = null;
+                collector.setReply(replyIndex, message);
+            } else {
+                sender.tell(message, shard.self());
+            }
+        }
+
+        /**
+         * Sends a message to the reply sender or, if this entry commits a batch, to the reply sender of each
+         * batched entry.
+         */
+        void tellReplySenders(Object message) {
+            if(batchedEntries.isEmpty()) {
+                reply(message, replySender, shard);
+            } else {
+                for(CohortEntry entry: batchedEntries) {
+                    entry.reply(message, entry.getReplySender(), shard);
+                }
+            }
+        }
+
         void setShard(Shard shard) {
             this.shard = shard;
         }
@@ -668,8 +982,111 @@ class ShardCommitCoordinator {
         public String toString() {
             StringBuilder builder = new StringBuilder();
             builder.append("CohortEntry [transactionID=").append(transactionID).append(", doImmediateCommit=")
-                    .append(doImmediateCommit).append("]");
+                    .append(doImmediateCommit);
+            if(!batchedEntries.isEmpty()) {
+                builder.append(", batchedEntries=").append(batchedEntries.size());
+            }
+            builder.append("]");
             return builder.toString();
         }
     }
+
+    /**
+     * Collects the replies to the messages of a BatchedTransactions message and sends them back as a single
+     * BatchedTransactionsReply once the last one is known.
+     */
+    static final class BatchedTransactionsReplyCollector {
+        private final Object[] replies;
+        private final short version;
+        private final ActorRef sender;
+        private final Shard shard;
+        private int remaining;
+
+        BatchedTransactionsReplyCollector(int size, short version, ActorRef sender, Shard shard) {
+            this.replies = new Object[size];
+            this.remaining = size;
+            this.version = version;
+            this.sender = sender;
+            this.shard = shard;
+        }
+
+        void setReply(int index, Object reply) {
+            if(replies[index] != null) {
+                return;
+            }
+
+            replies[index] = reply;
+            if(--remaining == 0) {
+                sender.tell(new BatchedTransactionsReply(Arrays.asList(replies), version), shard.self());
+            }
+        }
+    }
+
+    /**
+     * Collects the paths written, merged or deleted by a modification.
+     */
+    private static final class ModifiedPathsCursor implements DataTreeModificationCursor {
+        private final Deque<YangInstanceIdentifier> stack = new ArrayDeque<>();
+        private final List<YangInstanceIdentifier> paths = new ArrayList<>();
+
+        ModifiedPathsCursor() {
+            stack.push(YangInstanceIdentifier.EMPTY);
+        }
+
+        @Override
+        public void delete(final PathArgument child) {
+            paths.add(stack.peek().node(child));
+        }
+
+        @Override
+        public void merge(final PathArgument child, final NormalizedNode<?, ?> data) {
+            paths.add(stack.peek().node(child));
+        }
+
+        @Override
+        public void write(final PathArgument child, final NormalizedNode<?, ?> data) {
+            paths.add(stack.peek().node(child));
+        }
+
+        @Override
+        public void enter(@Nonnull final PathArgument child) {
+            stack.push(stack.peek().node(child));
+        }
+
+        @Override
+        public void enter(@Nonnull final PathArgument... path) {
+            for (PathArgument arg : path) {
+                enter(arg);
+            }
+        }
+
+        @Override
+        public void enter(@Nonnull final Iterable<PathArgument> path) {
+            for (PathArgument arg : path) {
+                enter(arg);
+            }
+        }
+
+        @Override
+        public void exit() {
+            stack.pop();
+        }
+
+        @Override
+        public void exit(final int depth) {
+            for (int i = 0; i < depth; ++i) {
+                stack.pop();
+            }
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> readNode(@Nonnull final PathArgument child) {
+            throw new UnsupportedOperationException("Not implemented");
+        }
+
+        @Override
+        public void close() {
+            // No-op
+        }
+    }
 }
@@ -10,8 +10,11 @@ package org.opendaylight.controller.cluster.datastore;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -48,22 +51,37 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     private static final Logger LOG = LoggerFactory.getLogger(ShardDataTree.class);
     private static final YangInstanceIdentifier ROOT_PATH = YangInstanceIdentifier.builder().build();
     private static final ShardDataTreeNotificationManager MANAGER = new ShardDataTreeNotificationManager();
+    private static final int MAX_FOREIGN_CANDIDATE_BATCH_SIZE = 1000;
+    private static final int DEFAULT_NOTIFICATION_QUEUE_SIZE = 1000;
     private final Map<String, ShardDataTreeTransactionChain> transactionChains = new HashMap<>();
     private final ShardDataTreeChangePublisher treeChangePublisher = new ShardDataTreeChangePublisher();
     private final ListenerTree listenerTree = ListenerTree.create();
     private final TipProducingDataTree dataTree;
+    private final List<String> pendingForeignIdentifiers = new ArrayList<>();
+    private final List<DataTreeCandidate> pendingForeignCandidates = new ArrayList<>();
+    private final ShardDataTreeNotificationDispatcher notificationDispatcher;
     private SchemaContext schemaContext;
 
     public ShardDataTree(final SchemaContext schemaContext) {
+        this(schemaContext, new ShardDataTreeNotificationDispatcher(ShardDataTree.class.getSimpleName(),
+                MoreExecutors.directExecutor(), DEFAULT_NOTIFICATION_QUEUE_SIZE));
+    }
+
+    ShardDataTree(final SchemaContext schemaContext, final ShardDataTreeNotificationDispatcher notificationDispatcher) {
+        this.notificationDispatcher = Preconditions.checkNotNull(notificationDispatcher);
         dataTree = InMemoryDataTreeFactory.getInstance().create();
         updateSchemaContext(schemaContext);
-
     }
 
     public TipProducingDataTree getDataTree() {
+        applyPendingForeignCandidates();
         return dataTree;
     }
 
+    ShardDataTreeNotificationDispatcher getNotificationDispatcher() {
+        return notificationDispatcher;
+    }
+
     SchemaContext getSchemaContext() {
         return schemaContext;
     }
@@ -86,7 +104,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     ReadOnlyShardDataTreeTransaction newReadOnlyTransaction(final String txId, final String chainId) {
         if (Strings.isNullOrEmpty(chainId)) {
-            return new ReadOnlyShardDataTreeTransaction(txId, dataTree.takeSnapshot());
+            return new ReadOnlyShardDataTreeTransaction(txId, takeSnapshot());
         }
 
         return ensureTransactionChain(chainId).newReadOnlyTransaction(txId);
@@ -94,7 +112,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     ReadWriteShardDataTreeTransaction newReadWriteTransaction(final String txId, final String chainId) {
         if (Strings.isNullOrEmpty(chainId)) {
-            return new ReadWriteShardDataTreeTransaction(ShardDataTree.this, txId, dataTree.takeSnapshot()
+            return new ReadWriteShardDataTreeTransaction(ShardDataTree.this, txId, takeSnapshot()
                     .newModification());
         }
 
@@ -109,27 +127,8 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
         // DataChanges second, as they are heavier
         ResolveDataChangeEventsTask.create(candidate, listenerTree).resolve(MANAGER);
-    }
-
-    void notifyOfInitialData(DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier,
-            NormalizedNode<?, ?>>> listenerReg, Optional<DataTreeCandidate> currentState) {
-
-        if(currentState.isPresent()) {
-            ListenerTree localListenerTree = ListenerTree.create();
-            localListenerTree.registerDataChangeListener(listenerReg.getPath(), listenerReg.getInstance(),
-                    listenerReg.getScope());
 
-            ResolveDataChangeEventsTask.create(currentState.get(), localListenerTree).resolve(MANAGER);
-        }
-    }
-
-    void notifyOfInitialData(final YangInstanceIdentifier path, final DOMDataTreeChangeListener listener,
-            final Optional<DataTreeCandidate> currentState) {
-        if(currentState.isPresent()) {
-            ShardDataTreeChangePublisher localTreeChangePublisher = new ShardDataTreeChangePublisher();
-            localTreeChangePublisher.registerTreeChangeListener(path, listener);
-            localTreeChangePublisher.publishChanges(currentState.get());
-        }
+        notificationDispatcher.publish(candidate);
     }
 
     void closeAllTransactionChains() {
@@ -149,6 +148,11 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         }
     }
 
+    /**
+     * Registers a listener which is notified synchronously from {@link #notifyListeners(DataTreeCandidate)}, ie on
+     * the shard's thread. Listeners on behalf of frontends should use
+     * {@link #registerDispatchedChangeListener(YangInstanceIdentifier, AsyncDataChangeListener, DataChangeScope)}.
+     */
     Entry<DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>,
             Optional<DataTreeCandidate>> registerChangeListener(final YangInstanceIdentifier path,
                     final AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>> listener,
@@ -159,12 +163,29 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         return new SimpleEntry<>(reg, readCurrentData());
     }
 
+    /**
+     * Registers a listener which is notified through the {@link ShardDataTreeNotificationDispatcher}, off the
+     * shard's thread. The listener first receives the current data, followed by changes committed after the
+     * registration.
+     */
+    DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>
+            registerDispatchedChangeListener(final YangInstanceIdentifier path,
+                    final AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>> listener,
+                    final DataChangeScope scope) {
+        return notificationDispatcher.registerDataChangeListener(path, listener, scope, readCurrentData());
+    }
+
     private Optional<DataTreeCandidate> readCurrentData() {
-        final Optional<NormalizedNode<?, ?>> currentState = dataTree.takeSnapshot().readNode(ROOT_PATH);
+        final Optional<NormalizedNode<?, ?>> currentState = takeSnapshot().readNode(ROOT_PATH);
         return currentState.isPresent() ? Optional.of(DataTreeCandidates.fromNormalizedNode(
                 ROOT_PATH, currentState.get())) : Optional.<DataTreeCandidate>absent();
     }
 
+    /**
+     * Registers a listener which is notified synchronously from {@link #notifyListeners(DataTreeCandidate)}, ie on
+     * the shard's thread. Listeners on behalf of frontends should use
+     * {@link #registerDispatchedTreeChangeListener(YangInstanceIdentifier, DOMDataTreeChangeListener)}.
+     */
     public Entry<ListenerRegistration<DOMDataTreeChangeListener>, Optional<DataTreeCandidate>> registerTreeChangeListener(
             final YangInstanceIdentifier path, final DOMDataTreeChangeListener listener) {
         final ListenerRegistration<DOMDataTreeChangeListener> reg = treeChangePublisher.registerTreeChangeListener(
@@ -173,6 +194,16 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         return new SimpleEntry<>(reg, readCurrentData());
     }
 
+    /**
+     * Registers a listener which is notified through the {@link ShardDataTreeNotificationDispatcher}, off the
+     * shard's thread. The listener first receives the current data, followed by changes committed after the
+     * registration.
+     */
+    ListenerRegistration<DOMDataTreeChangeListener> registerDispatchedTreeChangeListener(
+            final YangInstanceIdentifier path, final DOMDataTreeChangeListener listener) {
+        return notificationDispatcher.registerTreeChangeListener(path, listener, readCurrentData());
+    }
+
     void applyForeignCandidate(final String identifier, final DataTreeCandidate foreign) throws DataValidationFailedException {
         LOG.debug("Applying foreign transaction {}", identifier);
 
@@ -187,6 +218,68 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         notifyListeners(candidate);
     }
 
+    /**
+     * Queues a candidate replicated from the leader to be applied together with the candidates that follow it.
+     * The caller must call {@link #applyPendingForeignCandidates()} before the queued state is observed.
+     */
+    void enqueueForeignCandidate(final String identifier, final DataTreeCandidate foreign) {
+        pendingForeignIdentifiers.add(identifier);
+        pendingForeignCandidates.add(foreign);
+
+        if(pendingForeignCandidates.size() >= MAX_FOREIGN_CANDIDATE_BATCH_SIZE) {
+            applyPendingForeignCandidates();
+        }
+    }
+
+    boolean hasPendingForeignCandidates() {
+        return !pendingForeignCandidates.isEmpty();
+    }
+
+    /**
+     * Applies the queued foreign candidates as a single modification, ie with one validate/prepare/commit cycle
+     * and one listener notification for the merged candidate. Should the merged modification fail validation,
+     * the candidates are applied one by one so only the offending ones are lost, as they would be without batching.
+     */
+    void applyPendingForeignCandidates() {
+        if(pendingForeignCandidates.isEmpty()) {
+            return;
+        }
+
+        final List<String> identifiers = new ArrayList<>(pendingForeignIdentifiers);
+        final List<DataTreeCandidate> candidates = new ArrayList<>(pendingForeignCandidates);
+        pendingForeignIdentifiers.clear();
+        pendingForeignCandidates.clear();
+
+        if(candidates.size() > 1) {
+            LOG.debug("Applying {} foreign transactions {}", candidates.size(), identifiers);
+
+            final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+            for(DataTreeCandidate foreign: candidates) {
+                DataTreeCandidates.applyToModification(mod, foreign);
+            }
+            mod.ready();
+
+            try {
+                dataTree.validate(mod);
+                final DataTreeCandidate candidate = dataTree.prepare(mod);
+                dataTree.commit(candidate);
+                notifyListeners(candidate);
+                return;
+            } catch (DataValidationFailedException e) {
+                LOG.warn("Failed to apply {} foreign transactions as a batch - applying them individually",
+                        candidates.size(), e);
+            }
+        }
+
+        for(int i = 0; i < candidates.size(); i++) {
+            try {
+                applyForeignCandidate(identifiers.get(i), candidates.get(i));
+            } catch (DataValidationFailedException e) {
+                LOG.error("Error applying replica {}", identifiers.get(i), e);
+            }
+        }
+    }
+
     @Override
     void abortTransaction(final AbstractShardDataTreeTransaction<?> transaction) {
         // Intentional no-op
@@ -199,16 +292,31 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         return new SimpleShardDataTreeCohort(this, snapshot, transaction.getId());
     }
 
+    /**
+     * Creates a cohort committing the given non-overlapping candidates, all prepared against the current state,
+     * as a single modification.
+     */
+    ShardDataTreeCohort createBatchCohort(final String batchId, final List<DataTreeCandidate> candidates) {
+        final DataTreeModification mod = takeSnapshot().newModification();
+        for(DataTreeCandidate candidate: candidates) {
+            DataTreeCandidates.applyToModification(mod, candidate);
+        }
+        mod.ready();
+
+        return new SimpleShardDataTreeCohort(this, mod, batchId);
+    }
+
     public Optional<NormalizedNode<?, ?>> readNode(YangInstanceIdentifier path) {
-        return dataTree.takeSnapshot().readNode(path);
+        return takeSnapshot().readNode(path);
     }
 
     public DataTreeSnapshot takeSnapshot() {
+        applyPendingForeignCandidates();
         return dataTree.takeSnapshot();
     }
 
     public DataTreeModification newModification() {
-        return dataTree.takeSnapshot().newModification();
+        return takeSnapshot().newModification();
     }
 
     public DataTreeCandidate commit(DataTreeModification modification) throws DataValidationFailedException {
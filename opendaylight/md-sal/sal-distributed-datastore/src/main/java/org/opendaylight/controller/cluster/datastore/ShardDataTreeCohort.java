@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 
 public abstract class ShardDataTreeCohort {
     ShardDataTreeCohort() {
@@ -18,6 +19,20 @@ public abstract class ShardDataTreeCohort {
 
     abstract DataTreeCandidateTip getCandidate();
 
+    /**
+     * Returns the ready modification this cohort commits, used to check a transaction for overlaps with a commit
+     * batch before validating it.
+     */
+    abstract DataTreeModification getDataTreeModification();
+
+    /**
+     * Invoked once this cohort's modification has been committed as part of a commit batch, in place of the
+     * completion of its own commit which is never run.
+     */
+    void batchCommitted() {
+        // No-op by default
+    }
+
     @VisibleForTesting
     public abstract ListenableFuture<Boolean> canCommit();
     @VisibleForTesting
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker.DataChangeScope;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.controller.md.sal.dom.store.impl.DataChangeListenerRegistration;
+import org.opendaylight.controller.md.sal.dom.store.impl.ResolveDataChangeEventsTask;
+import org.opendaylight.controller.md.sal.dom.store.impl.tree.ListenerTree;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes committed {@link DataTreeCandidate}s to the listeners registered on behalf of frontends, off the
+ * shard actor's thread. Candidates are queued by the shard and processed in order by a single task running on
+ * the supplied executor, so each listener sees its changes in commit order.
+ *
+ * <p>
+ * The shard never waits for the dispatcher. Candidates queued while the dispatcher is busy are coalesced, ie
+ * each {@link DOMDataTreeChangeListener} receives the changes from all of them in a single notification. Once
+ * the queue holds maxQueueSize entries, further candidates are appended to the last queued entry rather than
+ * growing the queue.
+ *
+ * <p>
+ * A listener registered while candidates are still queued must not see those candidates, as they are already
+ * reflected in its initial data. The listener is therefore gated until the dispatcher reaches the point in the
+ * queue at which it was registered.
+ */
+final class ShardDataTreeNotificationDispatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardDataTreeNotificationDispatcher.class);
+    private static final ShardDataTreeNotificationManager MANAGER = new ShardDataTreeNotificationManager();
+
+    private final ShardDataTreeChangePublisher treeChangePublisher = new ShardDataTreeChangePublisher();
+    private final ListenerTree listenerTree = ListenerTree.create();
+    private final List<GatedTreeChangeListener> pendingTreeChangeListeners = new ArrayList<>();
+    private final String logId;
+    private final Executor executor;
+
+    @GuardedBy("this")
+    private final Deque<QueueEntry> queue = new ArrayDeque<>();
+    @GuardedBy("this")
+    private boolean scheduled;
+    @GuardedBy("this")
+    private int maxQueueSize;
+
+    private volatile long processingSince;
+
+    private final Runnable dispatchTask = new Runnable() {
+        @Override
+        public void run() {
+            dispatch();
+        }
+    };
+
+    ShardDataTreeNotificationDispatcher(final String logId, final Executor executor, final int maxQueueSize) {
+        this.logId = Preconditions.checkNotNull(logId);
+        this.executor = Preconditions.checkNotNull(executor);
+        setMaxQueueSize(maxQueueSize);
+    }
+
+    synchronized void setMaxQueueSize(final int maxQueueSize) {
+        Preconditions.checkArgument(maxQueueSize > 0, "maxQueueSize must be positive");
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * Returns the number of queued entries the dispatcher has not yet started to process.
+     */
+    synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the time in milliseconds the oldest undelivered candidate has been waiting, or 0 if there is none.
+     */
+    long getQueueLagInMillis() {
+        long since = processingSince;
+        if (since == 0) {
+            synchronized (this) {
+                final QueueEntry head = queue.peekFirst();
+                since = head != null ? head.enqueuedAt : 0;
+            }
+        }
+
+        return since == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
+    }
+
+    void publish(final DataTreeCandidate candidate) {
+        boolean schedule;
+        synchronized (this) {
+            final QueueEntry tail = queue.peekLast();
+            if (queue.size() >= maxQueueSize && tail instanceof PublishEntry) {
+                LOG.debug("{}: Notification queue is full - coalescing candidate with {} queued candidates",
+                        logId, ((PublishEntry) tail).candidates.size());
+                ((PublishEntry) tail).candidates.add(candidate);
+                return;
+            }
+
+            schedule = enqueue(new PublishEntry(candidate));
+        }
+
+        if (schedule) {
+            executor.execute(dispatchTask);
+        }
+    }
+
+    ListenerRegistration<DOMDataTreeChangeListener> registerTreeChangeListener(final YangInstanceIdentifier path,
+            final DOMDataTreeChangeListener listener, final Optional<DataTreeCandidate> initialState) {
+        final GatedTreeChangeListener gated = new GatedTreeChangeListener(listener);
+        final ListenerRegistration<GatedTreeChangeListener> reg = treeChangePublisher.registerTreeChangeListener(
+                path, gated);
+
+        submit(new QueueEntry() {
+            @Override
+            void process() {
+                gated.open = true;
+                if (initialState.isPresent()) {
+                    final ShardDataTreeChangePublisher localTreeChangePublisher = new ShardDataTreeChangePublisher();
+                    localTreeChangePublisher.registerTreeChangeListener(path, listener);
+                    localTreeChangePublisher.publishChanges(initialState.get());
+                }
+            }
+        });
+
+        return new AbstractListenerRegistration<DOMDataTreeChangeListener>(listener) {
+            @Override
+            protected void removeRegistration() {
+                reg.close();
+            }
+        };
+    }
+
+    DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>
+            registerDataChangeListener(final YangInstanceIdentifier path,
+                    final AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>> listener,
+                    final DataChangeScope scope, final Optional<DataTreeCandidate> initialState) {
+        final GatedDataChangeListener gated = new GatedDataChangeListener(listener);
+        final DataChangeListenerRegistration<GatedDataChangeListener> reg =
+                listenerTree.registerDataChangeListener(path, gated, scope);
+
+        submit(new QueueEntry() {
+            @Override
+            void process() {
+                gated.open = true;
+                if (initialState.isPresent()) {
+                    final ListenerTree localListenerTree = ListenerTree.create();
+                    localListenerTree.registerDataChangeListener(path, listener, scope);
+                    ResolveDataChangeEventsTask.create(initialState.get(), localListenerTree).resolve(MANAGER);
+                }
+            }
+        });
+
+        return new DataChangeListenerRegistrationAdapter(listener, reg);
+    }
+
+    private void submit(final QueueEntry entry) {
+        final boolean schedule;
+        synchronized (this) {
+            schedule = enqueue(entry);
+        }
+
+        if (schedule) {
+            executor.execute(dispatchTask);
+        }
+    }
+
+    @GuardedBy("this")
+    private boolean enqueue(final QueueEntry entry) {
+        queue.addLast(entry);
+        if (scheduled) {
+            return false;
+        }
+
+        scheduled = true;
+        return true;
+    }
+
+    private void dispatch() {
+        while (true) {
+            final List<QueueEntry> entries;
+            synchronized (this) {
+                if (queue.isEmpty()) {
+                    scheduled = false;
+                    return;
+                }
+
+                entries = new ArrayList<>(queue);
+                queue.clear();
+                processingSince = entries.get(0).enqueuedAt;
+            }
+
+            LOG.debug("{}: Dispatching {} notification queue entries", logId, entries.size());
+
+            for (QueueEntry entry : entries) {
+                if (!(entry instanceof PublishEntry)) {
+                    flushTreeChangeListeners();
+                }
+
+                try {
+                    entry.process();
+                } catch (RuntimeException e) {
+                    LOG.error("{}: Error dispatching notifications", logId, e);
+                }
+            }
+
+            flushTreeChangeListeners();
+            processingSince = 0;
+        }
+    }
+
+    private void flushTreeChangeListeners() {
+        for (GatedTreeChangeListener listener : pendingTreeChangeListeners) {
+            listener.flush();
+        }
+
+        pendingTreeChangeListeners.clear();
+    }
+
+    private abstract static class QueueEntry {
+        final long enqueuedAt = System.nanoTime();
+
+        abstract void process();
+    }
+
+    private final class PublishEntry extends QueueEntry {
+        final List<DataTreeCandidate> candidates = new ArrayList<>(1);
+
+        PublishEntry(final DataTreeCandidate candidate) {
+            candidates.add(candidate);
+        }
+
+        @Override
+        void process() {
+            for (DataTreeCandidate candidate : candidates) {
+                LOG.debug("{}: Notifying listeners on candidate {}", logId, candidate);
+
+                // DataTreeChanges first, as they are more light-weight
+                treeChangePublisher.publishChanges(candidate);
+
+                // DataChanges second, as they are heavier
+                ResolveDataChangeEventsTask.create(candidate, listenerTree).resolve(MANAGER);
+            }
+        }
+    }
+
+    /**
+     * Collects the changes published to a {@link DOMDataTreeChangeListener} until the dispatcher flushes them
+     * as a single notification. Only accessed from the dispatch task.
+     */
+    private final class GatedTreeChangeListener implements DOMDataTreeChangeListener {
+        private final DOMDataTreeChangeListener delegate;
+        private List<DataTreeCandidate> changes;
+        boolean open;
+
+        GatedTreeChangeListener(final DOMDataTreeChangeListener delegate) {
+            this.delegate = Preconditions.checkNotNull(delegate);
+        }
+
+        @Override
+        public void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
+            if (!open) {
+                return;
+            }
+
+            if (this.changes == null) {
+                this.changes = new ArrayList<>(changes);
+                pendingTreeChangeListeners.add(this);
+            } else {
+                this.changes.addAll(changes);
+            }
+        }
+
+        void flush() {
+            final List<DataTreeCandidate> toNotify = changes;
+            changes = null;
+
+            try {
+                delegate.onDataTreeChanged(toNotify);
+            } catch (RuntimeException e) {
+                LOG.error("{}: Error notifying listener {}", logId, delegate, e);
+            }
+        }
+    }
+
+    private static final class GatedDataChangeListener
+            implements AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>> {
+        private final AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>> delegate;
+        boolean open;
+
+        GatedDataChangeListener(final AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>> delegate) {
+            this.delegate = Preconditions.checkNotNull(delegate);
+        }
+
+        @Override
+        public void onDataChanged(final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change) {
+            if (open) {
+                delegate.onDataChanged(change);
+            }
+        }
+    }
+
+    private static final class DataChangeListenerRegistrationAdapter
+            extends AbstractListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>
+            implements DataChangeListenerRegistration<AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>> {
+        private final DataChangeListenerRegistration<GatedDataChangeListener> reg;
+
+        DataChangeListenerRegistrationAdapter(
+                final AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>> listener,
+                final DataChangeListenerRegistration<GatedDataChangeListener> reg) {
+            super(listener);
+            this.reg = reg;
+        }
+
+        @Override
+        public YangInstanceIdentifier getPath() {
+            return reg.getPath();
+        }
+
+        @Override
+        public DataChangeScope getScope() {
+            return reg.getScope();
+        }
+
+        @Override
+        protected void removeRegistration() {
+            reg.close();
+        }
+    }
+}
@@ -12,6 +12,7 @@ import akka.actor.ActorRef;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
 import org.opendaylight.controller.cluster.datastore.messages.DataExists;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataBatch;
 
 /**
  * @author: syedbahm
@@ -31,6 +32,9 @@ public class ShardReadWriteTransaction extends ShardWriteTransaction {
         } else if (message instanceof DataExists) {
             dataExists((DataExists) message, !SERIALIZED_REPLY);
 
+        } else if (message instanceof ReadDataBatch) {
+            readDataBatch((ReadDataBatch) message);
+
         } else if(ReadData.SERIALIZABLE_CLASS.equals(message.getClass())) {
             readData(ReadData.fromSerializable(message), SERIALIZED_REPLY);
 
@@ -15,6 +15,8 @@ import akka.actor.ReceiveTimeout;
 import akka.japi.Creator;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActorWithMetering;
 import org.opendaylight.controller.cluster.datastore.exceptions.UnknownMessageException;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
@@ -23,6 +25,8 @@ import org.opendaylight.controller.cluster.datastore.messages.CloseTransactionRe
 import org.opendaylight.controller.cluster.datastore.messages.DataExists;
 import org.opendaylight.controller.cluster.datastore.messages.DataExistsReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataBatch;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataBatchReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadDataReply;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -37,6 +41,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
  * Handles Messages <br/>
  * ---------------- <br/>
  * <li> {@link org.opendaylight.controller.cluster.datastore.messages.ReadData}
+ * <li> {@link org.opendaylight.controller.cluster.datastore.messages.ReadDataBatch}
  * <li> {@link org.opendaylight.controller.cluster.datastore.messages.WriteData}
  * <li> {@link org.opendaylight.controller.cluster.datastore.messages.MergeData}
  * <li> {@link org.opendaylight.controller.cluster.datastore.messages.DeleteData}
@@ -132,6 +137,20 @@ public abstract class ShardTransaction extends AbstractUntypedActorWithMetering
         sender().tell((returnSerialized ? readDataReply.toSerializable(): readDataReply), self());
     }
 
+    protected void readDataBatch(AbstractShardDataTreeTransaction<?> transaction, ReadDataBatch message) {
+        if (checkClosed(transaction)) {
+            return;
+        }
+
+        final List<YangInstanceIdentifier> paths = message.getPaths();
+        final List<Optional<NormalizedNode<?, ?>>> results = new ArrayList<>(paths.size());
+        for (YangInstanceIdentifier path : paths) {
+            results.add(transaction.getSnapshot().readNode(path));
+        }
+
+        getSender().tell(new ReadDataBatchReply(results, clientTxVersion), getSelf());
+    }
+
     protected void dataExists(AbstractShardDataTreeTransaction<?> transaction, DataExists message,
         final boolean returnSerialized) {
 
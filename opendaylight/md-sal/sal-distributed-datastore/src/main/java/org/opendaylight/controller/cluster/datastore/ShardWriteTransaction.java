@@ -21,6 +21,7 @@ import org.opendaylight.controller.cluster.datastore.messages.ForwardedReadyTran
 import org.opendaylight.controller.cluster.datastore.messages.MergeData;
 import org.opendaylight.controller.cluster.datastore.messages.MergeDataReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataBatch;
 import org.opendaylight.controller.cluster.datastore.messages.ReadyTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.WriteData;
 import org.opendaylight.controller.cluster.datastore.messages.WriteDataReply;
@@ -127,6 +128,10 @@ public class ShardWriteTransaction extends ShardTransaction {
         super.readData(transaction, message, returnSerialized);
     }
 
+    protected final void readDataBatch(ReadDataBatch message) {
+        super.readDataBatch(transaction, message);
+    }
+
     private boolean checkClosed() {
         if (transaction.isClosed()) {
             getSender().tell(new akka.actor.Status.Failure(new IllegalStateException("Transaction is closed, no modifications allowed")), getSelf());
@@ -41,6 +41,11 @@ final class SimpleShardDataTreeCohort extends ShardDataTreeCohort {
         return candidate;
     }
 
+    @Override
+    DataTreeModification getDataTreeModification() {
+        return dataTreeModification();
+    }
+
     @Override
     public ListenableFuture<Boolean> canCommit() {
         DataTreeModification modification = dataTreeModification();
@@ -10,7 +10,11 @@ package org.opendaylight.controller.cluster.datastore;
 import akka.actor.ActorSelection;
 import akka.dispatch.OnComplete;
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionChainIdentifier;
@@ -23,6 +27,7 @@ import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransactio
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionChain;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.Future;
@@ -32,6 +37,11 @@ import scala.concurrent.Promise;
  * A chain of {@link TransactionProxy}s. It allows a single open transaction to be open
  * at a time. For remote transactions, it also tracks the outstanding readiness requests
  * towards the shard and unblocks operations only after all have completed.
+ * <p>
+ * If transaction chain batching is enabled, write-only transactions send their modifications
+ * to each remote shard through a {@link ChainedTransactionBatcher}, which keeps them in order.
+ * Such a transaction therefore does not need to wait for the outstanding readiness requests of
+ * previous transactions which did the same.
  */
 final class TransactionChainProxy extends AbstractTransactionContextFactory<LocalTransactionChain> implements DOMStoreTransactionChain {
     private static abstract class State {
@@ -47,15 +57,25 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
          * @return Future to wait for, or null of no wait is necessary
          */
         abstract Future<?> previousFuture();
+
+        /**
+         * Check if all outstanding readiness requests were sent through batchers.
+         * @return true if a batched transaction does not need to wait for the previous future.
+         */
+        boolean isBatched() {
+            return false;
+        }
     }
 
     private static abstract class Pending extends State {
         private final TransactionIdentifier transaction;
         private final Future<?> previousFuture;
+        private final boolean batched;
 
-        Pending(final TransactionIdentifier transaction, final Future<?> previousFuture) {
+        Pending(final TransactionIdentifier transaction, final Future<?> previousFuture, final boolean batched) {
             this.previousFuture = previousFuture;
             this.transaction = Preconditions.checkNotNull(transaction);
+            this.batched = batched;
         }
 
         @Override
@@ -63,14 +83,19 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
             return previousFuture;
         }
 
+        @Override
+        final boolean isBatched() {
+            return batched;
+        }
+
         final TransactionIdentifier getIdentifier() {
             return transaction;
         }
     }
 
     private static final class Allocated extends Pending {
-        Allocated(final TransactionIdentifier transaction, final Future<?> previousFuture) {
-            super(transaction, previousFuture);
+        Allocated(final TransactionIdentifier transaction, final Future<?> previousFuture, final boolean batched) {
+            super(transaction, previousFuture, batched);
         }
 
         @Override
@@ -80,8 +105,8 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
     }
 
     private static final class Submitted extends Pending {
-        Submitted(final TransactionIdentifier transaction, final Future<?> previousFuture) {
-            super(transaction, previousFuture);
+        Submitted(final TransactionIdentifier transaction, final Future<?> previousFuture, final boolean batched) {
+            super(transaction, previousFuture, batched);
         }
 
         @Override
@@ -116,6 +141,7 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
     private static final AtomicReferenceFieldUpdater<TransactionChainProxy, State> STATE_UPDATER =
             AtomicReferenceFieldUpdater.newUpdater(TransactionChainProxy.class, State.class, "currentState");
 
+    private final ConcurrentMap<String, ChainedTransactionBatcher> batchers = new ConcurrentHashMap<>();
     private final TransactionChainIdentifier transactionChainId;
     private final TransactionContextFactory parent;
     private volatile State currentState = IDLE_STATE;
@@ -161,11 +187,22 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
         State localState = currentState;
         localState.checkReady();
 
+        // A batched transaction skips waiting for the previous transactions only if they were all batched, ie
+        // their readiness requests are ordered before its modifications by the batchers.
+        final boolean batched = isBatchingEnabled(type) &&
+                (localState.previousFuture() == null || localState.isBatched());
+
         final TransactionProxy ret = new TransactionProxy(this, type);
-        currentState = new Allocated(ret.getIdentifier(), localState.previousFuture());
+        currentState = new Allocated(ret.getIdentifier(), localState.previousFuture(), batched);
         return ret;
     }
 
+    private boolean isBatchingEnabled(final TransactionType type) {
+        final DatastoreContext datastoreContext = getActorContext().getDatastoreContext();
+        return type == TransactionType.WRITE_ONLY && datastoreContext.isTransactionChainBatchingEnabled() &&
+                datastoreContext.isWriteOnlyTransactionOptimizationsEnabled();
+    }
+
     @Override
     protected LocalTransactionChain factoryForShard(final String shardName, final ActorSelection shardLeader, final DataTree dataTree) {
         final LocalTransactionChain ret = new LocalTransactionChain(this, shardLeader, dataTree);
@@ -173,20 +210,76 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
         return ret;
     }
 
+    /**
+     * Read-only transactions in a chain have to observe the modifications of the previous transactions in
+     * the chain, which the shard leader's data tree does not reflect until they are committed.
+     */
+    @Override
+    protected DataTreeSnapshot takeLocalReadSnapshot(final String shardName) {
+        return null;
+    }
+
+    /**
+     * Transactions in a chain are always created on the primary, as the local replica cannot serve them
+     * consistently with the chain's previous transactions.
+     */
+    @Override
+    protected ActorSelection findLocalReadReplica(final String shardName) {
+        return null;
+    }
+
+    /**
+     * All batched transactions of the chain share a batcher for each shard, which is replaced if the primary
+     * shard moves. The replacement holds back its messages until the replaced batcher has drained.
+     */
+    @Override
+    protected ChainedTransactionBatcher findTransactionBatcher(final String shardName,
+            final ActorSelection primaryShard, final short primaryVersion) {
+        if(!isBatchingEnabled(TransactionType.WRITE_ONLY)) {
+            return null;
+        }
+
+        while(true) {
+            final ChainedTransactionBatcher existing = batchers.get(shardName);
+            if(existing != null && existing.getActor().equals(primaryShard) &&
+                    existing.getVersion() == primaryVersion) {
+                return existing;
+            }
+
+            final ChainedTransactionBatcher batcher = new ChainedTransactionBatcher(getActorContext(), primaryShard,
+                    primaryVersion, existing);
+            final boolean installed = existing == null ? batchers.putIfAbsent(shardName, batcher) == null :
+                batchers.replace(shardName, existing, batcher);
+            if(installed) {
+                LOG.debug("Chain {} allocated batcher for shard {} primary {}", getTransactionChainId(), shardName,
+                        primaryShard);
+                return batcher;
+            }
+        }
+    }
+
     /**
      * This method is overridden to ensure the previous Tx's ready operations complete
      * before we initiate the next Tx in the chain to avoid creation failures if the
      * previous Tx's ready operations haven't completed yet.
      */
     @Override
-    protected Future<PrimaryShardInfo> findPrimaryShard(final String shardName) {
+    protected Future<PrimaryShardInfo> findPrimaryShard(final String shardName,
+            final TransactionIdentifier transaction) {
         // Read current state atomically
         final State localState = currentState;
 
         // There are no outstanding futures, shortcut
         final Future<?> previous = localState.previousFuture();
         if (previous == null) {
-            return parent.findPrimaryShard(shardName);
+            return parent.findPrimaryShard(shardName, transaction);
+        }
+
+        // The allocated transaction is batched and so are all previous ones, shortcut
+        if (localState instanceof Allocated && localState.isBatched() &&
+                transaction.equals(((Allocated) localState).getIdentifier())) {
+            LOG.debug("Tx {} is batched - proceeding to FindPrimaryShard", transaction);
+            return parent.findPrimaryShard(shardName, transaction);
         }
 
         final String previousTransactionId;
@@ -215,7 +308,7 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
 
                     // Send the FindPrimaryShard message and use the resulting Future to complete the
                     // returned Promise.
-                    returnPromise.completeWith(parent.findPrimaryShard(shardName));
+                    returnPromise.completeWith(parent.findPrimaryShard(shardName, transaction));
                 }
             }
         };
@@ -225,31 +318,44 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
     }
 
     @Override
-    protected <T> void onTransactionReady(final TransactionIdentifier transaction, final Collection<Future<T>> cohortFutures) {
+    protected <T> void onTransactionReady(final TransactionIdentifier transaction,
+            final Collection<Future<T>> cohortFutures, final boolean batched) {
         final State localState = currentState;
         Preconditions.checkState(localState instanceof Allocated, "Readying transaction %s while state is %s", transaction, localState);
-        final TransactionIdentifier currentTx = ((Allocated)localState).getIdentifier();
+        final Allocated allocated = (Allocated) localState;
+        final TransactionIdentifier currentTx = allocated.getIdentifier();
         Preconditions.checkState(transaction.equals(currentTx), "Readying transaction %s while %s is allocated", transaction, currentTx);
 
+        // A batched transaction did not wait for the previous transactions, so subsequent transactions have to
+        // wait for both
+        final Future<?> previous = allocated.isBatched() ? allocated.previousFuture() : null;
+
         // Transaction ready and we are not waiting for futures -- go to idle
-        if (cohortFutures.isEmpty()) {
+        if (cohortFutures.isEmpty() && previous == null) {
             currentState = IDLE_STATE;
             return;
         }
 
+        final List<Future<?>> futures = new ArrayList<Future<?>>(cohortFutures);
+        if (previous != null) {
+            futures.add(previous);
+        }
+
         // Combine the ready Futures into 1
-        final Future<Iterable<T>> combined = akka.dispatch.Futures.sequence(
-                cohortFutures, getActorContext().getClientDispatcher());
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        final Future<Iterable<Object>> combined = akka.dispatch.Futures.sequence(
+                (Iterable) futures, getActorContext().getClientDispatcher());
 
-        // Record the we have outstanding futures
-        final State newState = new Submitted(transaction, combined);
+        // Record the we have outstanding futures. Subsequent batched transactions may skip waiting for them only if
+        // this transaction's readiness requests actually went through batchers - local shards never batch.
+        final State newState = new Submitted(transaction, combined, allocated.isBatched() && batched);
         currentState = newState;
 
         // Attach a completion reset, but only if we do not allocate a transaction
         // in-between
-        combined.onComplete(new OnComplete<Iterable<T>>() {
+        combined.onComplete(new OnComplete<Iterable<Object>>() {
             @Override
-            public void onComplete(final Throwable arg0, final Iterable<T> arg1) {
+            public void onComplete(final Throwable arg0, final Iterable<Object> arg1) {
                 STATE_UPDATER.compareAndSet(TransactionChainProxy.this, newState, IDLE_STATE);
             }
         }, getActorContext().getClientDispatcher());
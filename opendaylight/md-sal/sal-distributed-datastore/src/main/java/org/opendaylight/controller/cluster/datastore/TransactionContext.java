@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore;
 import akka.actor.ActorSelection;
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.SettableFuture;
+import java.util.List;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import scala.concurrent.Future;
@@ -31,6 +32,13 @@ interface TransactionContext {
 
     void readData(final YangInstanceIdentifier path, SettableFuture<Optional<NormalizedNode<?, ?>>> proxyFuture);
 
+    /**
+     * Reads several paths from this context's shard. The future is completed with the data for each path,
+     * in the order of the supplied paths.
+     */
+    void readDataBatch(List<YangInstanceIdentifier> paths,
+            SettableFuture<List<Optional<NormalizedNode<?, ?>>>> proxyFuture);
+
     void dataExists(YangInstanceIdentifier path, SettableFuture<Boolean> proxyFuture);
 
     boolean supportsDirectCommit();
@@ -52,4 +60,11 @@ interface TransactionContext {
      * @return
      */
     boolean usesOperationLimiting();
+
+    /**
+     * A TransactionContext that sends its modifications through a {@link ChainedTransactionBatcher} should
+     * return true else false
+     * @return
+     */
+    boolean usesBatcher();
 }
@@ -7,20 +7,29 @@
  */
 package org.opendaylight.controller.cluster.datastore;
 
+import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
+import akka.dispatch.OnComplete;
+import com.google.common.base.Optional;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.controller.cluster.datastore.exceptions.LocalShardNotFoundException;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionChain;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import scala.concurrent.Future;
+import scala.util.Try;
 
 /**
  * An {@link AbstractTransactionContextFactory} which produces TransactionContext instances for single
  * transactions (ie not chained).
  */
 final class TransactionContextFactory extends AbstractTransactionContextFactory<LocalTransactionFactoryImpl> {
+    private final ConcurrentMap<String, Optional<ActorSelection>> localReplicas = new ConcurrentHashMap<>();
 
     private TransactionContextFactory(final ActorContext actorContext) {
         super(actorContext);
@@ -45,12 +54,77 @@ final class TransactionContextFactory extends AbstractTransactionContextFactory<
     }
 
     @Override
-    protected Future<PrimaryShardInfo> findPrimaryShard(final String shardName) {
+    protected Future<PrimaryShardInfo> findPrimaryShard(final String shardName,
+            final TransactionIdentifier transaction) {
         return getActorContext().findPrimaryShardAsync(shardName);
     }
 
+    /**
+     * The primary shard info is normally cached, in which case the returned future is already completed and we
+     * can take a snapshot of the local leader's data tree right away. The data tree publishes each committed
+     * state atomically, so taking a snapshot does not involve the shard actor.
+     */
     @Override
-    protected <T> void onTransactionReady(final TransactionIdentifier transaction, final Collection<Future<T>> cohortFutures) {
+    protected DataTreeSnapshot takeLocalReadSnapshot(final String shardName) {
+        final Future<PrimaryShardInfo> findPrimaryFuture = getActorContext().findPrimaryShardAsync(shardName);
+        if (!findPrimaryFuture.isCompleted()) {
+            return null;
+        }
+
+        final Try<PrimaryShardInfo> maybe = findPrimaryFuture.value().get();
+        if (!maybe.isSuccess()) {
+            return null;
+        }
+
+        final Optional<DataTree> maybeDataTree = maybe.get().getLocalShardDataTree();
+        return maybeDataTree.isPresent() ? maybeDataTree.get().takeSnapshot() : null;
+    }
+
+    /**
+     * The local replica is looked up asynchronously the first time it is needed for a shard, until that completes
+     * the primary is used.
+     */
+    @Override
+    protected ActorSelection findLocalReadReplica(final String shardName) {
+        if(!getActorContext().getDatastoreContext().isShardFollowerReadsEnabled()) {
+            return null;
+        }
+
+        final Optional<ActorSelection> cached = localReplicas.get(shardName);
+        if(cached != null) {
+            return cached.orNull();
+        }
+
+        if(localReplicas.putIfAbsent(shardName, Optional.<ActorSelection>absent()) == null) {
+            getActorContext().findLocalShardAsync(shardName).onComplete(new OnComplete<ActorRef>() {
+                @Override
+                public void onComplete(final Throwable failure, final ActorRef localShard) {
+                    if(failure == null) {
+                        localReplicas.put(shardName,
+                                Optional.of(getActorContext().actorSelection(localShard.path())));
+                    } else if(!(failure instanceof LocalShardNotFoundException)) {
+                        // Not initialized yet or timed out - try again next time
+                        localReplicas.remove(shardName);
+                    }
+                }
+            }, getActorContext().getClientDispatcher());
+        }
+
+        return null;
+    }
+
+    /**
+     * Transactions are disconnected, so their modifications are always sent directly.
+     */
+    @Override
+    protected ChainedTransactionBatcher findTransactionBatcher(final String shardName,
+            final ActorSelection primaryShard, final short primaryVersion) {
+        return null;
+    }
+
+    @Override
+    protected <T> void onTransactionReady(final TransactionIdentifier transaction,
+            final Collection<Future<T>> cohortFutures, final boolean batched) {
         // Transactions are disconnected, this is a no-op
     }
 
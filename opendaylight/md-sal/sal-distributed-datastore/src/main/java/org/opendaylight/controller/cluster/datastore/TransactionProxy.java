@@ -14,25 +14,32 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeAggregator;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.sal.core.spi.data.AbstractDOMStoreTransaction;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreBatchReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
 import org.opendaylight.yangtools.util.concurrent.MappingCheckedFuture;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,7 +49,8 @@ import scala.concurrent.Promise;
 /**
  * A transaction potentially spanning multiple backend shards.
  */
-public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIdentifier> implements DOMStoreReadWriteTransaction {
+public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIdentifier>
+        implements DOMStoreReadWriteTransaction, DOMStoreBatchReadTransaction {
     private static enum TransactionState {
         OPEN,
         READY,
@@ -51,6 +59,7 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
     private static final Logger LOG = LoggerFactory.getLogger(TransactionProxy.class);
 
     private final Map<String, TransactionContextWrapper> txContextWrappers = new HashMap<>();
+    private final Map<String, DataTreeSnapshot> localReadSnapshots = new HashMap<>();
     private final AbstractTransactionContextFactory<?> txContextFactory;
     private final TransactionType type;
     private TransactionState state = TransactionState.OPEN;
@@ -71,8 +80,21 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
         LOG.debug("Tx {} exists {}", getIdentifier(), path);
 
+        final String shardName = shardNameFromIdentifier(path);
+        final DataTreeSnapshot snapshot = getLocalReadSnapshot(shardName);
+        if (snapshot != null) {
+            try {
+                return Futures.<Boolean, ReadFailedException>immediateCheckedFuture(
+                        snapshot.readNode(path).isPresent());
+            } catch (Exception e) {
+                LOG.error("Tx {} failed to check exists for {}", getIdentifier(), path, e);
+                return Futures.<Boolean, ReadFailedException>immediateFailedCheckedFuture(
+                        new ReadFailedException("Exists failed", e));
+            }
+        }
+
         final SettableFuture<Boolean> proxyFuture = SettableFuture.create();
-        TransactionContextWrapper contextWrapper = getContextWrapper(path);
+        TransactionContextWrapper contextWrapper = getContextWrapper(shardName);
         contextWrapper.maybeExecuteTransactionOperation(new TransactionOperation() {
             @Override
             public void invoke(TransactionContext transactionContext) {
@@ -96,8 +118,116 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
         }
     }
 
+    /**
+     * Reads several paths, sending a single ReadDataBatch to each shard holding any of them. A read of the root
+     * path is served by reading all shards, as for {@link #read(YangInstanceIdentifier)}.
+     */
+    @Override
+    public CheckedFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>, ReadFailedException> read(
+            final Collection<YangInstanceIdentifier> paths) {
+        Preconditions.checkState(type != TransactionType.WRITE_ONLY, "Reads from write-only transactions are not allowed");
+
+        LOG.debug("Tx {} read {}", getIdentifier(), paths);
+
+        final Map<String, List<YangInstanceIdentifier>> shardPaths = new LinkedHashMap<>();
+        final List<List<YangInstanceIdentifier>> batches = new ArrayList<>();
+        final List<ListenableFuture<List<Optional<NormalizedNode<?, ?>>>>> futures = new ArrayList<>();
+
+        for (YangInstanceIdentifier path : new LinkedHashSet<>(paths)) {
+            if (YangInstanceIdentifier.EMPTY.equals(path)) {
+                batches.add(Collections.singletonList(path));
+                futures.add(Futures.transform(readAllData(),
+                        new Function<Optional<NormalizedNode<?, ?>>, List<Optional<NormalizedNode<?, ?>>>>() {
+                            @Override
+                            public List<Optional<NormalizedNode<?, ?>>> apply(
+                                    final Optional<NormalizedNode<?, ?>> input) {
+                                return Collections.<Optional<NormalizedNode<?, ?>>>singletonList(input);
+                            }
+                        }));
+                continue;
+            }
+
+            final String shardName = shardNameFromIdentifier(path);
+            List<YangInstanceIdentifier> list = shardPaths.get(shardName);
+            if (list == null) {
+                list = new ArrayList<>();
+                shardPaths.put(shardName, list);
+            }
+
+            list.add(path);
+        }
+
+        for (Entry<String, List<YangInstanceIdentifier>> e : shardPaths.entrySet()) {
+            batches.add(e.getValue());
+            futures.add(batchedShardRead(e.getKey(), e.getValue()));
+        }
+
+        final ListenableFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>> ret = Futures.transform(
+                Futures.allAsList(futures),
+                new Function<List<List<Optional<NormalizedNode<?, ?>>>>,
+                        Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>>() {
+                    @Override
+                    public Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> apply(
+                            final List<List<Optional<NormalizedNode<?, ?>>>> results) {
+                        final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> map = new HashMap<>();
+                        for (int i = 0; i < batches.size(); i++) {
+                            final List<YangInstanceIdentifier> batch = batches.get(i);
+                            final List<Optional<NormalizedNode<?, ?>>> result = results.get(i);
+                            for (int j = 0; j < batch.size(); j++) {
+                                map.put(batch.get(j), result.get(j));
+                            }
+                        }
+
+                        return map;
+                    }
+                });
+
+        return MappingCheckedFuture.create(ret, ReadFailedException.MAPPER);
+    }
+
+    private ListenableFuture<List<Optional<NormalizedNode<?, ?>>>> batchedShardRead(final String shardName,
+            final List<YangInstanceIdentifier> paths) {
+        final DataTreeSnapshot snapshot = getLocalReadSnapshot(shardName);
+        if (snapshot != null) {
+            final List<Optional<NormalizedNode<?, ?>>> results = new ArrayList<>(paths.size());
+            try {
+                for (YangInstanceIdentifier path : paths) {
+                    results.add(snapshot.readNode(path));
+                }
+            } catch (Exception e) {
+                LOG.error("Tx {} failed to read {}", getIdentifier(), paths, e);
+                return Futures.immediateFailedFuture(new ReadFailedException("Read failed", e));
+            }
+
+            return Futures.immediateFuture(results);
+        }
+
+        final SettableFuture<List<Optional<NormalizedNode<?, ?>>>> proxyFuture = SettableFuture.create();
+        TransactionContextWrapper contextWrapper = getContextWrapper(shardName);
+        contextWrapper.maybeExecuteTransactionOperation(new TransactionOperation() {
+            @Override
+            public void invoke(TransactionContext transactionContext) {
+                transactionContext.readDataBatch(paths, proxyFuture);
+            }
+        });
+
+        return proxyFuture;
+    }
+
     private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> singleShardRead(
             final String shardName, final YangInstanceIdentifier path) {
+        final DataTreeSnapshot snapshot = getLocalReadSnapshot(shardName);
+        if (snapshot != null) {
+            try {
+                return Futures.<Optional<NormalizedNode<?, ?>>, ReadFailedException>immediateCheckedFuture(
+                        snapshot.readNode(path));
+            } catch (Exception e) {
+                LOG.error("Tx {} failed to read {}", getIdentifier(), path, e);
+                return Futures.<Optional<NormalizedNode<?, ?>>, ReadFailedException>immediateFailedCheckedFuture(
+                        new ReadFailedException("Read failed", e));
+            }
+        }
+
         final SettableFuture<Optional<NormalizedNode<?, ?>>> proxyFuture = SettableFuture.create();
         TransactionContextWrapper contextWrapper = getContextWrapper(shardName);
         contextWrapper.maybeExecuteTransactionOperation(new TransactionOperation() {
@@ -110,27 +240,52 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
         return MappingCheckedFuture.create(proxyFuture, ReadFailedException.MAPPER);
     }
 
+    /**
+     * Reads the root from all shards. Each shard's data is merged into the aggregate tree as soon as it arrives,
+     * so the merge work is spread over the completing reads and the individual results are not retained until
+     * the slowest shard responds.
+     */
     private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> readAllData() {
         final Set<String> allShardNames = txContextFactory.getActorContext().getConfiguration().getAllShardNames();
-        final Collection<CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> futures = new ArrayList<>(allShardNames.size());
-
-        for (String shardName : allShardNames) {
-            futures.add(singleShardRead(shardName, YangInstanceIdentifier.EMPTY));
-        }
-
-        final ListenableFuture<List<Optional<NormalizedNode<?, ?>>>> listFuture = Futures.allAsList(futures);
-        final ListenableFuture<Optional<NormalizedNode<?, ?>>> aggregateFuture;
+        final NormalizedNodeAggregator aggregator = new NormalizedNodeAggregator(YangInstanceIdentifier.EMPTY,
+                txContextFactory.getActorContext().getSchemaContext());
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> aggregateFuture = SettableFuture.create();
+        final AtomicInteger remaining = new AtomicInteger(allShardNames.size());
 
-        aggregateFuture = Futures.transform(listFuture, new Function<List<Optional<NormalizedNode<?, ?>>>, Optional<NormalizedNode<?, ?>>>() {
+        final FutureCallback<Optional<NormalizedNode<?, ?>>> callback = new FutureCallback<Optional<NormalizedNode<?, ?>>>() {
             @Override
-            public Optional<NormalizedNode<?, ?>> apply(final List<Optional<NormalizedNode<?, ?>>> input) {
+            public void onSuccess(final Optional<NormalizedNode<?, ?>> result) {
+                if (aggregateFuture.isDone()) {
+                    return;
+                }
+
                 try {
-                    return NormalizedNodeAggregator.aggregate(YangInstanceIdentifier.EMPTY, input, txContextFactory.getActorContext().getSchemaContext());
-                } catch (DataValidationFailedException e) {
-                    throw new IllegalArgumentException("Failed to aggregate", e);
+                    aggregator.merge(result);
+                } catch (DataValidationFailedException | RuntimeException e) {
+                    // The merge may also fail with a runtime exception, eg if a node does not match the schema,
+                    // which would otherwise leave the read pending forever.
+                    aggregateFuture.setException(new IllegalArgumentException("Failed to aggregate", e));
+                    return;
+                }
+
+                if (remaining.decrementAndGet() == 0) {
+                    aggregateFuture.set(aggregator.getAggregatedNode());
                 }
             }
-        });
+
+            @Override
+            public void onFailure(final Throwable t) {
+                aggregateFuture.setException(t);
+            }
+        };
+
+        for (String shardName : allShardNames) {
+            Futures.addCallback(singleShardRead(shardName, YangInstanceIdentifier.EMPTY), callback);
+        }
+
+        if (allShardNames.isEmpty()) {
+            aggregateFuture.set(aggregator.getAggregatedNode());
+        }
 
         return MappingCheckedFuture.create(aggregateFuture, ReadFailedException.MAPPER);
     }
@@ -216,6 +371,7 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
 
         txContextWrappers.clear();
+        localReadSnapshots.clear();
     }
 
     @Override
@@ -240,12 +396,27 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
             ret = createMultiCommitCohort(txContextWrappers.entrySet());
         }
 
-        txContextFactory.onTransactionReady(getIdentifier(), ret.getCohortFutures());
+        txContextFactory.onTransactionReady(getIdentifier(), ret.getCohortFutures(), isBatched());
 
         final Throwable debugContext = getDebugContext();
         return debugContext == null ? ret : new DebugThreePhaseCommitCohort(getIdentifier(), ret, debugContext);
     }
 
+    /**
+     * Check whether the modifications to all shards were sent through batchers. A shard whose transaction context
+     * has not been created yet counts as not batched.
+     */
+    private boolean isBatched() {
+        for (TransactionContextWrapper contextWrapper : txContextWrappers.values()) {
+            final TransactionContext transactionContext = contextWrapper.getTransactionContext();
+            if (transactionContext == null || !transactionContext.usesBatcher()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     private AbstractThreePhaseCommitCohort<?> createSingleCommitCohort(final String shardName,
             final TransactionContextWrapper contextWrapper) {
 
@@ -304,6 +475,30 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
         return txContextFactory.getActorContext().getShardStrategyFactory().getStrategy(path).findShard(path);
     }
 
+    /**
+     * Returns the snapshot from which a read-only transaction reads the specified shard directly, or null if
+     * reads have to go through a transaction context, either because the shard leader is not local or because
+     * the shard is already being accessed via a transaction context. The snapshot is taken on first access, so
+     * all reads of a shard observe the same state.
+     */
+    private DataTreeSnapshot getLocalReadSnapshot(final String shardName) {
+        if (type != TransactionType.READ_ONLY || txContextWrappers.containsKey(shardName)) {
+            return null;
+        }
+
+        DataTreeSnapshot snapshot = localReadSnapshots.get(shardName);
+        if (snapshot == null) {
+            snapshot = txContextFactory.takeLocalReadSnapshot(shardName);
+            if (snapshot != null) {
+                LOG.debug("Tx {} reading shard {} directly from the local leader's data tree", getIdentifier(),
+                        shardName);
+                localReadSnapshots.put(shardName, snapshot);
+            }
+        }
+
+        return snapshot;
+    }
+
     private TransactionContextWrapper getContextWrapper(final YangInstanceIdentifier path) {
         return getContextWrapper(shardNameFromIdentifier(path));
     }
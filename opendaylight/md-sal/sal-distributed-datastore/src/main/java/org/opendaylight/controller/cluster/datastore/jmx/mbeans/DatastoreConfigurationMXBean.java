@@ -55,4 +55,26 @@ public interface DatastoreConfigurationMXBean {
     int getMaxShardDataStoreExecutorQueueSize();
 
     int getShardSnapshotChunkSize();
+
+    int getShardMaxInFlightAppendEntries();
+
+    int getShardJournalGroupCommitMaxBatchSize();
+
+    long getShardJournalGroupCommitWindowInMillis();
+
+    boolean isShardReplicatedLogOffHeap();
+
+    boolean isShardSegmentedJournalEnabled();
+
+    int getShardMaxCommitBatchSize();
+
+    int getShardMaxInFlightDataTreeChangeNotifications();
+
+    boolean isShardFollowerReadsEnabled();
+
+    int getShardFollowerReadMaxLag();
+
+    int getShardBacklogThrottleThreshold();
+
+    boolean isTransactionChainBatchingEnabled();
 }
@@ -134,4 +134,58 @@ public class DatastoreConfigurationMXBeanImpl extends AbstractMXBean implements
         return context.getShardSnapshotChunkSize();
     }
 
+    @Override
+    public int getShardMaxInFlightAppendEntries() {
+        return context.getShardMaxInFlightAppendEntries();
+    }
+
+    @Override
+    public int getShardJournalGroupCommitMaxBatchSize() {
+        return context.getShardJournalGroupCommitMaxBatchSize();
+    }
+
+    @Override
+    public long getShardJournalGroupCommitWindowInMillis() {
+        return context.getShardJournalGroupCommitWindowInMillis();
+    }
+
+    @Override
+    public boolean isShardReplicatedLogOffHeap() {
+        return context.isShardReplicatedLogOffHeap();
+    }
+
+    @Override
+    public boolean isShardSegmentedJournalEnabled() {
+        return context.isShardSegmentedJournalEnabled();
+    }
+
+    @Override
+    public int getShardMaxCommitBatchSize() {
+        return context.getShardMaxCommitBatchSize();
+    }
+
+    @Override
+    public int getShardMaxInFlightDataTreeChangeNotifications() {
+        return context.getShardMaxInFlightDataTreeChangeNotifications();
+    }
+
+    @Override
+    public boolean isShardFollowerReadsEnabled() {
+        return context.isShardFollowerReadsEnabled();
+    }
+
+    @Override
+    public int getShardFollowerReadMaxLag() {
+        return context.getShardFollowerReadMaxLag();
+    }
+
+    @Override
+    public int getShardBacklogThrottleThreshold() {
+        return context.getShardBacklogThrottleThreshold();
+    }
+
+    @Override
+    public boolean isTransactionChainBatchingEnabled() {
+        return context.isTransactionChainBatchingEnabled();
+    }
 }
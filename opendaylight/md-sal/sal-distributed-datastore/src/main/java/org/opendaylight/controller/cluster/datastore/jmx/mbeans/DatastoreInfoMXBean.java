@@ -7,6 +7,8 @@
  */
 package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
 
+import java.util.Map;
+
 /**
  * JMX bean for general datastore info.
  *
@@ -14,4 +16,9 @@ package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
  */
 public interface DatastoreInfoMXBean {
     double getTransactionCreationRateLimit();
+
+    /**
+     * Returns the number of operations a transaction may currently have outstanding to each shard.
+     */
+    Map<String, Integer> getShardOperationLimits();
 }
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
 
+import java.util.Map;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
 
@@ -29,4 +30,9 @@ public class DatastoreInfoMXBeanImpl extends AbstractMXBean implements Datastore
     public double getTransactionCreationRateLimit() {
         return actorContext.getTxCreationLimit();
     }
+
+    @Override
+    public Map<String, Integer> getShardOperationLimits() {
+        return actorContext.getShardOperationLimits().getLimits();
+    }
 }
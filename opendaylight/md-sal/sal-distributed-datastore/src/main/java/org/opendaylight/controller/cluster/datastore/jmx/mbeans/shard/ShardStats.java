@@ -347,6 +347,16 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
         return shard.getPendingTxCommitQueueSize();
     }
 
+    @Override
+    public int getNotificationQueueSize() {
+        return shard.getNotificationQueueSize();
+    }
+
+    @Override
+    public long getNotificationQueueLagInMillis() {
+        return shard.getNotificationQueueLagInMillis();
+    }
+
     @Override
     public void captureSnapshot() {
         if(shard != null) {
@@ -84,6 +84,10 @@ public interface ShardStatsMXBean {
 
    int getPendingTxCommitQueueSize();
 
+   int getNotificationQueueSize();
+
+   long getNotificationQueueLagInMillis();
+
    void captureSnapshot();
 
 }
@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore.messages;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
 
 /**
  * The reply for the BatchedModifications message.
@@ -20,6 +21,7 @@ public class BatchedModificationsReply extends VersionedExternalizableMessage {
     private static final long serialVersionUID = 1L;
 
     private int numBatched;
+    private int shardBacklog = -1;
 
     public BatchedModificationsReply() {
     }
@@ -28,20 +30,41 @@ public class BatchedModificationsReply extends VersionedExternalizableMessage {
         this.numBatched = numBatched;
     }
 
+    public BatchedModificationsReply(int numBatched, int shardBacklog, short version) {
+        super(version);
+        this.numBatched = numBatched;
+        this.shardBacklog = shardBacklog;
+    }
+
     public int getNumBatched() {
         return numBatched;
     }
 
+    /**
+     * Returns the number of ready transactions queued for commit on the shard when this reply was sent.
+     *
+     * @return the shard's commit backlog or -1 if the sender did not report it
+     */
+    public int getShardBacklog() {
+        return shardBacklog;
+    }
+
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         super.readExternal(in);
         numBatched = in.readInt();
+        if(getVersion() >= DataStoreVersions.BERYLLIUM_VERSION) {
+            shardBacklog = in.readInt();
+        }
     }
 
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         super.writeExternal(out);
         out.writeInt(numBatched);
+        if(getVersion() >= DataStoreVersions.BERYLLIUM_VERSION) {
+            out.writeInt(shardBacklog);
+        }
     }
 
     @Override
@@ -52,7 +75,8 @@ public class BatchedModificationsReply extends VersionedExternalizableMessage {
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
-        builder.append("BatchedModificationsReply [numBatched=").append(numBatched).append("]");
+        builder.append("BatchedModificationsReply [numBatched=").append(numBatched).append(", shardBacklog=")
+            .append(shardBacklog).append("]");
         return builder.toString();
     }
 }
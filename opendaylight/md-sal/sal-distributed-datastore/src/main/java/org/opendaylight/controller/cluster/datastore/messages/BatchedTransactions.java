@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Message used to send several BatchedModifications messages of the transactions of a transaction chain to a
+ * shard at once. The shard processes the messages in order, as if they had been sent one after another, and
+ * replies with a single {@link BatchedTransactionsReply} once the outcome of each message is known.
+ */
+public class BatchedTransactions extends VersionedExternalizableMessage {
+    private static final long serialVersionUID = 1L;
+
+    private List<BatchedModifications> messages;
+
+    public BatchedTransactions() {
+    }
+
+    public BatchedTransactions(List<BatchedModifications> messages, short version) {
+        super(version);
+        Preconditions.checkArgument(!messages.isEmpty(), "messages can't be empty");
+        this.messages = Collections.unmodifiableList(new ArrayList<>(messages));
+    }
+
+    public List<BatchedModifications> getMessages() {
+        return messages;
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+        int size = in.readInt();
+        List<BatchedModifications> list = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            BatchedModifications batched = new BatchedModifications();
+            batched.readExternal(in);
+            list.add(batched);
+        }
+
+        messages = Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+        out.writeInt(messages.size());
+        for(BatchedModifications batched: messages) {
+            batched.writeExternal(out);
+        }
+    }
+
+    @Override
+    public Object toSerializable() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchedTransactions [messages=" + messages.size() + "]";
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The reply for the BatchedTransactions message. Holds, in request order, the reply the shard would have sent
+ * for each message had it been sent on its own, ie a {@link BatchedModificationsReply}, a
+ * {@link ReadyTransactionReply}, a commit reply or an {@link akka.actor.Status.Failure}.
+ */
+public class BatchedTransactionsReply extends VersionedExternalizableMessage {
+    private static final long serialVersionUID = 1L;
+
+    private List<Object> replies;
+
+    public BatchedTransactionsReply() {
+    }
+
+    public BatchedTransactionsReply(List<Object> replies, short version) {
+        super(version);
+        this.replies = Collections.unmodifiableList(new ArrayList<>(replies));
+    }
+
+    public List<Object> getReplies() {
+        return replies;
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+        int size = in.readInt();
+        List<Object> list = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            list.add(in.readObject());
+        }
+
+        replies = Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+        out.writeInt(replies.size());
+        for(Object reply: replies) {
+            out.writeObject(reply);
+        }
+    }
+
+    @Override
+    public Object toSerializable() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchedTransactionsReply [replies=" + replies.size() + "]";
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Message sent to a ShardTransaction actor to read several paths at once. The shard replies with a
+ * {@link ReadDataBatchReply} containing the data for each path, in the order of the requested paths.
+ */
+public class ReadDataBatch extends VersionedExternalizableMessage {
+    private static final long serialVersionUID = 1L;
+
+    private List<YangInstanceIdentifier> paths;
+
+    public ReadDataBatch() {
+    }
+
+    public ReadDataBatch(List<YangInstanceIdentifier> paths, short version) {
+        super(version);
+        this.paths = ImmutableList.copyOf(paths);
+    }
+
+    public List<YangInstanceIdentifier> getPaths() {
+        return paths;
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+        int size = in.readInt();
+        List<YangInstanceIdentifier> list = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            list.add(SerializationUtils.deserializePath(in));
+        }
+
+        paths = list;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+        out.writeInt(paths.size());
+        for(YangInstanceIdentifier path: paths) {
+            SerializationUtils.serializePath(path, out);
+        }
+    }
+
+    @Override
+    public Object toSerializable() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadDataBatch [paths=" + paths + "]";
+    }
+}
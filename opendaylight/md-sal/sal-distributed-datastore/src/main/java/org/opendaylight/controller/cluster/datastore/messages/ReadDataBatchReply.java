@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import com.google.common.base.Optional;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.opendaylight.controller.cluster.datastore.utils.SerializationUtils;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * The reply for the ReadDataBatch message. Holds the data read for each requested path, in request order.
+ */
+public class ReadDataBatchReply extends VersionedExternalizableMessage {
+    private static final long serialVersionUID = 1L;
+
+    private List<Optional<NormalizedNode<?, ?>>> results;
+
+    public ReadDataBatchReply() {
+    }
+
+    public ReadDataBatchReply(List<Optional<NormalizedNode<?, ?>>> results, short version) {
+        super(version);
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+    }
+
+    public List<Optional<NormalizedNode<?, ?>>> getResults() {
+        return results;
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+        int size = in.readInt();
+        List<Optional<NormalizedNode<?, ?>>> list = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            list.add(Optional.<NormalizedNode<?, ?>>fromNullable(SerializationUtils.deserializeNormalizedNode(in)));
+        }
+
+        results = Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+        out.writeInt(results.size());
+        for(Optional<NormalizedNode<?, ?>> result: results) {
+            SerializationUtils.serializeNormalizedNode(result.orNull(), out);
+        }
+    }
+
+    @Override
+    public Object toSerializable() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadDataBatchReply [results=" + results.size() + "]";
+    }
+}
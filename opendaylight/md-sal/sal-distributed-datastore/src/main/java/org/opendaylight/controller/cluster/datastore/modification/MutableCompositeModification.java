@@ -119,9 +119,9 @@ public class MutableCompositeModification implements CompositeModification {
 
         out.writeInt(modifications.size());
 
-        if(modifications.size() > 1) {
-            SerializationUtils.REUSABLE_WRITER_TL.set(new NormalizedNodeOutputStreamWriter(out));
-        }
+        // The modifications share one writer, so they are all written in the stream version the recipient reads.
+        SerializationUtils.REUSABLE_WRITER_TL.set(new NormalizedNodeOutputStreamWriter(out,
+                SerializationUtils.streamVersion(version)));
 
         try {
             for(Modification mod: modifications) {
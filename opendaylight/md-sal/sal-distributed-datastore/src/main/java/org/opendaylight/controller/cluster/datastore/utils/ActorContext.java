@@ -93,6 +93,7 @@ public class ActorContext {
     private Timeout operationTimeout;
     private final String selfAddressHostPort;
     private TransactionRateLimiter txRateLimiter;
+    private ShardOperationLimits shardOperationLimits;
     private Timeout transactionCommitOperationTimeout;
     private Timeout shardInitializationTimeout;
     private final Dispatchers dispatchers;
@@ -134,6 +135,16 @@ public class ActorContext {
     }
 
     private void setCachedProperties() {
+        // Keep the limits learned from shard feedback across context updates
+        // 1 extra permit for the ready operation
+        final int maxOperationLimit = datastoreContext.getShardBatchedModificationCount() + 1;
+        if(shardOperationLimits == null) {
+            shardOperationLimits = new ShardOperationLimits(maxOperationLimit,
+                    datastoreContext.getShardBacklogThrottleThreshold());
+        } else {
+            shardOperationLimits.update(maxOperationLimit, datastoreContext.getShardBacklogThrottleThreshold());
+        }
+
         txRateLimiter = new TransactionRateLimiter(this);
 
         operationDuration = Duration.create(datastoreContext.getOperationTimeoutInMillis(), TimeUnit.MILLISECONDS);
@@ -504,6 +515,14 @@ public class ActorContext {
         return txRateLimiter.getTxCreationLimit();
     }
 
+    /**
+     * Get the per-shard limits on outstanding transaction operations, which are adjusted from shard feedback
+     * @return
+     */
+    public ShardOperationLimits getShardOperationLimits() {
+        return shardOperationLimits;
+    }
+
     /**
      * Try to acquire a transaction creation permit. Will block if no permits are available.
      */
@@ -9,6 +9,7 @@ package org.opendaylight.controller.cluster.datastore.utils;
 
 import com.google.common.base.Optional;
 import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
@@ -18,15 +19,19 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailed
 import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
+/**
+ * Combines nodes read from several shards into a single tree. Nodes can either be aggregated in one go via
+ * {@link #aggregate(YangInstanceIdentifier, List, SchemaContext)} or merged one at a time as they become
+ * available via {@link #merge(Optional)}, in which case each node is folded into the aggregate tree right away
+ * and need not be retained by the caller.
+ */
+@ThreadSafe
 public class NormalizedNodeAggregator {
     private final YangInstanceIdentifier rootIdentifier;
-    private final List<Optional<NormalizedNode<?, ?>>> nodes;
     private final DataTree dataTree;
 
-    private NormalizedNodeAggregator(final YangInstanceIdentifier rootIdentifier, final List<Optional<NormalizedNode<?, ?>>> nodes,
-                             final SchemaContext schemaContext) {
+    public NormalizedNodeAggregator(final YangInstanceIdentifier rootIdentifier, final SchemaContext schemaContext) {
         this.rootIdentifier = rootIdentifier;
-        this.nodes = nodes;
         this.dataTree = InMemoryDataTreeFactory.getInstance().create();
         this.dataTree.setSchemaContext(schemaContext);
     }
@@ -42,14 +47,34 @@ public class NormalizedNodeAggregator {
     public static Optional<NormalizedNode<?,?>> aggregate(final YangInstanceIdentifier rootIdentifier,
                                                           final List<Optional<NormalizedNode<?, ?>>> nodes,
                                                           final SchemaContext schemaContext) throws DataValidationFailedException {
-        return new NormalizedNodeAggregator(rootIdentifier, nodes, schemaContext).aggregate();
+        final NormalizedNodeAggregator aggregator = new NormalizedNodeAggregator(rootIdentifier, schemaContext);
+        aggregator.combine(nodes);
+        return aggregator.getAggregatedNode();
     }
 
-    private Optional<NormalizedNode<?,?>> aggregate() throws DataValidationFailedException {
-        return combine().getRootNode();
+    /**
+     * Merges a node into the aggregate tree.
+     *
+     * @param node the node read at the root identifier, possibly absent
+     * @throws DataValidationFailedException if the node cannot be merged with the nodes merged so far
+     */
+    public synchronized void merge(final Optional<NormalizedNode<?, ?>> node) throws DataValidationFailedException {
+        if (node.isPresent()) {
+            final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+            mod.merge(rootIdentifier, node.get());
+            commit(mod);
+        }
     }
 
-    private NormalizedNodeAggregator combine() throws DataValidationFailedException {
+    /**
+     * Returns the tree aggregated from the nodes merged so far.
+     */
+    public synchronized Optional<NormalizedNode<?, ?>> getAggregatedNode() {
+        return dataTree.takeSnapshot().readNode(rootIdentifier);
+    }
+
+    private synchronized void combine(final List<Optional<NormalizedNode<?, ?>>> nodes)
+            throws DataValidationFailedException {
         final DataTreeModification mod = dataTree.takeSnapshot().newModification();
 
         for (final Optional<NormalizedNode<?,?>> node : nodes) {
@@ -57,15 +82,14 @@ public class NormalizedNodeAggregator {
                 mod.merge(rootIdentifier, node.get());
             }
         }
+
+        commit(mod);
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
         mod.ready();
         dataTree.validate(mod);
         final DataTreeCandidate candidate = dataTree.prepare(mod);
         dataTree.commit(candidate);
-
-        return this;
-    }
-
-    private Optional<NormalizedNode<?, ?>> getRootNode() {
-        return dataTree.takeSnapshot().readNode(rootIdentifier);
     }
 }
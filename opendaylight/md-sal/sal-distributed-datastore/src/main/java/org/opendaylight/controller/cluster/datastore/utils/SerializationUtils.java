@@ -16,6 +16,7 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
 import org.opendaylight.controller.cluster.datastore.node.NormalizedNodeToNodeCodec;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.InvalidNormalizedNodeStreamException;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputStreamReader;
@@ -37,6 +38,14 @@ public final class SerializationUtils {
         void apply(T instance, YangInstanceIdentifier path, NormalizedNode<?, ?> node);
     }
 
+    /**
+     * Returns the NormalizedNode stream version to use for a peer with the given DataStoreVersions version.
+     */
+    public static short streamVersion(short dataStoreVersion) {
+        return dataStoreVersion >= DataStoreVersions.BORON_VERSION ? NormalizedNodeOutputStreamWriter.BERYLLIUM_VERSION :
+            NormalizedNodeOutputStreamWriter.LITHIUM_VERSION;
+    }
+
     private static NormalizedNodeOutputStreamWriter streamWriter(DataOutput out) throws IOException {
         NormalizedNodeOutputStreamWriter streamWriter = REUSABLE_WRITER_TL.get();
         if(streamWriter == null) {
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import com.google.common.base.Preconditions;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains, per shard, the number of operations a transaction may have outstanding to that shard. The limits
+ * are adjusted in AIMD fashion from the commit backlog shards report in their replies: a backlog above the
+ * threshold halves the limit, at most once per window of replies, otherwise it grows by one up to the maximum.
+ */
+public class ShardOperationLimits {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardOperationLimits.class);
+
+    private final ConcurrentMap<String, Limit> limits = new ConcurrentHashMap<>();
+    private volatile int maxLimit;
+    private volatile int backlogThreshold;
+
+    /**
+     * Constructor.
+     *
+     * @param maxLimit the maximum, and initial, limit for each shard
+     * @param backlogThreshold the shard backlog above which limits are reduced, 0 to disable adjustments
+     */
+    public ShardOperationLimits(final int maxLimit, final int backlogThreshold) {
+        update(maxLimit, backlogThreshold);
+    }
+
+    /**
+     * Applies new settings while keeping the limits learned so far. Limits above the new maximum are lowered to
+     * it, and if adjustments are disabled all limits go back to the maximum.
+     *
+     * @param maxLimit the maximum, and initial, limit for each shard
+     * @param backlogThreshold the shard backlog above which limits are reduced, 0 to disable adjustments
+     */
+    public void update(final int maxLimit, final int backlogThreshold) {
+        Preconditions.checkArgument(maxLimit > 0);
+        Preconditions.checkArgument(backlogThreshold >= 0);
+        this.maxLimit = maxLimit;
+        this.backlogThreshold = backlogThreshold;
+
+        for(Limit limit: limits.values()) {
+            if(backlogThreshold == 0) {
+                limit.value.set(maxLimit);
+            } else {
+                limit.lowerTo(maxLimit);
+            }
+        }
+    }
+
+    public Limit forShard(final String shardName) {
+        Limit limit = limits.get(shardName);
+        if(limit == null) {
+            final Limit newLimit = new Limit(shardName);
+            limit = limits.putIfAbsent(shardName, newLimit);
+            if(limit == null) {
+                limit = newLimit;
+            }
+        }
+
+        return limit;
+    }
+
+    /**
+     * Returns the current limit of each shard transactions have been created on.
+     */
+    public Map<String, Integer> getLimits() {
+        final Map<String, Integer> ret = new HashMap<>(limits.size());
+        for(Limit limit: limits.values()) {
+            ret.put(limit.shardName, limit.get());
+        }
+
+        return ret;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public final class Limit {
+        private final AtomicInteger value = new AtomicInteger(maxLimit);
+        private final AtomicLong replies = new AtomicLong();
+        private final AtomicLong decreaseWindowEnd = new AtomicLong();
+        private final String shardName;
+
+        private Limit(final String shardName) {
+            this.shardName = shardName;
+        }
+
+        public int get() {
+            return value.get();
+        }
+
+        private void lowerTo(final int max) {
+            while(true) {
+                final int current = value.get();
+                if(current <= max || value.compareAndSet(current, max)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Adjusts the limit from the commit backlog reported by the shard. The limit is reduced at most once per
+         * window: after a reduction, further backlog reports are ignored until as many replies have arrived as
+         * operations the previous limit allowed to be outstanding, as those replies were already on their way.
+         *
+         * @param shardBacklog the shard's backlog, negative if the shard did not report it
+         */
+        public void onShardBacklog(final int shardBacklog) {
+            final int threshold = backlogThreshold;
+            if(threshold == 0 || shardBacklog < 0) {
+                return;
+            }
+
+            final long reply = replies.incrementAndGet();
+            if(shardBacklog > threshold) {
+                final long windowEnd = decreaseWindowEnd.get();
+                final int current = value.get();
+                if(reply < windowEnd || !decreaseWindowEnd.compareAndSet(windowEnd, reply + current)) {
+                    // Still within the window of the last reduction or another reply is reducing the limit
+                    return;
+                }
+
+                decrease(shardBacklog);
+                return;
+            }
+
+            final int max = maxLimit;
+            while(true) {
+                final int current = value.get();
+                final int next = Math.min(max, current + 1);
+                if(next == current || value.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        private void decrease(final int shardBacklog) {
+            while(true) {
+                final int current = value.get();
+                final int next = Math.max(1, current / 2);
+                if(next == current) {
+                    return;
+                }
+
+                if(value.compareAndSet(current, next)) {
+                    LOG.debug("Shard {} reported backlog {} - reduced operation limit to {}",
+                            shardName, shardBacklog, next);
+                    return;
+                }
+            }
+        }
+    }
+}
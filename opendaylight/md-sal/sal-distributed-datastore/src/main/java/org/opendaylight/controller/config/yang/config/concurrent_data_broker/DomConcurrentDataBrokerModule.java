@@ -78,7 +78,8 @@ public class DomConcurrentDataBrokerModule extends AbstractDomConcurrentDataBrok
 
         if(commitStatsTracker != null) {
             final CommitStatsMXBeanImpl commitStatsMXBean = new CommitStatsMXBeanImpl(
-                    commitStatsTracker, JMX_BEAN_TYPE);
+                    commitStatsTracker, cdb.getSingleCohortStatsTracker(), cdb.getMultiCohortStatsTracker(),
+                    JMX_BEAN_TYPE);
             commitStatsMXBean.registerMBean();
             mBeans.add(commitStatsMXBean);
         }
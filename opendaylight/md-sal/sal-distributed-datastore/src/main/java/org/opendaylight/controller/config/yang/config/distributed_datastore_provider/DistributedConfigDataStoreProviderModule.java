@@ -70,6 +70,17 @@ public class DistributedConfigDataStoreProviderModule extends
                 .transactionDebugContextEnabled(props.getTransactionDebugContextEnabled())
                 .customRaftPolicyImplementation(props.getCustomRaftPolicyImplementation())
                 .shardSnapshotChunkSize(props.getShardSnapshotChunkSize().getValue().intValue())
+                .shardMaxInFlightAppendEntries(props.getShardMaxInFlightAppendEntries().getValue().intValue())
+                .shardJournalGroupCommitMaxBatchSize(props.getShardJournalGroupCommitMaxBatchSize().getValue().intValue())
+                .shardJournalGroupCommitWindowInMillis(props.getShardJournalGroupCommitWindowInMillis())
+                .shardReplicatedLogOffHeap(props.getShardReplicatedLogOffHeap())
+                .shardSegmentedJournalEnabled(props.getShardSegmentedJournalEnabled())
+                .shardMaxCommitBatchSize(props.getShardMaxCommitBatchSize().getValue().intValue())
+                .shardMaxInFlightDataTreeChangeNotifications(props.getShardMaxInFlightDataTreeChangeNotifications().intValue())
+                .shardFollowerReadsEnabled(props.getShardFollowerReadsEnabled().booleanValue())
+                .shardFollowerReadMaxLag(props.getShardFollowerReadMaxLag().intValue())
+                .shardBacklogThrottleThreshold(props.getShardBacklogThrottleThreshold().intValue())
+                .transactionChainBatchingEnabled(props.getTransactionChainBatchingEnabled().booleanValue())
                 .build();
 
         return DistributedDataStoreFactory.createInstance(getConfigSchemaServiceDependency(),
@@ -238,6 +238,21 @@ public abstract class AbstractShardTest extends AbstractActorTest{
             }
         }).when(cohort).getCandidate();
 
+        doAnswer(new Answer<DataTreeModification>() {
+            @Override
+            public DataTreeModification answer(final InvocationOnMock invocation) {
+                return actual.getDataTreeModification();
+            }
+        }).when(cohort).getDataTreeModification();
+
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                actual.batchCommitted();
+                return null;
+            }
+        }).when(cohort).batchCommitted();
+
         return cohort;
     }
 
@@ -170,6 +170,55 @@ public class ConcurrentDOMDataBrokerTest {
         inOrder.verify(mockCohort2).commit();
     }
 
+    @Test
+    public void testSingleCohortSubmit() throws Exception {
+        doReturn(Futures.immediateFuture(true)).when(mockCohort1).canCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort1).preCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort1).commit();
+
+        coordinator.submit(transaction, Arrays.asList(mockCohort1)).checkedGet(5, TimeUnit.SECONDS);
+
+        InOrder inOrder = inOrder(mockCohort1);
+        inOrder.verify(mockCohort1).canCommit();
+        inOrder.verify(mockCohort1).preCommit();
+        inOrder.verify(mockCohort1).commit();
+
+        assertEquals("Total commits", 1, coordinator.getCommitStatsTracker().getTotalDurations());
+        assertEquals("Single cohort commits", 1, coordinator.getSingleCohortStatsTracker().getTotalDurations());
+        assertEquals("Multi cohort commits", 0, coordinator.getMultiCohortStatsTracker().getTotalDurations());
+    }
+
+    @Test
+    public void testPreCommitIssuedToAllCohorts() throws Exception {
+        final SettableFuture<Void> preCommit1 = SettableFuture.create();
+
+        doReturn(Futures.immediateFuture(true)).when(mockCohort1).canCommit();
+        doReturn(preCommit1).when(mockCohort1).preCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort1).commit();
+
+        doReturn(Futures.immediateFuture(true)).when(mockCohort2).canCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort2).preCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort2).commit();
+
+        CheckedFuture<Void, TransactionCommitFailedException> future = coordinator.submit(
+                transaction, Arrays.asList(mockCohort1, mockCohort2));
+
+        // The second cohort's preCommit must not wait for the first one's to complete.
+        verify(mockCohort2).preCommit();
+        verify(mockCohort1, never()).commit();
+        verify(mockCohort2, never()).commit();
+
+        preCommit1.set(null);
+
+        future.checkedGet(5, TimeUnit.SECONDS);
+
+        verify(mockCohort1).commit();
+        verify(mockCohort2).commit();
+
+        assertEquals("Multi cohort commits", 1, coordinator.getMultiCohortStatsTracker().getTotalDurations());
+        assertEquals("Single cohort commits", 0, coordinator.getSingleCohortStatsTracker().getTotalDurations());
+    }
+
     @Test
     public void testSubmitWithNegativeCanCommitResponse() throws Exception {
         doReturn(Futures.immediateFuture(true)).when(mockCohort1).canCommit();
@@ -9,6 +9,7 @@ package org.opendaylight.controller.cluster.datastore;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 import java.io.IOException;
@@ -16,6 +17,7 @@ import java.util.Collection;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -107,6 +109,11 @@ public class DataTreeCandidatePayloadTest {
     public void testCandidateSerialization() throws IOException {
         final DataTreeCandidatePayload payload = DataTreeCandidatePayload.create(candidate);
         assertEquals("payload size", 141, payload.size());
+
+        final DataTreeCandidatePayload compactPayload = DataTreeCandidatePayload.create(candidate,
+                NormalizedNodeOutputStreamWriter.BERYLLIUM_VERSION);
+        assertEquals("payload size", 124, compactPayload.size());
+        assertCandidateEquals(candidate, SerializationUtils.clone(compactPayload).getCandidate());
     }
 
     @Test
@@ -120,4 +127,26 @@ public class DataTreeCandidatePayloadTest {
         final DataTreeCandidatePayload payload = DataTreeCandidatePayload.create(candidate);
         assertCandidateEquals(candidate, SerializationUtils.clone(payload).getCandidate());
     }
+
+    @Test
+    public void testCandidateNotRetained() throws IOException {
+        final DataTreeCandidatePayload payload = SerializationUtils.clone(DataTreeCandidatePayload.create(candidate));
+        final DataTreeCandidate parsed = payload.getCandidate();
+        assertNotSame("parsed candidate", parsed, payload.getCandidate());
+        assertCandidateEquals(candidate, payload.getCandidate());
+    }
+
+    @Test
+    public void testPooledBufferReuse() throws IOException {
+        final DataTreeCandidatePayload payload1 = DataTreeCandidatePayload.create(candidate);
+
+        final DataTreeCandidate other = DataTreeCandidates.fromNormalizedNode(TestModel.TEST_PATH,
+                ImmutableContainerNodeBuilder.create().withNodeIdentifier(
+                    new YangInstanceIdentifier.NodeIdentifier(TestModel.TEST_QNAME)).
+                    withChild(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "bar")).build());
+        final DataTreeCandidatePayload payload2 = DataTreeCandidatePayload.create(other);
+
+        assertCandidateEquals(candidate, SerializationUtils.clone(payload1).getCandidate());
+        assertCandidateEquals(other, SerializationUtils.clone(payload2).getCandidate());
+    }
 }
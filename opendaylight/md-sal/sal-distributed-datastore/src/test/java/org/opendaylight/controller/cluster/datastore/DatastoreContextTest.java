@@ -64,6 +64,17 @@ public class DatastoreContextTest {
         assertEquals(InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE,
                 context.getDataStoreProperties().getMaxDataStoreExecutorQueueSize());
         assertEquals(DEFAULT_SHARD_SNAPSHOT_CHUNK_SIZE, context.getShardSnapshotChunkSize());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_MAX_IN_FLIGHT_APPEND_ENTRIES, context.getShardMaxInFlightAppendEntries());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_JOURNAL_GROUP_COMMIT_MAX_BATCH_SIZE, context.getShardJournalGroupCommitMaxBatchSize());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_JOURNAL_GROUP_COMMIT_WINDOW_IN_MILLIS, context.getShardJournalGroupCommitWindowInMillis());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_REPLICATED_LOG_OFF_HEAP, context.isShardReplicatedLogOffHeap());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_SEGMENTED_JOURNAL_ENABLED, context.isShardSegmentedJournalEnabled());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_MAX_COMMIT_BATCH_SIZE, context.getShardMaxCommitBatchSize());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_MAX_IN_FLIGHT_DATA_TREE_CHANGE_NOTIFICATIONS, context.getShardMaxInFlightDataTreeChangeNotifications());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_FOLLOWER_READS_ENABLED, context.isShardFollowerReadsEnabled());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_FOLLOWER_READ_MAX_LAG, context.getShardFollowerReadMaxLag());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_BACKLOG_THROTTLE_THRESHOLD, context.getShardBacklogThrottleThreshold());
+        assertEquals(DatastoreContext.DEFAULT_TRANSACTION_CHAIN_BATCHING_ENABLED, context.isTransactionChainBatchingEnabled());
     }
 
     @Test
@@ -99,6 +110,17 @@ public class DatastoreContextTest {
         builder.maxShardDataStoreExecutorQueueSize(
                 InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE + 1);
         builder.shardSnapshotChunkSize(DEFAULT_SHARD_SNAPSHOT_CHUNK_SIZE+1);
+        builder.shardMaxInFlightAppendEntries(DatastoreContext.DEFAULT_SHARD_MAX_IN_FLIGHT_APPEND_ENTRIES + 1);
+        builder.shardJournalGroupCommitMaxBatchSize(DatastoreContext.DEFAULT_SHARD_JOURNAL_GROUP_COMMIT_MAX_BATCH_SIZE + 1);
+        builder.shardJournalGroupCommitWindowInMillis(DatastoreContext.DEFAULT_SHARD_JOURNAL_GROUP_COMMIT_WINDOW_IN_MILLIS + 1);
+        builder.shardReplicatedLogOffHeap(!DatastoreContext.DEFAULT_SHARD_REPLICATED_LOG_OFF_HEAP);
+        builder.shardSegmentedJournalEnabled(!DatastoreContext.DEFAULT_SHARD_SEGMENTED_JOURNAL_ENABLED);
+        builder.shardMaxCommitBatchSize(DatastoreContext.DEFAULT_SHARD_MAX_COMMIT_BATCH_SIZE + 5);
+        builder.shardMaxInFlightDataTreeChangeNotifications(DatastoreContext.DEFAULT_SHARD_MAX_IN_FLIGHT_DATA_TREE_CHANGE_NOTIFICATIONS + 2);
+        builder.shardFollowerReadsEnabled(!DatastoreContext.DEFAULT_SHARD_FOLLOWER_READS_ENABLED);
+        builder.shardFollowerReadMaxLag(DatastoreContext.DEFAULT_SHARD_FOLLOWER_READ_MAX_LAG + 5);
+        builder.shardBacklogThrottleThreshold(DatastoreContext.DEFAULT_SHARD_BACKLOG_THROTTLE_THRESHOLD + 10);
+        builder.transactionChainBatchingEnabled(!DatastoreContext.DEFAULT_TRANSACTION_CHAIN_BATCHING_ENABLED);
 
         DatastoreContext context = builder.build();
 
@@ -149,5 +171,17 @@ public class DatastoreContextTest {
         assertEquals(InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE + 1,
                 context.getDataStoreProperties().getMaxDataStoreExecutorQueueSize());
         assertEquals(DEFAULT_SHARD_SNAPSHOT_CHUNK_SIZE + 1, context.getShardSnapshotChunkSize());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_MAX_IN_FLIGHT_APPEND_ENTRIES + 1, context.getShardMaxInFlightAppendEntries());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_JOURNAL_GROUP_COMMIT_MAX_BATCH_SIZE + 1, context.getShardJournalGroupCommitMaxBatchSize());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_JOURNAL_GROUP_COMMIT_WINDOW_IN_MILLIS + 1, context.getShardJournalGroupCommitWindowInMillis());
+        assertEquals(!DatastoreContext.DEFAULT_SHARD_REPLICATED_LOG_OFF_HEAP, context.isShardReplicatedLogOffHeap());
+        assertEquals(!DatastoreContext.DEFAULT_SHARD_SEGMENTED_JOURNAL_ENABLED,
+                context.isShardSegmentedJournalEnabled());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_MAX_COMMIT_BATCH_SIZE + 5, context.getShardMaxCommitBatchSize());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_MAX_IN_FLIGHT_DATA_TREE_CHANGE_NOTIFICATIONS + 2, context.getShardMaxInFlightDataTreeChangeNotifications());
+        assertEquals(!DatastoreContext.DEFAULT_SHARD_FOLLOWER_READS_ENABLED, context.isShardFollowerReadsEnabled());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_FOLLOWER_READ_MAX_LAG + 5, context.getShardFollowerReadMaxLag());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_BACKLOG_THROTTLE_THRESHOLD + 10, context.getShardBacklogThrottleThreshold());
+        assertEquals(!DatastoreContext.DEFAULT_TRANSACTION_CHAIN_BATCHING_ENABLED, context.isTransactionChainBatchingEnabled());
     }
 }
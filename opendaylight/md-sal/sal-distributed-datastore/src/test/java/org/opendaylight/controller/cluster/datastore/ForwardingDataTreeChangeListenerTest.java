@@ -9,12 +9,17 @@ package org.opendaylight.controller.cluster.datastore;
 
 import akka.actor.ActorRef;
 import akka.actor.Props;
+import akka.testkit.JavaTestKit;
+import akka.util.Timeout;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.opendaylight.controller.cluster.datastore.messages.DataTreeChanged;
+import org.opendaylight.controller.cluster.datastore.messages.DataTreeChangedReply;
 import org.opendaylight.controller.cluster.datastore.utils.MessageCollectorActor;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 
@@ -34,4 +39,35 @@ public class ForwardingDataTreeChangeListenerTest extends AbstractActorTest {
         DataTreeChanged actual = MessageCollectorActor.expectFirstMatching(actorRef, DataTreeChanged.class);
         Assert.assertSame(expected, actual.getChanges());
     }
+
+    @Test
+    public void testOnDataChangedWithFlowControl() throws Exception {
+        final JavaTestKit kit = new JavaTestKit(getSystem());
+
+        ForwardingDataTreeChangeListener forwardingListener = new ForwardingDataTreeChangeListener(
+                getSystem().actorSelection(kit.getRef().path()), 1, new Timeout(5, TimeUnit.SECONDS));
+
+        DataTreeCandidate candidate1 = Mockito.mock(DataTreeCandidate.class);
+        DataTreeCandidate candidate2 = Mockito.mock(DataTreeCandidate.class);
+        DataTreeCandidate candidate3 = Mockito.mock(DataTreeCandidate.class);
+        forwardingListener.onDataTreeChanged(Collections.singletonList(candidate1));
+        forwardingListener.onDataTreeChanged(Collections.singletonList(candidate2));
+        forwardingListener.onDataTreeChanged(Collections.singletonList(candidate3));
+
+        DataTreeChanged actual = kit.expectMsgClass(DataTreeChanged.class);
+        Assert.assertEquals(Arrays.asList(candidate1), actual.getChanges());
+        kit.expectNoMsg(kit.duration("200 milliseconds"));
+
+        kit.reply(DataTreeChangedReply.getInstance());
+
+        actual = kit.expectMsgClass(DataTreeChanged.class);
+        Assert.assertEquals(Arrays.asList(candidate2, candidate3), actual.getChanges());
+
+        kit.reply(DataTreeChangedReply.getInstance());
+
+        forwardingListener.onDataTreeChanged(Collections.singletonList(candidate1));
+
+        actual = kit.expectMsgClass(DataTreeChanged.class);
+        Assert.assertEquals(Arrays.asList(candidate1), actual.getChanges());
+    }
 }
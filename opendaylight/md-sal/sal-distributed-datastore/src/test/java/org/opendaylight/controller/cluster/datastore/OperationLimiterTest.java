@@ -12,6 +12,7 @@ import org.junit.Test;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModificationsReply;
 import org.opendaylight.controller.cluster.datastore.messages.DataExistsReply;
+import org.opendaylight.controller.cluster.datastore.utils.ShardOperationLimits;
 
 /**
  * Unit tests for OperationCompleter.
@@ -41,4 +42,35 @@ public class OperationLimiterTest {
         assertEquals("availablePermits", availablePermits, limiter.availablePermits());
     }
 
+    @Test
+    public void testShardBacklogFeedback() throws Exception {
+        ShardOperationLimits limits = new ShardOperationLimits(10, 5);
+        OperationLimiter limiter = new OperationLimiter(new TransactionIdentifier("foo", 1), 10, 1,
+                limits.forShard("shard"));
+
+        limiter.acquire();
+        assertEquals("availablePermits", 9, limiter.availablePermits());
+
+        // A backlog above the threshold halves the limit
+        limiter.onComplete(null, new BatchedModificationsReply(1, 6, DataStoreVersions.CURRENT_VERSION));
+        assertEquals("Shard limit", 5, limits.forShard("shard").get());
+
+        limiter.acquire();
+        assertEquals("availablePermits", 4, limiter.availablePermits());
+
+        // A backlog at or below the threshold grows the limit by one
+        limiter.onComplete(null, new BatchedModificationsReply(1, 5, DataStoreVersions.CURRENT_VERSION));
+        assertEquals("Shard limit", 6, limits.forShard("shard").get());
+
+        limiter.acquire();
+        assertEquals("availablePermits", 5, limiter.availablePermits());
+
+        // No backlog reported
+        limiter.onComplete(null, new BatchedModificationsReply(1));
+        assertEquals("Shard limit", 6, limits.forShard("shard").get());
+
+        limiter.acquire();
+        limiter.releaseAll();
+        assertEquals("availablePermits", 6, limiter.availablePermits());
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.opendaylight.controller.md.cluster.datastore.model.TestModel.TEST_PATH;
+import static org.opendaylight.controller.md.cluster.datastore.model.TestModel.outerEntryPath;
+import static org.opendaylight.controller.md.cluster.datastore.model.TestModel.testNodeWithOuter;
+import com.google.common.base.Optional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+
+public class ShardDataTreeNotificationDispatcherTest {
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final Executor executor = new Executor() {
+        @Override
+        public void execute(final Runnable command) {
+            tasks.add(command);
+        }
+    };
+
+    private static DataTreeCandidate candidate(final int id) {
+        return DataTreeCandidates.fromNormalizedNode(TEST_PATH, testNodeWithOuter(id));
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<DataTreeCandidate> verifyNotified(final DOMDataTreeChangeListener listener) {
+        ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(listener).onDataTreeChanged(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testQueuedCandidatesAreCoalesced() {
+        ShardDataTreeNotificationDispatcher dispatcher = new ShardDataTreeNotificationDispatcher("test", executor, 100);
+        DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        dispatcher.registerTreeChangeListener(TEST_PATH, listener, Optional.<DataTreeCandidate>absent());
+
+        dispatcher.publish(candidate(1));
+        dispatcher.publish(candidate(2));
+        dispatcher.publish(candidate(3));
+
+        assertEquals("Scheduled tasks", 1, tasks.size());
+        assertEquals("getQueueSize", 4, dispatcher.getQueueSize());
+        verifyZeroInteractions(listener);
+
+        runTasks();
+
+        assertEquals("Notified changes", 3, verifyNotified(listener).size());
+        assertEquals("getQueueSize", 0, dispatcher.getQueueSize());
+        assertEquals("getQueueLagInMillis", 0, dispatcher.getQueueLagInMillis());
+
+        reset(listener);
+        dispatcher.publish(candidate(4));
+        runTasks();
+
+        assertEquals("Notified changes", 1, verifyNotified(listener).size());
+    }
+
+    @Test
+    public void testListenerDoesNotSeeCandidatesQueuedBeforeRegistration() {
+        ShardDataTreeNotificationDispatcher dispatcher = new ShardDataTreeNotificationDispatcher("test", executor, 100);
+        dispatcher.publish(candidate(1));
+
+        DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        dispatcher.registerTreeChangeListener(TEST_PATH, listener, Optional.of(candidate(1)));
+
+        runTasks();
+
+        Collection<DataTreeCandidate> changes = verifyNotified(listener);
+        assertEquals("Notified changes", 1, changes.size());
+        assertEquals("Root path", TEST_PATH, changes.iterator().next().getRootPath());
+
+        reset(listener);
+        dispatcher.publish(candidate(2));
+        runTasks();
+
+        assertEquals("Notified changes", 1, verifyNotified(listener).size());
+    }
+
+    @Test
+    public void testClosedRegistration() {
+        ShardDataTreeNotificationDispatcher dispatcher = new ShardDataTreeNotificationDispatcher("test", executor, 100);
+        DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        ListenerRegistration<DOMDataTreeChangeListener> reg = dispatcher.registerTreeChangeListener(
+                outerEntryPath(1), listener, Optional.<DataTreeCandidate>absent());
+        assertEquals("getInstance", listener, reg.getInstance());
+
+        reg.close();
+        dispatcher.publish(candidate(1));
+        runTasks();
+
+        verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void testQueueBound() {
+        ShardDataTreeNotificationDispatcher dispatcher = new ShardDataTreeNotificationDispatcher("test", executor, 2);
+        DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        dispatcher.registerTreeChangeListener(TEST_PATH, listener, Optional.<DataTreeCandidate>absent());
+
+        for (int i = 1; i <= 5; i++) {
+            dispatcher.publish(candidate(i));
+        }
+
+        assertEquals("getQueueSize", 2, dispatcher.getQueueSize());
+
+        runTasks();
+
+        assertEquals("Notified changes", 5, verifyNotified(listener).size());
+    }
+
+    @Test
+    public void testDirectExecutor() {
+        ShardDataTree shardDataTree = new ShardDataTree(TestModel.createTestContext());
+        DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        shardDataTree.registerDispatchedTreeChangeListener(TEST_PATH, listener);
+
+        shardDataTree.notifyListeners(candidate(1));
+
+        verify(listener).onDataTreeChanged(anyCollectionOf(DataTreeCandidate.class));
+    }
+}
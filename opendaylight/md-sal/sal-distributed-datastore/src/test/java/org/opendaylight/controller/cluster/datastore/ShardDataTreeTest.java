@@ -9,7 +9,9 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import com.google.common.base.Optional;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -121,6 +123,22 @@ public class ShardDataTreeTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testApplyPendingForeignCandidates() throws ExecutionException, InterruptedException {
+        ShardDataTree leaderDataTree = new ShardDataTree(fullSchema);
+        ShardDataTree followerDataTree = new ShardDataTree(fullSchema);
+
+        followerDataTree.enqueueForeignCandidate("txn-1", addCar(leaderDataTree));
+        followerDataTree.enqueueForeignCandidate("txn-2", removeCar(leaderDataTree));
+        followerDataTree.enqueueForeignCandidate("txn-3", addCar(leaderDataTree));
+
+        assertTrue(followerDataTree.hasPendingForeignCandidates());
+
+        // Reading the follower's data tree applies the pending candidates
+        assertEquals(getCars(leaderDataTree), getCars(followerDataTree));
+        assertFalse(followerDataTree.hasPendingForeignCandidates());
+    }
+
     private static NormalizedNode<?, ?> getCars(ShardDataTree shardDataTree) {
         ReadOnlyShardDataTreeTransaction readOnlyShardDataTreeTransaction = shardDataTree.newReadOnlyTransaction("txn-2", null);
         DataTreeSnapshot snapshot1 = readOnlyShardDataTreeTransaction.getSnapshot();
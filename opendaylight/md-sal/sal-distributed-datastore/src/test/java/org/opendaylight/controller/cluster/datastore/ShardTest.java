@@ -38,9 +38,12 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -55,6 +58,8 @@ import org.opendaylight.controller.cluster.datastore.messages.AbortTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.AbortTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModifications;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModificationsReply;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedTransactions;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedTransactionsReply;
 import org.opendaylight.controller.cluster.datastore.messages.CanCommitTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CanCommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransaction;
@@ -93,6 +98,8 @@ import org.opendaylight.controller.cluster.raft.base.messages.ElectionTimeout;
 import org.opendaylight.controller.cluster.raft.base.messages.FollowerInitialSyncUpStatus;
 import org.opendaylight.controller.cluster.raft.client.messages.FindLeader;
 import org.opendaylight.controller.cluster.raft.client.messages.FindLeaderReply;
+import org.opendaylight.controller.cluster.raft.client.messages.GetOnDemandRaftState;
+import org.opendaylight.controller.cluster.raft.client.messages.OnDemandRaftState;
 import org.opendaylight.controller.cluster.raft.messages.RequestVote;
 import org.opendaylight.controller.cluster.raft.messages.ServerRemoved;
 import org.opendaylight.controller.cluster.raft.utils.InMemoryJournal;
@@ -1090,6 +1097,57 @@ public class ShardTest extends AbstractShardTest {
         }};
     }
 
+    @Test
+    public void testBatchedTransactionsOnTransactionChain() throws Throwable {
+        new ShardTestKit(getSystem()) {{
+            final TestActorRef<Shard> shard = TestActorRef.create(getSystem(),
+                    newShardProps().withDispatcher(Dispatchers.DefaultDispatcherId()),
+                    "testBatchedTransactionsOnTransactionChain");
+
+            waitUntilLeader(shard);
+
+            final String transactionChainID = "txChain";
+            final String transactionID1 = "tx1";
+            final String transactionID2 = "tx2";
+            final String transactionID3 = "tx3";
+
+            final FiniteDuration duration = duration("5 seconds");
+
+            // Send the messages of 3 chained transactions at once - the first is committed on ready, the second
+            // is only readied and the third has an incorrect message count.
+
+            final ContainerNode containerNode = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+            final MapNode outerList = ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build();
+            shard.tell(new BatchedTransactions(Arrays.asList(
+                    newBatchedModifications(transactionID1, transactionChainID, TestModel.TEST_PATH,
+                            containerNode, true, true, 1),
+                    newBatchedModifications(transactionID2, transactionChainID, TestModel.OUTER_LIST_PATH,
+                            outerList, true, false, 1),
+                    newBatchedModifications(transactionID3, transactionChainID, TestModel.OUTER_LIST_PATH,
+                            outerList, true, true, 2)), CURRENT_VERSION), getRef());
+
+            final BatchedTransactionsReply reply = expectMsgClass(duration, BatchedTransactionsReply.class);
+            assertEquals("Replies", 3, reply.getReplies().size());
+            assertEquals("Reply 1", CommitTransactionReply.SERIALIZABLE_CLASS, reply.getReplies().get(0).getClass());
+            assertEquals("Reply 2", ReadyTransactionReply.class, reply.getReplies().get(1).getClass());
+            assertEquals("Reply 3", Failure.class, reply.getReplies().get(2).getClass());
+
+            // The second transaction's commit is replied to directly.
+
+            shard.tell(new CanCommitTransaction(transactionID2).toSerializable(), getRef());
+            final CanCommitTransactionReply canCommitReply = CanCommitTransactionReply.fromSerializable(
+                    expectMsgClass(duration, CanCommitTransactionReply.SERIALIZABLE_CLASS));
+            assertEquals("Can commit", true, canCommitReply.getCanCommit());
+
+            shard.tell(new CommitTransaction(transactionID2).toSerializable(), getRef());
+            expectMsgClass(duration, CommitTransactionReply.SERIALIZABLE_CLASS);
+
+            assertEquals("Stored node", outerList, readStore(shard, TestModel.OUTER_LIST_PATH));
+
+            shard.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        }};
+    }
+
     @Test
     public void testOnBatchedModificationsWhenNotLeader() {
         final AtomicBoolean overrideLeaderCalls = new AtomicBoolean();
@@ -1248,6 +1306,169 @@ public class ShardTest extends AbstractShardTest {
         }};
     }
 
+    @Test
+    public void testReadyLocalTransactionsWithCommitBatching() throws Exception{
+        dataStoreContextBuilder.shardMaxCommitBatchSize(10);
+
+        new ShardTestKit(getSystem()) {{
+            final TestActorRef<Shard> shard = TestActorRef.create(getSystem(),
+                    newShardProps().withDispatcher(Dispatchers.DefaultDispatcherId()),
+                    "testReadyLocalTransactionsWithCommitBatching");
+
+            waitUntilLeader(shard);
+
+            writeToStore(shard, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+            writeToStore(shard, TestModel.OUTER_LIST_PATH,
+                    ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+
+            final ShardDataTree dataStore = shard.underlyingActor().getDataStore();
+
+            final Map<String, ShardDataTreeCohort> mockCohorts = new ConcurrentHashMap<>();
+            shard.underlyingActor().getCommitCoordinator().setCohortDecorator(
+                    new ShardCommitCoordinator.CohortDecorator() {
+                @Override
+                public ShardDataTreeCohort decorate(final String txID, final ShardDataTreeCohort actual) {
+                    final ShardDataTreeCohort cohort = createDelegatingMockCohort("cohort-" + txID, actual);
+                    mockCohorts.put(txID, cohort);
+                    return cohort;
+                }
+            });
+
+            // Ready and canCommit a 3-phase Tx so the following immediate commits get queued behind it.
+
+            final DataTreeModification modification1 = dataStore.newModification();
+            new MergeModification(outerEntryPath(1), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+                    TestModel.ID_QNAME, 1)).apply(modification1);
+            modification1.ready();
+
+            shard.tell(new ReadyLocalTransaction("tx1", modification1, false), getRef());
+            expectMsgClass(ReadyTransactionReply.class);
+
+            shard.tell(new CanCommitTransaction("tx1").toSerializable(), getRef());
+            expectMsgClass(CanCommitTransactionReply.SERIALIZABLE_CLASS);
+
+            for(int i = 2; i <= 4; i++) {
+                final DataTreeModification modification = dataStore.newModification();
+                new MergeModification(outerEntryPath(i), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+                        TestModel.ID_QNAME, i)).apply(modification);
+                modification.ready();
+
+                shard.tell(new ReadyLocalTransaction("tx" + i, modification, true), getRef());
+            }
+
+            shard.tell(GetOnDemandRaftState.INSTANCE, getRef());
+            final long lastIndex = expectMsgClass(OnDemandRaftState.class).getLastIndex();
+
+            // Committing the 1st Tx lets the queued Tx's commit as one batch.
+
+            shard.tell(new CommitTransaction("tx1").toSerializable(), getRef());
+            for(int i = 1; i <= 4; i++) {
+                expectMsgClass(CommitTransactionReply.SERIALIZABLE_CLASS);
+            }
+
+            // One payload for tx1 and a single payload for the batch.
+            shard.tell(GetOnDemandRaftState.INSTANCE, getRef());
+            assertEquals("Replicated payloads", 2, expectMsgClass(OnDemandRaftState.class).getLastIndex() - lastIndex);
+
+            // Each Tx goes through canCommit and preCommit exactly once.
+            for(int i = 1; i <= 4; i++) {
+                final ShardDataTreeCohort cohort = mockCohorts.get("tx" + i);
+                verify(cohort).canCommit();
+                verify(cohort).preCommit();
+            }
+
+            for(int i = 1; i <= 4; i++) {
+                assertEquals("Entry " + i, ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i),
+                        readStore(shard, outerEntryPath(i)));
+            }
+
+            assertEquals("Committed transactions", 4, shard.underlyingActor().getShardMBean()
+                    .getCommittedTransactionsCount());
+
+            shard.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        }};
+    }
+
+    @Test
+    public void testChainedTransactionCommittedInBatch() throws Throwable {
+        dataStoreContextBuilder.shardMaxCommitBatchSize(10);
+
+        new ShardTestKit(getSystem()) {{
+            final TestActorRef<Shard> shard = TestActorRef.create(getSystem(),
+                    newShardProps().withDispatcher(Dispatchers.DefaultDispatcherId()),
+                    "testChainedTransactionCommittedInBatch");
+
+            waitUntilLeader(shard);
+
+            writeToStore(shard, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+            writeToStore(shard, TestModel.OUTER_LIST_PATH,
+                    ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+
+            final ShardDataTree dataStore = shard.underlyingActor().getDataStore();
+            final String transactionChainID = "txChain";
+
+            // Ready and canCommit a 3-phase Tx so the following immediate commits get queued behind it.
+
+            final DataTreeModification modification1 = dataStore.newModification();
+            new MergeModification(outerEntryPath(1), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+                    TestModel.ID_QNAME, 1)).apply(modification1);
+            modification1.ready();
+
+            shard.tell(new ReadyLocalTransaction("tx1", modification1, false), getRef());
+            expectMsgClass(ReadyTransactionReply.class);
+
+            shard.tell(new CanCommitTransaction("tx1").toSerializable(), getRef());
+            expectMsgClass(CanCommitTransactionReply.SERIALIZABLE_CLASS);
+
+            // Queue a chained Tx and an unchained Tx - both are committed in one batch once tx1 is committed.
+
+            shard.tell(newBatchedModifications("tx2", transactionChainID, outerEntryPath(2),
+                    ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2), true, true, 1),
+                    getRef());
+
+            final DataTreeModification modification3 = dataStore.newModification();
+            new MergeModification(outerEntryPath(3), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+                    TestModel.ID_QNAME, 3)).apply(modification3);
+            modification3.ready();
+            shard.tell(new ReadyLocalTransaction("tx3", modification3, true), getRef());
+
+            shard.tell(new CommitTransaction("tx1").toSerializable(), getRef());
+            for(int i = 1; i <= 3; i++) {
+                expectMsgClass(CommitTransactionReply.SERIALIZABLE_CLASS);
+            }
+
+            // Commit another unchained Tx after the batch.
+
+            final DataTreeModification modification4 = dataStore.newModification();
+            new MergeModification(outerEntryPath(4), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+                    TestModel.ID_QNAME, 4)).apply(modification4);
+            modification4.ready();
+            shard.tell(new ReadyLocalTransaction("tx4", modification4, true), getRef());
+            expectMsgClass(CommitTransactionReply.SERIALIZABLE_CLASS);
+
+            // A new Tx on the chain must see the data committed after the chain's batched Tx.
+
+            shard.tell(new CreateTransaction("tx5", TransactionType.READ_ONLY.ordinal(),
+                    transactionChainID).toSerializable(), getRef());
+            final CreateTransactionReply createReply = expectMsgClass(CreateTransactionReply.class);
+
+            for(int i = 2; i <= 4; i++) {
+                getSystem().actorSelection(createReply.getTransactionActorPath()).tell(
+                        new ReadData(outerEntryPath(i)), getRef());
+                final ReadDataReply readReply = expectMsgClass(ReadDataReply.class);
+                assertEquals("Entry " + i, ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i),
+                        readReply.getNormalizedNode());
+            }
+
+            shard.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        }};
+    }
+
+    private static YangInstanceIdentifier outerEntryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
     @Test
     public void testCommitWithPersistenceDisabled() throws Throwable {
         dataStoreContextBuilder.persistent(false);
@@ -19,6 +19,7 @@ import akka.actor.Status.Failure;
 import akka.actor.Terminated;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -40,6 +41,8 @@ import org.opendaylight.controller.cluster.datastore.messages.DeleteDataReply;
 import org.opendaylight.controller.cluster.datastore.messages.MergeData;
 import org.opendaylight.controller.cluster.datastore.messages.MergeDataReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataBatch;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataBatchReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadDataReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadyTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.ReadyTransactionReply;
@@ -174,6 +177,28 @@ public class ShardTransactionTest extends AbstractActorTest {
         }};
     }
 
+    @Test
+    public void testOnReceiveReadDataBatch() throws Exception {
+        new JavaTestKit(getSystem()) {{
+            final ActorRef shard = createShard();
+
+            testOnReceiveReadDataBatch(newTransactionActor(RO, readOnlyTransaction(), shard, "testReadDataBatchRO"));
+
+            testOnReceiveReadDataBatch(newTransactionActor(RW, readWriteTransaction(), shard, "testReadDataBatchRW"));
+        }
+
+        private void testOnReceiveReadDataBatch(final ActorRef transaction) {
+            transaction.tell(new ReadDataBatch(Arrays.asList(YangInstanceIdentifier.builder().build(),
+                    TestModel.TEST_PATH), DataStoreVersions.CURRENT_VERSION), getRef());
+
+            ReadDataBatchReply reply = expectMsgClass(duration("5 seconds"), ReadDataBatchReply.class);
+
+            assertEquals("Result size", 2, reply.getResults().size());
+            assertTrue("Root isPresent", reply.getResults().get(0).isPresent());
+            assertFalse("TEST_PATH isPresent", reply.getResults().get(1).isPresent());
+        }};
+    }
+
     @Test
     public void testOnReceiveReadDataHeliumR1() throws Exception {
         new JavaTestKit(getSystem()) {{
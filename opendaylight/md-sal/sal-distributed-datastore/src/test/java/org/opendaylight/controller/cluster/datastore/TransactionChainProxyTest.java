@@ -23,18 +23,28 @@ import static org.opendaylight.controller.cluster.datastore.TransactionType.READ
 import static org.opendaylight.controller.cluster.datastore.TransactionType.WRITE_ONLY;
 
 import akka.actor.ActorRef;
+import akka.actor.Status.Failure;
 import akka.util.Timeout;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModifications;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedTransactions;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedTransactionsReply;
+import org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.DefaultShardStrategy;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -185,6 +195,122 @@ public class TransactionChainProxyTest extends AbstractTransactionProxyTest {
         }
     }
 
+    /**
+     * Tests successive chained write-only transactions with batching enabled and verifies the subsequent
+     * transactions are initiated right away and their messages are sent together once the first one's
+     * reply arrives.
+     */
+    @Test
+    public void testBatchedChainedWriteOnlyTransactions() throws Exception {
+        dataStoreContextBuilder.writeOnlyTransactionOptimizationsEnabled(true).transactionChainBatchingEnabled(true);
+
+        try (TransactionChainProxy txChainProxy = new TransactionChainProxy(mockComponentFactory)) {
+
+            ActorRef txActorRef = setupActorContextWithoutInitialCreateTransaction(getSystem());
+
+            Promise<Object> batchedReplyPromise1 = akka.dispatch.Futures.promise();
+            doReturn(batchedReplyPromise1.future()).when(mockActorContext).executeOperationAsync(
+                    eq(actorSelection(txActorRef)), isA(BatchedModifications.class));
+
+            Promise<Object> batchedReplyPromise2 = akka.dispatch.Futures.promise();
+            doReturn(batchedReplyPromise2.future()).when(mockActorContext).executeOperationAsync(
+                    eq(actorSelection(txActorRef)), isA(BatchedTransactions.class));
+
+            DOMStoreWriteTransaction writeTx1 = txChainProxy.newWriteOnlyTransaction();
+            writeTx1.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+            DOMStoreThreePhaseCommitCohort cohort1 = writeTx1.ready();
+
+            DOMStoreWriteTransaction writeTx2 = txChainProxy.newWriteOnlyTransaction();
+            writeTx2.write(TestModel.OUTER_LIST_PATH,
+                    ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+            DOMStoreThreePhaseCommitCohort cohort2 = writeTx2.ready();
+
+            DOMStoreWriteTransaction writeTx3 = txChainProxy.newWriteOnlyTransaction();
+            writeTx3.delete(TestModel.OUTER_LIST_PATH);
+            DOMStoreThreePhaseCommitCohort cohort3 = writeTx3.ready();
+
+            // Tx 2 and 3 should not have waited for Tx 1's ready future but their messages should be queued.
+
+            verify(mockActorContext, times(3)).findPrimaryShardAsync(eq(DefaultShardStrategy.DEFAULT_SHARD));
+            verify(mockActorContext, times(1)).executeOperationAsync(eq(actorSelection(txActorRef)),
+                    isA(BatchedModifications.class));
+            verify(mockActorContext, never()).executeOperationAsync(eq(actorSelection(txActorRef)),
+                    isA(BatchedTransactions.class));
+
+            batchedReplyPromise1.success(CommitTransactionReply.INSTANCE.toSerializable());
+            assertEquals("Tx 1 canCommit", true, cohort1.canCommit().get(5, TimeUnit.SECONDS));
+
+            ArgumentCaptor<Object> messageCaptor = ArgumentCaptor.forClass(Object.class);
+            verify(mockActorContext, timeout(5000).times(2)).executeOperationAsync(eq(actorSelection(txActorRef)),
+                    messageCaptor.capture());
+
+            List<BatchedModifications> messages = ((BatchedTransactions) messageCaptor.getAllValues().get(1))
+                    .getMessages();
+            assertEquals("Batched messages", 2, messages.size());
+            assertEquals("Tx 2 ID", writeTx2.getIdentifier().toString(), messages.get(0).getTransactionID());
+            assertEquals("Tx 2 ready", true, messages.get(0).isReady());
+            assertEquals("Tx 3 ID", writeTx3.getIdentifier().toString(), messages.get(1).getTransactionID());
+            assertEquals("Tx 3 ready", true, messages.get(1).isReady());
+
+            batchedReplyPromise2.success(new BatchedTransactionsReply(Arrays.<Object>asList(
+                    CommitTransactionReply.INSTANCE.toSerializable(),
+                    new Failure(new IllegalStateException("mock"))), DataStoreVersions.CURRENT_VERSION));
+
+            assertEquals("Tx 2 canCommit", true, cohort2.canCommit().get(5, TimeUnit.SECONDS));
+            try {
+                cohort3.canCommit().get(5, TimeUnit.SECONDS);
+                fail("Expected failure for Tx 3");
+            } catch (ExecutionException e) {
+                assertEquals("Tx 3 failure", IllegalStateException.class, e.getCause().getClass());
+            }
+        }
+    }
+
+    /**
+     * Tests that when the primary shard moves, the messages of batched transactions are not sent to the new
+     * primary until the messages outstanding to the previous primary have completed.
+     */
+    @Test
+    public void testBatchedChainedWriteOnlyTransactionsWithPrimaryMove() throws Exception {
+        dataStoreContextBuilder.writeOnlyTransactionOptimizationsEnabled(true).transactionChainBatchingEnabled(true);
+
+        try (TransactionChainProxy txChainProxy = new TransactionChainProxy(mockComponentFactory)) {
+
+            ActorRef txActorRef1 = setupActorContextWithoutInitialCreateTransaction(getSystem());
+
+            Promise<Object> batchedReplyPromise1 = akka.dispatch.Futures.promise();
+            doReturn(batchedReplyPromise1.future()).when(mockActorContext).executeOperationAsync(
+                    eq(actorSelection(txActorRef1)), isA(BatchedModifications.class));
+
+            DOMStoreWriteTransaction writeTx1 = txChainProxy.newWriteOnlyTransaction();
+            writeTx1.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+            writeTx1.ready();
+
+            verify(mockActorContext, times(1)).executeOperationAsync(eq(actorSelection(txActorRef1)),
+                    isA(BatchedModifications.class));
+
+            // The primary moves
+            ActorRef txActorRef2 = setupActorContextWithoutInitialCreateTransaction(getSystem());
+
+            doReturn(akka.dispatch.Futures.successful(CommitTransactionReply.INSTANCE.toSerializable())).
+                    when(mockActorContext).executeOperationAsync(eq(actorSelection(txActorRef2)), isA(BatchedModifications.class));
+
+            DOMStoreWriteTransaction writeTx2 = txChainProxy.newWriteOnlyTransaction();
+            writeTx2.write(TestModel.OUTER_LIST_PATH,
+                    ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+            DOMStoreThreePhaseCommitCohort cohort2 = writeTx2.ready();
+
+            Uninterruptibles.sleepUninterruptibly(200, TimeUnit.MILLISECONDS);
+            verify(mockActorContext, never()).executeOperationAsync(eq(actorSelection(txActorRef2)), anyObject());
+
+            batchedReplyPromise1.success(CommitTransactionReply.INSTANCE.toSerializable());
+
+            verify(mockActorContext, timeout(5000)).executeOperationAsync(eq(actorSelection(txActorRef2)),
+                    isA(BatchedModifications.class));
+            assertEquals("Tx 2 canCommit", true, cohort2.canCommit().get(5, TimeUnit.SECONDS));
+        }
+    }
+
     /**
      * Tests 2 successive chained read-write transactions and verifies the second transaction isn't
      * initiated until the first one completes its read future.
@@ -17,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ShardOperationLimits;
 
 public class TransactionContextWrapperTest {
 
@@ -35,7 +36,8 @@ public class TransactionContextWrapperTest {
     public void setUp(){
         MockitoAnnotations.initMocks(this);
         doReturn(DatastoreContext.newBuilder().build()).when(actorContext).getDatastoreContext();
-        transactionContextWrapper = new TransactionContextWrapper(identifier, actorContext);
+        doReturn(new ShardOperationLimits(Integer.MAX_VALUE, 0)).when(actorContext).getShardOperationLimits();
+        transactionContextWrapper = new TransactionContextWrapper(identifier, actorContext, "test");
     }
 
     @Test
@@ -13,11 +13,13 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.controller.cluster.datastore.TransactionType.READ_ONLY;
 import static org.opendaylight.controller.cluster.datastore.TransactionType.READ_WRITE;
@@ -33,14 +35,17 @@ import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentMatcher;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.opendaylight.controller.cluster.datastore.config.Configuration;
@@ -52,6 +57,8 @@ import org.opendaylight.controller.cluster.datastore.messages.BatchedModificatio
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataBatch;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataBatchReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadyTransaction;
 import org.opendaylight.controller.cluster.datastore.modification.DeleteModification;
 import org.opendaylight.controller.cluster.datastore.modification.MergeModification;
@@ -112,6 +119,78 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
         assertEquals("Response NormalizedNode", expectedNode, readOptional.get());
     }
 
+    private static ReadDataBatch eqReadDataBatch(final YangInstanceIdentifier... paths) {
+        ArgumentMatcher<ReadDataBatch> matcher = new ArgumentMatcher<ReadDataBatch>() {
+            @Override
+            public boolean matches(Object argument) {
+                return argument instanceof ReadDataBatch &&
+                        ((ReadDataBatch) argument).getPaths().equals(Arrays.asList(paths));
+            }
+        };
+
+        return argThat(matcher);
+    }
+
+    @Test
+    public void testBatchRead() throws Exception {
+        ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_ONLY);
+
+        NormalizedNode<?, ?> expectedNode = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+
+        doReturn(Futures.successful(new ReadDataBatchReply(Arrays.<Optional<NormalizedNode<?, ?>>>asList(
+                Optional.<NormalizedNode<?, ?>>of(expectedNode), Optional.<NormalizedNode<?, ?>>absent()),
+                DataStoreVersions.CURRENT_VERSION))).when(mockActorContext).executeOperationAsync(
+                        eq(actorSelection(actorRef)), eqReadDataBatch(TestModel.TEST_PATH, TestModel.OUTER_LIST_PATH));
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
+        Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> result = transactionProxy.read(
+                Arrays.asList(TestModel.TEST_PATH, TestModel.OUTER_LIST_PATH, TestModel.TEST_PATH)).get(
+                        5, TimeUnit.SECONDS);
+
+        assertEquals("Result size", 2, result.size());
+        assertEquals("TEST_PATH", Optional.of(expectedNode), result.get(TestModel.TEST_PATH));
+        assertEquals("OUTER_LIST_PATH isPresent", false, result.get(TestModel.OUTER_LIST_PATH).isPresent());
+
+        verify(mockActorContext, never()).executeOperationAsync(eq(actorSelection(actorRef)),
+                eqSerializedReadData());
+    }
+
+    @Test
+    public void testBatchReadWithPreBerylliumVersion() throws Exception {
+        ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_ONLY,
+                DataStoreVersions.LITHIUM_VERSION, DefaultShardStrategy.DEFAULT_SHARD);
+
+        NormalizedNode<?, ?> expectedNode = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+
+        doReturn(readSerializedDataReply(expectedNode, DataStoreVersions.LITHIUM_VERSION)).when(mockActorContext).
+                executeOperationAsync(eq(actorSelection(actorRef)), eqSerializedReadData(TestModel.TEST_PATH));
+
+        doReturn(readSerializedDataReply(null, DataStoreVersions.LITHIUM_VERSION)).when(mockActorContext).
+                executeOperationAsync(eq(actorSelection(actorRef)), eqSerializedReadData(TestModel.OUTER_LIST_PATH));
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
+        Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> result = transactionProxy.read(
+                Arrays.asList(TestModel.TEST_PATH, TestModel.OUTER_LIST_PATH)).get(5, TimeUnit.SECONDS);
+
+        assertEquals("Result size", 2, result.size());
+        assertEquals("TEST_PATH", Optional.of(expectedNode), result.get(TestModel.TEST_PATH));
+        assertEquals("OUTER_LIST_PATH isPresent", false, result.get(TestModel.OUTER_LIST_PATH).isPresent());
+    }
+
+    @Test(expected = TestException.class)
+    public void testBatchReadWithAsyncRemoteOperatonFailure() throws Throwable {
+        ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_ONLY);
+
+        doReturn(Futures.failed(new TestException())).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(actorRef)), eqReadDataBatch(TestModel.TEST_PATH));
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
+        propagateReadFailedExceptionCause(transactionProxy.read(Arrays.asList(TestModel.TEST_PATH)));
+    }
+
     @Test(expected = ReadFailedException.class)
     public void testReadWithInvalidReplyMessageType() throws Exception {
         ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_ONLY);
@@ -939,6 +1018,39 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
                 expected, (end-start)), (end - start) <= expected);
     }
 
+    @Test
+    public void testReadOnlyWithLocalShardReadsSnapshotDirectly() throws Exception {
+        ActorRef shardActorRef = getSystem().actorOf(Props.create(DoNothingActor.class));
+
+        NormalizedNode<?, ?> expectedNode = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+        DataTree dataTree = mock(DataTree.class);
+        DataTreeSnapshot dataTreeSnapshot = mock(DataTreeSnapshot.class);
+        doReturn(dataTreeSnapshot).when(dataTree).takeSnapshot();
+        doReturn(Optional.of(expectedNode)).when(dataTreeSnapshot).readNode(TestModel.TEST_PATH);
+        doReturn(Optional.absent()).when(dataTreeSnapshot).readNode(TestModel.OUTER_LIST_PATH);
+
+        doReturn(Futures.successful(newPrimaryShardInfo(shardActorRef, Optional.of(dataTree)))).
+                when(mockActorContext).findPrimaryShardAsync(eq(DefaultShardStrategy.DEFAULT_SHARD));
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
+        Optional<NormalizedNode<?, ?>> readOptional = transactionProxy.read(TestModel.TEST_PATH).get(
+                5, TimeUnit.SECONDS);
+        assertEquals("Response NormalizedNode", Optional.of(expectedNode), readOptional);
+
+        assertEquals("exists", false, transactionProxy.exists(TestModel.OUTER_LIST_PATH).get(5, TimeUnit.SECONDS));
+
+        Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> result = transactionProxy.read(
+                Arrays.asList(TestModel.TEST_PATH, TestModel.OUTER_LIST_PATH)).get(5, TimeUnit.SECONDS);
+        assertEquals("TEST_PATH", Optional.of(expectedNode), result.get(TestModel.TEST_PATH));
+        assertEquals("OUTER_LIST_PATH isPresent", false, result.get(TestModel.OUTER_LIST_PATH).isPresent());
+
+        verify(dataTree, times(1)).takeSnapshot();
+        verify(mockActorContext, never()).executeOperationAsync(any(ActorSelection.class), any());
+        verify(mockActorContext, never()).executeOperationAsync(any(ActorSelection.class), any(),
+                any(Timeout.class));
+    }
+
     private static Optional<DataTree> createDataTree(){
         DataTree dataTree = mock(DataTree.class);
         Optional<DataTree> dataTreeOptional = Optional.of(dataTree);
@@ -1559,6 +1671,30 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
         assertEquals(expectedNode2, NormalizedNodeAggregatorTest.findChildWithQName(collection, CarsModel.BASE_QNAME));
     }
 
+    @Test(expected = ReadFailedException.class)
+    public void testReadRootWithMergeFailure() throws Exception {
+        // The aggregating schema lacks the cars model, so merging the cars shard's data fails.
+        SchemaContext schemaContext = SchemaContextHelper.full();
+        Configuration configuration = mock(Configuration.class);
+        doReturn(configuration).when(mockActorContext).getConfiguration();
+        doReturn(SchemaContextHelper.select(SchemaContextHelper.ODL_DATASTORE_TEST_YANG)).when(mockActorContext)
+                .getSchemaContext();
+        doReturn(Sets.newHashSet("test", "cars")).when(configuration).getAllShardNames();
+
+        setUpReadData("test", NormalizedNodeAggregatorTest.getRootNode(
+                ImmutableNodes.containerNode(TestModel.TEST_QNAME), schemaContext));
+        setUpReadData("cars", NormalizedNodeAggregatorTest.getRootNode(
+                ImmutableNodes.containerNode(CarsModel.CARS_QNAME), schemaContext));
+
+        doReturn(memberName).when(mockActorContext).getCurrentMemberName();
+
+        doReturn(getSystem().dispatchers().defaultGlobalDispatcher()).when(mockActorContext).getClientDispatcher();
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
+        transactionProxy.read(YangInstanceIdentifier.EMPTY).checkedGet(5, TimeUnit.SECONDS);
+    }
+
 
     private void setUpReadData(String shardName, NormalizedNode<?, ?> expectedNode) {
         ActorSystem actorSystem = getSystem();
@@ -93,5 +93,18 @@ public class BatchedModificationsTest {
         BatchedModificationsReply clone = (BatchedModificationsReply) SerializationUtils.clone(
                 (Serializable) new BatchedModificationsReply(100).toSerializable());
         assertEquals("getNumBatched", 100, clone.getNumBatched());
+        assertEquals("getShardBacklog", -1, clone.getShardBacklog());
+
+        clone = (BatchedModificationsReply) SerializationUtils.clone(
+                (Serializable) new BatchedModificationsReply(100, 5,
+                        DataStoreVersions.CURRENT_VERSION).toSerializable());
+        assertEquals("getNumBatched", 100, clone.getNumBatched());
+        assertEquals("getShardBacklog", 5, clone.getShardBacklog());
+
+        clone = (BatchedModificationsReply) SerializationUtils.clone(
+                (Serializable) new BatchedModificationsReply(100, 5,
+                        DataStoreVersions.LITHIUM_VERSION).toSerializable());
+        assertEquals("getNumBatched", 100, clone.getNumBatched());
+        assertEquals("getShardBacklog", -1, clone.getShardBacklog());
     }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import static org.junit.Assert.assertEquals;
+import akka.actor.Status.Failure;
+import java.util.Arrays;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
+import org.opendaylight.controller.cluster.datastore.modification.DeleteModification;
+import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+/**
+ * Unit tests for BatchedTransactions and BatchedTransactionsReply.
+ */
+public class BatchedTransactionsTest {
+
+    @Test
+    public void testSerialization() {
+        BatchedModifications batched1 = new BatchedModifications("tx1", DataStoreVersions.CURRENT_VERSION, "txChain");
+        batched1.addModification(new WriteModification(TestModel.TEST_PATH,
+                ImmutableNodes.containerNode(TestModel.TEST_QNAME)));
+        batched1.setReady(true);
+        batched1.setDoCommitOnReady(true);
+        batched1.setTotalMessagesSent(1);
+
+        BatchedModifications batched2 = new BatchedModifications("tx2", DataStoreVersions.CURRENT_VERSION, "txChain");
+        batched2.addModification(new DeleteModification(TestModel.OUTER_LIST_PATH));
+        batched2.setTotalMessagesSent(1);
+
+        BatchedTransactions clone = (BatchedTransactions) SerializationUtils.clone(new BatchedTransactions(
+                Arrays.asList(batched1, batched2), DataStoreVersions.CURRENT_VERSION));
+
+        assertEquals("getVersion", DataStoreVersions.CURRENT_VERSION, clone.getVersion());
+        assertEquals("getMessages size", 2, clone.getMessages().size());
+
+        BatchedModifications message = clone.getMessages().get(0);
+        assertEquals("getTransactionID", "tx1", message.getTransactionID());
+        assertEquals("getTransactionChainID", "txChain", message.getTransactionChainID());
+        assertEquals("isReady", true, message.isReady());
+        assertEquals("isDoCommitOnReady", true, message.isDoCommitOnReady());
+        assertEquals("getModifications size", 1, message.getModifications().size());
+        assertEquals("getPath", TestModel.TEST_PATH,
+                ((WriteModification) message.getModifications().get(0)).getPath());
+
+        message = clone.getMessages().get(1);
+        assertEquals("getTransactionID", "tx2", message.getTransactionID());
+        assertEquals("isReady", false, message.isReady());
+        assertEquals("getPath", TestModel.OUTER_LIST_PATH,
+                ((DeleteModification) message.getModifications().get(0)).getPath());
+    }
+
+    @Test
+    public void testReplySerialization() {
+        BatchedTransactionsReply clone = (BatchedTransactionsReply) SerializationUtils.clone(
+                new BatchedTransactionsReply(Arrays.<Object>asList(new BatchedModificationsReply(3),
+                        CommitTransactionReply.INSTANCE.toSerializable(),
+                        new Failure(new IllegalStateException("mock"))), DataStoreVersions.CURRENT_VERSION));
+
+        assertEquals("getVersion", DataStoreVersions.CURRENT_VERSION, clone.getVersion());
+        assertEquals("getReplies size", 3, clone.getReplies().size());
+        assertEquals("getNumBatched", 3, ((BatchedModificationsReply) clone.getReplies().get(0)).getNumBatched());
+        assertEquals("Reply 2", CommitTransactionReply.SERIALIZABLE_CLASS, clone.getReplies().get(1).getClass());
+        assertEquals("Failure message", "mock", ((Failure) clone.getReplies().get(2)).cause().getMessage());
+    }
+}
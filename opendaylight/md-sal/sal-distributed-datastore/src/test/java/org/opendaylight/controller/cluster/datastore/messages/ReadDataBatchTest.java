@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import static org.junit.Assert.assertEquals;
+import com.google.common.base.Optional;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+/**
+ * Unit tests for ReadDataBatch and ReadDataBatchReply.
+ */
+public class ReadDataBatchTest {
+
+    @Test
+    public void testSerialization() {
+        List<YangInstanceIdentifier> paths = Arrays.asList(TestModel.TEST_PATH, TestModel.outerEntryPath(1));
+        ReadDataBatch expected = new ReadDataBatch(paths, DataStoreVersions.CURRENT_VERSION);
+
+        Object serialized = expected.toSerializable();
+        assertEquals("Serialized type", ReadDataBatch.class, serialized.getClass());
+
+        ReadDataBatch actual = (ReadDataBatch) SerializationUtils.clone((ReadDataBatch) serialized);
+        assertEquals("getVersion", DataStoreVersions.CURRENT_VERSION, actual.getVersion());
+        assertEquals("getPaths", paths, actual.getPaths());
+    }
+
+    @Test
+    public void testReplySerialization() {
+        NormalizedNode<?, ?> data = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+        List<Optional<NormalizedNode<?, ?>>> results = Arrays.<Optional<NormalizedNode<?, ?>>>asList(
+                Optional.<NormalizedNode<?, ?>>of(data), Optional.<NormalizedNode<?, ?>>absent());
+        ReadDataBatchReply expected = new ReadDataBatchReply(results, DataStoreVersions.CURRENT_VERSION);
+
+        Object serialized = expected.toSerializable();
+        assertEquals("Serialized type", ReadDataBatchReply.class, serialized.getClass());
+
+        ReadDataBatchReply actual = (ReadDataBatchReply) SerializationUtils.clone((ReadDataBatchReply) serialized);
+        assertEquals("getVersion", DataStoreVersions.CURRENT_VERSION, actual.getVersion());
+        assertEquals("getResults", results, actual.getResults());
+    }
+}
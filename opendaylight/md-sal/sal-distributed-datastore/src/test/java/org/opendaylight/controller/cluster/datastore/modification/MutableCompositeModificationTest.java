@@ -10,12 +10,15 @@ package org.opendaylight.controller.cluster.datastore.modification;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import com.google.common.base.Optional;
 import com.google.common.base.Stopwatch;
+import java.util.Arrays;
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputStreamWriter;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -81,6 +84,49 @@ public class MutableCompositeModificationTest extends AbstractModificationTest {
         assertEquals("getPath", deletePath, delete.getPath());
     }
 
+    @Test
+    public void testSerializationStreamVersion() {
+        NormalizedNode<?, ?> writeData = ImmutableContainerNodeBuilder.create().withNodeIdentifier(
+                new YangInstanceIdentifier.NodeIdentifier(TestModel.TEST_QNAME)).
+                withChild(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "foo")).build();
+
+        // A peer before BORON_VERSION only reads the Lithium stream format.
+        MutableCompositeModification compositeModification = new MutableCompositeModification(
+                DataStoreVersions.BERYLLIUM_VERSION);
+        compositeModification.addModification(new WriteModification(TestModel.TEST_PATH, writeData));
+
+        byte[] bytes = SerializationUtils.serialize(compositeModification);
+        assertTrue("Lithium stream header", indexOf(bytes, streamHeader(
+                NormalizedNodeOutputStreamWriter.LITHIUM_VERSION)) >= 0);
+        assertEquals("Beryllium stream header", -1, indexOf(bytes, streamHeader(
+                NormalizedNodeOutputStreamWriter.BERYLLIUM_VERSION)));
+
+        MutableCompositeModification clone = (MutableCompositeModification) SerializationUtils.deserialize(bytes);
+        assertEquals("getData", writeData, ((WriteModification)clone.getModifications().get(0)).getData());
+
+        compositeModification.setVersion(DataStoreVersions.BORON_VERSION);
+        bytes = SerializationUtils.serialize(compositeModification);
+        assertTrue("Beryllium stream header", indexOf(bytes, streamHeader(
+                NormalizedNodeOutputStreamWriter.BERYLLIUM_VERSION)) >= 0);
+
+        clone = (MutableCompositeModification) SerializationUtils.deserialize(bytes);
+        assertEquals("getData", writeData, ((WriteModification)clone.getModifications().get(0)).getData());
+    }
+
+    private static byte[] streamHeader(short streamVersion) {
+        return new byte[] { (byte) 0xab, (byte) (streamVersion >> 8), (byte) streamVersion };
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        for(int i = 0; i + pattern.length <= bytes.length; i++) {
+            if(Arrays.equals(pattern, Arrays.copyOfRange(bytes, i, i + pattern.length))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
     @Test
     @Ignore
     public void testSerializationScale() throws Exception {
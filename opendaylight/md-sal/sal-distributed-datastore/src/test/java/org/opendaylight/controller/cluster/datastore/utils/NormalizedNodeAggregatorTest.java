@@ -70,6 +70,29 @@ public class NormalizedNodeAggregatorTest {
 
     }
 
+    @Test
+    public void testMergeIncrementally() throws InterruptedException, ExecutionException, ReadFailedException,
+            DataValidationFailedException {
+        SchemaContext schemaContext = SchemaContextHelper.full();
+        NormalizedNode<?, ?> expectedNode1 = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+        NormalizedNode<?, ?> expectedNode2 = ImmutableNodes.containerNode(CarsModel.CARS_QNAME);
+
+        NormalizedNodeAggregator aggregator = new NormalizedNodeAggregator(YangInstanceIdentifier.EMPTY,
+                schemaContext);
+        aggregator.merge(Optional.<NormalizedNode<?, ?>>of(getRootNode(expectedNode1, schemaContext)));
+        aggregator.merge(Optional.<NormalizedNode<?, ?>>absent());
+        aggregator.merge(Optional.<NormalizedNode<?, ?>>of(getRootNode(expectedNode2, schemaContext)));
+
+        Optional<NormalizedNode<?, ?>> optional = aggregator.getAggregatedNode();
+        assertTrue("Aggregated node present", optional.isPresent());
+
+        @SuppressWarnings("unchecked")
+        Collection<NormalizedNode<?,?>> collection = (Collection<NormalizedNode<?,?>>) optional.get().getValue();
+
+        assertEquals(expectedNode1, findChildWithQName(collection, TestModel.TEST_QNAME));
+        assertEquals(expectedNode2, findChildWithQName(collection, CarsModel.BASE_QNAME));
+    }
+
     public static NormalizedNode<?, ?> getRootNode(NormalizedNode<?, ?> moduleNode, SchemaContext schemaContext)
             throws ReadFailedException, ExecutionException, InterruptedException {
         try (InMemoryDOMDataStore store = new InMemoryDOMDataStore("test", Executors.newSingleThreadExecutor())) {
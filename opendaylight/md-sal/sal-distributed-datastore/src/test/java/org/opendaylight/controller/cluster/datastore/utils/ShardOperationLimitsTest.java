@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+
+/**
+ * Unit tests for ShardOperationLimits.
+ */
+public class ShardOperationLimitsTest {
+
+    @Test
+    public void testOnShardBacklog() {
+        ShardOperationLimits limits = new ShardOperationLimits(8, 10);
+        ShardOperationLimits.Limit limit = limits.forShard("shard-1");
+        assertSame("forShard", limit, limits.forShard("shard-1"));
+        assertEquals("get", 8, limit.get());
+
+        limit.onShardBacklog(11);
+        assertEquals("get", 4, limit.get());
+
+        // The replies to the 8 operations outstanding at the reduction do not reduce the limit again
+        for(int i = 0; i < 7; i++) {
+            limit.onShardBacklog(11);
+        }
+        assertEquals("get", 4, limit.get());
+
+        limit.onShardBacklog(11);
+        assertEquals("get", 2, limit.get());
+
+        for(int i = 0; i < 4; i++) {
+            limit.onShardBacklog(11);
+        }
+        assertEquals("get", 1, limit.get());
+
+        limit.onShardBacklog(10);
+        limit.onShardBacklog(0);
+        assertEquals("get", 3, limit.get());
+
+        // Unknown backlog
+        limit.onShardBacklog(-1);
+        assertEquals("get", 3, limit.get());
+
+        for(int i = 0; i < 10; i++) {
+            limit.onShardBacklog(0);
+        }
+        assertEquals("get", 8, limit.get());
+    }
+
+    @Test
+    public void testConcurrentBacklogReplies() throws Exception {
+        ShardOperationLimits limits = new ShardOperationLimits(8, 10);
+        final ShardOperationLimits.Limit limit = limits.forShard("shard-1");
+
+        // The replies to all operations outstanding at the limit report a backlog at once
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for(int i = 0; i < 8; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    Uninterruptibles.awaitUninterruptibly(start);
+                    limit.onShardBacklog(20);
+                }
+            };
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for(Thread thread: threads) {
+            thread.join(5000);
+        }
+
+        assertEquals("get", 4, limit.get());
+    }
+
+    @Test
+    public void testGetLimits() {
+        ShardOperationLimits limits = new ShardOperationLimits(8, 10);
+        limits.forShard("shard-1").onShardBacklog(20);
+        limits.forShard("shard-2").onShardBacklog(20);
+        limits.forShard("shard-2").onShardBacklog(0);
+
+        assertEquals("getLimits size", 2, limits.getLimits().size());
+        assertEquals("shard-1 limit", Integer.valueOf(4), limits.getLimits().get("shard-1"));
+        assertEquals("shard-2 limit", Integer.valueOf(5), limits.getLimits().get("shard-2"));
+    }
+
+    @Test
+    public void testUpdate() {
+        ShardOperationLimits limits = new ShardOperationLimits(8, 10);
+        ShardOperationLimits.Limit limit1 = limits.forShard("shard-1");
+        ShardOperationLimits.Limit limit2 = limits.forShard("shard-2");
+        limit1.onShardBacklog(20);
+
+        // Learned limits are kept, those above the new maximum are lowered
+        limits.update(6, 10);
+        assertSame("forShard", limit1, limits.forShard("shard-1"));
+        assertEquals("shard-1 limit", 4, limit1.get());
+        assertEquals("shard-2 limit", 6, limit2.get());
+        assertEquals("getMaxLimit", 6, limits.getMaxLimit());
+        assertEquals("new shard limit", 6, limits.forShard("shard-3").get());
+
+        // Disabling adjustments goes back to the maximum
+        limits.update(6, 0);
+        assertEquals("shard-1 limit", 6, limit1.get());
+    }
+
+    @Test
+    public void testDisabled() {
+        ShardOperationLimits limits = new ShardOperationLimits(8, 0);
+        limits.forShard("shard-1").onShardBacklog(100);
+        assertEquals("get", 8, limits.forShard("shard-1").get());
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.api;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import java.util.Collection;
+import java.util.Map;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A {@link DOMDataReadTransaction} which can read several paths from a logical data store in one
+ * operation. A data broker which supports this returns read transactions implementing this interface.
+ */
+public interface DOMDataBatchReadTransaction extends DOMDataReadTransaction {
+
+    /**
+     * Reads data from the provided logical data store located at the provided paths.
+     *
+     * @param store
+     *            Logical data store from which read should occur.
+     * @param paths
+     *            Paths which uniquely identify the subtrees the client wants to read
+     * @return a CheckFuture containing the result of the read. Once complete:
+     *         <ul>
+     *         <li>The Future returns a Map containing an entry for each supplied path. The value is an
+     *         Optional containing the data at that path, or Optional#absent() if it does not exist.</li>
+     *         <li>If the read of any of the paths fails, the Future will fail with a
+     *         {@link ReadFailedException} or an exception derived from ReadFailedException.</li>
+     *         </ul>
+     */
+    CheckedFuture<Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>>, ReadFailedException> read(
+            LogicalDatastoreType store, Collection<YangInstanceIdentifier> paths);
+}
@@ -50,7 +50,8 @@ public final class DomBrokerImplModule extends org.opendaylight.controller.confi
         final ClassToInstanceMap<BrokerService> services = MutableClassToInstanceMap.create();
 
         final DOMNotificationRouter domNotificationRouter = DOMNotificationRouter.create(getNotificationQueueDepth().getValue().intValue(),
-            getNotificationQueueSpin().longValue(), getNotificationQueuePark().longValue(), TimeUnit.MILLISECONDS);
+            getNotificationQueueSpin().longValue(), getNotificationQueuePark().longValue(), TimeUnit.MILLISECONDS,
+            getNotificationQueuePartitions().intValue());
         services.putInstance(DOMNotificationService.class, domNotificationRouter);
         services.putInstance(DOMNotificationPublishService.class, domNotificationRouter);
 
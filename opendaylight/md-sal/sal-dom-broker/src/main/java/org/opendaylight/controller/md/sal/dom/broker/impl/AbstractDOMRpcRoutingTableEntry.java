@@ -8,13 +8,11 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.romix.scala.collection.concurrent.TrieMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
@@ -23,13 +21,21 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+/**
+ * An entry of the {@link DOMRpcRoutingTable} for a single RPC type. Implementations are kept in a read-only
+ * {@link TrieMap} snapshot, which lookups can read without copying any of its nodes -
+ * {@link #add(DOMRpcImplementation, List)} and {@link #remove(DOMRpcImplementation, List)} modify a constant-time
+ * writable snapshot of it instead. This way only the
+ * contexts being changed are copied, rather than all the contexts of the RPC, which makes registering many
+ * routed contexts of the same RPC, one at a time, linear rather than quadratic.
+ */
 abstract class AbstractDOMRpcRoutingTableEntry {
-    private final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls;
+    private final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> impls;
     private final SchemaPath schemaPath;
 
-    protected AbstractDOMRpcRoutingTableEntry(final SchemaPath schemaPath, final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
+    protected AbstractDOMRpcRoutingTableEntry(final SchemaPath schemaPath, final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
         this.schemaPath = Preconditions.checkNotNull(schemaPath);
-        this.impls = Preconditions.checkNotNull(impls);
+        this.impls = readOnlySnapshot(impls);
     }
 
     protected final SchemaPath getSchemaPath() {
@@ -37,15 +43,19 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     }
 
     protected final List<DOMRpcImplementation> getImplementations(final YangInstanceIdentifier context) {
-        return impls.get(context);
+        // TrieMap does not support null keys
+        return context == null ? null : impls.get(context);
     }
 
-    final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> getImplementations() {
+    /**
+     * @return The implementations map, which must not be modified
+     */
+    final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> getImplementations() {
         return impls;
     }
 
     public boolean containsContext(final YangInstanceIdentifier contextReference) {
-        return impls.containsKey(contextReference);
+        return contextReference != null && impls.containsKey(contextReference);
     }
 
     final Set<YangInstanceIdentifier> registeredIdentifiers() {
@@ -55,50 +65,81 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     /**
      *
      * @param implementation
-     * @param newRpcs List of new RPCs, must be mutable
+     * @param newRpcs List of new RPCs
      * @return
      */
     final AbstractDOMRpcRoutingTableEntry add(final DOMRpcImplementation implementation, final List<YangInstanceIdentifier> newRpcs) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
-            if (newRpcs.remove(ve.getKey())) {
-                final ArrayList<DOMRpcImplementation> i = new ArrayList<>(ve.getValue().size() + 1);
-                i.addAll(ve.getValue());
-                i.add(implementation);
-                vb.put(ve.getKey(), i);
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = impls.snapshot();
+        for (final YangInstanceIdentifier ii : newRpcs) {
+            final List<DOMRpcImplementation> existing = vb.get(ii);
+            final ArrayList<DOMRpcImplementation> i;
+            if (existing != null) {
+                i = new ArrayList<>(existing.size() + 1);
+                i.addAll(existing);
             } else {
-                vb.put(ve);
+                i = new ArrayList<>(1);
             }
-        }
-        for(final YangInstanceIdentifier ii : newRpcs) {
-            final ArrayList<DOMRpcImplementation> impl = new ArrayList<>(1);
-            impl.add(implementation);
-            vb.put(ii,impl);
+
+            i.add(implementation);
+            vb.put(ii, i);
         }
 
-        return newInstance(vb.build());
+        return newInstance(vb);
     }
 
     final AbstractDOMRpcRoutingTableEntry remove(final DOMRpcImplementation implementation, final List<YangInstanceIdentifier> removed) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
-            if (removed.remove(ve.getKey())) {
-                final ArrayList<DOMRpcImplementation> i = new ArrayList<>(ve.getValue());
-                i.remove(implementation);
-                // We could trimToSize(), but that may perform another copy just to get rid
-                // of a single element. That is probably not worth the trouble.
-                if (!i.isEmpty()) {
-                    vb.put(ve.getKey(), i);
-                }
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = impls.snapshot();
+        for (final YangInstanceIdentifier ii : removed) {
+            final List<DOMRpcImplementation> existing = vb.get(ii);
+            if (existing == null) {
+                continue;
+            }
+
+            final ArrayList<DOMRpcImplementation> i = new ArrayList<>(existing);
+            i.remove(implementation);
+            // We could trimToSize(), but that may perform another copy just to get rid
+            // of a single element. That is probably not worth the trouble.
+            if (!i.isEmpty()) {
+                vb.put(ii, i);
             } else {
-                vb.put(ve);
+                vb.remove(ii);
             }
         }
 
-        final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> v = vb.build();
-        return v.isEmpty() ? null : newInstance(v);
+        // TrieMap.size() is linear, hence do not use isEmpty()
+        return vb.keySet().iterator().hasNext() ? newInstance(vb) : null;
+    }
+
+    /**
+     * Returns a read-only snapshot of a map. Unlike a writable snapshot, it is safe to publish - lookups do not
+     * copy the nodes they traverse - and a writable snapshot can be taken of it to derive an updated map.
+     *
+     * @param map The map
+     * @return The snapshot, or the map itself if it is read-only already
+     */
+    static <K, V> TrieMap<K, V> readOnlySnapshot(final TrieMap<K, V> map) {
+        // readOnlySnapshot() is declared to return a plain Map, but the snapshot is a TrieMap
+        return (TrieMap<K, V>) Preconditions.checkNotNull(map).readOnlySnapshot();
+    }
+
+    /**
+     * Creates the implementations map of a new entry.
+     *
+     * @param implementation The implementation
+     * @param contexts The contexts the implementation is registered for
+     * @return The implementations map
+     */
+    static TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> newImplementations(
+            final DOMRpcImplementation implementation, final Iterable<YangInstanceIdentifier> contexts) {
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> ret = new TrieMap<>();
+        final List<DOMRpcImplementation> v = Collections.singletonList(implementation);
+        for (final YangInstanceIdentifier i : contexts) {
+            ret.put(i, v);
+        }
+
+        return ret;
     }
 
     protected abstract CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final NormalizedNode<?, ?> input);
-    protected abstract AbstractDOMRpcRoutingTableEntry newInstance(final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls);
+    protected abstract AbstractDOMRpcRoutingTableEntry newInstance(final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> impls);
 }
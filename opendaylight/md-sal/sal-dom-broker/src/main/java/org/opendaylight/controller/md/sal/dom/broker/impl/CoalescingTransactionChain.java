@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.controller.md.sal.common.api.TransactionStatus;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionChain;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.controller.md.sal.common.impl.service.AbstractDataTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of {@link DOMTransactionChain}, which, unlike the usual chains, may be used by multiple
+ * threads concurrently. Each frontend transaction records its modifications and on submit enqueues them onto
+ * a lock-free queue. While no backend transaction is in flight, all queued modifications are applied to
+ * a single backend transaction of the delegate chain, which is then submitted. Once it completes, the futures
+ * of all frontend transactions it contained are completed and the next backend transaction is assembled from
+ * whatever was queued in the meantime.
+ *
+ * Modifications are applied in the order the frontend transactions were submitted, hence transactions
+ * submitted by a single producer are committed in order. There is no isolation between the frontend
+ * transactions and a single failure fails the chain, including all frontend transactions which were
+ * submitted with or after the failed one.
+ *
+ * The chain is write-only: {@link #newReadOnlyTransaction()} and {@link #newReadWriteTransaction()} throw
+ * {@link UnsupportedOperationException}. Reads could not observe frontend transactions which have been submitted,
+ * but not yet committed, so users read from the data broker once the relevant futures have completed.
+ */
+public final class CoalescingTransactionChain implements DOMTransactionChain {
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingTransactionChain.class);
+    private static final AtomicLong CHAIN_COUNTER = new AtomicLong();
+
+    /**
+     * This updater is used to manipulate the "inflight" flag. It is set by the thread which assembles and
+     * submits a backend transaction, and cleared when that transaction completes.
+     */
+    private static final AtomicIntegerFieldUpdater<CoalescingTransactionChain> INFLIGHT_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(CoalescingTransactionChain.class, "inflight");
+    private volatile int inflight;
+
+    private final Queue<FrontendBatch> submitted = new ConcurrentLinkedQueue<>();
+    private final AtomicLong txCounter = new AtomicLong();
+    private final DOMTransactionChain delegate;
+    private final String identifier;
+
+    private volatile Throwable failure;
+    private volatile boolean closed;
+    private boolean delegateClosed;
+
+    CoalescingTransactionChain(final DOMDataBroker broker, final TransactionChainListener listener) {
+        this.identifier = "coalescing-chain-" + CHAIN_COUNTER.incrementAndGet();
+        this.delegate = Preconditions.checkNotNull(broker).createTransactionChain(new TransactionChainListener() {
+            @Override
+            public void onTransactionChainFailed(final TransactionChain<?, ?> chain,
+                    final AsyncTransaction<?, ?> transaction, final Throwable cause) {
+                LOG.debug("Delegate chain {} reported failure in {}", chain, transaction, cause);
+                listener.onTransactionChainFailed(CoalescingTransactionChain.this, transaction, cause);
+            }
+
+            @Override
+            public void onTransactionChainSuccessful(final TransactionChain<?, ?> chain) {
+                listener.onTransactionChainSuccessful(CoalescingTransactionChain.this);
+            }
+        });
+    }
+
+    private void submitBatch(final FrontendBatch batch) {
+        Preconditions.checkState(!closed, "Transaction chain %s has been closed", this);
+
+        final Throwable localFailure = failure;
+        if (localFailure != null) {
+            batch.onFailure(localFailure);
+            return;
+        }
+
+        submitted.offer(batch);
+        dispatchIfIdle();
+    }
+
+    /*
+     * Whoever sets the inflight flag assembles the next backend transaction. A producer enqueues before
+     * checking the flag and the completion callback clears the flag before checking the queue, hence
+     * a queued batch is always picked up by one of them.
+     */
+    private void dispatchIfIdle() {
+        while (!submitted.isEmpty() && INFLIGHT_UPDATER.compareAndSet(this, 0, 1)) {
+            final List<FrontendBatch> batches = new ArrayList<>();
+            for (FrontendBatch batch = submitted.poll(); batch != null; batch = submitted.poll()) {
+                batches.add(batch);
+            }
+
+            if (batches.isEmpty() || !dispatch(batches)) {
+                INFLIGHT_UPDATER.set(this, 0);
+            }
+        }
+
+        maybeCloseDelegate();
+    }
+
+    /**
+     * Apply the batches to a backend transaction and submit it.
+     *
+     * @return true if a transaction was submitted, in which case its completion clears the inflight flag, false
+     *         if the batches have been failed instead.
+     */
+    private boolean dispatch(final List<FrontendBatch> batches) {
+        Throwable localFailure = failure;
+        if (localFailure == null) {
+            final DOMDataWriteTransaction tx = delegate.newWriteOnlyTransaction();
+            try {
+                for (FrontendBatch batch : batches) {
+                    batch.applyTo(tx);
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to apply frontend modifications to transaction {}", tx.getIdentifier(), e);
+                tx.cancel();
+                failure = e;
+                localFailure = e;
+            }
+
+            if (localFailure == null) {
+                submit(tx, batches);
+                return true;
+            }
+        }
+
+        for (FrontendBatch batch : batches) {
+            batch.onFailure(localFailure);
+        }
+
+        return false;
+    }
+
+    private void submit(final DOMDataWriteTransaction tx, final List<FrontendBatch> batches) {
+        LOG.debug("Submitting transaction {} with {} frontend transactions", tx.getIdentifier(), batches.size());
+
+        // Set while Futures.addCallback() is running, so a callback invoked synchronously from it knows that
+        // the loop in dispatchIfIdle() picks up the next batches and does not recurse into it.
+        final AtomicBoolean submitting = new AtomicBoolean(true);
+        Futures.addCallback(tx.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                for (FrontendBatch batch : batches) {
+                    batch.onSuccess(result);
+                }
+
+                onTransactionComplete(submitting);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                LOG.debug("Transaction {} failed", tx.getIdentifier(), t);
+                failure = t;
+                for (FrontendBatch batch : batches) {
+                    batch.onFailure(t);
+                }
+
+                onTransactionComplete(submitting);
+            }
+        });
+        submitting.set(false);
+    }
+
+    /*
+     * The flag is cleared before submitting is checked and the dispatching thread clears submitting before it
+     * retries the flag, hence at least one of them sees the other's update and goes on dispatching.
+     */
+    private void onTransactionComplete(final AtomicBoolean submitting) {
+        INFLIGHT_UPDATER.set(this, 0);
+        if (!submitting.get()) {
+            dispatchIfIdle();
+        }
+    }
+
+    private synchronized void maybeCloseDelegate() {
+        if (closed && !delegateClosed && inflight == 0 && submitted.isEmpty()) {
+            delegateClosed = true;
+            LOG.debug("Closing delegate chain of {}", this);
+            delegate.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        dispatchIfIdle();
+    }
+
+    @Override
+    public DOMDataReadOnlyTransaction newReadOnlyTransaction() {
+        throw new UnsupportedOperationException("Transaction chain " + this + " does not support reads");
+    }
+
+    @Override
+    public DOMDataReadWriteTransaction newReadWriteTransaction() {
+        throw new UnsupportedOperationException("Transaction chain " + this + " does not support reads");
+    }
+
+    @Override
+    public DOMDataWriteTransaction newWriteOnlyTransaction() {
+        Preconditions.checkState(!closed, "Transaction chain %s has been closed", this);
+        return new FrontendTransaction(identifier + "-tx-" + txCounter.incrementAndGet());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("closed", closed).toString();
+    }
+
+    /**
+     * A single modification recorded by a frontend transaction.
+     */
+    private abstract static class Modification {
+        final LogicalDatastoreType store;
+        final YangInstanceIdentifier path;
+
+        Modification(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+            this.store = Preconditions.checkNotNull(store);
+            this.path = Preconditions.checkNotNull(path);
+        }
+
+        abstract void applyTo(DOMDataWriteTransaction tx);
+    }
+
+    /**
+     * The modifications of a submitted frontend transaction and the future reporting its outcome.
+     */
+    private static final class FrontendBatch {
+        private final SettableFuture<Void> future = SettableFuture.create();
+        private final List<Modification> modifications;
+
+        FrontendBatch(final List<Modification> modifications) {
+            this.modifications = modifications;
+        }
+
+        void applyTo(final DOMDataWriteTransaction tx) {
+            for (Modification mod : modifications) {
+                mod.applyTo(tx);
+            }
+        }
+
+        void onSuccess(final Void result) {
+            future.set(result);
+        }
+
+        void onFailure(final Throwable t) {
+            future.setException(t);
+        }
+    }
+
+    private final class FrontendTransaction implements DOMDataWriteTransaction {
+        private final List<Modification> modifications = new ArrayList<>();
+        private final String txIdentifier;
+        private boolean finished;
+
+        FrontendTransaction(final String txIdentifier) {
+            this.txIdentifier = txIdentifier;
+        }
+
+        private void checkNotFinished() {
+            Preconditions.checkState(!finished, "Transaction %s has already been submitted or cancelled",
+                    txIdentifier);
+        }
+
+        private void finish() {
+            checkNotFinished();
+            finished = true;
+        }
+
+        @Override
+        public void put(final LogicalDatastoreType store, final YangInstanceIdentifier path,
+                final NormalizedNode<?, ?> data) {
+            checkNotFinished();
+            Preconditions.checkNotNull(data);
+            modifications.add(new Modification(store, path) {
+                @Override
+                void applyTo(final DOMDataWriteTransaction tx) {
+                    tx.put(this.store, this.path, data);
+                }
+            });
+        }
+
+        @Override
+        public void merge(final LogicalDatastoreType store, final YangInstanceIdentifier path,
+                final NormalizedNode<?, ?> data) {
+            checkNotFinished();
+            Preconditions.checkNotNull(data);
+            modifications.add(new Modification(store, path) {
+                @Override
+                void applyTo(final DOMDataWriteTransaction tx) {
+                    tx.merge(this.store, this.path, data);
+                }
+            });
+        }
+
+        @Override
+        public void delete(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+            checkNotFinished();
+            modifications.add(new Modification(store, path) {
+                @Override
+                void applyTo(final DOMDataWriteTransaction tx) {
+                    tx.delete(this.store, this.path);
+                }
+            });
+        }
+
+        @Override
+        public CheckedFuture<Void, TransactionCommitFailedException> submit() {
+            finish();
+
+            final FrontendBatch batch = new FrontendBatch(modifications);
+            submitBatch(batch);
+            return new PingPongFuture(batch.future);
+        }
+
+        @Override
+        @Deprecated
+        public ListenableFuture<RpcResult<TransactionStatus>> commit() {
+            return AbstractDataTransaction.convertToLegacyCommitFuture(submit());
+        }
+
+        @Override
+        public boolean cancel() {
+            if (finished) {
+                return false;
+            }
+
+            finish();
+            modifications.clear();
+            return true;
+        }
+
+        @Override
+        public Object getIdentifier() {
+            return txIdentifier;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("identifier", txIdentifier).toString();
+        }
+    }
+}
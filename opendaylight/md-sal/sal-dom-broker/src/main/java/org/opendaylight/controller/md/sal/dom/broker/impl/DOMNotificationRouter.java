@@ -8,12 +8,8 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.ImmutableMultimap.Builder;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.lmax.disruptor.EventHandler;
@@ -26,6 +22,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -46,11 +44,15 @@ import org.slf4j.LoggerFactory;
  * Joint implementation of {@link DOMNotificationPublishService} and {@link DOMNotificationService}. Provides
  * routing of notifications from publishers to subscribers.
  *
- * Internal implementation works by allocating a two-handler Disruptor. The first handler delivers notifications
- * to subscribed listeners and the second one notifies whoever may be listening on the returned future. Registration
- * state tracking is performed by a simple immutable multimap -- when a registration or unregistration occurs we
- * re-generate the entire map from scratch and set it atomically. While registrations/unregistrations synchronize
- * on this instance, notifications do not take any locks here.
+ * Internal implementation works by allocating a number of two-handler Disruptors, called partitions. Each
+ * notification type is assigned to a partition by its hash, so notifications of a type are delivered in order,
+ * while notifications of types in different partitions are delivered in parallel and a burst of one type does
+ * not delay delivery of the types in other partitions. In each partition the first handler delivers notifications
+ * to subscribed listeners and the second one notifies whoever may be listening on the returned future.
+ *
+ * Registration state tracking is performed by a concurrent map of immutable listener lists, one for each type --
+ * when a registration or unregistration occurs we re-generate the lists of its types and compare-and-set them.
+ * Neither registrations/unregistrations nor notifications take any locks here.
  *
  * The fully-blocking {@link #publish(long, DOMNotification, Collection)} and non-blocking {@link #offerNotification(DOMNotification)}
  * are realized using the Disruptor's native operations. The bounded-blocking {@link #offerNotification(DOMNotification, long, TimeUnit)}
@@ -76,83 +78,148 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
         }
     };
 
-    private final Disruptor<DOMNotificationRouterEvent> disruptor;
+    private final List<Disruptor<DOMNotificationRouterEvent>> disruptors;
     private final ExecutorService executor;
-    private volatile Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> listeners = ImmutableMultimap.of();
+    private final ConcurrentMap<SchemaPath, ImmutableList<ListenerRegistration<? extends DOMNotificationListener>>> listeners =
+            new ConcurrentHashMap<>();
     private final ListenerRegistry<DOMNotificationSubscriptionListener> subscriptionListeners = ListenerRegistry.create();
 
     @SuppressWarnings("unchecked")
-    private DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy) {
+    private DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy,
+            final int partitions) {
+        Preconditions.checkArgument(partitions > 0, "Number of partitions %s is not positive", partitions);
         this.executor = Preconditions.checkNotNull(executor);
 
-        disruptor = new Disruptor<>(DOMNotificationRouterEvent.FACTORY, queueDepth, executor, ProducerType.MULTI, strategy);
-        disruptor.handleEventsWith(DISPATCH_NOTIFICATIONS);
-        disruptor.after(DISPATCH_NOTIFICATIONS).handleEventsWith(NOTIFY_FUTURE);
-        disruptor.start();
+        final ImmutableList.Builder<Disruptor<DOMNotificationRouterEvent>> b = ImmutableList.builder();
+        for (int i = 0; i < partitions; ++i) {
+            final Disruptor<DOMNotificationRouterEvent> disruptor =
+                    new Disruptor<>(DOMNotificationRouterEvent.FACTORY, queueDepth, executor, ProducerType.MULTI, strategy);
+            disruptor.handleEventsWith(DISPATCH_NOTIFICATIONS);
+            disruptor.after(DISPATCH_NOTIFICATIONS).handleEventsWith(NOTIFY_FUTURE);
+            disruptor.start();
+            b.add(disruptor);
+        }
+        disruptors = b.build();
     }
 
     public static DOMNotificationRouter create(final int queueDepth) {
         final ExecutorService executor = Executors.newCachedThreadPool();
 
-        return new DOMNotificationRouter(executor, queueDepth, DEFAULT_STRATEGY);
+        return new DOMNotificationRouter(executor, queueDepth, DEFAULT_STRATEGY, 1);
     }
 
     public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime, final TimeUnit unit) {
+        return create(queueDepth, spinTime, parkTime, unit, 1);
+    }
+
+    /**
+     * Creates a router which delivers notifications in the specified number of partitions, each with its own
+     * queue of the specified depth.
+     */
+    public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime,
+            final TimeUnit unit, final int partitions) {
         final ExecutorService executor = Executors.newCachedThreadPool();
         final WaitStrategy strategy = PhasedBackoffWaitStrategy.withLock(spinTime, parkTime, unit);
 
-        return new DOMNotificationRouter(executor, queueDepth, strategy);
+        return new DOMNotificationRouter(executor, queueDepth, strategy, partitions);
     }
 
     @Override
-    public synchronized <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(final T listener, final Collection<SchemaPath> types) {
+    public <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(final T listener, final Collection<SchemaPath> types) {
+        final List<SchemaPath> registeredTypes = ImmutableList.copyOf(types);
         final ListenerRegistration<T> reg = new AbstractListenerRegistration<T>(listener) {
             @Override
             protected void removeRegistration() {
-                final ListenerRegistration<T> me = this;
-
-                synchronized (DOMNotificationRouter.this) {
-                    replaceListeners(ImmutableMultimap.copyOf(Multimaps.filterValues(listeners, new Predicate<ListenerRegistration<? extends DOMNotificationListener>>() {
-                        @Override
-                        public boolean apply(final ListenerRegistration<? extends DOMNotificationListener> input) {
-                            return input != me;
-                        }
-                    })));
+                for (final SchemaPath t : registeredTypes) {
+                    removeListener(t, this);
                 }
+
+                notifyListenerTypesChanged();
             }
         };
 
-        if (!types.isEmpty()) {
-            final Builder<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> b = ImmutableMultimap.builder();
-            b.putAll(listeners);
-
-            for (final SchemaPath t : types) {
-                b.put(t, reg);
+        if (!registeredTypes.isEmpty()) {
+            for (final SchemaPath t : registeredTypes) {
+                addListener(t, reg);
             }
 
-            replaceListeners(b.build());
+            notifyListenerTypesChanged();
         }
 
         return reg;
     }
 
+    private void addListener(final SchemaPath type, final ListenerRegistration<? extends DOMNotificationListener> reg) {
+        while (true) {
+            final ImmutableList<ListenerRegistration<? extends DOMNotificationListener>> current = listeners.get(type);
+            if (current == null) {
+                final ImmutableList<ListenerRegistration<? extends DOMNotificationListener>> next =
+                        ImmutableList.<ListenerRegistration<? extends DOMNotificationListener>>of(reg);
+                if (listeners.putIfAbsent(type, next) == null) {
+                    return;
+                }
+            } else {
+                final ImmutableList<ListenerRegistration<? extends DOMNotificationListener>> next =
+                        ImmutableList.<ListenerRegistration<? extends DOMNotificationListener>>builder()
+                            .addAll(current).add(reg).build();
+                if (listeners.replace(type, current, next)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void removeListener(final SchemaPath type, final ListenerRegistration<? extends DOMNotificationListener> reg) {
+        while (true) {
+            final ImmutableList<ListenerRegistration<? extends DOMNotificationListener>> current = listeners.get(type);
+            if (current == null) {
+                return;
+            }
+
+            final ImmutableList.Builder<ListenerRegistration<? extends DOMNotificationListener>> b = ImmutableList.builder();
+            for (final ListenerRegistration<? extends DOMNotificationListener> l : current) {
+                if (l != reg) {
+                    b.add(l);
+                }
+            }
+
+            final ImmutableList<ListenerRegistration<? extends DOMNotificationListener>> next = b.build();
+            if (next.size() == current.size()) {
+                return;
+            }
+
+            if (next.isEmpty() ? listeners.remove(type, current) : listeners.replace(type, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the subscribers of the specified notification type.
+     */
+    private Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers(final SchemaPath type) {
+        final Collection<ListenerRegistration<? extends DOMNotificationListener>> ret = listeners.get(type);
+        return ret != null ? ret : ImmutableList.<ListenerRegistration<? extends DOMNotificationListener>>of();
+    }
+
+    static int partitionOf(final SchemaPath type, final int partitions) {
+        return (type.hashCode() & Integer.MAX_VALUE) % partitions;
+    }
+
+    private Disruptor<DOMNotificationRouterEvent> disruptorFor(final DOMNotification notification) {
+        return disruptors.get(partitionOf(notification.getType(), disruptors.size()));
+    }
+
     @Override
     public <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(final T listener, final SchemaPath... types) {
         return registerNotificationListener(listener, Arrays.asList(types));
     }
 
     /**
-     * Swaps registered listeners and triggers notification update
-     *
-     * @param newListeners
+     * Triggers notification update with the currently registered listener types
      */
-    private void replaceListeners(
-            final Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> newListeners) {
-        listeners = newListeners;
-        notifyListenerTypesChanged(newListeners.keySet());
-    }
-
-    private void notifyListenerTypesChanged(final Set<SchemaPath> typesAfter) {
+    private void notifyListenerTypesChanged() {
+        final Set<SchemaPath> typesAfter = ImmutableSet.copyOf(listeners.keySet());
         final List<ListenerRegistration<DOMNotificationSubscriptionListener>> listenersAfter =ImmutableList.copyOf(subscriptionListeners.getListeners());
         executor.submit(new Runnable() {
 
@@ -172,7 +239,7 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
     @Override
     public <L extends DOMNotificationSubscriptionListener> ListenerRegistration<L> registerSubscriptionListener(
             final L listener) {
-        final Set<SchemaPath> initialTypes = listeners.keySet();
+        final Set<SchemaPath> initialTypes = ImmutableSet.copyOf(listeners.keySet());
         executor.submit(new Runnable() {
 
             @Override
@@ -183,7 +250,8 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
         return subscriptionListeners.registerWithType(listener);
     }
 
-    private ListenableFuture<Void> publish(final long seq, final DOMNotification notification, final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+    private static ListenableFuture<Void> publish(final Disruptor<DOMNotificationRouterEvent> disruptor, final long seq,
+            final DOMNotification notification, final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
         final DOMNotificationRouterEvent event = disruptor.get(seq);
         final ListenableFuture<Void> future = event.initialize(notification, subscribers);
         disruptor.getRingBuffer().publish(seq);
@@ -192,16 +260,18 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
 
     @Override
     public ListenableFuture<? extends Object> putNotification(final DOMNotification notification) throws InterruptedException {
-        final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers = listeners.get(notification.getType());
+        final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers = subscribers(notification.getType());
         if (subscribers.isEmpty()) {
             return NO_LISTENERS;
         }
 
+        final Disruptor<DOMNotificationRouterEvent> disruptor = disruptorFor(notification);
         final long seq = disruptor.getRingBuffer().next();
-        return publish(seq, notification, subscribers);
+        return publish(disruptor, seq, notification, subscribers);
     }
 
     private ListenableFuture<? extends Object> tryPublish(final DOMNotification notification, final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        final Disruptor<DOMNotificationRouterEvent> disruptor = disruptorFor(notification);
         final long seq;
         try {
              seq = disruptor.getRingBuffer().tryNext();
@@ -209,12 +279,12 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
             return DOMNotificationPublishService.REJECTED;
         }
 
-        return publish(seq, notification, subscribers);
+        return publish(disruptor, seq, notification, subscribers);
     }
 
     @Override
     public ListenableFuture<? extends Object> offerNotification(final DOMNotification notification) {
-        final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers = listeners.get(notification.getType());
+        final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers = subscribers(notification.getType());
         if (subscribers.isEmpty()) {
             return NO_LISTENERS;
         }
@@ -225,7 +295,7 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
     @Override
     public ListenableFuture<? extends Object> offerNotification(final DOMNotification notification, final long timeout,
             final TimeUnit unit) throws InterruptedException {
-        final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers = listeners.get(notification.getType());
+        final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers = subscribers(notification.getType());
         if (subscribers.isEmpty()) {
             return NO_LISTENERS;
         }
@@ -245,7 +315,9 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
 
     @Override
     public void close() {
-        disruptor.shutdown();
+        for (final Disruptor<DOMNotificationRouterEvent> disruptor : disruptors) {
+            disruptor.shutdown();
+        }
         executor.shutdown();
     }
 }
@@ -12,6 +12,7 @@ import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -69,21 +70,30 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         final Collection<DOMRpcIdentifier> removedRpcs = notPresentRpcs(newTable, rpcs);
         routingTable = newTable;
         if(!removedRpcs.isEmpty()) {
-            final Collection<ListenerRegistration<? extends DOMRpcAvailabilityListener>> capturedListeners = listeners;
-            listenerNotifier.execute(new Runnable() {
-                @Override
-                public void run() {
-                    for (final ListenerRegistration<? extends DOMRpcAvailabilityListener> l : capturedListeners) {
-                        // Need to ensure removed listeners do not get notified
-                        synchronized (DOMRpcRouter.this) {
-                            if (listeners.contains(l)) {
-                                l.getInstance().onRpcUnavailable(removedRpcs);
+            notifyListeners(removedRpcs, false);
+        }
+    }
+
+    @GuardedBy("this")
+    private void notifyListeners(final Collection<DOMRpcIdentifier> rpcs, final boolean available) {
+        final Collection<ListenerRegistration<? extends DOMRpcAvailabilityListener>> capturedListeners = listeners;
+        listenerNotifier.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (final ListenerRegistration<? extends DOMRpcAvailabilityListener> l : capturedListeners) {
+                    // Need to ensure removed listeners do not get notified
+                    synchronized (DOMRpcRouter.this) {
+                        if (listeners.contains(l)) {
+                            if (available) {
+                                l.getInstance().onRpcAvailable(rpcs);
+                            } else {
+                                l.getInstance().onRpcUnavailable(rpcs);
                             }
                         }
                     }
                 }
-            });
-        }
+            }
+        });
     }
 
     @Override
@@ -95,22 +105,44 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         routingTable = newTable;
 
         if(!addedRpcs.isEmpty()) {
-            final Collection<ListenerRegistration<? extends DOMRpcAvailabilityListener>> capturedListeners = listeners;
-            listenerNotifier.execute(new Runnable() {
-                @Override
-                public void run() {
-                    for (final ListenerRegistration<? extends DOMRpcAvailabilityListener> l : capturedListeners) {
-                        // Need to ensure removed listeners do not get notified
-                        synchronized (DOMRpcRouter.this) {
-                            if (listeners.contains(l)) {
-                                l.getInstance().onRpcAvailable(addedRpcs);
-                            }
-                        }
-                    }
-                }
-            });
+            notifyListeners(addedRpcs, true);
+        }
+
+        return newRegistration(implementation, rpcs);
+    }
+
+    /**
+     * Registers multiple implementations at once. Unlike registering them one by one, the routing table is
+     * published and the availability listeners are notified only once, which is considerably cheaper when
+     * bringing a large number of routed RPC contexts, e.g. one per device, online.
+     *
+     * @param implementations The implementations and the RPCs they implement
+     * @return The registration of each implementation
+     */
+    public synchronized <T extends DOMRpcImplementation> Map<T, DOMRpcImplementationRegistration<T>> registerRpcImplementations(
+            final Map<T, Set<DOMRpcIdentifier>> implementations) {
+        final DOMRpcRoutingTable oldTable = routingTable;
+        final DOMRpcRoutingTable newTable = oldTable.addAll(implementations);
+
+        final ImmutableSet.Builder<DOMRpcIdentifier> addedRpcs = ImmutableSet.builder();
+        final ImmutableMap.Builder<T, DOMRpcImplementationRegistration<T>> ret = ImmutableMap.builder();
+        for (final Entry<T, Set<DOMRpcIdentifier>> e : implementations.entrySet()) {
+            addedRpcs.addAll(notPresentRpcs(oldTable, e.getValue()));
+            ret.put(e.getKey(), newRegistration(e.getKey(), ImmutableSet.copyOf(e.getValue())));
         }
 
+        routingTable = newTable;
+
+        final Collection<DOMRpcIdentifier> added = addedRpcs.build();
+        if(!added.isEmpty()) {
+            notifyListeners(added, true);
+        }
+
+        return ret.build();
+    }
+
+    private <T extends DOMRpcImplementation> DOMRpcImplementationRegistration<T> newRegistration(final T implementation,
+            final Set<DOMRpcIdentifier> rpcs) {
         return new AbstractDOMRpcImplementationRegistration<T>(implementation) {
             @Override
             protected void removeRegistration() {
@@ -8,17 +8,14 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Function;
-import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
+import com.romix.scala.collection.concurrent.TrieMap;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -39,6 +36,11 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.api.UnknownSchemaNode;
 
+/**
+ * Immutable routing table of RPC implementations. Like its entries, the table keeps them in a read-only
+ * {@link TrieMap} snapshot, so adding or removing implementations copies only the entries of the RPC types being
+ * changed and lookups never copy any nodes.
+ */
 final class DOMRpcRoutingTable {
     private static final QName CONTEXT_REFERENCE = QName.cachedReference(QName.create("urn:opendaylight:yang:extension:yang-ext", "2013-07-09", "context-reference"));
 
@@ -50,16 +52,17 @@ final class DOMRpcRoutingTable {
                     return input.registeredIdentifiers();
                 }
     };
-    private final Map<SchemaPath, AbstractDOMRpcRoutingTableEntry> rpcs;
+    private final TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry> rpcs;
     private final SchemaContext schemaContext;
 
     private DOMRpcRoutingTable() {
-        rpcs = Collections.emptyMap();
+        rpcs = AbstractDOMRpcRoutingTableEntry.readOnlySnapshot(
+                new TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry>());
         schemaContext = null;
     }
 
-    private DOMRpcRoutingTable(final Map<SchemaPath, AbstractDOMRpcRoutingTableEntry> rpcs, final SchemaContext schemaContext) {
-        this.rpcs = Preconditions.checkNotNull(rpcs);
+    private DOMRpcRoutingTable(final TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry> rpcs, final SchemaContext schemaContext) {
+        this.rpcs = AbstractDOMRpcRoutingTableEntry.readOnlySnapshot(rpcs);
         this.schemaContext = schemaContext;
     }
 
@@ -79,30 +82,35 @@ final class DOMRpcRoutingTable {
         // First decompose the identifiers to a multimap
         final ListMultimap<SchemaPath, YangInstanceIdentifier> toAdd = decomposeIdentifiers(rpcs);
 
-        // Now iterate over existing entries, modifying them as appropriate...
-        final Builder<SchemaPath, AbstractDOMRpcRoutingTableEntry> mb = ImmutableMap.builder();
-        for (Entry<SchemaPath, AbstractDOMRpcRoutingTableEntry> re : this.rpcs.entrySet()) {
-            List<YangInstanceIdentifier> newRpcs = new ArrayList<>(toAdd.removeAll(re.getKey()));
-            if (!newRpcs.isEmpty()) {
-                final AbstractDOMRpcRoutingTableEntry ne = re.getValue().add(implementation, newRpcs);
-                mb.put(re.getKey(), ne);
+        // Now modify the entries of the RPCs being added in a snapshot of the existing entries...
+        final TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry> mb = this.rpcs.snapshot();
+        for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : toAdd.asMap().entrySet()) {
+            final AbstractDOMRpcRoutingTableEntry re = mb.get(e.getKey());
+            if (re != null) {
+                mb.put(e.getKey(), re.add(implementation, new ArrayList<>(e.getValue())));
             } else {
-                mb.put(re);
+                mb.put(e.getKey(), createRpcEntry(schemaContext, e.getKey(),
+                    AbstractDOMRpcRoutingTableEntry.newImplementations(implementation, e.getValue())));
             }
         }
 
-        // Finally add whatever is left in the decomposed multimap
-        for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : toAdd.asMap().entrySet()) {
-            final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-            final List<DOMRpcImplementation> v = Collections.singletonList(implementation);
-            for (YangInstanceIdentifier i : e.getValue()) {
-                vb.put(i, v);
-            }
+        return new DOMRpcRoutingTable(mb, schemaContext);
+    }
 
-            mb.put(e.getKey(), createRpcEntry(schemaContext, e.getKey(), vb.build()));
+    /**
+     * Adds multiple implementations at once, as if by calling {@link #add(DOMRpcImplementation, Set)}
+     * for each of them.
+     *
+     * @param implementations The implementations and the RPCs they are registered for
+     * @return The new routing table
+     */
+    DOMRpcRoutingTable addAll(final Map<? extends DOMRpcImplementation, Set<DOMRpcIdentifier>> implementations) {
+        DOMRpcRoutingTable ret = this;
+        for (Entry<? extends DOMRpcImplementation, Set<DOMRpcIdentifier>> e : implementations.entrySet()) {
+            ret = ret.add(e.getKey(), e.getValue());
         }
 
-        return new DOMRpcRoutingTable(mb.build(), schemaContext);
+        return ret;
     }
 
     DOMRpcRoutingTable remove(final DOMRpcImplementation implementation, final Set<DOMRpcIdentifier> rpcs) {
@@ -113,22 +121,22 @@ final class DOMRpcRoutingTable {
         // First decompose the identifiers to a multimap
         final ListMultimap<SchemaPath, YangInstanceIdentifier> toRemove = decomposeIdentifiers(rpcs);
 
-        // Now iterate over existing entries, modifying them as appropriate...
-        final Builder<SchemaPath, AbstractDOMRpcRoutingTableEntry> b = ImmutableMap.builder();
-        for (Entry<SchemaPath, AbstractDOMRpcRoutingTableEntry> e : this.rpcs.entrySet()) {
-            final List<YangInstanceIdentifier> removed = new ArrayList<>(toRemove.removeAll(e.getKey()));
-            if (!removed.isEmpty()) {
-                final AbstractDOMRpcRoutingTableEntry ne = e.getValue().remove(implementation, removed);
+        // Now modify the entries of the RPCs being removed in a snapshot of the existing entries...
+        final TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry> b = this.rpcs.snapshot();
+        for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : toRemove.asMap().entrySet()) {
+            final AbstractDOMRpcRoutingTableEntry re = b.get(e.getKey());
+            if (re != null) {
+                final AbstractDOMRpcRoutingTableEntry ne = re.remove(implementation, new ArrayList<>(e.getValue()));
                 if (ne != null) {
                     b.put(e.getKey(), ne);
+                } else {
+                    b.remove(e.getKey());
                 }
-            } else {
-                b.put(e);
             }
         }
 
-        // All done, whatever is in toRemove, was not there in the first place
-        return new DOMRpcRoutingTable(b.build(), schemaContext);
+        // All done, whatever was not found, was not there in the first place
+        return new DOMRpcRoutingTable(b, schemaContext);
     }
 
     boolean contains(final DOMRpcIdentifier input) {
@@ -156,7 +164,7 @@ final class DOMRpcRoutingTable {
         return null;
     }
 
-    private static AbstractDOMRpcRoutingTableEntry createRpcEntry(final SchemaContext context, final SchemaPath key, final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> implementations) {
+    private static AbstractDOMRpcRoutingTableEntry createRpcEntry(final SchemaContext context, final SchemaPath key, final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> implementations) {
         final RpcDefinition rpcDef = findRpcDefinition(context, key);
         if (rpcDef != null) {
             final ContainerSchemaNode input = rpcDef.getInput();
@@ -187,13 +195,13 @@ final class DOMRpcRoutingTable {
     }
 
     DOMRpcRoutingTable setSchemaContext(final SchemaContext context) {
-        final Builder<SchemaPath, AbstractDOMRpcRoutingTableEntry> b = ImmutableMap.builder();
+        final TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry> b = new TrieMap<>();
 
         for (Entry<SchemaPath, AbstractDOMRpcRoutingTableEntry> e : rpcs.entrySet()) {
             b.put(e.getKey(), createRpcEntry(context, e.getKey(), e.getValue().getImplementations()));
         }
 
-        return new DOMRpcRoutingTable(b.build(), context);
+        return new DOMRpcRoutingTable(b, context);
     }
 
 }
@@ -47,6 +47,18 @@ public final class PingPongDataBroker extends ForwardingDOMDataBroker implements
         return new PingPongTransactionChain(delegate, listener);
     }
 
+    /**
+     * Create a new transaction chain, which may be used by multiple threads concurrently. The modifications
+     * of transactions submitted while a previous one is being committed are merged into a single backend
+     * transaction. See {@link CoalescingTransactionChain} for details.
+     *
+     * @param listener Transaction chain event listener
+     * @return A new coalescing transaction chain.
+     */
+    public CoalescingTransactionChain createCoalescingTransactionChain(final TransactionChainListener listener) {
+        return new CoalescingTransactionChain(delegate, listener);
+    }
+
     @Override
     public void close() {
         // intentionally NOOP
@@ -38,6 +38,41 @@ public interface CommitStatsMXBean {
      */
     String getAverageCommitTime();
 
+    /**
+     * Returns the total number of commits of transactions which had a single commit cohort, ie. touched
+     * a single data store, and hence took the single-phase path.
+     */
+    long getTotalSingleCohortCommits();
+
+    /**
+     * Returns a string representing the average commit time duration of transactions which had a single
+     * commit cohort, in the appropriate scaled units.
+     */
+    String getAverageSingleCohortCommitTime();
+
+    /**
+     * Returns a string representing the time duration of the longest commit of a transaction which had
+     * a single commit cohort, in the appropriate scaled units, along with the date/time that it occurred.
+     */
+    String getLongestSingleCohortCommitTime();
+
+    /**
+     * Returns the total number of commits of transactions which had multiple commit cohorts.
+     */
+    long getTotalMultiCohortCommits();
+
+    /**
+     * Returns a string representing the average commit time duration of transactions which had multiple
+     * commit cohorts, in the appropriate scaled units.
+     */
+    String getAverageMultiCohortCommitTime();
+
+    /**
+     * Returns a string representing the time duration of the longest commit of a transaction which had
+     * multiple commit cohorts, in the appropriate scaled units, along with the date/time that it occurred.
+     */
+    String getLongestMultiCohortCommitTime();
+
     /**
      * Clears the current stats to their defaults.
      */
@@ -20,6 +20,8 @@ import org.opendaylight.yangtools.util.DurationStatisticsTracker;
 public class CommitStatsMXBeanImpl extends AbstractMXBean implements CommitStatsMXBean {
 
     private final DurationStatisticsTracker commitStatsTracker;
+    private final DurationStatisticsTracker singleCohortStatsTracker;
+    private final DurationStatisticsTracker multiCohortStatsTracker;
 
     /**
      * Constructor.
@@ -29,8 +31,25 @@ public class CommitStatsMXBeanImpl extends AbstractMXBean implements CommitStats
      */
     public CommitStatsMXBeanImpl(@Nonnull DurationStatisticsTracker commitStatsTracker,
             @Nonnull String mBeanType) {
+        this(commitStatsTracker, DurationStatisticsTracker.createConcurrent(),
+                DurationStatisticsTracker.createConcurrent(), mBeanType);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param commitStatsTracker the DurationStatsTracker used to obtain the stats of all commits.
+     * @param singleCohortStatsTracker the DurationStatsTracker used to obtain the stats of single-cohort commits.
+     * @param multiCohortStatsTracker the DurationStatsTracker used to obtain the stats of multi-cohort commits.
+     * @param mBeanType mBeanType Used as the <code>type</code> property in the bean's ObjectName.
+     */
+    public CommitStatsMXBeanImpl(@Nonnull DurationStatisticsTracker commitStatsTracker,
+            @Nonnull DurationStatisticsTracker singleCohortStatsTracker,
+            @Nonnull DurationStatisticsTracker multiCohortStatsTracker, @Nonnull String mBeanType) {
         super("CommitStats", mBeanType, null);
         this.commitStatsTracker = commitStatsTracker;
+        this.singleCohortStatsTracker = singleCohortStatsTracker;
+        this.multiCohortStatsTracker = multiCohortStatsTracker;
     }
 
     @Override
@@ -53,8 +72,40 @@ public class CommitStatsMXBeanImpl extends AbstractMXBean implements CommitStats
         return commitStatsTracker.getDisplayableAverageDuration();
     }
 
+    @Override
+    public long getTotalSingleCohortCommits() {
+        return singleCohortStatsTracker.getTotalDurations();
+    }
+
+    @Override
+    public String getAverageSingleCohortCommitTime() {
+        return singleCohortStatsTracker.getDisplayableAverageDuration();
+    }
+
+    @Override
+    public String getLongestSingleCohortCommitTime() {
+        return singleCohortStatsTracker.getDisplayableLongestDuration();
+    }
+
+    @Override
+    public long getTotalMultiCohortCommits() {
+        return multiCohortStatsTracker.getTotalDurations();
+    }
+
+    @Override
+    public String getAverageMultiCohortCommitTime() {
+        return multiCohortStatsTracker.getDisplayableAverageDuration();
+    }
+
+    @Override
+    public String getLongestMultiCohortCommitTime() {
+        return multiCohortStatsTracker.getDisplayableLongestDuration();
+    }
+
     @Override
     public void clearStats() {
         commitStatsTracker.reset();
+        singleCohortStatsTracker.reset();
+        multiCohortStatsTracker.reset();
     }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType.CONFIGURATION;
+import static org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType.OPERATIONAL;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStore;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.controller.sal.core.spi.data.DOMStore;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class CoalescingTransactionChainTest {
+
+    private PingPongDataBroker broker;
+    private ListeningExecutorService producers;
+
+    @Before
+    public void setupStore() {
+        InMemoryDOMDataStore operStore = new InMemoryDOMDataStore("OPER", MoreExecutors.newDirectExecutorService());
+        InMemoryDOMDataStore configStore = new InMemoryDOMDataStore("CFG", MoreExecutors.newDirectExecutorService());
+        SchemaContext schemaContext = TestModel.createTestContext();
+
+        operStore.onGlobalContextUpdated(schemaContext);
+        configStore.onGlobalContextUpdated(schemaContext);
+
+        ImmutableMap<LogicalDatastoreType, DOMStore> stores = ImmutableMap.<LogicalDatastoreType, DOMStore> builder()
+                .put(CONFIGURATION, configStore)
+                .put(OPERATIONAL, operStore)
+                .build();
+
+        ListeningExecutorService executor = MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor());
+        broker = new PingPongDataBroker(new SerializedDOMDataBroker(stores, executor));
+        producers = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(4));
+    }
+
+    @After
+    public void tearDown() {
+        producers.shutdownNow();
+    }
+
+    private static YangInstanceIdentifier outerListEntryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        BlockingTransactionChainListener listener = new BlockingTransactionChainListener();
+        final CoalescingTransactionChain txChain = broker.createCoalescingTransactionChain(listener);
+
+        DOMDataWriteTransaction tx = txChain.newWriteOnlyTransaction();
+        tx.put(OPERATIONAL, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        tx.put(OPERATIONAL, TestModel.OUTER_LIST_PATH,
+                ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        tx.submit();
+
+        final int producerCount = 4;
+        final int txPerProducer = 50;
+        List<ListenableFuture<List<CheckedFuture<Void, TransactionCommitFailedException>>>> results = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            final int base = p * txPerProducer;
+            results.add(producers.submit(new Callable<List<CheckedFuture<Void, TransactionCommitFailedException>>>() {
+                @Override
+                public List<CheckedFuture<Void, TransactionCommitFailedException>> call() {
+                    List<CheckedFuture<Void, TransactionCommitFailedException>> futures = new ArrayList<>();
+                    for (int i = base; i < base + txPerProducer; i++) {
+                        DOMDataWriteTransaction producerTx = txChain.newWriteOnlyTransaction();
+                        producerTx.merge(OPERATIONAL, outerListEntryPath(i),
+                                ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+                        futures.add(producerTx.submit());
+                    }
+
+                    return futures;
+                }
+            }));
+        }
+
+        for (List<CheckedFuture<Void, TransactionCommitFailedException>> futures :
+                Futures.allAsList(results).get(5, TimeUnit.SECONDS)) {
+            for (CheckedFuture<Void, TransactionCommitFailedException> future : futures) {
+                future.checkedGet(5, TimeUnit.SECONDS);
+            }
+        }
+
+        txChain.close();
+        listener.getSuccessFuture().get(5, TimeUnit.SECONDS);
+
+        Optional<NormalizedNode<?, ?>> outerList = broker.newReadOnlyTransaction().read(OPERATIONAL,
+                TestModel.OUTER_LIST_PATH).checkedGet(5, TimeUnit.SECONDS);
+        assertTrue("Outer list present", outerList.isPresent());
+        assertEquals("Outer list size", producerCount * txPerProducer, ((MapNode) outerList.get()).getValue().size());
+    }
+
+    @Test
+    public void testProducerOrdering() throws Exception {
+        BlockingTransactionChainListener listener = new BlockingTransactionChainListener();
+        CoalescingTransactionChain txChain = broker.createCoalescingTransactionChain(listener);
+
+        DOMDataWriteTransaction writeTx = txChain.newWriteOnlyTransaction();
+        writeTx.put(OPERATIONAL, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        CheckedFuture<Void, TransactionCommitFailedException> writeFuture = writeTx.submit();
+
+        DOMDataWriteTransaction deleteTx = txChain.newWriteOnlyTransaction();
+        deleteTx.delete(OPERATIONAL, TestModel.TEST_PATH);
+        CheckedFuture<Void, TransactionCommitFailedException> deleteFuture = deleteTx.submit();
+
+        DOMDataWriteTransaction cancelledTx = txChain.newWriteOnlyTransaction();
+        cancelledTx.put(OPERATIONAL, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        assertTrue("cancel", cancelledTx.cancel());
+
+        writeFuture.checkedGet(5, TimeUnit.SECONDS);
+        deleteFuture.checkedGet(5, TimeUnit.SECONDS);
+
+        txChain.close();
+        listener.getSuccessFuture().get(5, TimeUnit.SECONDS);
+
+        assertFalse("Test container present", broker.newReadOnlyTransaction().read(OPERATIONAL,
+                TestModel.TEST_PATH).checkedGet(5, TimeUnit.SECONDS).isPresent());
+    }
+
+    @Test
+    public void testSynchronousCompletion() throws Exception {
+        InMemoryDOMDataStore operStore = new InMemoryDOMDataStore("OPER", MoreExecutors.newDirectExecutorService());
+        operStore.onGlobalContextUpdated(TestModel.createTestContext());
+
+        // Commits complete on the submitting thread
+        PingPongDataBroker directBroker = new PingPongDataBroker(new SerializedDOMDataBroker(
+                ImmutableMap.<LogicalDatastoreType, DOMStore>of(OPERATIONAL, operStore),
+                MoreExecutors.newDirectExecutorService()));
+
+        BlockingTransactionChainListener listener = new BlockingTransactionChainListener();
+        final CoalescingTransactionChain txChain = directBroker.createCoalescingTransactionChain(listener);
+
+        // Each transaction is submitted from the completion of the previous one, which must not nest
+        // the dispatching of backend transactions
+        final int txCount = 10000;
+        final AtomicInteger remaining = new AtomicInteger(txCount);
+        final SettableFuture<Void> done = SettableFuture.create();
+        new Runnable() {
+            @Override
+            public void run() {
+                if (remaining.getAndDecrement() == 0) {
+                    done.set(null);
+                    return;
+                }
+
+                DOMDataWriteTransaction tx = txChain.newWriteOnlyTransaction();
+                tx.put(OPERATIONAL, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+                tx.submit().addListener(this, MoreExecutors.directExecutor());
+            }
+        }.run();
+
+        done.get(5, TimeUnit.SECONDS);
+
+        txChain.close();
+        listener.getSuccessFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testReadsUnsupported() {
+        CoalescingTransactionChain txChain = broker.createCoalescingTransactionChain(
+                new BlockingTransactionChainListener());
+
+        try {
+            txChain.newReadOnlyTransaction();
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        try {
+            txChain.newReadWriteTransaction();
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        txChain.close();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMNotificationRouterTest {
+    private static final int PARTITIONS = 4;
+
+    private DOMNotificationRouter router;
+
+    @After
+    public void tearDown() {
+        if (router != null) {
+            router.close();
+        }
+    }
+
+    private static SchemaPath notificationType(final String name) {
+        return SchemaPath.create(true, QName.create("urn:test", "2015-01-01", name));
+    }
+
+    private static DOMNotification notification(final SchemaPath type) {
+        final DOMNotification notification = mock(DOMNotification.class);
+        doReturn(type).when(notification).getType();
+        return notification;
+    }
+
+    private static class LatchListener implements DOMNotificationListener {
+        final CountDownLatch received = new CountDownLatch(1);
+        final CountDownLatch release;
+
+        LatchListener(final CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onNotification(final DOMNotification notification) {
+            received.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    public void testPartitionsDeliverInParallel() throws Exception {
+        router = DOMNotificationRouter.create(16, 1, 30, TimeUnit.MILLISECONDS, PARTITIONS);
+
+        // Find two types which are delivered in different partitions
+        final SchemaPath blockedType = notificationType("blocked");
+        SchemaPath otherType = null;
+        for (int i = 0; otherType == null; ++i) {
+            final SchemaPath candidate = notificationType("other" + i);
+            if (DOMNotificationRouter.partitionOf(candidate, PARTITIONS)
+                    != DOMNotificationRouter.partitionOf(blockedType, PARTITIONS)) {
+                otherType = candidate;
+            }
+        }
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final LatchListener blockedListener = new LatchListener(release);
+        final LatchListener otherListener = new LatchListener(new CountDownLatch(0));
+        router.registerNotificationListener(blockedListener, blockedType);
+        router.registerNotificationListener(otherListener, otherType);
+
+        router.putNotification(notification(blockedType));
+        assertTrue("Blocked notification received", blockedListener.received.await(5, TimeUnit.SECONDS));
+
+        // The blocked listener does not hold up notifications of other partitions
+        router.putNotification(notification(otherType));
+        assertTrue("Other notification received", otherListener.received.await(5, TimeUnit.SECONDS));
+
+        release.countDown();
+    }
+
+    @Test
+    public void testUnregisterListener() throws Exception {
+        router = DOMNotificationRouter.create(16, 1, 30, TimeUnit.MILLISECONDS, PARTITIONS);
+
+        final SchemaPath type = notificationType("test");
+        final LatchListener listener1 = new LatchListener(new CountDownLatch(0));
+        final LatchListener listener2 = new LatchListener(new CountDownLatch(0));
+        final ListenerRegistration<LatchListener> reg1 = router.registerNotificationListener(listener1, type);
+        final ListenerRegistration<LatchListener> reg2 = router.registerNotificationListener(listener2, type);
+
+        reg1.close();
+        router.putNotification(notification(type)).get(5, TimeUnit.SECONDS);
+        assertEquals("Listener 1 received", 1, listener1.received.getCount());
+        assertEquals("Listener 2 received", 0, listener2.received.getCount());
+
+        reg2.close();
+        // Without listeners the notification is not queued at all
+        assertTrue("Notification done", router.offerNotification(notification(type)).isDone());
+        assertEquals("Listener 1 received", 1, listener1.received.getCount());
+    }
+}
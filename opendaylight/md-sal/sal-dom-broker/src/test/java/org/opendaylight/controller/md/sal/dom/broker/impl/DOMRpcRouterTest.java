@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcRouterTest {
+    private static final QName RPC_QNAME = QName.create("urn:test", "2015-01-01", "test-rpc");
+    private static final SchemaPath RPC_TYPE = SchemaPath.create(true, RPC_QNAME);
+
+    private DOMRpcRouter router;
+
+    @Before
+    public void setUp() {
+        router = new DOMRpcRouter();
+    }
+
+    @After
+    public void tearDown() {
+        router.close();
+    }
+
+    private static DOMRpcIdentifier routedRpc(final String node) {
+        return DOMRpcIdentifier.create(RPC_TYPE, YangInstanceIdentifier.of(QName.create(RPC_QNAME, node)));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testRegisterRpcImplementations() {
+        final DOMRpcAvailabilityListener listener = mock(DOMRpcAvailabilityListener.class);
+        router.registerRpcListener(listener);
+
+        final DOMRpcImplementation impl1 = mock(DOMRpcImplementation.class);
+        final DOMRpcImplementation impl2 = mock(DOMRpcImplementation.class);
+        final DOMRpcIdentifier rpc1 = routedRpc("node1");
+        final DOMRpcIdentifier rpc2 = routedRpc("node2");
+        final DOMRpcIdentifier rpc3 = routedRpc("node3");
+
+        final Map<DOMRpcImplementation, DOMRpcImplementationRegistration<DOMRpcImplementation>> regs =
+                router.registerRpcImplementations(ImmutableMap.<DOMRpcImplementation, Set<DOMRpcIdentifier>>of(
+                        impl1, ImmutableSet.of(rpc1, rpc2), impl2, ImmutableSet.of(rpc2, rpc3)));
+        assertEquals("Registrations", 2, regs.size());
+
+        // The listener is notified once for all the implementations
+        final ArgumentCaptor<Collection> available = ArgumentCaptor.forClass(Collection.class);
+        verify(listener, timeout(5000)).onRpcAvailable(available.capture());
+        assertEquals("Available RPCs", ImmutableSet.of(rpc1, rpc2, rpc3), new HashSet<>(available.getValue()));
+
+        // rpc2 remains available from impl2
+        regs.get(impl1).close();
+        final ArgumentCaptor<Collection> unavailable = ArgumentCaptor.forClass(Collection.class);
+        verify(listener, timeout(5000)).onRpcUnavailable(unavailable.capture());
+        assertEquals("Unavailable RPCs", ImmutableSet.of(rpc1), new HashSet<>(unavailable.getValue()));
+
+        final DOMRpcAvailabilityListener listener2 = mock(DOMRpcAvailabilityListener.class);
+        router.registerRpcListener(listener2);
+        final ArgumentCaptor<Collection> remaining = ArgumentCaptor.forClass(Collection.class);
+        verify(listener2, timeout(5000)).onRpcAvailable(remaining.capture());
+        assertEquals("Available RPCs", ImmutableSet.of(rpc2, rpc3), new HashSet<>(remaining.getValue()));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testRegisterManyRoutedRpcs() {
+        final DOMRpcImplementation impl = mock(DOMRpcImplementation.class);
+        final Set<DOMRpcImplementationRegistration<DOMRpcImplementation>> regs = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            regs.add(router.registerRpcImplementation(impl, routedRpc("node" + i)));
+        }
+
+        final DOMRpcAvailabilityListener listener = mock(DOMRpcAvailabilityListener.class);
+        router.registerRpcListener(listener);
+
+        final ArgumentCaptor<Collection> available = ArgumentCaptor.forClass(Collection.class);
+        verify(listener, timeout(5000)).onRpcAvailable(available.capture());
+        assertEquals("Available RPCs", 1000, available.getValue().size());
+
+        // Closing the registrations notifies one RPC unavailable at a time
+        for (DOMRpcImplementationRegistration<DOMRpcImplementation> reg : regs) {
+            reg.close();
+        }
+
+        verify(listener, timeout(5000).times(1000)).onRpcUnavailable(any(Collection.class));
+    }
+}
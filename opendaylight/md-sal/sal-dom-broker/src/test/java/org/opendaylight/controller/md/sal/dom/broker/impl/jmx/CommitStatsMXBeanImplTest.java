@@ -35,4 +35,30 @@ public class CommitStatsMXBeanImplTest {
         assertNotNull(bean.getShortestCommitTime());
         assertNotNull(bean.getAverageCommitTime());
     }
+
+    @Test
+    public void testPerPathStats() {
+
+        DurationStatisticsTracker commitStatsTracker = DurationStatisticsTracker.createConcurrent();
+        DurationStatisticsTracker singleCohortStatsTracker = DurationStatisticsTracker.createConcurrent();
+        DurationStatisticsTracker multiCohortStatsTracker = DurationStatisticsTracker.createConcurrent();
+        CommitStatsMXBeanImpl bean = new CommitStatsMXBeanImpl(commitStatsTracker, singleCohortStatsTracker,
+                multiCohortStatsTracker, "Test");
+
+        singleCohortStatsTracker.addDuration(100);
+        singleCohortStatsTracker.addDuration(200);
+        multiCohortStatsTracker.addDuration(300);
+
+        assertEquals("getTotalSingleCohortCommits", 2L, bean.getTotalSingleCohortCommits());
+        assertEquals("getTotalMultiCohortCommits", 1L, bean.getTotalMultiCohortCommits());
+        assertNotNull(bean.getAverageSingleCohortCommitTime());
+        assertNotNull(bean.getLongestSingleCohortCommitTime());
+        assertNotNull(bean.getAverageMultiCohortCommitTime());
+        assertNotNull(bean.getLongestMultiCohortCommitTime());
+
+        bean.clearStats();
+
+        assertEquals("getTotalSingleCohortCommits", 0L, bean.getTotalSingleCohortCommits());
+        assertEquals("getTotalMultiCohortCommits", 0L, bean.getTotalMultiCohortCommits());
+    }
 }
@@ -22,9 +22,11 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailableException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.registry.RouteCache;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.FindRoutersReply;
-import org.opendaylight.controller.remote.rpc.utils.LatestEntryRoutingLogic;
+import org.opendaylight.controller.remote.rpc.utils.RouterLoadTracker;
+import org.opendaylight.controller.remote.rpc.utils.RouterLoadTracker.RouterLoad;
 import org.opendaylight.controller.sal.connector.api.RpcRouter;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
@@ -37,10 +39,31 @@ public class RemoteRpcImplementation implements DOMRpcImplementation {
 
     private final ActorRef rpcRegistry;
     private final RemoteRpcProviderConfig config;
+    private final RouteCache routeCache;
+    private final RouterLoadTracker loadTracker;
 
     public RemoteRpcImplementation(final ActorRef rpcRegistry, final RemoteRpcProviderConfig config) {
+        this(rpcRegistry, config, new RouteCache());
+    }
+
+    /**
+     * @param routeCache the cache published by the rpc registry, which is consulted before asking the registry
+     */
+    public RemoteRpcImplementation(final ActorRef rpcRegistry, final RemoteRpcProviderConfig config,
+            final RouteCache routeCache) {
+        this(rpcRegistry, config, routeCache, new RouterLoadTracker());
+    }
+
+    /**
+     * @param routeCache the cache published by the rpc registry, which is consulted before asking the registry
+     * @param loadTracker the per-router load the routing strategy selects by, which is updated as rpcs complete
+     */
+    public RemoteRpcImplementation(final ActorRef rpcRegistry, final RemoteRpcProviderConfig config,
+            final RouteCache routeCache, final RouterLoadTracker loadTracker) {
         this.config = config;
         this.rpcRegistry = rpcRegistry;
+        this.routeCache = routeCache;
+        this.loadTracker = loadTracker;
     }
 
     @Override
@@ -53,34 +76,59 @@ public class RemoteRpcImplementation implements DOMRpcImplementation {
                             "Rpc implementation for {} was removed during processing.", rpc));
         }
         final RemoteDOMRpcFuture frontEndFuture = RemoteDOMRpcFuture.create(rpc.getType().getLastComponent());
-        findRouteAsync(rpc).onComplete(new OnComplete<FindRoutersReply>() {
+
+        // FIXME: Refactor routeId and message to use DOMRpcIdentifier directly.
+        final RpcRouter.RouteIdentifier<?, ?, ?> routeId =
+                new RouteIdentifierImpl(null, rpc.getType().getLastComponent(), rpc.getContextReference());
+
+        // Most invocations find the routers in the cache, only a miss asks the registry
+        final List<Pair<ActorRef, Long>> cachedRoutePairs = routeCache.getRouters(routeId);
+        if (cachedRoutePairs != null) {
+            executeRpc(frontEndFuture, rpc, input, cachedRoutePairs);
+            return frontEndFuture;
+        }
+
+        findRouteAsync(routeId).onComplete(new OnComplete<FindRoutersReply>() {
 
             @Override
             public void onComplete(final Throwable error, final FindRoutersReply routes) throws Throwable {
                 if (error != null) {
                     frontEndFuture.failNow(error);
                 } else {
-                    final List<Pair<ActorRef, Long>> routePairs = routes.getRouterWithUpdateTime();
-                    if (routePairs == null || routePairs.isEmpty()) {
-                        frontEndFuture.failNow(new DOMRpcImplementationNotAvailableException(
-                                "No local or remote implementation available for rpc %s", rpc.getType(), error));
-                    } else {
-                        final ActorRef remoteImplRef = new LatestEntryRoutingLogic(routePairs).select();
-                        final Object executeRpcMessage = ExecuteRpc.from(rpc, input);
-                        LOG.debug("Found remote actor {} for rpc {} - sending {}", remoteImplRef, rpc.getType(), executeRpcMessage);
-                        frontEndFuture.completeWith(ask(remoteImplRef, executeRpcMessage, config.getAskDuration()));
-                    }
+                    executeRpc(frontEndFuture, rpc, input, routes.getRouterWithUpdateTime());
                 }
             }
         }, ExecutionContext.Implicits$.MODULE$.global());
         return frontEndFuture;
     }
 
+    private void executeRpc(final RemoteDOMRpcFuture frontEndFuture, final DOMRpcIdentifier rpc,
+            final NormalizedNode<?, ?> input, final List<Pair<ActorRef, Long>> routePairs) {
+        if (routePairs == null || routePairs.isEmpty()) {
+            frontEndFuture.failNow(new DOMRpcImplementationNotAvailableException(
+                    "No local or remote implementation available for rpc %s", rpc.getType()));
+        } else {
+            final ActorRef remoteImplRef = config.getRpcRoutingStrategy().newRoutingLogic(routePairs, loadTracker,
+                    config.isRpcRoutingPreferLocal()).select();
+            final Object executeRpcMessage = ExecuteRpc.from(rpc, input,
+                    routeCache.getRouterVersion(remoteImplRef));
+            LOG.debug("Found remote actor {} for rpc {} - sending {}", remoteImplRef, rpc.getType(), executeRpcMessage);
+
+            final RouterLoad load = loadTracker.forRouter(remoteImplRef);
+            final long startTime = load.onRequestStarted();
+            final Future<Object> future = ask(remoteImplRef, executeRpcMessage, config.getAskDuration());
+            future.onComplete(new OnComplete<Object>() {
+                @Override
+                public void onComplete(final Throwable failure, final Object reply) {
+                    load.onRequestCompleted(startTime);
+                }
+            }, ExecutionContext.Implicits$.MODULE$.global());
+            frontEndFuture.completeWith(future);
+        }
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private Future<FindRoutersReply> findRouteAsync(final DOMRpcIdentifier rpc) {
-        // FIXME: Refactor routeId and message to use DOMRpcIdentifier directly.
-        final RpcRouter.RouteIdentifier<?, ?, ?> routeId =
-                new RouteIdentifierImpl(null, rpc.getType().getLastComponent(), rpc.getContextReference());
+    private Future<FindRoutersReply> findRouteAsync(final RpcRouter.RouteIdentifier<?, ?, ?> routeId) {
         final RpcRegistry.Messages.FindRouters findMsg = new RpcRegistry.Messages.FindRouters(routeId);
         return (Future) ask(rpcRegistry, findMsg, config.getAskDuration());
     }
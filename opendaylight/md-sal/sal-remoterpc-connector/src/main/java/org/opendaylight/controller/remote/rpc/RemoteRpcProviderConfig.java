@@ -11,6 +11,7 @@ import akka.util.Timeout;
 import com.typesafe.config.Config;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.common.actor.CommonConfig;
+import org.opendaylight.controller.remote.rpc.utils.RoutingStrategy;
 import scala.concurrent.duration.FiniteDuration;
 
 /**
@@ -25,13 +26,25 @@ public class RemoteRpcProviderConfig extends CommonConfig {
     protected static final String TAG_RPC_MGR_PATH = "rpc-manager-path";
     protected static final String TAG_ASK_DURATION = "ask-duration";
     private static final String TAG_GOSSIP_TICK_INTERVAL = "gossip-tick-interval";
+    private static final String TAG_GOSSIP_UPDATE_LOG_SIZE = "gossip-update-log-size";
+    private static final String TAG_RPC_ROUTING_STRATEGY = "rpc-routing-strategy";
+    private static final String TAG_RPC_ROUTING_PREFER_LOCAL = "rpc-routing-prefer-local";
+
+    private static final int DEFAULT_GOSSIP_UPDATE_LOG_SIZE = 100;
+    private static final RoutingStrategy DEFAULT_RPC_ROUTING_STRATEGY = RoutingStrategy.LATEST_ENTRY;
 
     //locally cached values
     private Timeout cachedAskDuration;
     private FiniteDuration cachedGossipTickInterval;
+    private Integer cachedGossipUpdateLogSize;
+    private RoutingStrategy cachedRpcRoutingStrategy;
+    private Boolean cachedRpcRoutingPreferLocal;
 
     public RemoteRpcProviderConfig(Config config){
         super(config);
+
+        //fail on an unknown routing strategy now rather than on the first remote rpc
+        getRpcRoutingStrategy();
     }
 
     public String getRpcBrokerName(){
@@ -82,6 +95,52 @@ public class RemoteRpcProviderConfig extends CommonConfig {
         return cachedGossipTickInterval;
     }
 
+    /**
+     * Returns the number of most recent updates of each bucket which are retained so they can be gossiped
+     * instead of the whole bucket. 0 disables gossiping bucket updates.
+     */
+    public int getGossipUpdateLogSize(){
+        if (cachedGossipUpdateLogSize != null) {
+            return cachedGossipUpdateLogSize;
+        }
+
+        cachedGossipUpdateLogSize = get().hasPath(TAG_GOSSIP_UPDATE_LOG_SIZE)
+                ? get().getInt(TAG_GOSSIP_UPDATE_LOG_SIZE)
+                : DEFAULT_GOSSIP_UPDATE_LOG_SIZE;
+
+        return cachedGossipUpdateLogSize;
+    }
+
+    /**
+     * Returns the strategy for selecting the router of an rpc provided by more than one node.
+     */
+    public RoutingStrategy getRpcRoutingStrategy(){
+        if (cachedRpcRoutingStrategy != null) {
+            return cachedRpcRoutingStrategy;
+        }
+
+        cachedRpcRoutingStrategy = get().hasPath(TAG_RPC_ROUTING_STRATEGY)
+                ? RoutingStrategy.forName(get().getString(TAG_RPC_ROUTING_STRATEGY))
+                : DEFAULT_RPC_ROUTING_STRATEGY;
+
+        return cachedRpcRoutingStrategy;
+    }
+
+    /**
+     * Returns whether an rpc provided by this node and others should be routed to this node.
+     */
+    public boolean isRpcRoutingPreferLocal(){
+        if (cachedRpcRoutingPreferLocal != null) {
+            return cachedRpcRoutingPreferLocal;
+        }
+
+        cachedRpcRoutingPreferLocal = get().hasPath(TAG_RPC_ROUTING_PREFER_LOCAL)
+                ? get().getBoolean(TAG_RPC_ROUTING_PREFER_LOCAL)
+                : false;
+
+        return cachedRpcRoutingPreferLocal;
+    }
+
     public static class Builder extends CommonConfig.Builder<Builder>{
 
         public Builder(String actorSystemName){
@@ -103,6 +162,25 @@ public class RemoteRpcProviderConfig extends CommonConfig {
 
         }
 
+        /**
+         * Sets the gossip-update-log-size. The builder puts no default so a value from the akka config is kept,
+         * {@link RemoteRpcProviderConfig#getGossipUpdateLogSize()} falls back to the default when neither is set.
+         */
+        public Builder gossipUpdateLogSize(int size){
+            configHolder.put(TAG_GOSSIP_UPDATE_LOG_SIZE, size);
+            return this;
+        }
+
+        public Builder rpcRoutingStrategy(RoutingStrategy strategy){
+            configHolder.put(TAG_RPC_ROUTING_STRATEGY, strategy.getName());
+            return this;
+        }
+
+        public Builder rpcRoutingPreferLocal(boolean preferLocal){
+            configHolder.put(TAG_RPC_ROUTING_PREFER_LOCAL, preferLocal);
+            return this;
+        }
+
         public RemoteRpcProviderConfig build(){
             return new RemoteRpcProviderConfig(merge());
         }
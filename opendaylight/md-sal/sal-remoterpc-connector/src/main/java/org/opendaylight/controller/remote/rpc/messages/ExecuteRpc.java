@@ -10,11 +10,12 @@ package org.opendaylight.controller.remote.rpc.messages;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import org.opendaylight.controller.cluster.datastore.node.utils.serialization.NormalizedNodeSerializer;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.protobuff.messages.common.NormalizedNodeMessages;
-import org.opendaylight.controller.protobuff.messages.common.NormalizedNodeMessages.Node;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
@@ -25,39 +26,73 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 public class ExecuteRpc implements Serializable {
     private static final long serialVersionUID = 1128904894827335676L;
 
+    // Only set for the PROTOBUF_VERSION, which keeps the field members before the versioning read.
     private final NormalizedNodeMessages.Node inputNormalizedNode;
     private final QName rpc;
+    // Absent from messages of members before the versioning, which then read as PROTOBUF_VERSION.
+    private final short version;
 
-    private ExecuteRpc(final NormalizedNodeMessages.Node inputNormalizedNode, final QName rpc) {
+    // Written by writeObject in the binary stream format since BINARY_STREAM_VERSION.
+    private transient NormalizedNode<?, ?> input;
+
+    private ExecuteRpc(final NormalizedNode<?, ?> input, final QName rpc, final short version) {
         Preconditions.checkNotNull(rpc, "rpc Qname should not be null");
 
-        this.inputNormalizedNode = inputNormalizedNode;
+        this.input = input;
         this.rpc = rpc;
+        this.version = version;
+        this.inputNormalizedNode = NormalizedNodeStreams.toProtobuf(input, version);
     }
 
-    public NormalizedNodeMessages.Node getInputNormalizedNode() {
-        return inputNormalizedNode;
+    public NormalizedNode<?, ?> getInputNormalizedNode() {
+        return input;
     }
 
     public QName getRpc() {
         return rpc;
     }
 
+    /**
+     * @return the {@link RpcMessageVersions} version of this message, which the response should use as well
+     */
+    public short getVersion() {
+        return version;
+    }
+
     public static ExecuteRpc from(final DOMRpcIdentifier rpc, final NormalizedNode<?, ?> input) {
-        final Node serializedInput;
-        if(input != null) {
-            serializedInput = NormalizedNodeSerializer.serialize(input);
+        return from(rpc, input, RpcMessageVersions.CURRENT_VERSION);
+    }
+
+    /**
+     * Creates a message for a router which reads the given {@link RpcMessageVersions} version.
+     */
+    public static ExecuteRpc from(final DOMRpcIdentifier rpc, final NormalizedNode<?, ?> input,
+            final short version) {
+        return new ExecuteRpc(input, rpc.getType().getLastComponent(), version);
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        if (version >= RpcMessageVersions.BINARY_STREAM_VERSION) {
+            NormalizedNodeStreams.writeNormalizedNode(out, input);
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (version >= RpcMessageVersions.BINARY_STREAM_VERSION) {
+            input = NormalizedNodeStreams.readNormalizedNode(in);
         } else {
-            serializedInput = null;
+            input = NormalizedNodeStreams.fromProtobuf(inputNormalizedNode);
         }
-        return new ExecuteRpc(serializedInput, rpc.getType().getLastComponent());
     }
 
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
                 .add("rpc", rpc)
-                .add("normalizedNode", inputNormalizedNode)
+                .add("normalizedNode", input)
+                .add("version", version)
                 .toString();
     }
 }
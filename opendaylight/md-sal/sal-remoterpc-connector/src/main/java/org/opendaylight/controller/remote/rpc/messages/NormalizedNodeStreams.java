@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.opendaylight.controller.cluster.datastore.node.utils.serialization.NormalizedNodeSerializer;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputStreamReader;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputStreamWriter;
+import org.opendaylight.controller.protobuff.messages.common.NormalizedNodeMessages;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Converts the optional NormalizedNode carried by the remote RPC messages to the wire format of their
+ * {@link RpcMessageVersions} version. Since {@link RpcMessageVersions#BINARY_STREAM_VERSION} the node is written
+ * in the Beryllium stream format, which every member advertising that version reads.
+ */
+final class NormalizedNodeStreams {
+    private NormalizedNodeStreams() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static void writeNormalizedNode(final DataOutput out, final NormalizedNode<?, ?> node) throws IOException {
+        out.writeBoolean(node != null);
+        if (node != null) {
+            new NormalizedNodeOutputStreamWriter(out, NormalizedNodeOutputStreamWriter.BERYLLIUM_VERSION)
+                    .writeNormalizedNode(node);
+        }
+    }
+
+    static NormalizedNode<?, ?> readNormalizedNode(final DataInput in) throws IOException {
+        if (in.readBoolean()) {
+            return new NormalizedNodeInputStreamReader(in).readNormalizedNode();
+        }
+
+        return null;
+    }
+
+    static NormalizedNodeMessages.Node toProtobuf(final NormalizedNode<?, ?> node, final short version) {
+        if (node == null || version >= RpcMessageVersions.BINARY_STREAM_VERSION) {
+            return null;
+        }
+
+        return NormalizedNodeSerializer.serialize(node);
+    }
+
+    static NormalizedNode<?, ?> fromProtobuf(final NormalizedNodeMessages.Node node) {
+        return node == null ? null : NormalizedNodeSerializer.deSerialize(node);
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+/**
+ * Defines the versions of the {@link ExecuteRpc} and {@link RpcResponse} wire format. A member advertises the
+ * version its router reads in its routing table, members which predate the versioning read as
+ * {@link #PROTOBUF_VERSION}.
+ */
+public interface RpcMessageVersions {
+    // The NormalizedNode is carried as a protobuf message
+    short PROTOBUF_VERSION = 0;
+    // The NormalizedNode is carried in the binary NormalizedNode stream format
+    short BINARY_STREAM_VERSION = 1;
+    short CURRENT_VERSION = BINARY_STREAM_VERSION;
+}
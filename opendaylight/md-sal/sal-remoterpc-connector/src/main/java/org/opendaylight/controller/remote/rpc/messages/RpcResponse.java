@@ -7,19 +7,58 @@
  */
 package org.opendaylight.controller.remote.rpc.messages;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import org.opendaylight.controller.protobuff.messages.common.NormalizedNodeMessages;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 public class RpcResponse implements Serializable {
     private static final long serialVersionUID = -4211279498688989245L;
 
+    // Only set for the PROTOBUF_VERSION, which keeps the field members before the versioning read.
     private final NormalizedNodeMessages.Node resultNormalizedNode;
+    // Absent from messages of members before the versioning, which then read as PROTOBUF_VERSION.
+    private final short version;
 
-    public RpcResponse(final NormalizedNodeMessages.Node inputNormalizedNode) {
-        resultNormalizedNode = inputNormalizedNode;
+    // Written by writeObject in the binary stream format since BINARY_STREAM_VERSION.
+    private transient NormalizedNode<?, ?> result;
+
+    public RpcResponse(final NormalizedNode<?, ?> result) {
+        this(result, RpcMessageVersions.CURRENT_VERSION);
+    }
+
+    /**
+     * Creates a response for a requester which reads the given {@link RpcMessageVersions} version.
+     */
+    public RpcResponse(final NormalizedNode<?, ?> result, final short version) {
+        this.result = result;
+        this.version = version;
+        this.resultNormalizedNode = NormalizedNodeStreams.toProtobuf(result, version);
+    }
+
+    public NormalizedNode<?, ?> getResultNormalizedNode() {
+        return result;
+    }
+
+    public short getVersion() {
+        return version;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        if (version >= RpcMessageVersions.BINARY_STREAM_VERSION) {
+            NormalizedNodeStreams.writeNormalizedNode(out, result);
+        }
     }
 
-    public NormalizedNodeMessages.Node getResultNormalizedNode() {
-        return resultNormalizedNode;
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (version >= RpcMessageVersions.BINARY_STREAM_VERSION) {
+            result = NormalizedNodeStreams.readNormalizedNode(in);
+        } else {
+            result = NormalizedNodeStreams.fromProtobuf(resultNormalizedNode);
+        }
     }
 }
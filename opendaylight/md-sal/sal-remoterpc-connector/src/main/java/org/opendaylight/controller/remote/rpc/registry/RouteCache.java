@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry;
+
+import akka.actor.ActorRef;
+import akka.japi.Pair;
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.controller.remote.rpc.messages.RpcMessageVersions;
+import org.opendaylight.controller.sal.connector.api.RpcRouter.RouteIdentifier;
+
+/**
+ * The routers the {@link RpcRegistry} found for routes, which it publishes so RPC invokers can look them up
+ * without asking it. Only the registry updates the cache: it adds the routers it finds for a route and removes
+ * the routes changed by a bucket update. Along with the routers it records the message version each router
+ * advertised. Lookups are lock-free and may be done from any thread.
+ */
+public class RouteCache {
+    private final ConcurrentMap<RouteIdentifier<?, ?, ?>, List<Pair<ActorRef, Long>>> routers =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<ActorRef, Short> routerVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the routers for a route.
+     *
+     * @param routeId the route
+     * @return the routers with their update time, or null if they are not cached
+     */
+    public List<Pair<ActorRef, Long>> getRouters(RouteIdentifier<?, ?, ?> routeId) {
+        return routers.get(routeId);
+    }
+
+    /**
+     * Returns the message version a router reads.
+     *
+     * @param router the router
+     * @return the {@link RpcMessageVersions} version, {@link RpcMessageVersions#PROTOBUF_VERSION} if not known
+     */
+    public short getRouterVersion(ActorRef router) {
+        final Short version = routerVersions.get(router);
+        return version != null ? version : RpcMessageVersions.PROTOBUF_VERSION;
+    }
+
+    public int size() {
+        return routers.size();
+    }
+
+    void put(RouteIdentifier<?, ?, ?> routeId, List<Pair<ActorRef, Long>> routerWithUpdateTime) {
+        routers.put(routeId, ImmutableList.copyOf(routerWithUpdateTime));
+    }
+
+    void putRouterVersion(ActorRef router, short version) {
+        routerVersions.put(router, version);
+    }
+
+    void invalidate(Collection<RouteIdentifier<?, ?, ?>> routeIds) {
+        for (RouteIdentifier<?, ?, ?> routeId : routeIds) {
+            routers.remove(routeId);
+        }
+    }
+
+    void clear() {
+        routers.clear();
+        routerVersions.clear();
+    }
+}
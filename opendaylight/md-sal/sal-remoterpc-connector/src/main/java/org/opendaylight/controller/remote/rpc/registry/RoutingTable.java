@@ -11,24 +11,37 @@ import akka.actor.ActorRef;
 import akka.japi.Option;
 import akka.japi.Pair;
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.opendaylight.controller.remote.rpc.messages.RpcMessageVersions;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDelta;
 import org.opendaylight.controller.remote.rpc.registry.gossip.Copier;
 import org.opendaylight.controller.sal.connector.api.RpcRouter;
 
+/**
+ * The routes registered on a node. The local routing table is changed in place through {@link BucketDelta}s
+ * created by {@link #addRoutesDelta(Collection)} and {@link #removeRoutesDelta(Collection)}, so the routes
+ * can be read concurrently.
+ */
 public class RoutingTable implements Copier<RoutingTable>, Serializable {
     private static final long serialVersionUID = 5592610415175278760L;
 
-    private final Map<RpcRouter.RouteIdentifier<?, ?, ?>, Long> table = new HashMap<>();
+    private final Map<RpcRouter.RouteIdentifier<?, ?, ?>, Long> table = new ConcurrentHashMap<>();
     private ActorRef router;
+    // Not present in tables of members before the versioning, which then read as PROTOBUF_VERSION.
+    private short rpcMessageVersion = RpcMessageVersions.CURRENT_VERSION;
 
     @Override
     public RoutingTable copy() {
         RoutingTable copy = new RoutingTable();
         copy.table.putAll(table);
         copy.setRouter(this.getRouter());
+        copy.rpcMessageVersion = rpcMessageVersion;
 
         return copy;
     }
@@ -55,6 +68,37 @@ public class RoutingTable implements Copier<RoutingTable>, Serializable {
         table.remove(routeId);
     }
 
+    /**
+     * Creates a change which adds the given routes.
+     *
+     * @param routeIds the routes to add
+     * @return the change
+     */
+    public static BucketDelta<RoutingTable> addRoutesDelta(Collection<RpcRouter.RouteIdentifier<?, ?, ?>> routeIds) {
+        return new AddRoutes(routeIds, System.currentTimeMillis());
+    }
+
+    /**
+     * Creates a change which removes the given routes.
+     *
+     * @param routeIds the routes to remove
+     * @return the change
+     */
+    public static BucketDelta<RoutingTable> removeRoutesDelta(
+            Collection<RpcRouter.RouteIdentifier<?, ?, ?>> routeIds) {
+        return new RemoveRoutes(routeIds);
+    }
+
+    /**
+     * Returns the routes changed by a change created by this class.
+     *
+     * @param delta the change
+     * @return the changed routes, or null if they are not known
+     */
+    public static Collection<RpcRouter.RouteIdentifier<?, ?, ?>> changedRoutes(BucketDelta<RoutingTable> delta) {
+        return delta instanceof RoutesDelta ? ((RoutesDelta) delta).routeIds : null;
+    }
+
     public boolean contains(RpcRouter.RouteIdentifier<?, ?, ?> routeId){
         return table.containsKey(routeId);
     }
@@ -75,11 +119,77 @@ public class RoutingTable implements Copier<RoutingTable>, Serializable {
         this.router = router;
     }
 
+    /**
+     * @return the {@link RpcMessageVersions} version of the messages the router reads
+     */
+    public short getRpcMessageVersion() {
+        return rpcMessageVersion;
+    }
+
     @Override
     public String toString() {
         return "RoutingTable{" +
                 "table=" + table +
                 ", router=" + router +
+                ", rpcMessageVersion=" + rpcMessageVersion +
                 '}';
     }
+
+    private abstract static class RoutesDelta implements BucketDelta<RoutingTable> {
+        private static final long serialVersionUID = 1L;
+
+        final List<RpcRouter.RouteIdentifier<?, ?, ?>> routeIds;
+
+        RoutesDelta(Collection<RpcRouter.RouteIdentifier<?, ?, ?>> routeIds) {
+            this.routeIds = new ArrayList<>(routeIds);
+        }
+    }
+
+    private static final class AddRoutes extends RoutesDelta {
+        private static final long serialVersionUID = 1L;
+
+        private final long updateTime;
+
+        AddRoutes(Collection<RpcRouter.RouteIdentifier<?, ?, ?>> routeIds, long updateTime) {
+            super(routeIds);
+            this.updateTime = updateTime;
+        }
+
+        @Override
+        public void applyTo(RoutingTable data) {
+            for (RpcRouter.RouteIdentifier<?, ?, ?> routeId : routeIds) {
+                data.table.put(routeId, updateTime);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "AddRoutes{" +
+                    "routeIds=" + routeIds +
+                    ", updateTime=" + updateTime +
+                    '}';
+        }
+    }
+
+    private static final class RemoveRoutes extends RoutesDelta {
+        private static final long serialVersionUID = 1L;
+
+        RemoveRoutes(Collection<RpcRouter.RouteIdentifier<?, ?, ?>> routeIds) {
+            super(routeIds);
+        }
+
+        @Override
+        public void applyTo(RoutingTable data) {
+            for (RpcRouter.RouteIdentifier<?, ?, ?> routeId : routeIds) {
+                data.table.remove(routeId);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "RemoveRoutes{" +
+                    "routeIds=" + routeIds +
+                    '}';
+        }
+    }
 }
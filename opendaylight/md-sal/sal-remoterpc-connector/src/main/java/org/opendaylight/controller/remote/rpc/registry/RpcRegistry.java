@@ -8,22 +8,28 @@
 package org.opendaylight.controller.remote.rpc.registry;
 
 import akka.actor.ActorRef;
+import akka.actor.Address;
 import akka.actor.Props;
 import akka.japi.Creator;
 import akka.japi.Option;
 import akka.japi.Pair;
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.opendaylight.controller.remote.rpc.RemoteRpcProviderConfig;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.AddOrUpdateRoutes;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.FindRouters;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.RemoveRoutes;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.SetLocalRouter;
 import org.opendaylight.controller.remote.rpc.registry.gossip.Bucket;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDelta;
 import org.opendaylight.controller.remote.rpc.registry.gossip.BucketStore;
 import org.opendaylight.controller.remote.rpc.registry.mbeans.RemoteRpcRegistryMXBean;
 import org.opendaylight.controller.remote.rpc.registry.mbeans.RemoteRpcRegistryMXBeanImpl;
+import org.opendaylight.controller.remote.rpc.utils.RouterLoadTracker;
 import org.opendaylight.controller.sal.connector.api.RpcRouter;
 import org.opendaylight.controller.sal.connector.api.RpcRouter.RouteIdentifier;
 
@@ -32,16 +38,44 @@ import org.opendaylight.controller.sal.connector.api.RpcRouter.RouteIdentifier;
  * <p/>
  * It uses {@link org.opendaylight.controller.remote.rpc.registry.gossip.BucketStore} to maintain this
  * cluster wide information.
+ * <p/>
+ * The routers found for a route are published in a {@link RouteCache}, so they can be looked up without
+ * asking the registry until the route is changed.
+ * <p/>
+ * The load of the routers rpcs are sent to is tracked by a {@link RouterLoadTracker}, which the registry
+ * exposes through its mbean.
  */
 public class RpcRegistry extends BucketStore<RoutingTable> {
 
+    private final RouteCache routeCache;
+    private final RouterLoadTracker loadTracker;
+
     public RpcRegistry(RemoteRpcProviderConfig config) {
+        this(config, new RouteCache());
+    }
+
+    public RpcRegistry(RemoteRpcProviderConfig config, RouteCache routeCache) {
+        this(config, routeCache, new RouterLoadTracker());
+    }
+
+    public RpcRegistry(RemoteRpcProviderConfig config, RouteCache routeCache, RouterLoadTracker loadTracker) {
         super(config);
+        this.routeCache = Preconditions.checkNotNull(routeCache);
+        this.loadTracker = Preconditions.checkNotNull(loadTracker);
         getLocalBucket().setData(new RoutingTable());
     }
 
     public static Props props(RemoteRpcProviderConfig config) {
-        return Props.create(new RpcRegistryCreator(config));
+        return props(config, new RouteCache());
+    }
+
+    public static Props props(RemoteRpcProviderConfig config, RouteCache routeCache) {
+        return props(config, routeCache, new RouterLoadTracker());
+    }
+
+    public static Props props(RemoteRpcProviderConfig config, RouteCache routeCache,
+            RouterLoadTracker loadTracker) {
+        return Props.create(new RpcRegistryCreator(config, routeCache, loadTracker));
     }
 
     @Override
@@ -68,6 +102,7 @@ public class RpcRegistry extends BucketStore<RoutingTable> {
      */
     private void receiveSetLocalRouter(SetLocalRouter message) {
         getLocalBucket().getData().setRouter(message.getRouter());
+        routeCache.clear();
     }
 
     /**
@@ -77,12 +112,7 @@ public class RpcRegistry extends BucketStore<RoutingTable> {
 
         log.debug("AddOrUpdateRoutes: {}", msg.getRouteIdentifiers());
 
-        RoutingTable table = getLocalBucket().getData().copy();
-        for(RpcRouter.RouteIdentifier<?, ?, ?> routeId : msg.getRouteIdentifiers()) {
-            table.addRoute(routeId);
-        }
-
-        updateLocalBucket(table);
+        updateLocalBucket(RoutingTable.addRoutesDelta(msg.getRouteIdentifiers()));
     }
 
     /**
@@ -90,12 +120,7 @@ public class RpcRegistry extends BucketStore<RoutingTable> {
      */
     private void receiveRemoveRoutes(RemoveRoutes msg) {
 
-        RoutingTable table = getLocalBucket().getData().copy();
-        for (RpcRouter.RouteIdentifier<?, ?, ?> routeId : msg.getRouteIdentifiers()) {
-            table.removeRoute(routeId);
-        }
-
-        updateLocalBucket(table);
+        updateLocalBucket(RoutingTable.removeRoutesDelta(msg.getRouteIdentifiers()));
     }
 
     /**
@@ -113,9 +138,56 @@ public class RpcRegistry extends BucketStore<RoutingTable> {
             findRoutes(bucket.getData(), routeId, routers);
         }
 
+        if (!routers.isEmpty()) {
+            routeCache.put(routeId, routers);
+        }
+
         getSender().tell(new Messages.FindRoutersReply(routers), getSelf());
     }
 
+    @Override
+    protected void onBucketReplaced(Address address) {
+        routeCache.clear();
+
+        //the router of the replaced bucket may have changed, do not keep tracking the previous one
+        loadTracker.retainRouters(getKnownRouters());
+    }
+
+    private Set<ActorRef> getKnownRouters() {
+        Set<ActorRef> routers = new HashSet<>();
+        RoutingTable localTable = getLocalBucket().getData();
+        if (localTable != null && localTable.getRouter() != null) {
+            routers.add(localTable.getRouter());
+        }
+
+        for (Bucket<RoutingTable> bucket : getRemoteBuckets().values()) {
+            RoutingTable table = bucket.getData();
+            if (table != null && table.getRouter() != null) {
+                routers.add(table.getRouter());
+            }
+        }
+
+        return routers;
+    }
+
+    @Override
+    protected void onBucketChanged(Address address, BucketDelta<RoutingTable> delta) {
+        Collection<RouteIdentifier<?, ?, ?>> changedRoutes = RoutingTable.changedRoutes(delta);
+        if (changedRoutes != null) {
+            routeCache.invalidate(changedRoutes);
+        } else {
+            routeCache.clear();
+        }
+    }
+
+    RouteCache getRouteCache() {
+        return routeCache;
+    }
+
+    public RouterLoadTracker getRouterLoadTracker() {
+        return loadTracker;
+    }
+
     private void findRoutes(RoutingTable table, RpcRouter.RouteIdentifier<?, ?, ?> routeId,
             List<Pair<ActorRef, Long>> routers) {
         if (table == null) {
@@ -125,6 +197,7 @@ public class RpcRegistry extends BucketStore<RoutingTable> {
         Option<Pair<ActorRef, Long>> routerWithUpdateTime = table.getRouterFor(routeId);
         if(!routerWithUpdateTime.isEmpty()) {
             routers.add(routerWithUpdateTime.get());
+            routeCache.putRouterVersion(table.getRouter(), table.getRpcMessageVersion());
         }
     }
 
@@ -234,14 +307,19 @@ public class RpcRegistry extends BucketStore<RoutingTable> {
     private static class RpcRegistryCreator implements Creator<RpcRegistry> {
         private static final long serialVersionUID = 1L;
         private final RemoteRpcProviderConfig config;
+        private final RouteCache routeCache;
+        private final RouterLoadTracker loadTracker;
 
-        private RpcRegistryCreator(RemoteRpcProviderConfig config) {
+        private RpcRegistryCreator(RemoteRpcProviderConfig config, RouteCache routeCache,
+                RouterLoadTracker loadTracker) {
             this.config = config;
+            this.routeCache = routeCache;
+            this.loadTracker = loadTracker;
         }
 
         @Override
         public RpcRegistry create() throws Exception {
-            RpcRegistry registry =  new RpcRegistry(config);
+            RpcRegistry registry =  new RpcRegistry(config, routeCache, loadTracker);
             RemoteRpcRegistryMXBean mxBean = new RemoteRpcRegistryMXBeanImpl(registry);
             return registry;
         }
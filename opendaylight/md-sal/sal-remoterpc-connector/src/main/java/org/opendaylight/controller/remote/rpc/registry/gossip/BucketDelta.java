@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.io.Serializable;
+
+/**
+ * An incremental change to the data of a {@link Bucket}. Instead of the whole bucket, the changes made
+ * since the version a remote node has are gossiped to it, if they are still known.
+ * The implementers should be immutable.
+ */
+public interface BucketDelta<T> extends Serializable {
+    /**
+     * Applies this change to the given bucket data in place.
+     */
+    void applyTo(T data);
+}
@@ -28,9 +28,25 @@ public class BucketImpl<T extends Copier<T>> implements Bucket<T>, Serializable
         this.data = other.getData();
     }
 
+    BucketImpl(Long version, T data) {
+        this.version = version;
+        this.data = data;
+    }
+
     public void setData(T data) {
         this.data = data;
-        this.version = System.currentTimeMillis()+1;
+        nextVersion();
+    }
+
+    /**
+     * Moves the bucket to a new version, after its data has been changed in place. Versions are strictly
+     * increasing, even if the data is changed several times within a millisecond.
+     *
+     * @return the new version
+     */
+    Long nextVersion() {
+        version = Math.max(System.currentTimeMillis(), version + 1);
+        return version;
     }
 
     @Override
@@ -15,6 +15,8 @@ import akka.actor.Props;
 import akka.cluster.ClusterActorRefProvider;
 import com.google.common.base.Preconditions;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActorWithMetering;
@@ -37,7 +39,12 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Buckets are sync'ed across nodes using Gossip protocol (http://en.wikipedia.org/wiki/Gossip_protocol)<p>
  * This store uses a {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}.
- *
+ * <p>
+ * Buckets can be changed incrementally by {@link org.opendaylight.controller.remote.rpc.registry.gossip.BucketDelta}s.
+ * The store retains the most recent updates of each bucket, so that a node which has a recent version of a bucket
+ * is sent only the updates since that version. The whole bucket is sent only if there is a gap.
+ * <p>
+ * Bucket data is changed in place, it is copied whenever a bucket is handed out of the store.
  */
 public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMetering {
 
@@ -60,6 +67,13 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
      */
     private final Map<Address, Long> versions = new HashMap<>();
 
+    /**
+     * Most recent updates of the buckets of every known node in the cluster including this node
+     */
+    private final Map<Address, BucketUpdateLog> updateLogs = new HashMap<>();
+
+    private final GossipStats gossipStats = new GossipStats();
+
     /**
      * Cluster address for this node
      */
@@ -79,7 +93,8 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
         selfAddress = provider.getDefaultAddress();
 
         if ( provider instanceof ClusterActorRefProvider) {
-            getContext().actorOf(Props.create(Gossiper.class, config).withMailbox(config.getMailBoxName()), "gossiper");
+            getContext().actorOf(Props.create(Gossiper.class, config, gossipStats).withMailbox(config.getMailBoxName()),
+                    "gossiper");
         }
     }
 
@@ -98,11 +113,14 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
         } else if (message instanceof GetAllBuckets) {
             receiveGetAllBuckets();
         } else if (message instanceof GetBucketsByMembers) {
-            receiveGetBucketsByMembers(((GetBucketsByMembers) message).getMembers());
+            GetBucketsByMembers getBuckets = (GetBucketsByMembers) message;
+            receiveGetBucketsByMembers(getBuckets.getMembers(), getBuckets.getKnownVersions());
         } else if (message instanceof GetBucketVersions) {
             receiveGetBucketVersions();
         } else if (message instanceof UpdateRemoteBuckets) {
-            receiveUpdateRemoteBuckets(((UpdateRemoteBuckets) message).getBuckets());
+            UpdateRemoteBuckets update = (UpdateRemoteBuckets) message;
+            receiveUpdateRemoteBuckets(update.getBuckets());
+            receiveRemoteBucketUpdates(update.getBucketUpdates());
         } else {
             if(log.isDebugEnabled()) {
                 log.debug("Unhandled message [{}]", message);
@@ -129,24 +147,57 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
         Map<Address, Bucket> all = new HashMap<>(remoteBuckets.size() + 1);
 
         //first add the local bucket
-        all.put(selfAddress, new BucketImpl<>(localBucket));
+        all.put(selfAddress, copyOf(localBucket));
 
         //then get all remote buckets
-        all.putAll(remoteBuckets);
+        for (Map.Entry<Address, Bucket<T>> entry : remoteBuckets.entrySet()) {
+            all.put(entry.getKey(), copyOf(entry.getValue()));
+        }
 
         return all;
     }
 
     /**
-     * Returns buckets for requested members that this node knows about
+     * Returns buckets, or the updates since the known versions, for requested members that this node knows about
      *
      * @param members requested members
+     * @param knownVersions versions of the buckets the recipient already has
      */
     @SuppressWarnings("rawtypes")
-    void receiveGetBucketsByMembers(Set<Address> members){
+    void receiveGetBucketsByMembers(Set<Address> members, Map<Address, Long> knownVersions){
         final ActorRef sender = getSender();
-        Map<Address, Bucket> buckets = getBucketsByMembers(members);
-        sender.tell(new GetBucketsByMembersReply(buckets), getSelf());
+        Map<Address, List<BucketUpdate>> bucketUpdates = getBucketUpdatesByMembers(members, knownVersions);
+
+        Set<Address> fullBucketMembers = new HashSet<>(members);
+        fullBucketMembers.removeAll(bucketUpdates.keySet());
+        Map<Address, Bucket> buckets = getBucketsByMembers(fullBucketMembers);
+
+        sender.tell(new GetBucketsByMembersReply(buckets, bucketUpdates), getSelf());
+    }
+
+    /**
+     * Helper to collect the updates of the buckets of requested members since the given versions, where they are
+     * known
+     *
+     * @param members requested members
+     * @param knownVersions versions of the buckets the recipient already has
+     * @return updates of the buckets of requested members
+     */
+    Map<Address, List<BucketUpdate>> getBucketUpdatesByMembers(Set<Address> members,
+            Map<Address, Long> knownVersions) {
+        Map<Address, List<BucketUpdate>> bucketUpdates = new HashMap<>();
+        for (Address address : members) {
+            Long knownVersion = knownVersions.get(address);
+            BucketUpdateLog log = updateLogs.get(address);
+            if (knownVersion != null && log != null) {
+                List<BucketUpdate> updates = log.updatesSince(knownVersion);
+                if (updates != null && !updates.isEmpty()) {
+                    bucketUpdates.put(address, updates);
+                }
+            }
+        }
+
+        return bucketUpdates;
     }
 
     /**
@@ -161,13 +212,13 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
 
         //first add the local bucket if asked
         if (members.contains(selfAddress)) {
-            buckets.put(selfAddress, new BucketImpl<>(localBucket));
+            buckets.put(selfAddress, copyOf(localBucket));
         }
 
         //then get buckets for requested remote nodes
         for (Address address : members){
             if (remoteBuckets.containsKey(address)) {
-                buckets.put(address, remoteBuckets.get(address));
+                buckets.put(address, copyOf(remoteBuckets.get(address)));
             }
         }
 
@@ -222,6 +273,11 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
             if ( remoteVersion.longValue() > localVersion.longValue() ) {
                 remoteBuckets.put(entry.getKey(), receivedBucket);
                 versions.put(entry.getKey(), remoteVersion);
+
+                //the retained updates do not lead to the received version
+                updateLogs.remove(entry.getKey());
+
+                onBucketReplaced(entry.getKey());
             }
         }
 
@@ -230,6 +286,66 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
         }
     }
 
+    /**
+     * Apply the updates of remote buckets which follow the local copy's version. Updates of a bucket which do not
+     * follow it are ignored - the remote will send the whole bucket once it learns the local copy's version.
+     *
+     * @param receivedUpdates consecutive updates of buckets sent by remote
+     *                        {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     */
+    @SuppressWarnings("unchecked")
+    void receiveRemoteBucketUpdates(Map<Address, List<BucketUpdate>> receivedUpdates){
+        for (Map.Entry<Address, List<BucketUpdate>> entry : receivedUpdates.entrySet()){
+            final Address address = entry.getKey();
+            final Bucket<T> bucket = remoteBuckets.get(address);
+
+            //Remote cant update self's bucket and a bucket can only be updated if we have it
+            if (selfAddress.equals(address) || bucket == null || bucket.getData() == null) {
+                continue;
+            }
+
+            long version = bucket.getVersion();
+            for (BucketUpdate update : entry.getValue()) {
+                if (update.getToVersion() <= version) {
+                    continue;
+                }
+
+                if (update.getFromVersion() != version) {
+                    log.debug("{}: Ignoring updates of bucket {} from version {}, local version is {}", selfAddress,
+                            address, update.getFromVersion(), version);
+                    break;
+                }
+
+                final BucketDelta<T> delta = (BucketDelta<T>) update.getDelta();
+                delta.applyTo(bucket.getData());
+                updateLog(address).append(update);
+                version = update.getToVersion();
+
+                onBucketChanged(address, delta);
+            }
+
+            if (version != bucket.getVersion()) {
+                remoteBuckets.put(address, new BucketImpl<>(version, bucket.getData()));
+                versions.put(address, version);
+            }
+        }
+    }
+
+    private BucketUpdateLog updateLog(Address address) {
+        BucketUpdateLog updateLog = updateLogs.get(address);
+        if (updateLog == null) {
+            updateLog = new BucketUpdateLog(config.getGossipUpdateLogSize());
+            updateLogs.put(address, updateLog);
+        }
+
+        return updateLog;
+    }
+
+    private static <T extends Copier<T>> Bucket<T> copyOf(Bucket<T> bucket) {
+        final T data = bucket.getData();
+        return new BucketImpl<>(bucket.getVersion(), data == null ? null : data.copy());
+    }
+
     public BucketImpl<T> getLocalBucket() {
         return localBucket;
     }
@@ -237,6 +353,42 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
     protected void updateLocalBucket(T data) {
         localBucket.setData(data);
         versions.put(selfAddress, localBucket.getVersion());
+        updateLogs.remove(selfAddress);
+
+        onBucketReplaced(selfAddress);
+    }
+
+    /**
+     * Changes the data of the local bucket in place, so that only the change needs to be gossiped.
+     *
+     * @param delta the change
+     */
+    protected void updateLocalBucket(BucketDelta<T> delta) {
+        final Long fromVersion = localBucket.getVersion();
+        delta.applyTo(localBucket.getData());
+
+        final Long toVersion = localBucket.nextVersion();
+        versions.put(selfAddress, toVersion);
+        updateLog(selfAddress).append(new BucketUpdate(fromVersion, toVersion, delta));
+
+        onBucketChanged(selfAddress, delta);
+    }
+
+    /**
+     * Invoked after the data of a bucket has been replaced as a whole. The default implementation does nothing.
+     *
+     * @param address the address of the bucket's node
+     */
+    protected void onBucketReplaced(Address address) {
+    }
+
+    /**
+     * Invoked after the data of a bucket has been changed by a delta. The default implementation does nothing.
+     *
+     * @param address the address of the bucket's node
+     * @param delta the change
+     */
+    protected void onBucketChanged(Address address, BucketDelta<T> delta) {
     }
 
     public Map<Address, Bucket<T>> getRemoteBuckets() {
@@ -246,4 +398,8 @@ public class BucketStore<T extends Copier<T>> extends AbstractUntypedActorWithMe
     public Map<Address, Long> getVersions() {
         return versions;
     }
+
+    public GossipStats getGossipStats() {
+        return gossipStats;
+    }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import com.google.common.base.Preconditions;
+import java.io.Serializable;
+
+/**
+ * A {@link BucketDelta} which takes a bucket from one version to the next.
+ */
+public final class BucketUpdate implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long fromVersion;
+    private final long toVersion;
+    private final BucketDelta<?> delta;
+
+    public BucketUpdate(long fromVersion, long toVersion, BucketDelta<?> delta) {
+        Preconditions.checkArgument(toVersion > fromVersion, "Version %s does not follow %s", toVersion,
+                fromVersion);
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.delta = Preconditions.checkNotNull(delta);
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    public BucketDelta<?> getDelta() {
+        return delta;
+    }
+
+    @Override
+    public String toString() {
+        return "BucketUpdate{" +
+                "fromVersion=" + fromVersion +
+                ", toVersion=" + toVersion +
+                ", delta=" + delta +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The most recent consecutive updates of a bucket, from which the updates a remote node is missing can be
+ * gossiped to it. This class is not thread-safe, it is only accessed by its
+ * {@link org.opendaylight.controller.remote.rpc.registry.gossip.BucketStore}.
+ */
+class BucketUpdateLog {
+    private final Deque<BucketUpdate> updates = new ArrayDeque<>();
+    private final int maxSize;
+
+    BucketUpdateLog(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Appends an update, which must follow the last update in the log. Otherwise the log is restarted from it.
+     *
+     * @param update the update
+     */
+    void append(BucketUpdate update) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        final BucketUpdate last = updates.peekLast();
+        if (last != null && last.getToVersion() != update.getFromVersion()) {
+            updates.clear();
+        }
+
+        updates.addLast(update);
+        if (updates.size() > maxSize) {
+            updates.removeFirst();
+        }
+    }
+
+    /**
+     * Returns the updates which take a bucket from the given version to the latest version.
+     *
+     * @param version the version of the bucket
+     * @return the updates, empty if the version is the latest one, or null if the updates are not known
+     */
+    List<BucketUpdate> updatesSince(long version) {
+        final BucketUpdate last = updates.peekLast();
+        if (last == null) {
+            return null;
+        }
+
+        if (last.getToVersion() == version) {
+            return new ArrayList<>();
+        }
+
+        final List<BucketUpdate> ret = new ArrayList<>();
+        for (BucketUpdate update : updates) {
+            if (!ret.isEmpty() || update.getFromVersion() == version) {
+                ret.add(update);
+            }
+        }
+
+        return ret.isEmpty() ? null : ret;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the gossip sent by a {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}.
+ * The byte counts are the java serialized size of the sent gossip envelopes. They are only measured when metric
+ * capture is enabled in the configuration, as measuring serializes each envelope a second time, and are 0
+ * otherwise.
+ */
+public class GossipStats {
+    private final AtomicLong currentTickBytes = new AtomicLong();
+    private final AtomicLong lastTickBytes = new AtomicLong();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong envelopes = new AtomicLong();
+    private final AtomicLong fullBuckets = new AtomicLong();
+    private final AtomicLong bucketUpdates = new AtomicLong();
+
+    void onTick() {
+        lastTickBytes.set(currentTickBytes.getAndSet(0));
+    }
+
+    void onEnvelopeSent(long bytes, int numFullBuckets, int numBucketUpdates) {
+        currentTickBytes.addAndGet(bytes);
+        totalBytes.addAndGet(bytes);
+        envelopes.incrementAndGet();
+        fullBuckets.addAndGet(numFullBuckets);
+        bucketUpdates.addAndGet(numBucketUpdates);
+    }
+
+    /**
+     * Returns the number of bytes gossiped during the last gossip tick interval.
+     */
+    public long getLastTickBytes() {
+        return lastTickBytes.get();
+    }
+
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    public long getEnvelopes() {
+        return envelopes.get();
+    }
+
+    public long getFullBuckets() {
+        return fullBuckets.get();
+    }
+
+    public long getBucketUpdates() {
+        return bucketUpdates.get();
+    }
+}
@@ -19,7 +19,12 @@ import akka.cluster.Member;
 import akka.dispatch.Mapper;
 import akka.pattern.Patterns;
 import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +60,10 @@ import scala.concurrent.duration.FiniteDuration;
  * <p/>
  * When a bucket is received from a remote gossiper, its sent to the bucket store
  * for update.
+ * <p/>
+ * The bucket store is asked for the buckets with the remote gossiper's bucket versions,
+ * so for buckets whose recent updates it retains only the updates since those versions
+ * are sent.
  *
  */
 
@@ -80,8 +89,15 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
 
     private final RemoteRpcProviderConfig config;
 
+    private final GossipStats stats;
+
     public Gossiper(RemoteRpcProviderConfig config){
+        this(config, new GossipStats());
+    }
+
+    public Gossiper(RemoteRpcProviderConfig config, GossipStats stats){
         this.config = Preconditions.checkNotNull(config);
+        this.stats = Preconditions.checkNotNull(stats);
     }
 
     /**
@@ -200,6 +216,8 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
      * 3. If there are more than one member, randomly pick one and send gossip status (bucket versions) to it.
      */
     void receiveGossipTick(){
+        stats.onTick();
+
         if (clusterMembers.size() == 0) {
             return; //no members to send gossip status to
         }
@@ -259,18 +277,19 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
             return;
         }
 
-        updateRemoteBuckets(envelope.getBuckets());
+        updateRemoteBuckets(envelope.getBuckets(), envelope.getBucketUpdates());
 
     }
 
     /**
-     * Helper to send received buckets to bucket store
+     * Helper to send received buckets and bucket updates to bucket store
      *
      * @param buckets
+     * @param bucketUpdates
      */
-    void updateRemoteBuckets(Map<Address, Bucket> buckets) {
+    void updateRemoteBuckets(Map<Address, Bucket> buckets, Map<Address, List<BucketUpdate>> bucketUpdates) {
 
-        UpdateRemoteBuckets updateRemoteBuckets = new UpdateRemoteBuckets(buckets);
+        UpdateRemoteBuckets updateRemoteBuckets = new UpdateRemoteBuckets(buckets, bucketUpdates);
         getContext().parent().tell(updateRemoteBuckets, getSelf());
     }
 
@@ -279,11 +298,12 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
      *
      * @param remote     remote node to send Buckets to
      * @param addresses  node addresses whose buckets needs to be sent
+     * @param remoteVersions bucket versions of the remote node
      */
-    void sendGossipTo(final ActorRef remote, final Set<Address> addresses){
+    void sendGossipTo(final ActorRef remote, final Set<Address> addresses, final Map<Address, Long> remoteVersions){
 
-        Future<Object> futureReply =
-                Patterns.ask(getContext().parent(), new GetBucketsByMembers(addresses), config.getAskDuration());
+        Future<Object> futureReply = Patterns.ask(getContext().parent(),
+                new GetBucketsByMembers(addresses, remoteVersions), config.getAskDuration());
         futureReply.map(getMapperToSendGossip(remote), getContext().dispatcher());
     }
 
@@ -317,13 +337,13 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
      */
     void sendGossipStatusTo(ActorRef remote, Map<Address, Long> localVersions){
 
-        GossipStatus status = new GossipStatus(selfAddress, localVersions);
+        GossipStatus status = new GossipStatus(selfAddress, localVersions, true);
         remote.tell(status, getSelf());
     }
 
     void sendGossipStatusTo(ActorSelection remote, Map<Address, Long> localVersions){
 
-        GossipStatus status = new GossipStatus(selfAddress, localVersions);
+        GossipStatus status = new GossipStatus(selfAddress, localVersions, true);
         remote.tell(status, getSelf());
     }
 
@@ -405,7 +425,10 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
                     }
 
                     if (!localIsNewer.isEmpty()) {
-                        sendGossipTo(sender, localIsNewer);//send newer buckets to remote
+                        //send newer buckets to remote, or only their updates if the remote understands them
+                        Map<Address, Long> knownVersions = status.isBucketUpdatesSupported() ? remoteVersions :
+                            Collections.<Address, Long>emptyMap();
+                        sendGossipTo(sender, localIsNewer, knownVersions);
                     }
 
                 }
@@ -432,18 +455,46 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
             @Override
             public Void apply(Object msg) {
                 if (msg instanceof GetBucketsByMembersReply) {
-                    Map<Address, Bucket> buckets = ((GetBucketsByMembersReply) msg).getBuckets();
+                    GetBucketsByMembersReply reply = (GetBucketsByMembersReply) msg;
+                    Map<Address, Bucket> buckets = reply.getBuckets();
+                    Map<Address, List<BucketUpdate>> bucketUpdates = reply.getBucketUpdates();
                     if(log.isTraceEnabled()) {
-                        log.trace("Buckets to send from {}: {}", selfAddress, buckets);
+                        log.trace("Buckets to send from {}: {}, bucket updates: {}", selfAddress, buckets,
+                                bucketUpdates);
                     }
-                    GossipEnvelope envelope = new GossipEnvelope(selfAddress, sender.path().address(), buckets);
+                    GossipEnvelope envelope = new GossipEnvelope(selfAddress, sender.path().address(), buckets,
+                            bucketUpdates);
                     sender.tell(envelope, getSelf());
+
+                    int numBucketUpdates = 0;
+                    for (List<BucketUpdate> updates : bucketUpdates.values()) {
+                        numBucketUpdates += updates.size();
+                    }
+                    //measuring the size serializes the envelope once more, so only do it when capturing metrics
+                    long bytes = 0;
+                    if (config.isMetricCaptureEnabled()) {
+                        bytes = serializedSize(envelope);
+                        log.debug("Sent gossip of {} bytes to {}", bytes, sender);
+                    }
+
+                    stats.onEnvelopeSent(bytes, buckets.size(), numBucketUpdates);
                 }
                 return null;
             }
         };
     }
 
+    private long serializedSize(GossipEnvelope envelope) {
+        CountingOutputStream counter = new CountingOutputStream(ByteStreams.nullOutputStream());
+        try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+            out.writeObject(envelope);
+        } catch (IOException e) {
+            log.debug("Failed to determine the size of {}", envelope, e);
+        }
+
+        return counter.getCount();
+    }
+
     ///
     ///Getter Setters
     ///
@@ -13,6 +13,7 @@ import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.opendaylight.controller.remote.rpc.registry.gossip.Messages.BucketStoreMessages.ContainsBucketVersions;
@@ -34,25 +35,48 @@ public class Messages {
         public static class GetBucketsByMembers implements Serializable{
             private static final long serialVersionUID = 1L;
             private final Set<Address> members;
+            private final Map<Address, Long> knownVersions;
 
             public GetBucketsByMembers(Set<Address> members){
+                this(members, Collections.<Address, Long>emptyMap());
+            }
+
+            /**
+             * @param members requested members
+             * @param knownVersions versions of the buckets the recipient of the buckets already has, for which
+             *                      only the updates since may be returned
+             */
+            public GetBucketsByMembers(Set<Address> members, Map<Address, Long> knownVersions){
                 Preconditions.checkArgument(members != null, "members can not be null");
+                Preconditions.checkArgument(knownVersions != null, "knownVersions can not be null");
                 this.members = members;
+                this.knownVersions = knownVersions;
             }
 
             public Set<Address> getMembers() {
                 return new HashSet<>(members);
             }
+
+            public Map<Address, Long> getKnownVersions() {
+                return Collections.unmodifiableMap(knownVersions);
+            }
         }
 
         public static class ContainsBuckets implements Serializable{
             private static final long serialVersionUID = -4940160367495308286L;
 
             private final Map<Address, Bucket> buckets;
+            private final Map<Address, List<BucketUpdate>> bucketUpdates;
 
             public ContainsBuckets(Map<Address, Bucket> buckets){
+                this(buckets, Collections.<Address, List<BucketUpdate>>emptyMap());
+            }
+
+            public ContainsBuckets(Map<Address, Bucket> buckets, Map<Address, List<BucketUpdate>> bucketUpdates){
                 Preconditions.checkArgument(buckets != null, "buckets can not be null");
+                Preconditions.checkArgument(bucketUpdates != null, "bucketUpdates can not be null");
                 this.buckets = buckets;
+                this.bucketUpdates = bucketUpdates;
             }
 
             public Map<Address, Bucket> getBuckets() {
@@ -67,6 +91,18 @@ public class Messages {
                 }
                 return copy;
             }
+
+            /**
+             * Returns the consecutive updates of buckets which are sent instead of the whole buckets.
+             */
+            public Map<Address, List<BucketUpdate>> getBucketUpdates() {
+                //messages from members which predate bucket updates do not have any
+                if (bucketUpdates == null) {
+                    return Collections.emptyMap();
+                }
+
+                return Collections.unmodifiableMap(bucketUpdates);
+            }
         }
 
         public static class GetAllBucketsReply extends ContainsBuckets implements Serializable{
@@ -81,6 +117,11 @@ public class Messages {
             public GetBucketsByMembersReply(Map<Address, Bucket> buckets) {
                 super(buckets);
             }
+
+            public GetBucketsByMembersReply(Map<Address, Bucket> buckets,
+                    Map<Address, List<BucketUpdate>> bucketUpdates) {
+                super(buckets, bucketUpdates);
+            }
         }
 
         public static class GetBucketVersions implements Serializable {
@@ -116,6 +157,10 @@ public class Messages {
             public UpdateRemoteBuckets(Map<Address, Bucket> buckets) {
                 super(buckets);
             }
+
+            public UpdateRemoteBuckets(Map<Address, Bucket> buckets, Map<Address, List<BucketUpdate>> bucketUpdates) {
+                super(buckets, bucketUpdates);
+            }
         }
     }
 
@@ -133,14 +178,32 @@ public class Messages {
 
             private final Address from;
 
+            //false if deserialized from a member which predates bucket updates
+            private final boolean bucketUpdatesSupported;
+
             public GossipStatus(Address from, Map<Address, Long> versions) {
+                this(from, versions, false);
+            }
+
+            /**
+             * @param from the sending member
+             * @param versions bucket versions of the sending member
+             * @param bucketUpdatesSupported true if the sending member understands bucket updates in a
+             *                               GossipEnvelope, otherwise it is sent whole buckets only
+             */
+            public GossipStatus(Address from, Map<Address, Long> versions, boolean bucketUpdatesSupported) {
                 super(versions);
                 this.from = from;
+                this.bucketUpdatesSupported = bucketUpdatesSupported;
             }
 
             public Address from() {
                 return from;
             }
+
+            public boolean isBucketUpdatesSupported() {
+                return bucketUpdatesSupported;
+            }
         }
 
         public static final class GossipEnvelope extends ContainsBuckets implements Serializable {
@@ -150,7 +213,12 @@ public class Messages {
             private final Address to;
 
             public GossipEnvelope(Address from, Address to, Map<Address, Bucket> buckets) {
-                super(buckets);
+                this(from, to, buckets, Collections.<Address, List<BucketUpdate>>emptyMap());
+            }
+
+            public GossipEnvelope(Address from, Address to, Map<Address, Bucket> buckets,
+                    Map<Address, List<BucketUpdate>> bucketUpdates) {
+                super(buckets, bucketUpdates);
                 Preconditions.checkArgument(to != null, "Recipient of message must not be null");
                 this.to = to;
                 this.from = from;
@@ -27,4 +27,20 @@ public interface RemoteRpcRegistryMXBean {
     Map<String,String> findRpcByName(String name);
 
     Map<String,String> findRpcByRoute(String route);
+
+    /**
+     * Returns the bytes gossiped during the last gossip tick, only measured when metric capture is enabled.
+     */
+    long getGossipBytesLastTick();
+
+    /**
+     * Returns the total bytes gossiped, only measured when metric capture is enabled.
+     */
+    long getGossipBytesTotal();
+
+    long getGossipFullBucketsSent();
+
+    long getGossipBucketUpdatesSent();
+
+    Map<String,String> getRouterLoads();
 }
@@ -13,6 +13,7 @@ import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
 import org.opendaylight.controller.remote.rpc.registry.RoutingTable;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry;
 import org.opendaylight.controller.remote.rpc.registry.gossip.Bucket;
+import org.opendaylight.controller.remote.rpc.utils.RouterLoadTracker.RouterLoad;
 import org.opendaylight.controller.sal.connector.api.RpcRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -161,4 +162,34 @@ public class RemoteRpcRegistryMXBeanImpl extends AbstractMXBean implements Remot
         return rpcRegistry.getVersions().toString();
     }
 
+    @Override
+    public long getGossipBytesLastTick() {
+        return rpcRegistry.getGossipStats().getLastTickBytes();
+    }
+
+    @Override
+    public long getGossipBytesTotal() {
+        return rpcRegistry.getGossipStats().getTotalBytes();
+    }
+
+    @Override
+    public long getGossipFullBucketsSent() {
+        return rpcRegistry.getGossipStats().getFullBuckets();
+    }
+
+    @Override
+    public long getGossipBucketUpdatesSent() {
+        return rpcRegistry.getGossipStats().getBucketUpdates();
+    }
+
+    @Override
+    public Map<String, String> getRouterLoads() {
+        Map<String, RouterLoad> loads = rpcRegistry.getRouterLoadTracker().getLoads();
+        Map<String, String> ret = new HashMap<>(loads.size());
+        for(Map.Entry<String, RouterLoad> entry : loads.entrySet()) {
+            ret.put(entry.getKey(), entry.getValue().toString());
+        }
+        return ret;
+    }
+
 }
\ No newline at end of file
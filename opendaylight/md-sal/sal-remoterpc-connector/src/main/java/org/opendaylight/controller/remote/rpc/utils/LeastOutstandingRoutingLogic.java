@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.remote.rpc.utils;
+
+import akka.actor.ActorRef;
+import akka.japi.Pair;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.opendaylight.controller.remote.rpc.utils.RouterLoadTracker.RouterLoad;
+
+/**
+ * This class selects the router with the fewest rpcs in flight, and of those the one with the lowest average
+ * latency. Routers which are equally loaded are chosen randomly.
+ */
+public class LeastOutstandingRoutingLogic implements RoutingLogic {
+
+    private final List<ActorRef> routers;
+    private final RouterLoadTracker loadTracker;
+
+    public LeastOutstandingRoutingLogic(Collection<Pair<ActorRef, Long>> entries, RouterLoadTracker loadTracker) {
+        Preconditions.checkNotNull(entries, "Entries should not be null");
+        Preconditions.checkArgument(!entries.isEmpty(), "Entries collection should not be empty");
+        this.loadTracker = Preconditions.checkNotNull(loadTracker);
+
+        routers = new ArrayList<>(entries.size());
+        for (Pair<ActorRef, Long> entry : entries) {
+            routers.add(entry.first());
+        }
+    }
+
+    @Override
+    public ActorRef select() {
+        // Start at a random router so ties do not all go to the same one
+        final int start = ThreadLocalRandom.current().nextInt(routers.size());
+        ActorRef selected = routers.get(start);
+        RouterLoad selectedLoad = loadTracker.forRouter(selected);
+
+        for (int i = 1; i < routers.size(); i++) {
+            final ActorRef router = routers.get((start + i) % routers.size());
+            final RouterLoad load = loadTracker.forRouter(router);
+            if (load.compareTo(selectedLoad) < 0) {
+                selected = router;
+                selectedLoad = load;
+            }
+        }
+
+        return selected;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.remote.rpc.utils;
+
+import akka.actor.ActorRef;
+import akka.japi.Pair;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class picks two routers randomly and selects the less loaded of them, as determined by the rpcs in
+ * flight and then the average latency. Unlike always selecting the least loaded router, this does not make
+ * concurrent invokers, which see the same load, herd onto the same router.
+ */
+public class PowerOfTwoChoicesRoutingLogic implements RoutingLogic {
+
+    private final List<ActorRef> routers;
+    private final RouterLoadTracker loadTracker;
+
+    public PowerOfTwoChoicesRoutingLogic(Collection<Pair<ActorRef, Long>> entries, RouterLoadTracker loadTracker) {
+        Preconditions.checkNotNull(entries, "Entries should not be null");
+        Preconditions.checkArgument(!entries.isEmpty(), "Entries collection should not be empty");
+        this.loadTracker = Preconditions.checkNotNull(loadTracker);
+
+        routers = new ArrayList<>(entries.size());
+        for (Pair<ActorRef, Long> entry : entries) {
+            routers.add(entry.first());
+        }
+    }
+
+    @Override
+    public ActorRef select() {
+        if (routers.size() == 1) {
+            return routers.get(0);
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(routers.size());
+
+        // Pick the second router from the others
+        int second = random.nextInt(routers.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        final ActorRef router1 = routers.get(first);
+        final ActorRef router2 = routers.get(second);
+        return loadTracker.forRouter(router2).compareTo(loadTracker.forRouter(router1)) < 0 ? router2 : router1;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.remote.rpc.utils;
+
+import akka.actor.ActorRef;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the load of the routers remote rpcs are sent to: the number of rpcs in flight and the average
+ * latency of completed rpcs. It is updated by the rpc invokers and read by the load-aware
+ * {@link RoutingLogic}s.
+ */
+public class RouterLoadTracker {
+
+    private final ConcurrentMap<ActorRef, RouterLoad> loads = new ConcurrentHashMap<>();
+
+    public RouterLoad forRouter(ActorRef router) {
+        RouterLoad load = loads.get(router);
+        if (load == null) {
+            final RouterLoad newLoad = new RouterLoad();
+            load = loads.putIfAbsent(router, newLoad);
+            if (load == null) {
+                load = newLoad;
+            }
+        }
+
+        return load;
+    }
+
+    /**
+     * Drops the load of the routers which are not among the given ones, ie. which are no longer known.
+     *
+     * @param routers the routers currently known
+     */
+    public void retainRouters(Collection<ActorRef> routers) {
+        loads.keySet().retainAll(routers);
+    }
+
+    /**
+     * Returns the load of every router rpcs have been sent to, keyed by router path.
+     */
+    public Map<String, RouterLoad> getLoads() {
+        final Map<String, RouterLoad> ret = new HashMap<>(loads.size());
+        for (Map.Entry<ActorRef, RouterLoad> entry : loads.entrySet()) {
+            ret.put(entry.getKey().path().toString(), entry.getValue());
+        }
+
+        return ret;
+    }
+
+    public static final class RouterLoad {
+        // The weight of a new sample in the average latency is 1/2^LATENCY_WEIGHT_SHIFT
+        private static final int LATENCY_WEIGHT_SHIFT = 3;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong avgLatencyNanos = new AtomicLong();
+
+        private RouterLoad() {
+        }
+
+        /**
+         * Records an rpc being sent to the router.
+         *
+         * @return the start time to pass to {@link #onRequestCompleted(long)}
+         */
+        public long onRequestStarted() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        /**
+         * Records an rpc sent to the router completing, successfully or not.
+         *
+         * @param startTime the time returned by {@link #onRequestStarted()}
+         */
+        public void onRequestCompleted(long startTime) {
+            final long latency = System.nanoTime() - startTime;
+            inFlight.decrementAndGet();
+            completed.incrementAndGet();
+
+            while (true) {
+                final long current = avgLatencyNanos.get();
+                // The first sample initializes the average
+                final long next = current == 0 ? latency : current + ((latency - current) >> LATENCY_WEIGHT_SHIFT);
+                if (avgLatencyNanos.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        public long getCompleted() {
+            return completed.get();
+        }
+
+        public long getAvgLatencyNanos() {
+            return avgLatencyNanos.get();
+        }
+
+        /**
+         * Compares the load of this router to another one's, by rpcs in flight and then by average latency.
+         *
+         * @return a negative value if this router is less loaded, a positive value if it is more loaded, 0 otherwise
+         */
+        int compareTo(RouterLoad other) {
+            final int ret = Integer.compare(getInFlight(), other.getInFlight());
+            return ret != 0 ? ret : Long.compare(getAvgLatencyNanos(), other.getAvgLatencyNanos());
+        }
+
+        @Override
+        public String toString() {
+            return "RouterLoad{" +
+                    "inFlight=" + getInFlight() +
+                    ", completed=" + getCompleted() +
+                    ", avgLatencyMicros=" + TimeUnit.NANOSECONDS.toMicros(getAvgLatencyNanos()) +
+                    '}';
+        }
+    }
+}
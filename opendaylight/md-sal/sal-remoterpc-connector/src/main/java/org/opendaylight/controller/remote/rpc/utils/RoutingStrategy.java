@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.remote.rpc.utils;
+
+import akka.actor.ActorRef;
+import akka.japi.Pair;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The strategies for selecting the router of an rpc which is provided by more than one node in the cluster.
+ */
+public enum RoutingStrategy {
+    /**
+     * The router of the most recently registered provider.
+     */
+    LATEST_ENTRY("latest-entry") {
+        @Override
+        RoutingLogic newRoutingLogic(Collection<Pair<ActorRef, Long>> entries, RouterLoadTracker loadTracker) {
+            return new LatestEntryRoutingLogic(entries);
+        }
+    },
+
+    /**
+     * The router with the fewest rpcs in flight.
+     */
+    LEAST_OUTSTANDING("least-outstanding") {
+        @Override
+        RoutingLogic newRoutingLogic(Collection<Pair<ActorRef, Long>> entries, RouterLoadTracker loadTracker) {
+            return new LeastOutstandingRoutingLogic(entries, loadTracker);
+        }
+    },
+
+    /**
+     * The less loaded of two randomly picked routers.
+     */
+    POWER_OF_TWO_CHOICES("power-of-two-choices") {
+        @Override
+        RoutingLogic newRoutingLogic(Collection<Pair<ActorRef, Long>> entries, RouterLoadTracker loadTracker) {
+            return new PowerOfTwoChoicesRoutingLogic(entries, loadTracker);
+        }
+    };
+
+    private final String name;
+
+    RoutingStrategy(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    abstract RoutingLogic newRoutingLogic(Collection<Pair<ActorRef, Long>> entries, RouterLoadTracker loadTracker);
+
+    /**
+     * Creates the routing logic of this strategy for the given routers.
+     *
+     * @param entries the routers with their update time
+     * @param loadTracker the load of the routers
+     * @param preferLocal if true, only the routers on this node are considered, if there are any
+     * @return the routing logic
+     */
+    public RoutingLogic newRoutingLogic(Collection<Pair<ActorRef, Long>> entries, RouterLoadTracker loadTracker,
+            boolean preferLocal) {
+        if (preferLocal && entries.size() > 1) {
+            final List<Pair<ActorRef, Long>> localEntries = new ArrayList<>(entries.size());
+            for (Pair<ActorRef, Long> entry : entries) {
+                if (entry.first().path().address().hasLocalScope()) {
+                    localEntries.add(entry);
+                }
+            }
+
+            if (!localEntries.isEmpty()) {
+                return newRoutingLogic(localEntries, loadTracker);
+            }
+        }
+
+        return newRoutingLogic(entries, loadTracker);
+    }
+
+    /**
+     * Returns the strategy with the given name.
+     *
+     * @param name the name of the strategy
+     * @return the strategy
+     * @throws IllegalArgumentException if there is no strategy with the name
+     */
+    public static RoutingStrategy forName(String name) {
+        for (RoutingStrategy strategy : values()) {
+            if (strategy.name.equals(name)) {
+                return strategy;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown rpc routing strategy " + name);
+    }
+}
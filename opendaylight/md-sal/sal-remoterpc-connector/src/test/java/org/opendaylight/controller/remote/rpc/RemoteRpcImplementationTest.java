@@ -15,6 +15,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.when;
 
 import akka.actor.ActorRef;
+import akka.actor.Props;
 import akka.actor.Status;
 import akka.japi.Pair;
 import akka.testkit.JavaTestKit;
@@ -26,13 +27,15 @@ import java.util.concurrent.TimeUnit;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
-import org.opendaylight.controller.cluster.datastore.node.utils.serialization.NormalizedNodeSerializer;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailableException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.controller.remote.rpc.registry.RouteCache;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry;
+import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.AddOrUpdateRoutes;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.FindRouters;
+import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.SetLocalRouter;
 import org.opendaylight.controller.sal.connector.api.RpcRouter.RouteIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -88,6 +91,41 @@ public class RemoteRpcImplementationTest extends AbstractRpcTest {
         assertEquals(rpcOutput, result.getResult());
     }
 
+    /**
+     * This test method invokes the remote rpc once through the registry, which caches the route, and then
+     * without asking the registry.
+     */
+    @Test
+    public void testInvokeRpcWithCachedRoute() throws Exception {
+        final ContainerNode rpcOutput = makeRPCOutput("bar");
+        final DOMRpcResult rpcResult = new DefaultDOMRpcResult(rpcOutput);
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final ArgumentCaptor<NormalizedNode<?, ?>> inputCaptor =
+                (ArgumentCaptor) ArgumentCaptor.forClass(NormalizedNode.class);
+
+        when(domRpcService2.invokeRpc(eq(TEST_RPC_TYPE), inputCaptor.capture())).thenReturn(
+                Futures.<DOMRpcResult, DOMRpcException>immediateCheckedFuture(rpcResult));
+
+        final RouteCache routeCache = new RouteCache();
+        final ActorRef rpcRegistry = node1.actorOf(Props.create(RpcRegistry.class, config1, routeCache));
+        rpcRegistry.tell(new SetLocalRouter(rpcBroker2), ActorRef.noSender());
+        rpcRegistry.tell(new AddOrUpdateRoutes(Arrays.<RouteIdentifier<?, ?, ?>>asList(
+                new RouteIdentifierImpl(null, TEST_RPC, TEST_PATH))), ActorRef.noSender());
+
+        DOMRpcResult result = new RemoteRpcImplementation(rpcRegistry, config1, routeCache).invokeRpc(
+                TEST_RPC_ID, makeRPCInput("foo")).checkedGet(5, TimeUnit.SECONDS);
+        assertEquals(rpcOutput, result.getResult());
+        assertEquals("RouteCache size", 1, routeCache.size());
+
+        result = new RemoteRpcImplementation(rpcRegistry1Probe.getRef(), config1, routeCache).invokeRpc(
+                TEST_RPC_ID, makeRPCInput("foo")).checkedGet(5, TimeUnit.SECONDS);
+        assertEquals(rpcOutput, result.getResult());
+        rpcRegistry1Probe.expectNoMsg(JavaTestKit.duration("500 milliseconds"));
+
+        node1.stop(rpcRegistry);
+    }
+
     /**
      * This test method invokes and executes the remote rpc
      */
@@ -232,7 +270,7 @@ public class RemoteRpcImplementationTest extends AbstractRpcTest {
      */
     @Test(expected = DOMRpcImplementationNotAvailableException.class)
     public void testInvokeRpcWithLoopException() throws Exception {
-        final NormalizedNode<?, ?> invokeRpcInput = RemoteRpcInput.from(NormalizedNodeSerializer.serialize(makeRPCInput("foo")));
+        final NormalizedNode<?, ?> invokeRpcInput = RemoteRpcInput.from(makeRPCInput("foo"));
         final CheckedFuture<DOMRpcResult, DOMRpcException> frontEndFuture = remoteRpcImpl1.invokeRpc(TEST_RPC_ID, invokeRpcInput);
 
         frontEndFuture.checkedGet(5, TimeUnit.SECONDS);
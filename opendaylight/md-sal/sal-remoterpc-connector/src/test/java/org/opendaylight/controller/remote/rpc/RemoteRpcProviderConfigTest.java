@@ -85,6 +85,29 @@ public class RemoteRpcProviderConfigTest {
         Assert.assertEquals(expectedTimeout.toMillis(), config.getMailBoxPushTimeout().toMillis());
     }
 
+    @Test
+    public void testGossipUpdateLogSize() {
+        Assert.assertEquals(100, new RemoteRpcProviderConfig.Builder("unit-test").build().getGossipUpdateLogSize());
+
+        Assert.assertEquals(10, new RemoteRpcProviderConfig.Builder("unit-test").gossipUpdateLogSize(10).build()
+                .getGossipUpdateLogSize());
+
+        //a value from the akka config is not overridden by the builder
+        RemoteRpcProviderConfig config = new RemoteRpcProviderConfig.Builder("unit-test")
+                .withConfigReader(new AkkaConfigurationReader() {
+                    @Override
+                    public Config read() {
+                        return ConfigFactory.parseString("unit-test.gossip-update-log-size = 0");
+                    }
+                }).build();
+        Assert.assertEquals(0, config.getGossipUpdateLogSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownRpcRoutingStrategy() {
+        new RemoteRpcProviderConfig(ConfigFactory.parseString("rpc-routing-strategy = round-robin"));
+    }
+
     public static class ConfigTestActor extends UntypedActor {
 
         private Config actorSystemConfig;
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class ExecuteRpcTest {
+    private static final QName TEST_RPC = QName.create("urn:test", "2014-08-28", "test-rpc");
+    private static final QName TEST_DATA = QName.create(TEST_RPC, "data");
+    private static final DOMRpcIdentifier TEST_RPC_ID = DOMRpcIdentifier.create(SchemaPath.create(true, TEST_RPC));
+
+    private static ContainerNode makeContainer(final QName qname, final String data) {
+        return Builders.containerBuilder().withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(qname))
+                .withChild(ImmutableNodes.leafNode(TEST_DATA, data)).build();
+    }
+
+    @Test
+    public void testExecuteRpcSerialization() {
+        final ContainerNode input = makeContainer(QName.create(TEST_RPC, "input"), "foo");
+
+        final ExecuteRpc clone = (ExecuteRpc) SerializationUtils.clone(ExecuteRpc.from(TEST_RPC_ID, input));
+
+        assertEquals("getRpc", TEST_RPC, clone.getRpc());
+        assertEquals("getInputNormalizedNode", input, clone.getInputNormalizedNode());
+
+        assertNull("getInputNormalizedNode", ((ExecuteRpc) SerializationUtils.clone(
+                ExecuteRpc.from(TEST_RPC_ID, null))).getInputNormalizedNode());
+    }
+
+    @Test
+    public void testRpcResponseSerialization() {
+        final ContainerNode output = makeContainer(QName.create(TEST_RPC, "output"), "bar");
+
+        final RpcResponse clone = (RpcResponse) SerializationUtils.clone(new RpcResponse(output));
+
+        assertEquals("getResultNormalizedNode", output, clone.getResultNormalizedNode());
+
+        assertNull("getResultNormalizedNode", ((RpcResponse) SerializationUtils.clone(
+                new RpcResponse(null))).getResultNormalizedNode());
+    }
+
+    @Test
+    public void testProtobufVersionSerialization() {
+        final ContainerNode input = makeContainer(QName.create(TEST_RPC, "input"), "foo");
+
+        // Routers which have not advertised a version are sent the protobuf format they read
+        final ExecuteRpc executeRpc = (ExecuteRpc) SerializationUtils.clone(ExecuteRpc.from(TEST_RPC_ID, input,
+                RpcMessageVersions.PROTOBUF_VERSION));
+        assertEquals("getVersion", RpcMessageVersions.PROTOBUF_VERSION, executeRpc.getVersion());
+        assertEquals("getInputNormalizedNode", input, executeRpc.getInputNormalizedNode());
+
+        final ContainerNode output = makeContainer(QName.create(TEST_RPC, "output"), "bar");
+        final RpcResponse response = (RpcResponse) SerializationUtils.clone(new RpcResponse(output,
+                executeRpc.getVersion()));
+        assertEquals("getVersion", RpcMessageVersions.PROTOBUF_VERSION, response.getVersion());
+        assertEquals("getResultNormalizedNode", output, response.getResultNormalizedNode());
+
+        assertNull("getInputNormalizedNode", ((ExecuteRpc) SerializationUtils.clone(ExecuteRpc.from(TEST_RPC_ID,
+                null, RpcMessageVersions.PROTOBUF_VERSION))).getInputNormalizedNode());
+    }
+}
@@ -314,6 +314,39 @@ public class RpcRegistryTest {
         }
     }
 
+    /**
+     * Found routers should be published in the route cache until the route is changed
+     */
+    @Test
+    public void testRouteCache() throws Exception {
+        final JavaTestKit testKit = new JavaTestKit(node1);
+        final FiniteDuration duration = Duration.create(3, TimeUnit.SECONDS);
+
+        RouteCache routeCache = new RouteCache();
+        ActorRef registry = node1.actorOf(Props.create(RpcRegistry.class, config(node1), routeCache));
+
+        registry.tell(new SetLocalRouter(testKit.getRef()), testKit.getRef());
+
+        List<RpcRouter.RouteIdentifier<?, ?, ?>> routeIds = createRouteIds();
+        RouteIdentifier<?, ?, ?> routeId = routeIds.get(0);
+        registry.tell(new AddOrUpdateRoutes(routeIds), testKit.getRef());
+
+        registry.tell(new FindRouters(routeId), testKit.getRef());
+        FindRoutersReply reply = testKit.expectMsgClass(duration, FindRoutersReply.class);
+        Assert.assertEquals("Routers found", 1, reply.getRouterWithUpdateTime().size());
+        Assert.assertEquals("Cached routers", reply.getRouterWithUpdateTime(), routeCache.getRouters(routeId));
+
+        // Changing the route should invalidate it
+        registry.tell(new RemoveRoutes(routeIds), testKit.getRef());
+
+        registry.tell(new FindRouters(routeId), testKit.getRef());
+        reply = testKit.expectMsgClass(duration, FindRoutersReply.class);
+        Assert.assertEquals("Routers found", 0, reply.getRouterWithUpdateTime().size());
+        Assert.assertNull("Cached routers", routeCache.getRouters(routeId));
+
+        node1.stop(registry);
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testAddRoutesConcurrency() throws Exception {
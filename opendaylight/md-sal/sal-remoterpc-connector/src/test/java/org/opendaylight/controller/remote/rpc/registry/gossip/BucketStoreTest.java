@@ -12,14 +12,23 @@ import akka.actor.Address;
 import akka.actor.Props;
 import akka.testkit.TestActorRef;
 import com.typesafe.config.ConfigFactory;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.opendaylight.controller.remote.rpc.RemoteRpcProviderConfig;
+import org.opendaylight.controller.remote.rpc.RouteIdentifierImpl;
 import org.opendaylight.controller.remote.rpc.TerminationMonitor;
+import org.opendaylight.controller.remote.rpc.registry.RoutingTable;
+import org.opendaylight.controller.sal.connector.api.RpcRouter.RouteIdentifier;
+import org.opendaylight.yangtools.yang.common.QName;
 
 public class BucketStoreTest {
 
@@ -126,14 +135,81 @@ public class BucketStoreTest {
 
     }
 
+    /**
+     * Given local bucket updates
+     * Should return the updates since a known version, and apply them to a remote bucket of that version
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testBucketUpdates() throws Exception {
+
+        BucketStore<RoutingTable> store = createStore("testBucketUpdatesStore");
+
+        Address localAddress = system.provider().getDefaultAddress();
+        Set<Address> localMembers = Collections.singleton(localAddress);
+
+        RouteIdentifier<?, ?, ?> r1 = new RouteIdentifierImpl(null, new QName(new URI("/mockrpc"), "rpc1"), null);
+        RouteIdentifier<?, ?, ?> r2 = new RouteIdentifierImpl(null, new QName(new URI("/mockrpc"), "rpc2"), null);
+
+        store.updateLocalBucket(new RoutingTable());
+        Long v0 = store.getLocalBucket().getVersion();
+
+        store.updateLocalBucket(RoutingTable.addRoutesDelta(Arrays.<RouteIdentifier<?, ?, ?>>asList(r1, r2)));
+        store.updateLocalBucket(RoutingTable.removeRoutesDelta(Arrays.<RouteIdentifier<?, ?, ?>>asList(r1)));
+        Long v2 = store.getLocalBucket().getVersion();
+        Assert.assertEquals(v2, store.getVersions().get(localAddress));
+
+        //Should return the updates since the known version
+        Map<Address, List<BucketUpdate>> updates = store.getBucketUpdatesByMembers(localMembers,
+                Collections.singletonMap(localAddress, v0));
+        Assert.assertEquals(2, updates.get(localAddress).size());
+        Assert.assertEquals(v0.longValue(), updates.get(localAddress).get(0).getFromVersion());
+        Assert.assertEquals(v2.longValue(), updates.get(localAddress).get(1).getToVersion());
+
+        //Should NOT return updates if the version is not known or the updates are not retained
+        Assert.assertTrue(store.getBucketUpdatesByMembers(localMembers,
+                Collections.<Address, Long>emptyMap()).isEmpty());
+        Assert.assertTrue(store.getBucketUpdatesByMembers(localMembers,
+                Collections.singletonMap(localAddress, v0 - 1)).isEmpty());
+
+        //Given a remote bucket of the known version
+        Address a1 = new Address("tcp", "system1");
+        Map<Address, Bucket> remoteBuckets = new HashMap<>();
+        remoteBuckets.put(a1, new BucketImpl<>(v0, new RoutingTable()));
+        store.receiveUpdateRemoteBuckets(remoteBuckets);
+
+        //Should apply the updates
+        store.receiveRemoteBucketUpdates(Collections.singletonMap(a1, updates.get(localAddress)));
+
+        Bucket<RoutingTable> remoteBucket = store.getRemoteBuckets().get(a1);
+        Assert.assertEquals(v2, remoteBucket.getVersion());
+        Assert.assertEquals(v2, store.getVersions().get(a1));
+        Assert.assertFalse(remoteBucket.getData().contains(r1));
+        Assert.assertTrue(remoteBucket.getData().contains(r2));
+
+        //Should retain the applied updates to gossip them on
+        Assert.assertEquals(2, store.getBucketUpdatesByMembers(Collections.singleton(a1),
+                Collections.singletonMap(a1, v0)).get(a1).size());
+
+        //Should NOT apply updates which do not follow the remote bucket's version
+        store.receiveRemoteBucketUpdates(Collections.singletonMap(a1, Arrays.asList(new BucketUpdate(v2 + 1, v2 + 2,
+                RoutingTable.addRoutesDelta(Arrays.<RouteIdentifier<?, ?, ?>>asList(r1))))));
+        Assert.assertEquals(v2, store.getRemoteBuckets().get(a1).getVersion());
+        Assert.assertFalse(store.getRemoteBuckets().get(a1).getData().contains(r1));
+    }
+
     /**
      * Create BucketStore actor and returns the underlying instance of BucketStore class.
      *
      * @return instance of BucketStore class
      */
     private static BucketStore createStore(){
+        return createStore("testStore");
+    }
+
+    private static BucketStore createStore(String name){
         final Props props = Props.create(BucketStore.class, new RemoteRpcProviderConfig(system.settings().config()));
-        final TestActorRef<BucketStore> testRef = TestActorRef.create(system, props, "testStore");
+        final TestActorRef<BucketStore> testRef = TestActorRef.create(system, props, name);
         return testRef.underlyingActor();
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ package org.opendaylight.controller.remote.rpc.registry.gossip;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
@@ -22,6 +23,7 @@ import akka.actor.Address;
 import akka.actor.Props;
 import akka.testkit.TestActorRef;
 import com.typesafe.config.ConfigFactory;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -33,6 +35,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.opendaylight.controller.remote.rpc.RemoteRpcProviderConfig;
 import org.opendaylight.controller.remote.rpc.TerminationMonitor;
+import org.opendaylight.controller.remote.rpc.registry.gossip.Messages.BucketStoreMessages.ContainsBuckets;
 
 
 public class GossiperTest {
@@ -108,9 +111,25 @@ public class GossiperTest {
         Address notSelf = new Address("tcp", "not-self");
 
         GossipEnvelope envelope = new GossipEnvelope(notSelf, notSelf, mock(Map.class));
-        doNothing().when(mockGossiper).updateRemoteBuckets(anyMap());
+        doNothing().when(mockGossiper).updateRemoteBuckets(anyMap(), anyMap());
         mockGossiper.receiveGossip(envelope);
-        verify(mockGossiper, times(0)).updateRemoteBuckets(anyMap());
+        verify(mockGossiper, times(0)).updateRemoteBuckets(anyMap(), anyMap());
+    }
+
+    @Test
+    public void testReceiveGossip_WithoutBucketUpdatesShouldUpdateBuckets() throws Exception {
+        Address self = mockGossiper.getSelfAddress();
+        GossipEnvelope envelope = new GossipEnvelope(self, self, Collections.<Address, Bucket>emptyMap());
+
+        //an envelope from a member which predates bucket updates is deserialized without them
+        Field bucketUpdates = ContainsBuckets.class.getDeclaredField("bucketUpdates");
+        bucketUpdates.setAccessible(true);
+        bucketUpdates.set(envelope, null);
+
+        doNothing().when(mockGossiper).updateRemoteBuckets(anyMap(), anyMap());
+        mockGossiper.receiveGossip(envelope);
+        verify(mockGossiper, times(1)).updateRemoteBuckets(anyMap(),
+                eq(Collections.<Address, List<BucketUpdate>>emptyMap()));
     }
 
     /**
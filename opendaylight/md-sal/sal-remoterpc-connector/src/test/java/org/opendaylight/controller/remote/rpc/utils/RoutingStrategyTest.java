@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.remote.rpc.utils;
+
+import static org.junit.Assert.assertEquals;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.japi.Pair;
+import akka.testkit.JavaTestKit;
+import akka.testkit.TestProbe;
+import com.typesafe.config.ConfigFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.remote.rpc.utils.RouterLoadTracker.RouterLoad;
+
+public class RoutingStrategyTest {
+
+  static ActorSystem system;
+
+  @BeforeClass
+  public static void setup() throws InterruptedException {
+    system = ActorSystem.create("opendaylight-rpc", ConfigFactory.load().getConfig("odl-cluster-rpc"));
+  }
+
+  @AfterClass
+  public static void teardown() {
+    JavaTestKit.shutdownActorSystem(system);
+    system = null;
+  }
+
+  @Test
+  public void testLeastOutstandingRoutingLogic() {
+    RouterLoadTracker loadTracker = new RouterLoadTracker();
+    ActorRef actor1 = new TestProbe(system).ref();
+    ActorRef actor2 = new TestProbe(system).ref();
+    ActorRef actor3 = new TestProbe(system).ref();
+    List<Pair<ActorRef, Long>> pairList = new ArrayList<>();
+    pairList.add(new Pair<>(actor1, 1000L));
+    pairList.add(new Pair<>(actor2, 3000L));
+    pairList.add(new Pair<>(actor3, 2000L));
+
+    loadTracker.forRouter(actor1).onRequestStarted();
+    loadTracker.forRouter(actor1).onRequestStarted();
+    loadTracker.forRouter(actor2).onRequestStarted();
+
+    RoutingLogic logic = RoutingStrategy.LEAST_OUTSTANDING.newRoutingLogic(pairList, loadTracker, false);
+    assertEquals("select", actor3, logic.select());
+
+    loadTracker.forRouter(actor3).onRequestStarted();
+    loadTracker.forRouter(actor3).onRequestStarted();
+    assertEquals("select", actor2, logic.select());
+  }
+
+  @Test
+  public void testPowerOfTwoChoicesRoutingLogic() {
+    RouterLoadTracker loadTracker = new RouterLoadTracker();
+    ActorRef actor1 = new TestProbe(system).ref();
+    ActorRef actor2 = new TestProbe(system).ref();
+    List<Pair<ActorRef, Long>> pairList = new ArrayList<>();
+    pairList.add(new Pair<>(actor1, 1000L));
+    pairList.add(new Pair<>(actor2, 2000L));
+
+    loadTracker.forRouter(actor2).onRequestStarted();
+
+    // With two routers both are always picked, so the less loaded one is selected
+    RoutingLogic logic = RoutingStrategy.POWER_OF_TWO_CHOICES.newRoutingLogic(pairList, loadTracker, false);
+    for (int i = 0; i < 10; i++) {
+      assertEquals("select", actor1, logic.select());
+    }
+  }
+
+  @Test
+  public void testLatestEntryRoutingLogic() {
+    ActorRef actor1 = new TestProbe(system).ref();
+    ActorRef actor2 = new TestProbe(system).ref();
+    List<Pair<ActorRef, Long>> pairList = new ArrayList<>();
+    pairList.add(new Pair<>(actor1, 1000L));
+    pairList.add(new Pair<>(actor2, 2000L));
+
+    RoutingLogic logic = RoutingStrategy.LATEST_ENTRY.newRoutingLogic(pairList, new RouterLoadTracker(), true);
+    assertEquals("select", actor2, logic.select());
+  }
+
+  @Test
+  public void testRouterLoad() {
+    RouterLoad load = new RouterLoadTracker().forRouter(new TestProbe(system).ref());
+
+    long startTime = load.onRequestStarted();
+    assertEquals("getInFlight", 1, load.getInFlight());
+
+    load.onRequestCompleted(startTime);
+    assertEquals("getInFlight", 0, load.getInFlight());
+    assertEquals("getCompleted", 1, load.getCompleted());
+  }
+
+  @Test
+  public void testForName() {
+    for (RoutingStrategy strategy : RoutingStrategy.values()) {
+      assertEquals("forName", strategy, RoutingStrategy.forName(strategy.getName()));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testForUnknownName() {
+    RoutingStrategy.forName("round-robin");
+  }
+
+  @Test
+  public void testRouterLoadTrackerRetainRouters() {
+    RouterLoadTracker loadTracker = new RouterLoadTracker();
+    ActorRef actor1 = new TestProbe(system).ref();
+    ActorRef actor2 = new TestProbe(system).ref();
+
+    loadTracker.forRouter(actor1).onRequestStarted();
+    loadTracker.forRouter(actor2).onRequestStarted();
+    assertEquals("getLoads size", 2, loadTracker.getLoads().size());
+
+    loadTracker.retainRouters(Collections.singleton(actor2));
+    assertEquals("getLoads size", 1, loadTracker.getLoads().size());
+    assertEquals("retained load", 1, loadTracker.getLoads().get(actor2.path().toString()).getInFlight());
+  }
+}